@@ -0,0 +1,176 @@
+package com.daguiar.minhasfinancas.analise;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.daguiar.minhasfinancas.event.LancamentosAlteradosEmLoteEvent;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.LancamentoArquivadoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.CambioService;
+
+@Component
+public class CacheColunarLancamento {
+	
+	private final Map<Long, ColunasLancamento> colunasPorUsuario = new LinkedHashMap<>(16, 0.75f, true);
+	
+	private LancamentoRepository repository;
+	
+	private LancamentoArquivadoRepository arquivadoRepository;
+	
+	private CambioService cambio;
+	
+	private boolean habilitado;
+	
+	private long memoriaMaxima;
+	
+	private long memoriaOcupada;
+	
+	private long alteracoes;
+	
+	public CacheColunarLancamento(LancamentoRepository repository, LancamentoArquivadoRepository arquivadoRepository,
+			CambioService cambio, BarramentoInvalidacao barramento,
+			@Value("${minhasfinancas.analise.cache-habilitado:true}") boolean habilitado,
+			@Value("${minhasfinancas.analise.memoria-maxima-bytes:67108864}") long memoriaMaxima) {
+		this.repository = repository;
+		this.arquivadoRepository = arquivadoRepository;
+		this.cambio = cambio;
+		this.habilitado = habilitado;
+		this.memoriaMaxima = memoriaMaxima;
+		barramento.registrar(RegiaoCache.LANCAMENTOS_USUARIO, this::invalidar);
+	}
+	
+	public ColunasLancamento obter(Long idUsuario) {
+		
+		if(!habilitado) {
+			return carregar(idUsuario);
+		}
+		
+		long alteracoesAntesDaCarga;
+		synchronized (this) {
+			ColunasLancamento colunas = colunasPorUsuario.get(idUsuario);
+			if(colunas != null) {
+				return colunas;
+			}
+			alteracoesAntesDaCarga = alteracoes;
+		}
+		
+		ColunasLancamento carregadas = carregar(idUsuario);
+		synchronized (this) {
+			// uma alteração confirmada durante a carga pode não estar refletida na leitura
+			if(alteracoes == alteracoesAntesDaCarga) {
+				armazenar(idUsuario, carregadas);
+			}
+		}
+		return carregadas;
+		
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void aoAlterarLancamento(LancamentoAlteradoEvent event) {
+		
+		alteracoes++;
+		Long idUsuario = event.getIdUsuario();
+		ColunasLancamento colunas = colunasPorUsuario.get(idUsuario);
+		if(colunas == null) {
+			return;
+		}
+		
+		Lancamento lancamento = event.getLancamento();
+		if(event.getTipo() == TipoEventoLancamento.EXCLUSAO) {
+			armazenar(idUsuario, colunas.semLancamento(lancamento.getId()));
+			return;
+		}
+		long centavos = lancamento.getValorMonetario() == null ? 0 : lancamento.getValorMonetario().getCentavos();
+		armazenar(idUsuario, colunas.comLancamento(lancamento, emMoedaBase(centavos, lancamento.getMoeda(), 
+				lancamento.getDataLancamento(), lancamento.getValorBaseCentavos())));
+		
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void aoAlterarLancamentosEmLote(LancamentosAlteradosEmLoteEvent event) {
+		invalidar(event.getIdUsuario());
+	}
+	
+	public synchronized void invalidar(Long idUsuario) {
+		
+		alteracoes++;
+		if(idUsuario == null) {
+			colunasPorUsuario.clear();
+			memoriaOcupada = 0;
+			return;
+		}
+		
+		ColunasLancamento removidas = colunasPorUsuario.remove(idUsuario);
+		if(removidas != null) {
+			memoriaOcupada -= removidas.getTamanhoEmBytes();
+		}
+		
+	}
+	
+	private void armazenar(Long idUsuario, ColunasLancamento colunas) {
+		
+		ColunasLancamento anteriores = colunasPorUsuario.remove(idUsuario);
+		if(anteriores != null) {
+			memoriaOcupada -= anteriores.getTamanhoEmBytes();
+		}
+		if(colunas.getTamanhoEmBytes() > memoriaMaxima) {
+			return;
+		}
+		
+		Iterator<ColunasLancamento> maisAntigas = colunasPorUsuario.values().iterator();
+		while(memoriaOcupada + colunas.getTamanhoEmBytes() > memoriaMaxima && maisAntigas.hasNext()) {
+			memoriaOcupada -= maisAntigas.next().getTamanhoEmBytes();
+			maisAntigas.remove();
+		}
+		colunasPorUsuario.put(idUsuario, colunas);
+		memoriaOcupada += colunas.getTamanhoEmBytes();
+		
+	}
+	
+	private ColunasLancamento carregar(Long idUsuario) {
+		
+		// os anos arquivados saem da tabela quente mas continuam nas análises; os ids são os mesmos nas duas tabelas
+		List<Object[]> linhas = repository.obterColunasPorUsuario(idUsuario);
+		List<Object[]> arquivadas = arquivadoRepository.obterColunasPorUsuario(idUsuario);
+		ColunasLancamento.Construtor construtor = ColunasLancamento.construtor(linhas.size() + arquivadas.size());
+		for(Object[] linha : linhas) {
+			Dinheiro valor = (Dinheiro) linha[5];
+			adicionar(construtor, linha, valor == null ? 0 : valor.getCentavos());
+		}
+		for(Object[] linha : arquivadas) {
+			BigDecimal valor = (BigDecimal) linha[5];
+			adicionar(construtor, linha, valor == null ? 0 : Dinheiro.de(valor).getCentavos());
+		}
+		return construtor.construir();
+		
+	}
+	
+	private void adicionar(ColunasLancamento.Construtor construtor, Object[] linha, long centavos) {
+		construtor.adicionar((Long) linha[0], (Integer) linha[1], (Integer) linha[2], (TipoLancamento) linha[3],
+				(StatusLancamento) linha[4], emMoedaBase(centavos, (Moeda) linha[7], (LocalDate) linha[8], (Long) linha[9]),
+				(String) linha[6]);
+	}
+	
+	// mesmo valor que os totais somaram; só os lançamentos gravados antes da coluna são convertidos aqui
+	private long emMoedaBase(long centavos, Moeda moeda, LocalDate data, Long centavosBase) {
+		return centavosBase != null ? centavosBase : cambio.converterParaMoedaBase(centavos, moeda, data);
+	}
+
+}
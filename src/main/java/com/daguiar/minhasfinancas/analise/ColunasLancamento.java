@@ -0,0 +1,377 @@
+package com.daguiar.minhasfinancas.analise;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+// retrato imutável sobre colunas compartilhadas: escritas acrescentam linhas no fim e marcam a versão em que a
+// linha anterior deixou de valer, então um retrato antigo continua lendo exatamente o que via. As escritas
+// precisam ser serializadas por quem as chama
+public final class ColunasLancamento {
+	
+	private static final byte SEM_VALOR = -1;
+	
+	private static final int ATIVA = Integer.MAX_VALUE;
+	
+	private static final int BYTES_POR_LINHA = 8 + 4 + 1 + 1 + 1 + 8 + 8 + 4;
+	
+	private static final int BYTES_POR_POSICAO_INDICE = 8 + 4;
+	
+	private static final int MINIMO_PARA_COMPACTAR = 64;
+	
+	private final Armazenamento armazenamento;
+	
+	private final int tamanho;
+	
+	private final int versao;
+	
+	private final int ativas;
+	
+	private final long[] ids;
+	
+	private final int[] anos;
+	
+	private final byte[] meses;
+	
+	private final byte[] tipos;
+	
+	private final byte[] status;
+	
+	private final long[] centavos;
+	
+	private final String[] descricoes;
+	
+	private final int[] removidaEm;
+	
+	private final long tamanhoEmBytes;
+	
+	private ColunasLancamento(Armazenamento armazenamento) {
+		this.armazenamento = armazenamento;
+		this.tamanho = armazenamento.tamanho;
+		this.versao = armazenamento.versao;
+		this.ativas = armazenamento.tamanho - armazenamento.removidas;
+		this.ids = armazenamento.ids;
+		this.anos = armazenamento.anos;
+		this.meses = armazenamento.meses;
+		this.tipos = armazenamento.tipos;
+		this.status = armazenamento.status;
+		this.centavos = armazenamento.centavos;
+		this.descricoes = armazenamento.descricoes;
+		this.removidaEm = armazenamento.removidaEm;
+		this.tamanhoEmBytes = armazenamento.estimarTamanhoEmBytes();
+	}
+	
+	public static Construtor construtor(int capacidade) {
+		return new Construtor(capacidade);
+	}
+	
+	public int getTamanho() {
+		return ativas;
+	}
+	
+	public long getTamanhoEmBytes() {
+		return tamanhoEmBytes;
+	}
+	
+	public ColunasLancamento comLancamento(Lancamento lancamento) {
+		return comLancamento(lancamento, lancamento.getValorMonetario() == null ? 0 : lancamento.getValorMonetario().getCentavos());
+	}
+	
+	public ColunasLancamento comLancamento(Lancamento lancamento, long valorEmCentavos) {
+		
+		Armazenamento destino = armazenamentoParaEscrita();
+		int versaoNova = destino.versao + 1;
+		destino.remover(lancamento.getId(), versaoNova);
+		destino.adicionar(lancamento.getId(), lancamento.getAno(), lancamento.getMes(), lancamento.getTipo(),
+				lancamento.getStatus(), valorEmCentavos, lancamento.getDescricao());
+		destino.versao = versaoNova;
+		return new ColunasLancamento(destino);
+		
+	}
+	
+	public ColunasLancamento semLancamento(Long id) {
+		
+		Armazenamento destino = armazenamentoParaEscrita();
+		int versaoNova = destino.versao + 1;
+		if(!destino.remover(id, versaoNova)) {
+			return destino == armazenamento ? this : new ColunasLancamento(destino);
+		}
+		destino.versao = versaoNova;
+		return new ColunasLancamento(destino);
+		
+	}
+	
+	public long[] totaisPorMes(int ano, TipoLancamento tipo, StatusLancamento filtroStatus) {
+		
+		byte codigoTipo = codigo(tipo);
+		byte codigoStatus = codigo(filtroStatus);
+		long[] totais = new long[12];
+		for(int i = 0; i < tamanho; i++) {
+			if(removidaEm[i] > versao && anos[i] == ano && meses[i] > 0 && tipos[i] == codigoTipo
+					&& (codigoStatus == SEM_VALOR || status[i] == codigoStatus)) {
+				totais[meses[i] - 1] += centavos[i];
+			}
+		}
+		return totais;
+		
+	}
+	
+	public long[][] totaisPorTipoEStatus(Integer filtroAno) {
+		
+		int ano = filtroAno == null ? 0 : filtroAno;
+		long[][] totais = new long[TipoLancamento.values().length][StatusLancamento.values().length];
+		for(int i = 0; i < tamanho; i++) {
+			if(removidaEm[i] > versao && (ano == 0 || anos[i] == ano) && tipos[i] != SEM_VALOR && status[i] != SEM_VALOR) {
+				totais[tipos[i]][status[i]] += centavos[i];
+			}
+		}
+		return totais;
+		
+	}
+	
+	public Map<String, Long> totaisPorDescricao(TipoLancamento tipo, Integer filtroAno) {
+		
+		byte codigoTipo = codigo(tipo);
+		int ano = filtroAno == null ? 0 : filtroAno;
+		Map<String, Long> totais = new HashMap<>();
+		for(int i = 0; i < tamanho; i++) {
+			if(removidaEm[i] > versao && tipos[i] == codigoTipo && (ano == 0 || anos[i] == ano) && descricoes[i] != null) {
+				totais.merge(descricoes[i], centavos[i], Long::sum);
+			}
+		}
+		return totais;
+		
+	}
+	
+	// só o retrato mais recente escreve no armazenamento compartilhado; um anterior, ou um com linhas removidas
+	// demais, recomeça em um armazenamento compactado, o que dilui a cópia entre muitas escritas
+	private Armazenamento armazenamentoParaEscrita() {
+		if(versao != armazenamento.versao || armazenamento.versao == ATIVA - 1
+				|| armazenamento.removidas > Math.max(MINIMO_PARA_COMPACTAR, armazenamento.tamanho / 2)) {
+			return compactar();
+		}
+		return armazenamento;
+	}
+	
+	private Armazenamento compactar() {
+		Armazenamento compactado = new Armazenamento(ativas + 1);
+		for(int i = 0; i < tamanho; i++) {
+			if(removidaEm[i] > versao) {
+				compactado.acrescentar(ids[i], anos[i], meses[i], tipos[i], status[i], centavos[i], descricoes[i]);
+			}
+		}
+		return compactado;
+	}
+	
+	private static byte codigo(Enum<?> valor) {
+		return valor == null ? SEM_VALOR : (byte) valor.ordinal();
+	}
+	
+	public static final class Construtor {
+		
+		private final Armazenamento armazenamento;
+		
+		private Construtor(int capacidade) {
+			armazenamento = new Armazenamento(capacidade);
+		}
+		
+		public Construtor adicionar(long id, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento situacao,
+				long valorEmCentavos, String descricao) {
+			armazenamento.adicionar(id, ano, mes, tipo, situacao, valorEmCentavos, descricao);
+			return this;
+		}
+		
+		public Construtor adicionar(Lancamento lancamento) {
+			return adicionar(lancamento, lancamento.getValorMonetario() == null ? 0 : lancamento.getValorMonetario().getCentavos());
+		}
+		
+		public Construtor adicionar(Lancamento lancamento, long valorEmCentavos) {
+			return adicionar(lancamento.getId(), lancamento.getAno(), lancamento.getMes(), lancamento.getTipo(),
+					lancamento.getStatus(), valorEmCentavos, lancamento.getDescricao());
+		}
+		
+		public ColunasLancamento construir() {
+			return new ColunasLancamento(armazenamento);
+		}
+		
+	}
+	
+	private static final class Armazenamento {
+		
+		private int tamanho;
+		
+		private int versao;
+		
+		private int removidas;
+		
+		private long bytesDescricoes;
+		
+		private long[] ids;
+		
+		private int[] anos;
+		
+		private byte[] meses;
+		
+		private byte[] tipos;
+		
+		private byte[] status;
+		
+		private long[] centavos;
+		
+		private String[] descricoes;
+		
+		private int[] removidaEm;
+		
+		private final IndicePosicoes indice;
+		
+		private Armazenamento(int capacidade) {
+			ids = new long[capacidade];
+			anos = new int[capacidade];
+			meses = new byte[capacidade];
+			tipos = new byte[capacidade];
+			status = new byte[capacidade];
+			centavos = new long[capacidade];
+			descricoes = new String[capacidade];
+			removidaEm = new int[capacidade];
+			indice = new IndicePosicoes(capacidade);
+		}
+		
+		private void adicionar(long id, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento situacao,
+				long valorEmCentavos, String descricao) {
+			acrescentar(id, ano == null ? 0 : ano, mes == null ? 0 : mes.byteValue(), codigo(tipo), codigo(situacao),
+					valorEmCentavos, descricao);
+		}
+		
+		private void acrescentar(long id, int ano, byte mes, byte tipo, byte situacao, long valorEmCentavos, String descricao) {
+			
+			if(tamanho == ids.length) {
+				ajustarCapacidade(Math.max(16, ids.length * 2));
+			}
+			ids[tamanho] = id;
+			anos[tamanho] = ano;
+			meses[tamanho] = mes;
+			tipos[tamanho] = tipo;
+			status[tamanho] = situacao;
+			centavos[tamanho] = valorEmCentavos;
+			descricoes[tamanho] = descricao;
+			removidaEm[tamanho] = ATIVA;
+			if(descricao != null) {
+				bytesDescricoes += 40 + descricao.length();
+			}
+			indice.definir(id, tamanho);
+			tamanho++;
+			
+		}
+		
+		private boolean remover(Long id, int versaoRemocao) {
+			if(id == null) {
+				return false;
+			}
+			int posicao = indice.obter(id);
+			if(posicao < 0 || removidaEm[posicao] != ATIVA) {
+				return false;
+			}
+			removidaEm[posicao] = versaoRemocao;
+			removidas++;
+			return true;
+		}
+		
+		private long estimarTamanhoEmBytes() {
+			return (long) ids.length * BYTES_POR_LINHA + (long) indice.getCapacidade() * BYTES_POR_POSICAO_INDICE
+					+ bytesDescricoes;
+		}
+		
+		// arrays novos a cada crescimento: os retratos existentes continuam com as referências anteriores
+		private void ajustarCapacidade(int capacidade) {
+			ids = Arrays.copyOf(ids, capacidade);
+			anos = Arrays.copyOf(anos, capacidade);
+			meses = Arrays.copyOf(meses, capacidade);
+			tipos = Arrays.copyOf(tipos, capacidade);
+			status = Arrays.copyOf(status, capacidade);
+			centavos = Arrays.copyOf(centavos, capacidade);
+			descricoes = Arrays.copyOf(descricoes, capacidade);
+			removidaEm = Arrays.copyOf(removidaEm, capacidade);
+		}
+		
+	}
+	
+	// id -> posição com endereçamento aberto, sem um objeto por linha; um id removido continua apontando
+	// para a linha marcada até a próxima compactação
+	private static final class IndicePosicoes {
+		
+		private static final int VAZIA = -1;
+		
+		private long[] chaves;
+		
+		private int[] posicoes;
+		
+		private int ocupadas;
+		
+		private IndicePosicoes(int capacidade) {
+			int slots = 16;
+			while(slots < capacidade * 2) {
+				slots <<= 1;
+			}
+			chaves = new long[slots];
+			posicoes = new int[slots];
+			Arrays.fill(posicoes, VAZIA);
+		}
+		
+		private int getCapacidade() {
+			return chaves.length;
+		}
+		
+		private int obter(long id) {
+			int mascara = chaves.length - 1;
+			for(int slot = espalhar(id) & mascara; posicoes[slot] != VAZIA; slot = (slot + 1) & mascara) {
+				if(chaves[slot] == id) {
+					return posicoes[slot];
+				}
+			}
+			return VAZIA;
+		}
+		
+		private void definir(long id, int posicao) {
+			
+			if((ocupadas + 1) * 2 > chaves.length) {
+				crescer();
+			}
+			int mascara = chaves.length - 1;
+			int slot = espalhar(id) & mascara;
+			while(posicoes[slot] != VAZIA && chaves[slot] != id) {
+				slot = (slot + 1) & mascara;
+			}
+			if(posicoes[slot] == VAZIA) {
+				ocupadas++;
+			}
+			chaves[slot] = id;
+			posicoes[slot] = posicao;
+			
+		}
+		
+		private void crescer() {
+			long[] chavesAnteriores = chaves;
+			int[] posicoesAnteriores = posicoes;
+			chaves = new long[chavesAnteriores.length * 2];
+			posicoes = new int[chaves.length];
+			Arrays.fill(posicoes, VAZIA);
+			ocupadas = 0;
+			for(int i = 0; i < chavesAnteriores.length; i++) {
+				if(posicoesAnteriores[i] != VAZIA) {
+					definir(chavesAnteriores[i], posicoesAnteriores[i]);
+				}
+			}
+		}
+		
+		private static int espalhar(long id) {
+			long hash = id * 0x9E3779B97F4A7C15L;
+			return (int) (hash ^ (hash >>> 32));
+		}
+		
+	}
+
+}
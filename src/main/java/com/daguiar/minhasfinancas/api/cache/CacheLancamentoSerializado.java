@@ -0,0 +1,88 @@
+package com.daguiar.minhasfinancas.api.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+public class CacheLancamentoSerializado {
+	
+	private final Map<Long, EntradaSerializada> entradas;
+	
+	private ObjectMapper objectMapper;
+	
+	public CacheLancamentoSerializado(ObjectMapper objectMapper,
+			@Value("${minhasfinancas.lancamento.capacidade-cache-serializacao:10000}") int capacidade) {
+		this.objectMapper = objectMapper;
+		this.entradas = Collections.synchronizedMap(new MapaLru(capacidade));
+	}
+	
+	public byte[] obter(Lancamento lancamento, Supplier<?> representacao) {
+		
+		Long versao = lancamento.getVersao();
+		EntradaSerializada entrada = entradas.get(lancamento.getId());
+		if(entrada != null && Objects.equals(entrada.versao, versao)) {
+			return entrada.corpo;
+		}
+		
+		byte[] corpo = serializar(representacao.get());
+		if(versao != null) {
+			entradas.put(lancamento.getId(), new EntradaSerializada(versao, corpo));
+		}
+		return corpo;
+		
+	}
+	
+	public void remover(Long id) {
+		entradas.remove(id);
+	}
+	
+	private byte[] serializar(Object representacao) {
+		try {
+			return objectMapper.writeValueAsBytes(representacao);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível serializar o lançamento.", e);
+		}
+	}
+	
+	private static class EntradaSerializada {
+		
+		private final Long versao;
+		
+		private final byte[] corpo;
+		
+		EntradaSerializada(Long versao, byte[] corpo) {
+			this.versao = versao;
+			this.corpo = corpo;
+		}
+		
+	}
+	
+	private static class MapaLru extends LinkedHashMap<Long, EntradaSerializada> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int capacidade;
+		
+		MapaLru(int capacidade) {
+			super(16, 0.75f, true);
+			this.capacidade = capacidade;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, EntradaSerializada> maisAntiga) {
+			return size() > capacidade;
+		}
+		
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+public class CategoriaDTO {
+	
+	private Long id;
+	private String nome;
+	private String palavrasChave;
+	private Long usuario;
+	
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getNome() {
+		return nome;
+	}
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+	public String getPalavrasChave() {
+		return palavrasChave;
+	}
+	public void setPalavrasChave(String palavrasChave) {
+		this.palavrasChave = palavrasChave;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class ContaDTO {
+	
+	private Long id;
+	private String nome;
+	private String tipo;
+	private boolean padrao;
+	private Long usuario;
+	private Map<String, BigDecimal> saldos;
+	
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getNome() {
+		return nome;
+	}
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+	public String getTipo() {
+		return tipo;
+	}
+	public void setTipo(String tipo) {
+		this.tipo = tipo;
+	}
+	public boolean isPadrao() {
+		return padrao;
+	}
+	public void setPadrao(boolean padrao) {
+		this.padrao = padrao;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+	public Map<String, BigDecimal> getSaldos() {
+		return saldos;
+	}
+	public void setSaldos(Map<String, BigDecimal> saldos) {
+		this.saldos = saldos;
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.daguiar.minhasfinancas.api.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 public class LancamentoDTO {
 	
@@ -9,9 +10,14 @@ public class LancamentoDTO {
 	private Integer mes;
 	private Integer ano;
 	private BigDecimal valor;
+	private String moeda;
 	private Long usuario;
 	private String tipo;
 	private String status;
+	private Long categoria;
+	private Long conta;
+	private Long livro;
+	private LocalDate dataLancamento;
 	
 	public Long getId() {
 		return id;
@@ -43,6 +49,12 @@ public class LancamentoDTO {
 	public void setValor(BigDecimal valor) {
 		this.valor = valor;
 	}
+	public String getMoeda() {
+		return moeda;
+	}
+	public void setMoeda(String moeda) {
+		this.moeda = moeda;
+	}
 	public Long getUsuario() {
 		return usuario;
 	}
@@ -61,5 +73,29 @@ public class LancamentoDTO {
 	public void setStatus(String status) {
 		this.status = status;
 	}
+	public Long getCategoria() {
+		return categoria;
+	}
+	public void setCategoria(Long categoria) {
+		this.categoria = categoria;
+	}
+	public Long getConta() {
+		return conta;
+	}
+	public void setConta(Long conta) {
+		this.conta = conta;
+	}
+	public Long getLivro() {
+		return livro;
+	}
+	public void setLivro(Long livro) {
+		this.livro = livro;
+	}
+	public LocalDate getDataLancamento() {
+		return dataLancamento;
+	}
+	public void setDataLancamento(LocalDate dataLancamento) {
+		this.dataLancamento = dataLancamento;
+	}
 
 }
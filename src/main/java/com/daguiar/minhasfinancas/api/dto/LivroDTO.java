@@ -0,0 +1,35 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+public class LivroDTO {
+	
+	private Long id;
+	private String nome;
+	private Long usuario;
+	private String papel;
+	
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getNome() {
+		return nome;
+	}
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+	public String getPapel() {
+		return papel;
+	}
+	public void setPapel(String papel) {
+		this.papel = papel;
+	}
+
+}
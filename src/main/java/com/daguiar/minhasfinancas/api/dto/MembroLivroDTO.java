@@ -0,0 +1,21 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+public class MembroLivroDTO {
+	
+	private Long usuario;
+	private String papel;
+	
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+	public String getPapel() {
+		return papel;
+	}
+	public void setPapel(String papel) {
+		this.papel = papel;
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+public class OrcamentoDTO {
+	
+	private Long id;
+	private String tipo;
+	private Long categoria;
+	private BigDecimal limite;
+	private Long usuario;
+	
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getTipo() {
+		return tipo;
+	}
+	public void setTipo(String tipo) {
+		this.tipo = tipo;
+	}
+	public Long getCategoria() {
+		return categoria;
+	}
+	public void setCategoria(Long categoria) {
+		this.categoria = categoria;
+	}
+	public BigDecimal getLimite() {
+		return limite;
+	}
+	public void setLimite(BigDecimal limite) {
+		this.limite = limite;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+
+}
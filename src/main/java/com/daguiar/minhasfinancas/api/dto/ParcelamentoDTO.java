@@ -0,0 +1,58 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+public class ParcelamentoDTO {
+	
+	private String descricao;
+	private BigDecimal valorTotal;
+	private Integer quantidadeParcelas;
+	private Integer mesInicial;
+	private Integer anoInicial;
+	private Long usuario;
+	private String tipo;
+	
+	public String getDescricao() {
+		return descricao;
+	}
+	public void setDescricao(String descricao) {
+		this.descricao = descricao;
+	}
+	public BigDecimal getValorTotal() {
+		return valorTotal;
+	}
+	public void setValorTotal(BigDecimal valorTotal) {
+		this.valorTotal = valorTotal;
+	}
+	public Integer getQuantidadeParcelas() {
+		return quantidadeParcelas;
+	}
+	public void setQuantidadeParcelas(Integer quantidadeParcelas) {
+		this.quantidadeParcelas = quantidadeParcelas;
+	}
+	public Integer getMesInicial() {
+		return mesInicial;
+	}
+	public void setMesInicial(Integer mesInicial) {
+		this.mesInicial = mesInicial;
+	}
+	public Integer getAnoInicial() {
+		return anoInicial;
+	}
+	public void setAnoInicial(Integer anoInicial) {
+		this.anoInicial = anoInicial;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+	public String getTipo() {
+		return tipo;
+	}
+	public void setTipo(String tipo) {
+		this.tipo = tipo;
+	}
+
+}
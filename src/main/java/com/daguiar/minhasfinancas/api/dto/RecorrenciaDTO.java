@@ -0,0 +1,72 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+public class RecorrenciaDTO {
+	
+	private Long id;
+	private String descricao;
+	private BigDecimal valor;
+	private Long usuario;
+	private String tipo;
+	private String periodicidade;
+	private Integer mesInicial;
+	private Integer anoInicial;
+	private Integer quantidadeOcorrencias;
+	
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getDescricao() {
+		return descricao;
+	}
+	public void setDescricao(String descricao) {
+		this.descricao = descricao;
+	}
+	public BigDecimal getValor() {
+		return valor;
+	}
+	public void setValor(BigDecimal valor) {
+		this.valor = valor;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+	public String getTipo() {
+		return tipo;
+	}
+	public void setTipo(String tipo) {
+		this.tipo = tipo;
+	}
+	public String getPeriodicidade() {
+		return periodicidade;
+	}
+	public void setPeriodicidade(String periodicidade) {
+		this.periodicidade = periodicidade;
+	}
+	public Integer getMesInicial() {
+		return mesInicial;
+	}
+	public void setMesInicial(Integer mesInicial) {
+		this.mesInicial = mesInicial;
+	}
+	public Integer getAnoInicial() {
+		return anoInicial;
+	}
+	public void setAnoInicial(Integer anoInicial) {
+		this.anoInicial = anoInicial;
+	}
+	public Integer getQuantidadeOcorrencias() {
+		return quantidadeOcorrencias;
+	}
+	public void setQuantidadeOcorrencias(Integer quantidadeOcorrencias) {
+		this.quantidadeOcorrencias = quantidadeOcorrencias;
+	}
+
+}
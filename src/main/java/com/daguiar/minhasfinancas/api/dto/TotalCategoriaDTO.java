@@ -0,0 +1,37 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+public class TotalCategoriaDTO {
+	
+	private Long categoria;
+	private String nome;
+	private BigDecimal receitas;
+	private BigDecimal despesas;
+	
+	public Long getCategoria() {
+		return categoria;
+	}
+	public void setCategoria(Long categoria) {
+		this.categoria = categoria;
+	}
+	public String getNome() {
+		return nome;
+	}
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+	public BigDecimal getReceitas() {
+		return receitas;
+	}
+	public void setReceitas(BigDecimal receitas) {
+		this.receitas = receitas;
+	}
+	public BigDecimal getDespesas() {
+		return despesas;
+	}
+	public void setDespesas(BigDecimal despesas) {
+		this.despesas = despesas;
+	}
+
+}
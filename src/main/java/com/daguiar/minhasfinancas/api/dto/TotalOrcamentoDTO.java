@@ -0,0 +1,37 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+public class TotalOrcamentoDTO {
+	
+	private Long orcamento;
+	private BigDecimal gasto;
+	private BigDecimal limite;
+	private Integer faixa;
+	
+	public Long getOrcamento() {
+		return orcamento;
+	}
+	public void setOrcamento(Long orcamento) {
+		this.orcamento = orcamento;
+	}
+	public BigDecimal getGasto() {
+		return gasto;
+	}
+	public void setGasto(BigDecimal gasto) {
+		this.gasto = gasto;
+	}
+	public BigDecimal getLimite() {
+		return limite;
+	}
+	public void setLimite(BigDecimal limite) {
+		this.limite = limite;
+	}
+	public Integer getFaixa() {
+		return faixa;
+	}
+	public void setFaixa(Integer faixa) {
+		this.faixa = faixa;
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.daguiar.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class TransferenciaDTO {
+	
+	private String descricao;
+	private BigDecimal valor;
+	private String moeda;
+	private LocalDate dataLancamento;
+	private Long usuario;
+	private Long contaOrigem;
+	private Long contaDestino;
+	
+	public String getDescricao() {
+		return descricao;
+	}
+	public void setDescricao(String descricao) {
+		this.descricao = descricao;
+	}
+	public BigDecimal getValor() {
+		return valor;
+	}
+	public void setValor(BigDecimal valor) {
+		this.valor = valor;
+	}
+	public String getMoeda() {
+		return moeda;
+	}
+	public void setMoeda(String moeda) {
+		this.moeda = moeda;
+	}
+	public LocalDate getDataLancamento() {
+		return dataLancamento;
+	}
+	public void setDataLancamento(LocalDate dataLancamento) {
+		this.dataLancamento = dataLancamento;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+	public Long getContaOrigem() {
+		return contaOrigem;
+	}
+	public void setContaOrigem(Long contaOrigem) {
+		this.contaOrigem = contaOrigem;
+	}
+	public Long getContaDestino() {
+		return contaDestino;
+	}
+	public void setContaDestino(Long contaDestino) {
+		this.contaDestino = contaDestino;
+	}
+
+}
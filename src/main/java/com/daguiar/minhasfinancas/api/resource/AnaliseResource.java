@@ -0,0 +1,95 @@
+package com.daguiar.minhasfinancas.api.resource;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.service.AnaliseLancamentoService;
+import com.daguiar.minhasfinancas.service.ProjecaoSaldoService;
+
+@RestController
+@RequestMapping("/api/analises")
+public class AnaliseResource {
+	
+	private AnaliseLancamentoService service;
+	
+	private ProjecaoSaldoService projecaoService;
+	
+	public AnaliseResource(AnaliseLancamentoService service, ProjecaoSaldoService projecaoService) {
+		this.service = service;
+		this.projecaoService = projecaoService;
+	}
+	
+	@GetMapping("totais-mensais")
+	public ResponseEntity obterTotaisMensais(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam("ano") Integer ano,
+			@RequestParam("tipo") String tipo,
+			@RequestParam(value = "status", required = false) String status
+			) {
+		
+		try {
+			
+			StatusLancamento filtroStatus = status == null ? null : StatusLancamento.valueOf(status);
+			return ResponseEntity.ok(service.obterTotaisMensais(idUsuario, ano, TipoLancamento.valueOf(tipo), filtroStatus));
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@GetMapping("totais")
+	public ResponseEntity obterTotaisPorTipoEStatus(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "ano", required = false) Integer ano
+			) {
+		return ResponseEntity.ok(service.obterTotaisPorTipoEStatus(idUsuario, ano));
+	}
+	
+	@GetMapping("maiores-descricoes")
+	public ResponseEntity obterMaioresDescricoes(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam("tipo") String tipo,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "limite", defaultValue = "5") int limite
+			) {
+		
+		try {
+			
+			return ResponseEntity.ok(service.obterMaioresDescricoes(idUsuario, TipoLancamento.valueOf(tipo), ano, limite));
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@GetMapping("projecao")
+	public ResponseEntity projetarSaldo(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "meses", defaultValue = "12") int meses
+			) {
+		
+		try {
+			
+			return ResponseEntity.ok(projecaoService.projetar(idUsuario, meses));
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.daguiar.minhasfinancas.api.resource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.daguiar.minhasfinancas.api.dto.CategoriaDTO;
+import com.daguiar.minhasfinancas.api.dto.TotalCategoriaDTO;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.TotalCategoria;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.CategoriaService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+
+@RestController
+@RequestMapping("/api/categorias")
+public class CategoriaResource {
+	
+	private CategoriaService service;
+	
+	private UsuarioService usuarioService;
+	
+	public CategoriaResource(CategoriaService service, UsuarioService usuarioService) {
+		this.service = service;
+		this.usuarioService = usuarioService;
+	}
+	
+	@GetMapping
+	public ResponseEntity buscar(@RequestParam("usuario") Long idUsuario) {
+		List<CategoriaDTO> categorias = service.buscarPorUsuario(idUsuario).stream()
+				.map(this::converter)
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(categorias);
+	}
+	
+	@GetMapping("totais")
+	public ResponseEntity obterTotais(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam("ano") Integer ano,
+			@RequestParam("mes") Integer mes
+			) {
+		
+		try {
+			
+			List<TotalCategoriaDTO> totais = service.obterTotais(idUsuario, ano, mes).stream()
+					.map(this::converter)
+					.collect(Collectors.toList());
+			return ResponseEntity.ok(totais);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody CategoriaDTO dto) {
+		
+		try {
+			
+			Categoria entidade = converter(dto);
+			entidade = service.salvar(entidade);
+			return new ResponseEntity(converter(entidade), HttpStatus.CREATED);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PutMapping("{id}")
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody CategoriaDTO dto) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			try {
+				Categoria categoria = converter(dto);
+				categoria.setId(entidade.getId());
+				Categoria atualizada = service.atualizar(categoria);
+				return ResponseEntity.ok(converter(atualizada));
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () -> 
+			new ResponseEntity("Categoria não encontrada.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	@DeleteMapping("{id}")
+	public ResponseEntity deletar(@PathVariable("id") Long id) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			service.deletar(entidade);
+			return new ResponseEntity(HttpStatus.NO_CONTENT);
+		}).orElseGet( () ->
+			new ResponseEntity("Categoria não encontrada.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	private CategoriaDTO converter(Categoria categoria) {
+		
+		CategoriaDTO dto = new CategoriaDTO();
+		dto.setId(categoria.getId());
+		dto.setNome(categoria.getNome());
+		dto.setPalavrasChave(categoria.getPalavrasChave());
+		dto.setUsuario(categoria.getUsuario().getId());
+		
+		return dto;
+		
+	}
+	
+	private TotalCategoriaDTO converter(TotalCategoria total) {
+		
+		TotalCategoriaDTO dto = new TotalCategoriaDTO();
+		dto.setCategoria(total.getCategoria().getId());
+		dto.setNome(total.getCategoria().getNome());
+		dto.setReceitas(Dinheiro.deCentavos(total.getReceitasCentavos()).toBigDecimal());
+		dto.setDespesas(Dinheiro.deCentavos(total.getDespesasCentavos()).toBigDecimal());
+		
+		return dto;
+		
+	}
+	
+	private Categoria converter(CategoriaDTO dto) {
+		
+		Categoria categoria = new Categoria();
+		categoria.setNome(dto.getNome());
+		categoria.setPalavrasChave(dto.getPalavrasChave());
+		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
+		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
+		categoria.setUsuario(usuario);
+		
+		return categoria;
+		
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.daguiar.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.daguiar.minhasfinancas.api.dto.ContaDTO;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Conta;
+import com.daguiar.minhasfinancas.model.entity.SaldoConta;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.TipoConta;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.ContaService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+
+@RestController
+@RequestMapping("/api/contas")
+public class ContaResource {
+	
+	private ContaService service;
+	
+	private UsuarioService usuarioService;
+	
+	public ContaResource(ContaService service, UsuarioService usuarioService) {
+		this.service = service;
+		this.usuarioService = usuarioService;
+	}
+	
+	@GetMapping
+	public ResponseEntity buscar(@RequestParam("usuario") Long idUsuario) {
+		
+		Map<Long, Map<String, BigDecimal>> saldos = service.obterSaldos(idUsuario).stream()
+				.collect(Collectors.groupingBy(saldo -> saldo.getConta().getId(), 
+						Collectors.toMap(saldo -> saldo.getMoeda().name(), this::converterSaldo, BigDecimal::add, TreeMap::new)));
+		List<ContaDTO> contas = service.buscarPorUsuario(idUsuario).stream()
+				.map(conta -> {
+					ContaDTO dto = converter(conta);
+					dto.setSaldos(saldos.getOrDefault(conta.getId(), Map.of()));
+					return dto;
+				})
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(contas);
+		
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody ContaDTO dto) {
+		
+		try {
+			
+			Conta entidade = converter(dto);
+			entidade = service.salvar(entidade);
+			return new ResponseEntity(converter(entidade), HttpStatus.CREATED);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PutMapping("{id}")
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody ContaDTO dto) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			try {
+				Conta conta = converter(dto);
+				conta.setId(entidade.getId());
+				conta.setPadrao(entidade.isPadrao());
+				Conta atualizada = service.atualizar(conta);
+				return ResponseEntity.ok(converter(atualizada));
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () -> 
+			new ResponseEntity("Conta não encontrada.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	@DeleteMapping("{id}")
+	public ResponseEntity deletar(@PathVariable("id") Long id) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			try {
+				service.deletar(entidade);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () ->
+			new ResponseEntity("Conta não encontrada.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	private BigDecimal converterSaldo(SaldoConta saldo) {
+		return Dinheiro.deCentavos(saldo.getSaldoCentavos()).toBigDecimal();
+	}
+	
+	private ContaDTO converter(Conta conta) {
+		
+		ContaDTO dto = new ContaDTO();
+		dto.setId(conta.getId());
+		dto.setNome(conta.getNome());
+		dto.setPadrao(conta.isPadrao());
+		dto.setUsuario(conta.getUsuario().getId());
+		if(conta.getTipo() != null) {
+			dto.setTipo(conta.getTipo().name());
+		}
+		
+		return dto;
+		
+	}
+	
+	private Conta converter(ContaDTO dto) {
+		
+		Conta conta = new Conta();
+		conta.setNome(dto.getNome());
+		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
+		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
+		conta.setUsuario(usuario);
+		
+		if(dto.getTipo() != null) {
+			conta.setTipo(TipoConta.valueOf(dto.getTipo()));
+		}
+		
+		return conta;
+		
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.daguiar.minhasfinancas.api.resource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.daguiar.minhasfinancas.fluxo.DistribuidorFluxoUsuario;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.RoteamentoProprio;
+
+@RestController
+@RequestMapping("/api/usuarios")
+public class FluxoUsuarioResource {
+	
+	private UsuarioService usuarioService;
+	
+	private DistribuidorFluxoUsuario distribuidor;
+	
+	public FluxoUsuarioResource(UsuarioService usuarioService, DistribuidorFluxoUsuario distribuidor) {
+		this.usuarioService = usuarioService;
+		this.distribuidor = distribuidor;
+	}
+	
+	@GetMapping(value = "{id}/fluxo", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@RoteamentoProprio
+	public ResponseEntity assinar(@PathVariable("id") Long id) {
+		
+		if(!usuarioService.obterPorID(id).isPresent()) {
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+		}
+		
+		return ResponseEntity.ok(distribuidor.assinar(id));
+		
+	}
+
+}
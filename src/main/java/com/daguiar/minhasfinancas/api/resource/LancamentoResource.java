@@ -1,9 +1,19 @@
 package com.daguiar.minhasfinancas.api.resource;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,19 +21,38 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.daguiar.minhasfinancas.api.cache.CacheLancamentoSerializado;
 import com.daguiar.minhasfinancas.api.dto.AtualizaStatusDTO;
 import com.daguiar.minhasfinancas.api.dto.LancamentoDTO;
+import com.daguiar.minhasfinancas.api.dto.ParcelamentoDTO;
+import com.daguiar.minhasfinancas.api.dto.TransferenciaDTO;
 import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.importacao.ResultadoImportacao;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.Conta;
 import com.daguiar.minhasfinancas.model.entity.Lancamento;
 import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
 import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
 import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.CategoriaService;
+import com.daguiar.minhasfinancas.service.ContaService;
+import com.daguiar.minhasfinancas.service.IdempotenciaService;
+import com.daguiar.minhasfinancas.service.ImportacaoExtratoService;
+import com.daguiar.minhasfinancas.service.IngestaoLancamentoService;
 import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.service.LivroService;
+import com.daguiar.minhasfinancas.service.OutboxLancamentoService;
 import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.InterceptorShardUsuario;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+import com.daguiar.minhasfinancas.shard.RoteamentoProprio;
 
 @RestController
 @RequestMapping("/api/lancamentos")
@@ -33,9 +62,40 @@ public class LancamentoResource {
 	
 	private UsuarioService usuarioService;
 	
-	public LancamentoResource(LancamentoService service, UsuarioService usuarioService) {
+	private IdempotenciaService idempotenciaService;
+	
+	private CacheLancamentoSerializado cacheSerializado;
+	
+	private CategoriaService categoriaService;
+	
+	private IngestaoLancamentoService ingestaoService;
+	
+	private ImportacaoExtratoService importacaoService;
+	
+	private ContaService contaService;
+	
+	private LivroService livroService;
+	
+	private OutboxLancamentoService outboxService;
+	
+	private RoteadorShards roteador;
+	
+	public LancamentoResource(LancamentoService service, UsuarioService usuarioService, 
+			IdempotenciaService idempotenciaService, CacheLancamentoSerializado cacheSerializado,
+			CategoriaService categoriaService, IngestaoLancamentoService ingestaoService,
+			ImportacaoExtratoService importacaoService, ContaService contaService, LivroService livroService,
+			OutboxLancamentoService outboxService, RoteadorShards roteador) {
 		this.service = service;
 		this.usuarioService = usuarioService;
+		this.idempotenciaService = idempotenciaService;
+		this.cacheSerializado = cacheSerializado;
+		this.categoriaService = categoriaService;
+		this.ingestaoService = ingestaoService;
+		this.importacaoService = importacaoService;
+		this.contaService = contaService;
+		this.livroService = livroService;
+		this.outboxService = outboxService;
+		this.roteador = roteador;
 	}
 	
 	@GetMapping
@@ -43,6 +103,9 @@ public class LancamentoResource {
 			@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
 			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+			@RequestParam(value = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal,
+			@RequestParam(value = "livro", required = false) Long idLivro,
 			@RequestParam("usuario") Long idUsuario
 			) {
 		
@@ -50,6 +113,7 @@ public class LancamentoResource {
 		lancamentoFiltro.setDescricao(descricao);
 		lancamentoFiltro.setMes(mes);
 		lancamentoFiltro.setAno(ano);
+		lancamentoFiltro.setMoeda(null);
 		Optional<Usuario> usuario = usuarioService.obterPorID(idUsuario);
 		if(!usuario.isPresent()) {
 			return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontrado.");
@@ -57,26 +121,127 @@ public class LancamentoResource {
 			lancamentoFiltro.setUsuario(usuario.get());
 		}
 		
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		try {
+			if(idLivro != null) {
+				livroService.verificarLeitura(idUsuario, idLivro);
+				return ResponseEntity.ok(converter(service.buscarNoLivro(idLivro, lancamentoFiltro, dataInicial, dataFinal)));
+			}
+			List<Lancamento> lancamentos = service.buscar(lancamentoFiltro, dataInicial, dataFinal);
+			return ResponseEntity.ok(converter(lancamentos));
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 		
 	}
 	
 	@GetMapping("{id}")
-	public ResponseEntity obterLancamento(@PathVariable("id") Long id) {
+	@RoteamentoProprio
+	public ResponseEntity obterLancamento(@PathVariable("id") Long id,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+		
 		return service.obterPorId(id)
-				.map(lancamento -> new ResponseEntity(converter(lancamento), HttpStatus.OK))
+				.map(lancamento -> {
+					ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().eTag(String.valueOf(lancamento.getVersao()));
+					if(!preferirJson(accept)) {
+						return resposta.body(converter(lancamento));
+					}
+					return resposta
+							.contentType(MediaType.APPLICATION_JSON)
+							.body(cacheSerializado.obter(lancamento, () -> converter(lancamento)));
+				})
 				.orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+		
+	}
+	
+	@GetMapping("{id}/historico")
+	@RoteamentoProprio
+	public ResponseEntity obterHistorico(@PathVariable("id") Long id,
+			@RequestHeader(value = InterceptorShardUsuario.CABECALHO_USUARIO, required = false) Long idSolicitante) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			try {
+				verificarLeitura(idSolicitante, entidade);
+				return ResponseEntity.ok(noShardDoUsuario(entidade.getUsuario().getId(), () -> outboxService.buscarHistorico(id)));
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () -> 
+			new ResponseEntity("Lançamento não encontrado.", HttpStatus.BAD_REQUEST));
+		
 	}
 	
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
+	@RoteamentoProprio
+	public ResponseEntity salvar(@RequestBody LancamentoDTO dto,
+			@RequestHeader(value = "Idempotency-Key", required = false) String chaveIdempotencia) {
+		
+		try {
+			
+			return noShardDoUsuario(dto.getUsuario(), () -> {
+				
+				if(chaveIdempotencia != null) {
+					String chave = dto.getUsuario() + ":" + chaveIdempotencia;
+					String resposta = idempotenciaService.executar(chave, () -> converter(service.salvar(converter(dto))));
+					return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body(resposta);
+				}
+				
+				Lancamento entidade = converter(dto);
+				entidade = service.salvar(entidade);
+				return new ResponseEntity(converter(entidade), HttpStatus.CREATED);
+				
+			});
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PostMapping("ingestao")
+	@RoteamentoProprio
+	public ResponseEntity ingerir(@RequestBody List<LancamentoDTO> dtos) {
+		
+		try {
+			
+			// categoria, conta e permissões de livro são conferidas no shard de cada usuário; a gravação já é roteada pela ingestão
+			List<Lancamento> lancamentos = dtos.stream()
+					.map(dto -> noShardDoUsuario(dto.getUsuario(), () -> {
+						Lancamento lancamento = converter(dto);
+						service.validar(lancamento);
+						return lancamento;
+					}))
+					.collect(Collectors.toList());
+			if(!ingestaoService.enfileirar(lancamentos)) {
+				return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+						.header(HttpHeaders.RETRY_AFTER, "1")
+						.body("Fila de ingestão cheia. Tente novamente em instantes.");
+			}
+			List<Long> ids = lancamentos.stream().map(Lancamento::getId).collect(Collectors.toList());
+			return ResponseEntity.accepted().body(ids);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@GetMapping("ingestao/metricas")
+	@RoteamentoProprio
+	public ResponseEntity obterMetricasIngestao() {
+		return ResponseEntity.ok(ingestaoService.obterMetricas());
+	}
+	
+	@PostMapping("importacao")
+	public ResponseEntity importarExtrato(@RequestParam("usuario") Long idUsuario, InputStream conteudo) {
 		
 		try {
 			
-			Lancamento entidade = converter(dto);
-			entidade = service.salvar(entidade);
-			return new ResponseEntity(entidade, HttpStatus.CREATED);
+			ResultadoImportacao resultado = importacaoService.importar(idUsuario, Channels.newChannel(conteudo));
+			return ResponseEntity.ok(resultado);
 			
 		} catch(RegraNegocioException e) {
 			
@@ -86,15 +251,75 @@ public class LancamentoResource {
 		
 	}
 	
+	@PostMapping("parcelamentos")
+	@RoteamentoProprio
+	public ResponseEntity salvarParcelamento(@RequestBody ParcelamentoDTO dto) {
+		
+		try {
+			
+			List<Lancamento> parcelas = noShardDoUsuario(dto.getUsuario(), 
+					() -> service.salvarParcelamento(converter(dto), dto.getQuantidadeParcelas()));
+			return new ResponseEntity(converter(parcelas), HttpStatus.CREATED);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PostMapping("transferencias")
+	@RoteamentoProprio
+	public ResponseEntity salvarTransferencia(@RequestBody TransferenciaDTO dto) {
+		
+		try {
+			
+			List<Lancamento> pontas = noShardDoUsuario(dto.getUsuario(), 
+					() -> service.salvarTransferencia(converter(dto), converterConta(dto.getContaDestino())));
+			return new ResponseEntity(converter(pontas), HttpStatus.CREATED);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PutMapping("parcelamentos/{grupo}/atualiza-status")
+	@RoteamentoProprio
+	public ResponseEntity atualizarStatusDoParcelamento(@PathVariable("grupo") String grupo, @RequestBody AtualizaStatusDTO dto) {
+		
+		StatusLancamento statusSelecionado;
+		try {
+			statusSelecionado = converterStatus(dto.getStatus());
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		// as parcelas de um grupo são de um só usuário, então ficam todas no mesmo shard
+		boolean atualizado = roteador.existeEmAlgum(() -> service.atualizarStatusDoParcelamento(grupo, statusSelecionado) > 0);
+		if(!atualizado) {
+			return new ResponseEntity("Parcelamento não encontrado.", HttpStatus.BAD_REQUEST);
+		}
+		return new ResponseEntity(HttpStatus.NO_CONTENT);
+		
+	}
+	
 	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
+	@RoteamentoProprio
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+			@RequestHeader(value = InterceptorShardUsuario.CABECALHO_USUARIO, required = false) Long idSolicitante) {
 		
 		return service.obterPorId(id).map(entidade -> {
 			try {
-				Lancamento lancamento = converter(dto);
-				lancamento.setId(entidade.getId());
-				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				verificarEscrita(idSolicitante, entidade);
+				Lancamento atualizado = noShardDoUsuario(entidade.getUsuario().getId(), () -> {
+					Lancamento lancamento = converter(dto);
+					manterCamposForaDoDTO(lancamento, entidade);
+					return service.atualizar(lancamento);
+				});
+				return ResponseEntity.ok(converter(atualizado));
 			} catch(RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
@@ -104,19 +329,18 @@ public class LancamentoResource {
 	}
 	
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
+	@RoteamentoProprio
+	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+			@RequestHeader(value = InterceptorShardUsuario.CABECALHO_USUARIO, required = false) Long idSolicitante) {
 		
 		return service.obterPorId(id).map(entidade -> {
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
-			if(statusSelecionado == null) {
-				ResponseEntity.badRequest().body("Envie um status válido.");
-			}
-			
 			try {
 				
+				StatusLancamento statusSelecionado = converterStatus(dto.getStatus());
+				verificarEscrita(idSolicitante, entidade);
 				entidade.setStatus(statusSelecionado);
-				Lancamento lancamento = service.atualizar(entidade);
-				return ResponseEntity.ok(lancamento);	
+				Lancamento lancamento = noShardDoUsuario(entidade.getUsuario().getId(), () -> service.atualizar(entidade));
+				return ResponseEntity.ok(converter(lancamento));	
 				
 			} catch(RegraNegocioException e) {
 				
@@ -130,27 +354,162 @@ public class LancamentoResource {
 	}
 	
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
+	@RoteamentoProprio
+	public ResponseEntity deletar(@PathVariable("id") Long id,
+			@RequestHeader(value = InterceptorShardUsuario.CABECALHO_USUARIO, required = false) Long idSolicitante) {
 		
 		return service.obterPorId(id).map(entidade -> {
-			service.deletar(entidade);
-			return new ResponseEntity(HttpStatus.NO_CONTENT);
+			try {
+				verificarEscrita(idSolicitante, entidade);
+				noShardDoUsuario(entidade.getUsuario().getId(), () -> {
+					service.deletar(entidade);
+					return null;
+				});
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
 		}).orElseGet( () ->
 			new ResponseEntity("Lançamento não encontrado.", HttpStatus.BAD_REQUEST));
 		
 	}
 	
+	@DeleteMapping
+	public ResponseEntity deletarEmLote(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam("ano") Integer ano,
+			@RequestParam(value = "mes", required = false) Integer mes
+			) {
+		
+		try {
+			
+			int excluidos = service.deletarEmLote(idUsuario, ano, mes);
+			return ResponseEntity.ok(excluidos);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PutMapping("{id}/restaurar")
+	@RoteamentoProprio
+	public ResponseEntity restaurar(@PathVariable("id") Long id,
+			@RequestHeader(value = InterceptorShardUsuario.CABECALHO_USUARIO, required = false) Long idSolicitante) {
+		
+		return service.obterExcluidoPorId(id).map(excluido -> {
+			try {
+				verificarEscrita(idSolicitante, excluido);
+				return noShardDoUsuario(excluido.getUsuario().getId(), () -> service.restaurar(id))
+						.map(lancamento -> new ResponseEntity(converter(lancamento), HttpStatus.OK))
+						.orElseGet( () -> 
+							new ResponseEntity("Lançamento excluído não encontrado.", HttpStatus.BAD_REQUEST));
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () -> 
+			new ResponseEntity("Lançamento excluído não encontrado.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	// o merge grava a entidade inteira: o que o DTO não traz vem do lançamento gravado, senão a parcela sai
+	// do parcelamento, a ocorrência perde a recorrência e a reimportação do extrato não reconhece mais a linha
+	private void manterCamposForaDoDTO(Lancamento lancamento, Lancamento entidade) {
+		lancamento.setId(entidade.getId());
+		lancamento.setVersao(entidade.getVersao());
+		lancamento.setGrupo(entidade.getGrupo());
+		lancamento.setParcela(entidade.getParcela());
+		lancamento.setRecorrencia(entidade.getRecorrencia());
+		lancamento.setImpressaoDigital(entidade.getImpressaoDigital());
+		lancamento.setDataCadastro(entidade.getDataCadastro());
+		lancamento.setValorBaseCentavos(entidade.getValorBaseCentavos());
+		if(lancamento.getStatus() == null) {
+			lancamento.setStatus(entidade.getStatus());
+		}
+	}
+	
+	// o lançamento fica no shard do dono, que nem sempre é quem faz a requisição (membros de um livro)
+	private <T> T noShardDoUsuario(Long idUsuario, Supplier<T> operacao) {
+		if(idUsuario == null) {
+			throw new RegraNegocioException("Usuário não encontrado.");
+		}
+		return roteador.executarComoUsuario(idUsuario, operacao);
+	}
+	
+	// sem o cabeçalho a requisição é do próprio dono do lançamento; outro usuário só altera lançamentos
+	// de um livro em que seja editor
+	private void verificarEscrita(Long idSolicitante, Lancamento lancamento) {
+		if(idSolicitante == null || idSolicitante.equals(lancamento.getUsuario().getId())) {
+			return;
+		}
+		if(lancamento.getIdLivro() == null) {
+			throw new RegraNegocioException("Usuário sem permissão para alterar o lançamento.");
+		}
+		livroService.verificarEscrita(idSolicitante, lancamento.getIdLivro());
+	}
+	
+	private void verificarLeitura(Long idSolicitante, Lancamento lancamento) {
+		if(idSolicitante == null || idSolicitante.equals(lancamento.getUsuario().getId())) {
+			return;
+		}
+		if(lancamento.getIdLivro() == null) {
+			throw new RegraNegocioException("Usuário sem permissão para consultar o lançamento.");
+		}
+		livroService.verificarLeitura(idSolicitante, lancamento.getIdLivro());
+	}
+	
+	private static boolean preferirJson(String accept) {
+		
+		if(accept == null || accept.trim().isEmpty()) {
+			return true;
+		}
+		
+		List<MediaType> aceitos = MediaType.parseMediaTypes(accept);
+		MediaType.sortBySpecificityAndQuality(aceitos);
+		for(MediaType aceito : aceitos) {
+			if(aceito.includes(MediaType.APPLICATION_JSON)) {
+				return true;
+			}
+			if(aceito.includes(MediaType.APPLICATION_CBOR)) {
+				return false;
+			}
+		}
+		return false;
+		
+	}
+	
+	private List<LancamentoDTO> converter(List<Lancamento> lancamentos) {
+		return lancamentos.stream().map(this::converter).collect(Collectors.toList());
+	}
+	
 	private LancamentoDTO converter(Lancamento lancamento) {
 		
 		LancamentoDTO dto = new LancamentoDTO();
 		dto.setId(lancamento.getId());
 		dto.setDescricao(lancamento.getDescricao());
 		dto.setValor(lancamento.getValor());
+		if(lancamento.getMoeda() != null) {
+			dto.setMoeda(lancamento.getMoeda().name());
+		}
 		dto.setMes(lancamento.getMes());
 		dto.setAno(lancamento.getAno());
-		dto.setStatus(lancamento.getStatus().name());
-		dto.setTipo(lancamento.getTipo().name());
+		dto.setDataLancamento(lancamento.getDataLancamento());
+		if(lancamento.getStatus() != null) {
+			dto.setStatus(lancamento.getStatus().name());
+		}
+		if(lancamento.getTipo() != null) {
+			dto.setTipo(lancamento.getTipo().name());
+		}
 		dto.setUsuario(lancamento.getUsuario().getId());
+		if(lancamento.getCategoria() != null) {
+			dto.setCategoria(lancamento.getCategoria().getId());
+		}
+		if(lancamento.getConta() != null) {
+			dto.setConta(lancamento.getConta().getId());
+		}
+		dto.setLivro(lancamento.getIdLivro());
 		
 		return dto;
 		
@@ -159,14 +518,22 @@ public class LancamentoResource {
 	private Lancamento converter(LancamentoDTO dto) {
 		
 		Lancamento lancamento = new Lancamento();
-		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
-		lancamento.setValor(dto.getValor());
+		lancamento.setValorMonetario(converterValor(dto.getValor()));
+		lancamento.setMoeda(converterMoeda(dto.getMoeda()));
+		lancamento.setDataLancamento(dto.getDataLancamento());
+		if(dto.getDataLancamento() != null) {
+			lancamento.setAno(dto.getDataLancamento().getYear());
+			lancamento.setMes(dto.getDataLancamento().getMonthValue());
+		}
 		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
 		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
 		lancamento.setUsuario(usuario);
+		lancamento.setCategoria(converterCategoria(dto.getCategoria()));
+		lancamento.setConta(converterConta(dto.getConta()));
+		lancamento.setIdLivro(dto.getLivro());
 		
 		if(dto.getTipo() != null) {
 			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));			
@@ -179,5 +546,92 @@ public class LancamentoResource {
 		return lancamento;
 		
 	}
+	
+	private Moeda converterMoeda(String moeda) {
+		if(moeda == null) {
+			return Moeda.BRL;
+		}
+		try {
+			return Moeda.valueOf(moeda);
+		} catch(IllegalArgumentException e) {
+			throw new RegraNegocioException("Moeda não suportada: " + moeda);
+		}
+	}
+	
+	private StatusLancamento converterStatus(String status) {
+		if(status == null) {
+			throw new RegraNegocioException("Envie um status válido.");
+		}
+		try {
+			return StatusLancamento.valueOf(status);
+		} catch(IllegalArgumentException e) {
+			throw new RegraNegocioException("Envie um status válido.");
+		}
+	}
+	
+	private Dinheiro converterValor(BigDecimal valor) {
+		if(valor == null) {
+			return null;
+		}
+		try {
+			return Dinheiro.de(valor);
+		} catch(IllegalArgumentException e) {
+			throw new RegraNegocioException("Informe um valor válido.");
+		}
+	}
+	
+	private Conta converterConta(Long idConta) {
+		if(idConta == null) {
+			return null;
+		}
+		return contaService.obterPorId(idConta)
+				.orElseThrow( () -> new RegraNegocioException("Conta não encontrada para o Id informado."));
+	}
+	
+	private Categoria converterCategoria(Long idCategoria) {
+		if(idCategoria == null) {
+			return null;
+		}
+		return categoriaService.obterPorId(idCategoria)
+				.orElseThrow( () -> new RegraNegocioException("Categoria não encontrada para o Id informado."));
+	}
+	
+	private Lancamento converter(TransferenciaDTO dto) {
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setDescricao(dto.getDescricao());
+		lancamento.setValorMonetario(converterValor(dto.getValor()));
+		lancamento.setMoeda(converterMoeda(dto.getMoeda()));
+		LocalDate data = dto.getDataLancamento() != null ? dto.getDataLancamento() : LocalDate.now();
+		lancamento.setDataLancamento(data);
+		lancamento.setAno(data.getYear());
+		lancamento.setMes(data.getMonthValue());
+		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
+		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
+		lancamento.setUsuario(usuario);
+		lancamento.setConta(converterConta(dto.getContaOrigem()));
+		
+		return lancamento;
+		
+	}
+	
+	private Lancamento converter(ParcelamentoDTO dto) {
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setDescricao(dto.getDescricao());
+		lancamento.setAno(dto.getAnoInicial());
+		lancamento.setMes(dto.getMesInicial());
+		lancamento.setValorMonetario(converterValor(dto.getValorTotal()));
+		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
+		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
+		lancamento.setUsuario(usuario);
+		
+		if(dto.getTipo() != null) {
+			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));			
+		}
+		
+		return lancamento;
+		
+	}
 
 }
@@ -0,0 +1,179 @@
+package com.daguiar.minhasfinancas.api.resource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.daguiar.minhasfinancas.api.dto.LivroDTO;
+import com.daguiar.minhasfinancas.api.dto.MembroLivroDTO;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.livro.PermissoesLivro;
+import com.daguiar.minhasfinancas.model.entity.Livro;
+import com.daguiar.minhasfinancas.model.entity.MembroLivro;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+import com.daguiar.minhasfinancas.service.LivroService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.InterceptorShardUsuario;
+
+@RestController
+@RequestMapping("/api/livros")
+public class LivroResource {
+	
+	private LivroService service;
+	
+	private UsuarioService usuarioService;
+	
+	public LivroResource(LivroService service, UsuarioService usuarioService) {
+		this.service = service;
+		this.usuarioService = usuarioService;
+	}
+	
+	@GetMapping
+	public ResponseEntity buscar(@RequestParam("usuario") Long idUsuario) {
+		
+		PermissoesLivro permissoes = service.obterPermissoes(idUsuario);
+		List<LivroDTO> livros = service.buscarPorUsuario(idUsuario).stream()
+				.map(livro -> {
+					LivroDTO dto = converter(livro);
+					PapelMembro papel = permissoes.papel(livro.getId());
+					if(papel != null) {
+						dto.setPapel(papel.name());
+					}
+					return dto;
+				})
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(livros);
+		
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody LivroDTO dto) {
+		
+		try {
+			
+			Livro entidade = converter(dto);
+			entidade = service.salvar(entidade);
+			LivroDTO salvo = converter(entidade);
+			salvo.setPapel(PapelMembro.DONO.name());
+			return new ResponseEntity(salvo, HttpStatus.CREATED);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@GetMapping("{id}/membros")
+	public ResponseEntity buscarMembros(@PathVariable("id") Long id,
+			@RequestHeader(InterceptorShardUsuario.CABECALHO_USUARIO) Long idSolicitante) {
+		
+		try {
+			
+			service.verificarLeitura(idSolicitante, id);
+			List<MembroLivroDTO> membros = service.buscarMembros(id).stream()
+					.map(this::converter)
+					.collect(Collectors.toList());
+			return ResponseEntity.ok(membros);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PostMapping("{id}/membros")
+	public ResponseEntity adicionarMembro(@PathVariable("id") Long id, @RequestBody MembroLivroDTO dto,
+			@RequestHeader(InterceptorShardUsuario.CABECALHO_USUARIO) Long idSolicitante) {
+		
+		return service.obterPorId(id).map(livro -> {
+			try {
+				verificarDono(idSolicitante, livro);
+				PapelMembro papel = dto.getPapel() == null ? PapelMembro.LEITOR : PapelMembro.valueOf(dto.getPapel());
+				service.adicionarMembro(livro, dto.getUsuario(), papel);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () -> 
+			new ResponseEntity("Livro não encontrado.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	@DeleteMapping("{id}/membros/{usuario}")
+	public ResponseEntity removerMembro(@PathVariable("id") Long id, @PathVariable("usuario") Long idUsuario,
+			@RequestHeader(InterceptorShardUsuario.CABECALHO_USUARIO) Long idSolicitante) {
+		
+		return service.obterPorId(id).map(livro -> {
+			try {
+				// o próprio membro pode sair do livro
+				if(!idSolicitante.equals(idUsuario)) {
+					verificarDono(idSolicitante, livro);
+				}
+				service.removerMembro(livro, idUsuario);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () ->
+			new ResponseEntity("Livro não encontrado.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	private void verificarDono(Long idSolicitante, Livro livro) {
+		if(!livro.getUsuario().getId().equals(idSolicitante)) {
+			throw new RegraNegocioException("Apenas o dono pode alterar os membros do livro.");
+		}
+	}
+	
+	private LivroDTO converter(Livro livro) {
+		
+		LivroDTO dto = new LivroDTO();
+		dto.setId(livro.getId());
+		dto.setNome(livro.getNome());
+		dto.setUsuario(livro.getUsuario().getId());
+		
+		return dto;
+		
+	}
+	
+	private Livro converter(LivroDTO dto) {
+		
+		Livro livro = new Livro();
+		livro.setNome(dto.getNome());
+		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
+		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
+		livro.setUsuario(usuario);
+		
+		return livro;
+		
+	}
+	
+	private MembroLivroDTO converter(MembroLivro membro) {
+		
+		MembroLivroDTO dto = new MembroLivroDTO();
+		dto.setUsuario(membro.getUsuario().getId());
+		if(membro.getPapel() != null) {
+			dto.setPapel(membro.getPapel().name());
+		}
+		
+		return dto;
+		
+	}
+
+}
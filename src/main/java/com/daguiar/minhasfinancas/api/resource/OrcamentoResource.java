@@ -0,0 +1,179 @@
+package com.daguiar.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.daguiar.minhasfinancas.api.dto.OrcamentoDTO;
+import com.daguiar.minhasfinancas.api.dto.TotalOrcamentoDTO;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Orcamento;
+import com.daguiar.minhasfinancas.model.entity.TotalOrcamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.CategoriaService;
+import com.daguiar.minhasfinancas.service.OrcamentoService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+
+@RestController
+@RequestMapping("/api/orcamentos")
+public class OrcamentoResource {
+	
+	private OrcamentoService service;
+	
+	private UsuarioService usuarioService;
+	
+	private CategoriaService categoriaService;
+	
+	public OrcamentoResource(OrcamentoService service, UsuarioService usuarioService, CategoriaService categoriaService) {
+		this.service = service;
+		this.usuarioService = usuarioService;
+		this.categoriaService = categoriaService;
+	}
+	
+	@GetMapping
+	public ResponseEntity buscar(@RequestParam("usuario") Long idUsuario) {
+		List<OrcamentoDTO> orcamentos = service.buscarPorUsuario(idUsuario).stream()
+				.map(this::converter)
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(orcamentos);
+	}
+	
+	@GetMapping("totais")
+	public ResponseEntity obterTotais(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam("ano") Integer ano,
+			@RequestParam("mes") Integer mes
+			) {
+		
+		try {
+			
+			List<TotalOrcamentoDTO> totais = service.obterTotais(idUsuario, ano, mes).stream()
+					.map(this::converter)
+					.collect(Collectors.toList());
+			return ResponseEntity.ok(totais);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody OrcamentoDTO dto) {
+		
+		try {
+			
+			Orcamento entidade = converter(dto);
+			entidade = service.salvar(entidade);
+			return new ResponseEntity(converter(entidade), HttpStatus.CREATED);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@PutMapping("{id}")
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody OrcamentoDTO dto) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			try {
+				Orcamento orcamento = converter(dto);
+				orcamento.setId(entidade.getId());
+				Orcamento atualizado = service.atualizar(orcamento);
+				return ResponseEntity.ok(converter(atualizado));
+			} catch(RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}).orElseGet( () -> 
+			new ResponseEntity("Orçamento não encontrado.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	@DeleteMapping("{id}")
+	public ResponseEntity deletar(@PathVariable("id") Long id) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			service.deletar(entidade);
+			return new ResponseEntity(HttpStatus.NO_CONTENT);
+		}).orElseGet( () ->
+			new ResponseEntity("Orçamento não encontrado.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	private OrcamentoDTO converter(Orcamento orcamento) {
+		
+		OrcamentoDTO dto = new OrcamentoDTO();
+		dto.setId(orcamento.getId());
+		dto.setTipo(orcamento.getTipo() == null ? null : orcamento.getTipo().name());
+		dto.setCategoria(orcamento.getCategoria() == null ? null : orcamento.getCategoria().getId());
+		dto.setLimite(orcamento.getLimite());
+		dto.setUsuario(orcamento.getUsuario().getId());
+		
+		return dto;
+		
+	}
+	
+	private TotalOrcamentoDTO converter(TotalOrcamento total) {
+		
+		TotalOrcamentoDTO dto = new TotalOrcamentoDTO();
+		dto.setOrcamento(total.getOrcamento().getId());
+		dto.setGasto(Dinheiro.deCentavos(total.getGastoCentavos()).toBigDecimal());
+		dto.setLimite(total.getOrcamento().getLimite());
+		dto.setFaixa(total.getFaixaAlertada());
+		
+		return dto;
+		
+	}
+	
+	private Orcamento converter(OrcamentoDTO dto) {
+		
+		Orcamento orcamento = new Orcamento();
+		orcamento.setLimiteMonetario(converterLimite(dto.getLimite()));
+		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
+		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
+		orcamento.setUsuario(usuario);
+		
+		if(dto.getTipo() != null) {
+			orcamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+		}
+		
+		if(dto.getCategoria() != null) {
+			orcamento.setCategoria(categoriaService.obterPorId(dto.getCategoria())
+					.orElseThrow( () -> new RegraNegocioException("Categoria não encontrada para o Id informado.")));
+		}
+		
+		return orcamento;
+		
+	}
+	
+	private Dinheiro converterLimite(BigDecimal limite) {
+		if(limite == null) {
+			return null;
+		}
+		try {
+			return Dinheiro.de(limite);
+		} catch(IllegalArgumentException e) {
+			throw new RegraNegocioException("Informe um limite válido.");
+		}
+	}
+
+}
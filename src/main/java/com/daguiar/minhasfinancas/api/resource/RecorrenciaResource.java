@@ -0,0 +1,116 @@
+package com.daguiar.minhasfinancas.api.resource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.daguiar.minhasfinancas.api.dto.RecorrenciaDTO;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Recorrencia;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.service.RecorrenciaService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+public class RecorrenciaResource {
+	
+	private RecorrenciaService service;
+	
+	private UsuarioService usuarioService;
+	
+	public RecorrenciaResource(RecorrenciaService service, UsuarioService usuarioService) {
+		this.service = service;
+		this.usuarioService = usuarioService;
+	}
+	
+	@GetMapping
+	public ResponseEntity buscar(@RequestParam("usuario") Long idUsuario) {
+		List<RecorrenciaDTO> recorrencias = service.buscarAtivasPorUsuario(idUsuario).stream()
+				.map(this::converter)
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(recorrencias);
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody RecorrenciaDTO dto) {
+		
+		try {
+			
+			Recorrencia entidade = converter(dto);
+			entidade = service.salvar(entidade);
+			return new ResponseEntity(converter(entidade), HttpStatus.CREATED);
+			
+		} catch(RegraNegocioException e) {
+			
+			return ResponseEntity.badRequest().body(e.getMessage());
+			
+		}
+		
+	}
+	
+	@DeleteMapping("{id}")
+	public ResponseEntity desativar(@PathVariable("id") Long id) {
+		
+		return service.obterPorId(id).map(entidade -> {
+			service.desativar(entidade);
+			return new ResponseEntity(HttpStatus.NO_CONTENT);
+		}).orElseGet( () ->
+			new ResponseEntity("Recorrência não encontrada.", HttpStatus.BAD_REQUEST));
+		
+	}
+	
+	private RecorrenciaDTO converter(Recorrencia recorrencia) {
+		
+		RecorrenciaDTO dto = new RecorrenciaDTO();
+		dto.setId(recorrencia.getId());
+		dto.setDescricao(recorrencia.getDescricao());
+		dto.setValor(recorrencia.getValor());
+		dto.setMesInicial(recorrencia.getMesInicial());
+		dto.setAnoInicial(recorrencia.getAnoInicial());
+		dto.setQuantidadeOcorrencias(recorrencia.getQuantidadeOcorrencias());
+		dto.setTipo(recorrencia.getTipo().name());
+		dto.setPeriodicidade(recorrencia.getPeriodicidade().name());
+		dto.setUsuario(recorrencia.getUsuario().getId());
+		
+		return dto;
+		
+	}
+	
+	private Recorrencia converter(RecorrenciaDTO dto) {
+		
+		Recorrencia recorrencia = new Recorrencia();
+		recorrencia.setDescricao(dto.getDescricao());
+		recorrencia.setValor(dto.getValor());
+		recorrencia.setMesInicial(dto.getMesInicial());
+		recorrencia.setAnoInicial(dto.getAnoInicial());
+		recorrencia.setQuantidadeOcorrencias(dto.getQuantidadeOcorrencias());
+		Usuario usuario = usuarioService.obterPorID(dto.getUsuario())
+		.orElseThrow( ()-> new RegraNegocioException("Usuário não encontrado."));
+		recorrencia.setUsuario(usuario);
+		
+		if(dto.getTipo() != null) {
+			recorrencia.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+		}
+		
+		if(dto.getPeriodicidade() != null) {
+			recorrencia.setPeriodicidade(PeriodicidadeRecorrencia.valueOf(dto.getPeriodicidade()));
+		}
+		
+		return recorrencia;
+		
+	}
+
+}
@@ -18,6 +18,8 @@ import com.daguiar.minhasfinancas.exception.RegraNegocioException;
 import com.daguiar.minhasfinancas.model.entity.Usuario;
 import com.daguiar.minhasfinancas.service.LancamentoService;
 import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+import com.daguiar.minhasfinancas.shard.RoteamentoProprio;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -25,13 +27,16 @@ public class UsuarioResource {
 	
 	private UsuarioService service;
 	private LancamentoService lancamentoService;
+	private RoteadorShards roteador;
 	
-	public UsuarioResource(UsuarioService service, LancamentoService lancamentoService) {
+	public UsuarioResource(UsuarioService service, LancamentoService lancamentoService, RoteadorShards roteador) {
 		this.service = service;
 		this.lancamentoService = lancamentoService;
+		this.roteador = roteador;
 	}
 	
 	@PostMapping("/autenticar")
+	@RoteamentoProprio
 	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
 		
 		try {
@@ -48,6 +53,7 @@ public class UsuarioResource {
 	}
 	
 	@PostMapping
+	@RoteamentoProprio
 	public ResponseEntity salvar(@RequestBody UsuarioDTO dto) {
 		
 		Usuario usuario = new Usuario();
@@ -67,6 +73,7 @@ public class UsuarioResource {
 	}
 	
 	@GetMapping("{id}/saldo")
+	@RoteamentoProprio
 	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
 		
 		Optional<Usuario> usuario = service.obterPorID(id);
@@ -74,7 +81,7 @@ public class UsuarioResource {
 			return new ResponseEntity(HttpStatus.NOT_FOUND);
 		}
 		
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
+		BigDecimal saldo = roteador.executarComoUsuario(id, () -> lancamentoService.obterSaldoPorUsuario(id));
 		return ResponseEntity.ok(saldo);
 		
 	}
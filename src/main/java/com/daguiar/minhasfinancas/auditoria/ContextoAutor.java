@@ -0,0 +1,26 @@
+package com.daguiar.minhasfinancas.auditoria;
+
+public final class ContextoAutor {
+	
+	private static final ThreadLocal<Long> AUTOR_ATUAL = new ThreadLocal<>();
+	
+	private ContextoAutor() {
+	}
+	
+	public static Long atual() {
+		return AUTOR_ATUAL.get();
+	}
+	
+	public static void definir(Long idUsuario) {
+		if(idUsuario == null) {
+			AUTOR_ATUAL.remove();
+		} else {
+			AUTOR_ATUAL.set(idUsuario);
+		}
+	}
+	
+	public static void limpar() {
+		AUTOR_ATUAL.remove();
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.daguiar.minhasfinancas.auditoria;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.daguiar.minhasfinancas.shard.InterceptorShardUsuario;
+
+// o cabeçalho identifica quem faz a requisição, que em um livro compartilhado pode não ser o dono do lançamento
+public class InterceptorAutorRequisicao implements HandlerInterceptor {
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		
+		String autor = request.getHeader(InterceptorShardUsuario.CABECALHO_USUARIO);
+		if(autor != null && !autor.isBlank()) {
+			try {
+				ContextoAutor.definir(Long.valueOf(autor.trim()));
+			} catch(NumberFormatException e) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return false;
+			}
+		}
+		return true;
+		
+	}
+	
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		ContextoAutor.limpar();
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.daguiar.minhasfinancas.cache;
+
+import java.util.function.Consumer;
+
+public interface BarramentoInvalidacao {
+	
+	void publicar(RegiaoCache regiao, Long chave);
+	
+	void registrar(RegiaoCache regiao, Consumer<Long> ouvinte);
+
+}
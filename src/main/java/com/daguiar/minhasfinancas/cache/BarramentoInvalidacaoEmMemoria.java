@@ -0,0 +1,53 @@
+package com.daguiar.minhasfinancas.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.cache.barramento", havingValue = "memoria", matchIfMissing = true)
+public class BarramentoInvalidacaoEmMemoria implements BarramentoInvalidacao {
+	
+	private final Map<RegiaoCache, List<Consumer<Long>>> ouvintes = new ConcurrentHashMap<>();
+	
+	private final List<BarramentoInvalidacaoEmMemoria> outrosNos = new CopyOnWriteArrayList<>();
+	
+	public void conectar(BarramentoInvalidacaoEmMemoria outroNo) {
+		outrosNos.add(outroNo);
+		outroNo.outrosNos.add(this);
+	}
+
+	@Override
+	public void publicar(RegiaoCache regiao, Long chave) {
+		
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			outrosNos.forEach(no -> no.notificar(regiao, chave));
+			return;
+		}
+		
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				outrosNos.forEach(no -> no.notificar(regiao, chave));
+			}
+		});
+		
+	}
+
+	@Override
+	public void registrar(RegiaoCache regiao, Consumer<Long> ouvinte) {
+		ouvintes.computeIfAbsent(regiao, chave -> new CopyOnWriteArrayList<>()).add(ouvinte);
+	}
+	
+	private void notificar(RegiaoCache regiao, Long chave) {
+		ouvintes.getOrDefault(regiao, List.of()).forEach(ouvinte -> ouvinte.accept(chave));
+	}
+
+}
@@ -0,0 +1,162 @@
+package com.daguiar.minhasfinancas.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.shard.ContextoShard;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.cache.barramento", havingValue = "postgres")
+public class BarramentoInvalidacaoPostgres implements BarramentoInvalidacao {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(BarramentoInvalidacaoPostgres.class);
+	
+	private static final String CANAL = "minhasfinancas_invalidacao";
+	
+	private static final String SEPARADOR = "|";
+	
+	private static final int ESPERA_NOTIFICACOES_MS = 500;
+	
+	private static final long ESPERA_RECONEXAO_MS = 5000;
+	
+	private final String origem = UUID.randomUUID().toString();
+	
+	private final Map<RegiaoCache, List<Consumer<Long>>> ouvintes = new ConcurrentHashMap<>();
+	
+	private DataSource dataSource;
+	
+	private JdbcTemplate jdbcTemplate;
+	
+	private RoteadorShards roteador;
+	
+	private volatile boolean ativo;
+	
+	private final List<Thread> escutas = new ArrayList<>();
+	
+	public BarramentoInvalidacaoPostgres(DataSource dataSource, JdbcTemplate jdbcTemplate, RoteadorShards roteador) {
+		this.dataSource = dataSource;
+		this.jdbcTemplate = jdbcTemplate;
+		this.roteador = roteador;
+	}
+	
+	@Override
+	public void publicar(RegiaoCache regiao, Long chave) {
+		// dentro de uma transação o NOTIFY só é entregue aos outros nós após o commit, no shard da transação
+		String mensagem = origem + SEPARADOR + regiao.name() + SEPARADOR + (chave == null ? "" : chave);
+		jdbcTemplate.query("select pg_notify(?, ?)", resultado -> {}, CANAL, mensagem);
+	}
+	
+	@Override
+	public void registrar(RegiaoCache regiao, Consumer<Long> ouvinte) {
+		ouvintes.computeIfAbsent(regiao, chave -> new CopyOnWriteArrayList<>()).add(ouvinte);
+	}
+	
+	@PostConstruct
+	public void iniciar() {
+		ativo = true;
+		for(String shard : roteador.getShards()) {
+			Thread escuta = new Thread(() -> escutar(shard), "barramento-invalidacao-" + shard);
+			escuta.setDaemon(true);
+			escuta.start();
+			escutas.add(escuta);
+		}
+	}
+	
+	@PreDestroy
+	public void parar() throws InterruptedException {
+		ativo = false;
+		for(Thread escuta : escutas) {
+			escuta.join(ESPERA_RECONEXAO_MS);
+		}
+	}
+	
+	private void escutar(String shard) {
+		
+		ContextoShard.definir(shard);
+		while(ativo) {
+			
+			try(Connection conexao = dataSource.getConnection(); Statement comando = conexao.createStatement()) {
+				
+				comando.execute("LISTEN " + CANAL);
+				// avisos publicados enquanto não havia conexão podem ter sido perdidos
+				invalidarTudo();
+				
+				PGConnection conexaoPostgres = conexao.unwrap(PGConnection.class);
+				while(ativo) {
+					PGNotification[] notificacoes = conexaoPostgres.getNotifications(ESPERA_NOTIFICACOES_MS);
+					if(notificacoes != null) {
+						for(PGNotification notificacao : notificacoes) {
+							receber(notificacao.getParameter());
+						}
+					}
+				}
+				
+			} catch(SQLException e) {
+				
+				if(ativo) {
+					LOG.warn("Conexão de escuta do barramento de invalidação perdida, reconectando.", e);
+					aguardarReconexao();
+				}
+				
+			}
+			
+		}
+		
+	}
+	
+	private void receber(String mensagem) {
+		
+		String[] partes = mensagem.split("\\" + SEPARADOR, -1);
+		if(partes.length != 3 || origem.equals(partes[0])) {
+			return;
+		}
+		
+		try {
+			notificar(RegiaoCache.valueOf(partes[1]), partes[2].isEmpty() ? null : Long.valueOf(partes[2]));
+		} catch(IllegalArgumentException e) {
+			LOG.warn("Aviso de invalidação ignorado: {}", mensagem);
+		}
+		
+	}
+	
+	private void notificar(RegiaoCache regiao, Long chave) {
+		ouvintes.getOrDefault(regiao, List.of()).forEach(ouvinte -> ouvinte.accept(chave));
+	}
+	
+	private void invalidarTudo() {
+		for(RegiaoCache regiao : RegiaoCache.values()) {
+			notificar(regiao, null);
+		}
+	}
+	
+	private void aguardarReconexao() {
+		try {
+			Thread.sleep(ESPERA_RECONEXAO_MS);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			ativo = false;
+		}
+	}
+
+}
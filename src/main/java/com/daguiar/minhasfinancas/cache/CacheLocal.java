@@ -0,0 +1,81 @@
+package com.daguiar.minhasfinancas.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class CacheLocal<K, V> {
+	
+	private final Map<K, V> valores = new ConcurrentHashMap<>();
+	
+	private final int capacidade;
+	
+	private long geracao;
+	
+	public CacheLocal(int capacidade) {
+		this.capacidade = capacidade;
+	}
+	
+	public V obter(K chave, Function<K, V> carregar) {
+		
+		if(chave == null) {
+			return carregar.apply(null);
+		}
+		
+		V valor = valores.get(chave);
+		if(valor != null) {
+			return valor;
+		}
+		
+		long geracaoAntesDaCarga = geracaoAtual();
+		valor = carregar.apply(chave);
+		if(valor != null) {
+			armazenar(chave, valor, geracaoAntesDaCarga);
+		}
+		return valor;
+		
+	}
+	
+	public void invalidar(K chave) {
+		
+		remover(chave);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			// leituras concorrentes podem recarregar o valor antigo até o commit
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					remover(chave);
+				}
+			});
+		}
+		
+	}
+	
+	private synchronized void remover(K chave) {
+		geracao++;
+		if(chave == null) {
+			valores.clear();
+		} else {
+			valores.remove(chave);
+		}
+	}
+	
+	private synchronized long geracaoAtual() {
+		return geracao;
+	}
+	
+	private synchronized void armazenar(K chave, V valor, long geracaoAntesDaCarga) {
+		// uma invalidação recebida durante a carga pode não estar refletida no valor carregado
+		if(geracao != geracaoAntesDaCarga) {
+			return;
+		}
+		if(valores.size() >= capacidade) {
+			valores.clear();
+		}
+		valores.put(chave, valor);
+	}
+
+}
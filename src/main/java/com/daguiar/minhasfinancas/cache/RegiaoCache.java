@@ -0,0 +1,12 @@
+package com.daguiar.minhasfinancas.cache;
+
+public enum RegiaoCache {
+	
+	USUARIO,
+	LANCAMENTOS_USUARIO,
+	CATEGORIAS_USUARIO,
+	ORCAMENTOS_USUARIO,
+	COTACOES,
+	MEMBROS_LIVRO
+
+}
@@ -0,0 +1,14 @@
+package com.daguiar.minhasfinancas.cambio;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.entity.CotacaoMoeda;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+
+public interface FonteCotacoes {
+	
+	// cotações em ordem de data a partir de desde, inclusive; desde nulo traz todo o histórico disponível
+	List<CotacaoMoeda> obter(Moeda moeda, LocalDate desde);
+
+}
@@ -0,0 +1,82 @@
+package com.daguiar.minhasfinancas.cambio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.model.entity.CotacaoMoeda;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+
+// uma cotação por linha: data;moeda;taxa (2021-01-04;USD;5.3248); linhas vazias ou iniciadas por # são ignoradas
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.cambio.fonte", havingValue = "arquivo", matchIfMissing = true)
+public class FonteCotacoesArquivo implements FonteCotacoes {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(FonteCotacoesArquivo.class);
+	
+	private final Path arquivo;
+	
+	public FonteCotacoesArquivo(@Value("${minhasfinancas.cambio.arquivo:cotacoes.csv}") String arquivo) {
+		this.arquivo = Paths.get(arquivo);
+	}
+
+	@Override
+	public List<CotacaoMoeda> obter(Moeda moeda, LocalDate desde) {
+		
+		if(!Files.exists(arquivo)) {
+			return List.of();
+		}
+		
+		List<CotacaoMoeda> cotacoes = new ArrayList<>();
+		try {
+			for(String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+				CotacaoMoeda cotacao = ler(linha.trim());
+				if(cotacao != null && cotacao.getMoeda() == moeda 
+						&& (desde == null || !cotacao.getData().isBefore(desde))) {
+					cotacoes.add(cotacao);
+				}
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		cotacoes.sort(Comparator.comparing(CotacaoMoeda::getData));
+		return cotacoes;
+		
+	}
+	
+	private CotacaoMoeda ler(String linha) {
+		
+		if(linha.isEmpty() || linha.startsWith("#")) {
+			return null;
+		}
+		
+		String[] campos = linha.split(";");
+		try {
+			CotacaoMoeda cotacao = new CotacaoMoeda();
+			cotacao.setData(LocalDate.parse(campos[0].trim()));
+			cotacao.setMoeda(Moeda.valueOf(campos[1].trim()));
+			cotacao.setTaxa(new BigDecimal(campos[2].trim()));
+			return cotacao;
+		} catch(ArrayIndexOutOfBoundsException | DateTimeParseException | IllegalArgumentException e) {
+			LOG.warn("Linha de cotação ignorada em {}: {}", arquivo, linha);
+			return null;
+		}
+		
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.daguiar.minhasfinancas.cambio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.entity.CotacaoMoeda;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+
+// taxas em milionésimos de real por unidade, indexadas pelo dia desde a primeira cotação de cada moeda;
+// segue a mesma regra das agregações em SQL: taxa do dia ou, sem ela, a última disponível
+public final class TabelaCotacoes {
+	
+	private static final long ESCALA = 1_000_000L;
+	
+	private static final int CASAS_TAXA = 6;
+	
+	private final long[] primeiroDia;
+	
+	private final long[][] taxas;
+	
+	private final long[] ultimaTaxa;
+	
+	private TabelaCotacoes(long[] primeiroDia, long[][] taxas, long[] ultimaTaxa) {
+		this.primeiroDia = primeiroDia;
+		this.taxas = taxas;
+		this.ultimaTaxa = ultimaTaxa;
+	}
+	
+	public static TabelaCotacoes vazia() {
+		return de(List.of());
+	}
+	
+	public static TabelaCotacoes de(List<CotacaoMoeda> cotacoes) {
+		
+		int quantidade = Moeda.values().length;
+		long[] primeiroDia = new long[quantidade];
+		long[] ultimoDia = new long[quantidade];
+		long[] ultimaTaxa = new long[quantidade];
+		List<List<CotacaoMoeda>> porMoeda = new ArrayList<>();
+		for(int i = 0; i < quantidade; i++) {
+			primeiroDia[i] = Long.MAX_VALUE;
+			ultimoDia[i] = Long.MIN_VALUE;
+			porMoeda.add(new ArrayList<>());
+		}
+		
+		for(CotacaoMoeda cotacao : cotacoes) {
+			int moeda = cotacao.getMoeda().ordinal();
+			long dia = cotacao.getData().toEpochDay();
+			primeiroDia[moeda] = Math.min(primeiroDia[moeda], dia);
+			if(dia > ultimoDia[moeda]) {
+				ultimoDia[moeda] = dia;
+				ultimaTaxa[moeda] = escalar(cotacao.getTaxa());
+			}
+			porMoeda.get(moeda).add(cotacao);
+		}
+		
+		long[][] taxas = new long[quantidade][];
+		for(int i = 0; i < quantidade; i++) {
+			if(porMoeda.get(i).isEmpty()) {
+				taxas[i] = new long[0];
+				continue;
+			}
+			taxas[i] = new long[Math.toIntExact(ultimoDia[i] - primeiroDia[i] + 1)];
+			for(CotacaoMoeda cotacao : porMoeda.get(i)) {
+				taxas[i][(int) (cotacao.getData().toEpochDay() - primeiroDia[i])] = escalar(cotacao.getTaxa());
+			}
+		}
+		return new TabelaCotacoes(primeiroDia, taxas, ultimaTaxa);
+		
+	}
+	
+	public long converter(long centavos, Moeda moeda, LocalDate data) {
+		
+		if(moeda == null || moeda == Moeda.BRL) {
+			return centavos;
+		}
+		
+		int indice = moeda.ordinal();
+		long taxa = 0;
+		if(data != null) {
+			long posicao = data.toEpochDay() - primeiroDia[indice];
+			if(posicao >= 0 && posicao < taxas[indice].length) {
+				taxa = taxas[indice][(int) posicao];
+			}
+		}
+		return aplicar(centavos, taxa != 0 ? taxa : ultimaTaxa[indice]);
+		
+	}
+	
+	public long converterPelaUltima(long centavos, Moeda moeda) {
+		return converter(centavos, moeda, null);
+	}
+	
+	private static long aplicar(long centavos, long taxa) {
+		
+		if(taxa == 0) {
+			return centavos;
+		}
+		
+		try {
+			long produto = Math.multiplyExact(centavos, taxa);
+			long resultado = produto / ESCALA;
+			// arredonda a metade para longe do zero, como o round do banco
+			if(Math.abs(produto % ESCALA) * 2 >= ESCALA) {
+				resultado += Long.signum(produto);
+			}
+			return resultado;
+		} catch(ArithmeticException e) {
+			return BigDecimal.valueOf(centavos).multiply(BigDecimal.valueOf(taxa))
+					.divide(BigDecimal.valueOf(ESCALA), 0, RoundingMode.HALF_UP).longValueExact();
+		}
+		
+	}
+	
+	private static long escalar(BigDecimal taxa) {
+		return taxa.setScale(CASAS_TAXA, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+}
@@ -0,0 +1,192 @@
+package com.daguiar.minhasfinancas.categorizacao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+public final class AutomatoAhoCorasick<V> {
+	
+	private static final int RAIZ = 0;
+	
+	private static final int SEM_SAIDA = -1;
+	
+	private final int[] inicioTransicoes;
+	
+	private final char[] simbolos;
+	
+	private final int[] destinos;
+	
+	private final int[] falhas;
+	
+	private final int[] saidas;
+	
+	private final int[] comprimentos;
+	
+	private final List<V> valores;
+	
+	private final int maiorComprimento;
+	
+	private AutomatoAhoCorasick(int[] inicioTransicoes, char[] simbolos, int[] destinos, int[] falhas, int[] saidas,
+			int[] comprimentos, List<V> valores, int maiorComprimento) {
+		this.inicioTransicoes = inicioTransicoes;
+		this.simbolos = simbolos;
+		this.destinos = destinos;
+		this.falhas = falhas;
+		this.saidas = saidas;
+		this.comprimentos = comprimentos;
+		this.valores = valores;
+		this.maiorComprimento = maiorComprimento;
+	}
+	
+	public static <V> Construtor<V> construtor() {
+		return new Construtor<>();
+	}
+	
+	public boolean isVazio() {
+		return valores.isEmpty();
+	}
+	
+	public Optional<V> buscarPrimeiraOcorrencia(CharSequence texto) {
+		
+		int estado = RAIZ;
+		int melhorSaida = SEM_SAIDA;
+		int melhorInicio = Integer.MAX_VALUE;
+		for(int i = 0; i < texto.length(); i++) {
+			
+			if(i - maiorComprimento + 1 > melhorInicio) {
+				break;
+			}
+			
+			estado = avancar(estado, Character.toLowerCase(texto.charAt(i)));
+			int saida = saidas[estado];
+			if(saida != SEM_SAIDA) {
+				int inicio = i - comprimentos[saida] + 1;
+				if(inicio <= melhorInicio) {
+					melhorInicio = inicio;
+					melhorSaida = saida;
+				}
+			}
+			
+		}
+		
+		return melhorSaida == SEM_SAIDA ? Optional.empty() : Optional.of(valores.get(melhorSaida));
+		
+	}
+	
+	private int avancar(int estado, char simbolo) {
+		while(true) {
+			int destino = transicao(estado, simbolo);
+			if(destino >= 0) {
+				return destino;
+			}
+			if(estado == RAIZ) {
+				return RAIZ;
+			}
+			estado = falhas[estado];
+		}
+	}
+	
+	private int transicao(int estado, char simbolo) {
+		int posicao = Arrays.binarySearch(simbolos, inicioTransicoes[estado], inicioTransicoes[estado + 1], simbolo);
+		return posicao < 0 ? -1 : destinos[posicao];
+	}
+	
+	public static final class Construtor<V> {
+		
+		private final List<TreeMap<Character, Integer>> filhos = new ArrayList<>();
+		
+		private final List<Integer> padraoPorEstado = new ArrayList<>();
+		
+		private final List<Integer> comprimentos = new ArrayList<>();
+		
+		private final List<V> valores = new ArrayList<>();
+		
+		private Construtor() {
+			novoEstado();
+		}
+		
+		public Construtor<V> adicionar(String padrao, V valor) {
+			
+			if(padrao == null || padrao.isEmpty()) {
+				return this;
+			}
+			
+			int estado = RAIZ;
+			for(int i = 0; i < padrao.length(); i++) {
+				char simbolo = Character.toLowerCase(padrao.charAt(i));
+				Integer proximo = filhos.get(estado).get(simbolo);
+				if(proximo == null) {
+					proximo = novoEstado();
+					filhos.get(estado).put(simbolo, proximo);
+				}
+				estado = proximo;
+			}
+			
+			// o primeiro valor cadastrado para um mesmo padrão prevalece
+			if(padraoPorEstado.get(estado) == SEM_SAIDA) {
+				padraoPorEstado.set(estado, valores.size());
+				comprimentos.add(padrao.length());
+				valores.add(valor);
+			}
+			return this;
+			
+		}
+		
+		public AutomatoAhoCorasick<V> construir() {
+			
+			int quantidadeEstados = filhos.size();
+			int[] inicioTransicoes = new int[quantidadeEstados + 1];
+			char[] simbolos = new char[quantidadeEstados - 1];
+			int[] destinos = new int[quantidadeEstados - 1];
+			int posicao = 0;
+			for(int estado = 0; estado < quantidadeEstados; estado++) {
+				inicioTransicoes[estado] = posicao;
+				for(Map.Entry<Character, Integer> filho : filhos.get(estado).entrySet()) {
+					simbolos[posicao] = filho.getKey();
+					destinos[posicao] = filho.getValue();
+					posicao++;
+				}
+			}
+			inicioTransicoes[quantidadeEstados] = posicao;
+			
+			int[] falhas = new int[quantidadeEstados];
+			int[] saidas = new int[quantidadeEstados];
+			for(int estado = 0; estado < quantidadeEstados; estado++) {
+				saidas[estado] = padraoPorEstado.get(estado);
+			}
+			
+			AutomatoAhoCorasick<V> automato = new AutomatoAhoCorasick<>(inicioTransicoes, simbolos, destinos, falhas,
+					saidas, comprimentos.stream().mapToInt(Integer::intValue).toArray(), new ArrayList<>(valores),
+					comprimentos.stream().mapToInt(Integer::intValue).max().orElse(0));
+			
+			// busca em largura: a falha de cada estado já está resolvida quando seus filhos são visitados
+			Deque<Integer> fila = new ArrayDeque<>(filhos.get(RAIZ).values());
+			while(!fila.isEmpty()) {
+				int estado = fila.poll();
+				for(Map.Entry<Character, Integer> filho : filhos.get(estado).entrySet()) {
+					int destino = filho.getValue();
+					falhas[destino] = estado == RAIZ ? RAIZ : automato.avancar(falhas[estado], filho.getKey());
+					if(saidas[destino] == SEM_SAIDA) {
+						saidas[destino] = saidas[falhas[destino]];
+					}
+					fila.add(destino);
+				}
+			}
+			return automato;
+			
+		}
+		
+		private int novoEstado() {
+			filhos.add(new TreeMap<>());
+			padraoPorEstado.add(SEM_SAIDA);
+			return filhos.size() - 1;
+		}
+		
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.daguiar.minhasfinancas.categorizacao;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+
+public final class MatcherCategorias {
+	
+	private final AutomatoAhoCorasick<Long> automato;
+	
+	private MatcherCategorias(AutomatoAhoCorasick<Long> automato) {
+		this.automato = automato;
+	}
+	
+	public static MatcherCategorias compilar(List<Categoria> categorias) {
+		AutomatoAhoCorasick.Construtor<Long> construtor = AutomatoAhoCorasick.construtor();
+		for(Categoria categoria : categorias) {
+			categoria.getListaPalavrasChave().forEach(palavraChave -> construtor.adicionar(palavraChave, categoria.getId()));
+		}
+		return new MatcherCategorias(construtor.construir());
+	}
+	
+	public Optional<Long> classificar(String descricao) {
+		if(descricao == null || automato.isVazio()) {
+			return Optional.empty();
+		}
+		return automato.buscarPrimeiraOcorrencia(descricao);
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.daguiar.minhasfinancas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+import com.daguiar.minhasfinancas.model.id.GeradorIds;
+import com.daguiar.minhasfinancas.model.id.SequenciaSnowflake;
+
+@Configuration
+public class IdentificadorConfiguration {
+	
+	// sem valor padrão: dois nós com o mesmo número gerariam ids repetidos, então cada instância precisa declarar o seu
+	@Bean
+	public GeradorIds geradorIds(@Value("${minhasfinancas.id.no}") long no,
+			@Value("${minhasfinancas.id.tolerancia-relogio-ms:5000}") long toleranciaRelogio) {
+		GeradorIds gerador = new SequenciaSnowflake(no, toleranciaRelogio);
+		GeradorIdGlobal.usar(gerador);
+		return gerador;
+	}
+
+}
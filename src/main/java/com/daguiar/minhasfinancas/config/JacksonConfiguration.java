@@ -0,0 +1,24 @@
+package com.daguiar.minhasfinancas.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JacksonConfiguration {
+	
+	@Bean
+	public Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+	
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer jacksonCustomizer() {
+		return builder -> builder.featuresToEnable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.daguiar.minhasfinancas.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import com.daguiar.minhasfinancas.shard.DataSourceRoteado;
+import com.daguiar.minhasfinancas.shard.MigracaoShards;
+import com.daguiar.minhasfinancas.shard.RebalanceamentoShardsRunner;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.shards.habilitado", havingValue = "true")
+public class ShardingConfiguration {
+	
+	@Bean
+	@Primary
+	public DataSourceRoteado dataSource(RoteadorShards roteador, Environment environment) {
+		
+		Map<Object, Object> dataSources = new LinkedHashMap<>();
+		for(String shard : roteador.getShards()) {
+			String prefixo = "minhasfinancas.shards." + shard + ".";
+			dataSources.put(shard, DataSourceBuilder.create()
+										.url(environment.getRequiredProperty(prefixo + "url"))
+										.username(environment.getProperty(prefixo + "username"))
+										.password(environment.getProperty(prefixo + "password"))
+										.build());
+		}
+		
+		// sem usuário no contexto (autenticação, locks dos jobs, schema) usa-se o primeiro shard
+		DataSourceRoteado dataSource = new DataSourceRoteado();
+		dataSource.setTargetDataSources(dataSources);
+		dataSource.setDefaultTargetDataSource(dataSources.get(roteador.getShards().get(0)));
+		dataSource.setLenientFallback(false);
+		return dataSource;
+		
+	}
+	
+	@Bean
+	public MigracaoShards migracaoShards(DataSourceRoteado dataSource, RoteadorShards roteador) {
+		return new MigracaoShards(dataSource, roteador);
+	}
+	
+	@Bean
+	public RebalanceamentoShardsRunner rebalanceamentoShardsRunner(MigracaoShards migracaoShards) {
+		return new RebalanceamentoShardsRunner(migracaoShards);
+	}
+
+}
@@ -1,17 +1,63 @@
 package com.daguiar.minhasfinancas.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import com.daguiar.minhasfinancas.auditoria.InterceptorAutorRequisicao;
+import com.daguiar.minhasfinancas.shard.InterceptorShardUsuario;
+
 @EnableWebMvc
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
+	
+	private ObjectMapper objectMapper;
+	
+	private Jackson2ObjectMapperBuilder objectMapperBuilder;
+	
+	private ObjectProvider<InterceptorShardUsuario> interceptorShard;
+	
+	public WebConfiguration(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder,
+			ObjectProvider<InterceptorShardUsuario> interceptorShard) {
+		this.objectMapper = objectMapper;
+		this.objectMapperBuilder = objectMapperBuilder;
+		this.interceptorShard = interceptorShard;
+	}
 
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
 		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
 	}
 	
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		interceptorShard.ifAvailable(registry::addInterceptor);
+		registry.addInterceptor(new InterceptorAutorRequisicao());
+	}
+	
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		// @EnableWebMvc desliga a autoconfiguração do MVC; os conversores passam a usar o ObjectMapper da aplicação
+		converters.stream()
+			.filter(MappingJackson2HttpMessageConverter.class::isInstance)
+			.map(MappingJackson2HttpMessageConverter.class::cast)
+			.forEach(converter -> converter.setObjectMapper(objectMapper));
+		
+		converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+		converters.add(new MappingJackson2CborHttpMessageConverter(
+				objectMapperBuilder.factory(new CBORFactory()).build()));
+	}
+	
 }
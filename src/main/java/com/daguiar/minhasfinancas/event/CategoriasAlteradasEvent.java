@@ -0,0 +1,15 @@
+package com.daguiar.minhasfinancas.event;
+
+public class CategoriasAlteradasEvent {
+	
+	private final Long idUsuario;
+	
+	public CategoriasAlteradasEvent(Long idUsuario) {
+		this.idUsuario = idUsuario;
+	}
+
+	public Long getIdUsuario() {
+		return idUsuario;
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.daguiar.minhasfinancas.event;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.daguiar.minhasfinancas.api.dto.LancamentoDTO;
+import com.daguiar.minhasfinancas.fluxo.AlteracaoLancamento;
+import com.daguiar.minhasfinancas.fluxo.DistribuidorFluxoUsuario;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.CambioService;
+
+@Component
+public class FluxoUsuarioListener {
+	
+	private DistribuidorFluxoUsuario distribuidor;
+	
+	private CambioService cambio;
+	
+	public FluxoUsuarioListener(DistribuidorFluxoUsuario distribuidor, CambioService cambio) {
+		this.distribuidor = distribuidor;
+		this.cambio = cambio;
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void aoAlterarLancamento(LancamentoAlteradoEvent event) {
+		
+		if(event.getLancamento().getUsuario() == null || !distribuidor.possuiAssinantes(event.getIdUsuario())) {
+			return;
+		}
+		
+		Lancamento lancamento = event.getLancamento();
+		EstadoLancamento anterior = cambio.emMoedaBase(event.getAnterior());
+		EstadoLancamento atual = cambio.emMoedaBase(EstadoLancamento.de(lancamento));
+		if(event.getTipo() == TipoEventoLancamento.EXCLUSAO) {
+			anterior = anterior != null ? anterior : atual;
+			atual = null;
+		}
+		
+		AlteracaoLancamento alteracao = new AlteracaoLancamento();
+		alteracao.setEvento(event.getTipo());
+		alteracao.setLancamento(converter(lancamento));
+		alteracao.setVariacaoSaldo(Dinheiro.deCentavos(efeitoNoSaldo(atual) - efeitoNoSaldo(anterior)).toBigDecimal());
+		distribuidor.publicar(event.getIdUsuario(), DistribuidorFluxoUsuario.EVENTO_LANCAMENTO, alteracao);
+		
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void aoAlterarLancamentosEmLote(LancamentosAlteradosEmLoteEvent event) {
+		distribuidor.publicar(event.getIdUsuario(), DistribuidorFluxoUsuario.EVENTO_SINCRONIZACAO, 
+				Map.of("descricao", event.getDescricao()));
+	}
+	
+	// mesma regra do saldo do usuário: só lançamentos efetivados contam
+	private long efeitoNoSaldo(EstadoLancamento estado) {
+		if(estado == null || estado.getStatus() != StatusLancamento.EFETIVADO) {
+			return 0;
+		}
+		return estado.getTipo() == TipoLancamento.RECEITA ? estado.getCentavos() : -estado.getCentavos();
+	}
+	
+	private LancamentoDTO converter(Lancamento lancamento) {
+		
+		LancamentoDTO dto = new LancamentoDTO();
+		dto.setId(lancamento.getId());
+		dto.setDescricao(lancamento.getDescricao());
+		dto.setValor(lancamento.getValor());
+		dto.setMoeda(lancamento.getMoeda() == null ? null : lancamento.getMoeda().name());
+		dto.setMes(lancamento.getMes());
+		dto.setAno(lancamento.getAno());
+		dto.setDataLancamento(lancamento.getDataLancamento());
+		dto.setUsuario(lancamento.getUsuario().getId());
+		dto.setCategoria(lancamento.getCategoria() == null ? null : lancamento.getCategoria().getId());
+		dto.setConta(lancamento.getConta() == null ? null : lancamento.getConta().getId());
+		dto.setTipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name());
+		dto.setStatus(lancamento.getStatus() == null ? null : lancamento.getStatus().name());
+		
+		return dto;
+		
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.daguiar.minhasfinancas.event;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+
+public class LancamentoAlteradoEvent {
+	
+	private final TipoEventoLancamento tipo;
+	
+	private final Lancamento lancamento;
+	
+	private final EstadoLancamento anterior;
+	
+	public LancamentoAlteradoEvent(TipoEventoLancamento tipo, Lancamento lancamento) {
+		this(tipo, lancamento, null);
+	}
+	
+	public LancamentoAlteradoEvent(TipoEventoLancamento tipo, Lancamento lancamento, EstadoLancamento anterior) {
+		this.tipo = tipo;
+		this.lancamento = lancamento;
+		this.anterior = anterior;
+	}
+
+	public TipoEventoLancamento getTipo() {
+		return tipo;
+	}
+
+	public Lancamento getLancamento() {
+		return lancamento;
+	}
+	
+	public EstadoLancamento getAnterior() {
+		return anterior;
+	}
+	
+	public Long getIdUsuario() {
+		return lancamento.getUsuario().getId();
+	}
+
+}
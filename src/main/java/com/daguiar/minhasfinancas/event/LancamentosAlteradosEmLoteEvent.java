@@ -0,0 +1,22 @@
+package com.daguiar.minhasfinancas.event;
+
+public class LancamentosAlteradosEmLoteEvent {
+	
+	private final Long idUsuario;
+	
+	private final String descricao;
+	
+	public LancamentosAlteradosEmLoteEvent(Long idUsuario, String descricao) {
+		this.idUsuario = idUsuario;
+		this.descricao = descricao;
+	}
+
+	public Long getIdUsuario() {
+		return idUsuario;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.daguiar.minhasfinancas.event;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.OutboxLancamentoService;
+
+@Component
+public class OutboxLancamentoListener {
+	
+	private OutboxLancamentoService service;
+	
+	public OutboxLancamentoListener(OutboxLancamentoService service) {
+		this.service = service;
+	}
+	
+	@EventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent event) {
+		service.registrar(event.getTipo(), event.getLancamento());
+	}
+	
+	@EventListener
+	public void aoAlterarLancamentosEmLote(LancamentosAlteradosEmLoteEvent event) {
+		service.registrarAlteracaoEmLote(event.getIdUsuario(), event.getDescricao());
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.daguiar.minhasfinancas.event;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.ContaService;
+
+@Component
+public class SaldosContaListener {
+	
+	private ContaService service;
+	
+	public SaldosContaListener(ContaService service) {
+		this.service = service;
+	}
+	
+	// os saldos ficam na moeda do lançamento; a conversão acontece só na leitura
+	@EventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent event) {
+		
+		EstadoLancamento anterior = event.getAnterior();
+		if(event.getTipo() == TipoEventoLancamento.EXCLUSAO) {
+			service.contabilizar(anterior != null ? anterior : EstadoLancamento.de(event.getLancamento()), null);
+		} else {
+			service.contabilizar(anterior, EstadoLancamento.de(event.getLancamento()));
+		}
+		
+	}
+	
+	@EventListener
+	public void aoAlterarLancamentosEmLote(LancamentosAlteradosEmLoteEvent event) {
+		service.recalcularSaldos(event.getIdUsuario());
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.daguiar.minhasfinancas.event;
+
+import org.springframework.context.event.EventListener;
+
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.CambioService;
+
+// aplica a diferença entre o estado anterior e o atual do lançamento, já em moeda base;
+// cada subclasse só indica em quais totais a diferença é contabilizada
+public abstract class TotaisEmMoedaBaseListener {
+	
+	private CambioService cambio;
+	
+	protected TotaisEmMoedaBaseListener(CambioService cambio) {
+		this.cambio = cambio;
+	}
+	
+	@EventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent event) {
+		
+		EstadoLancamento anterior = cambio.emMoedaBase(event.getAnterior());
+		EstadoLancamento atual = cambio.emMoedaBase(EstadoLancamento.de(event.getLancamento()));
+		if(event.getTipo() == TipoEventoLancamento.EXCLUSAO) {
+			contabilizar(anterior != null ? anterior : atual, null);
+		} else {
+			contabilizar(anterior, atual);
+		}
+		
+	}
+	
+	@EventListener
+	public void aoAlterarLancamentosEmLote(LancamentosAlteradosEmLoteEvent event) {
+		recalcularTotais(event.getIdUsuario());
+	}
+	
+	protected abstract void contabilizar(EstadoLancamento anterior, EstadoLancamento atual);
+	
+	protected abstract void recalcularTotais(Long idUsuario);
+
+}
@@ -0,0 +1,29 @@
+package com.daguiar.minhasfinancas.event;
+
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.CambioService;
+import com.daguiar.minhasfinancas.service.ProjecaoSaldoService;
+
+@Component
+public class TotaisMensaisListener extends TotaisEmMoedaBaseListener {
+	
+	private ProjecaoSaldoService service;
+	
+	public TotaisMensaisListener(ProjecaoSaldoService service, CambioService cambio) {
+		super(cambio);
+		this.service = service;
+	}
+	
+	@Override
+	protected void contabilizar(EstadoLancamento anterior, EstadoLancamento atual) {
+		service.contabilizar(anterior, atual);
+	}
+	
+	@Override
+	protected void recalcularTotais(Long idUsuario) {
+		service.recalcularTotais(idUsuario);
+	}
+
+}
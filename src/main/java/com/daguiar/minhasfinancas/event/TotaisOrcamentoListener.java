@@ -0,0 +1,29 @@
+package com.daguiar.minhasfinancas.event;
+
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.CambioService;
+import com.daguiar.minhasfinancas.service.OrcamentoService;
+
+@Component
+public class TotaisOrcamentoListener extends TotaisEmMoedaBaseListener {
+	
+	private OrcamentoService service;
+	
+	public TotaisOrcamentoListener(OrcamentoService service, CambioService cambio) {
+		super(cambio);
+		this.service = service;
+	}
+	
+	@Override
+	protected void contabilizar(EstadoLancamento anterior, EstadoLancamento atual) {
+		service.contabilizar(anterior, atual);
+	}
+	
+	@Override
+	protected void recalcularTotais(Long idUsuario) {
+		service.recalcularTotais(idUsuario);
+	}
+
+}
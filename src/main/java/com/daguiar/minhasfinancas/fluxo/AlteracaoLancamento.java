@@ -0,0 +1,33 @@
+package com.daguiar.minhasfinancas.fluxo;
+
+import java.math.BigDecimal;
+
+import com.daguiar.minhasfinancas.api.dto.LancamentoDTO;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+
+public class AlteracaoLancamento {
+	
+	private TipoEventoLancamento evento;
+	private LancamentoDTO lancamento;
+	private BigDecimal variacaoSaldo;
+	
+	public TipoEventoLancamento getEvento() {
+		return evento;
+	}
+	public void setEvento(TipoEventoLancamento evento) {
+		this.evento = evento;
+	}
+	public LancamentoDTO getLancamento() {
+		return lancamento;
+	}
+	public void setLancamento(LancamentoDTO lancamento) {
+		this.lancamento = lancamento;
+	}
+	public BigDecimal getVariacaoSaldo() {
+		return variacaoSaldo;
+	}
+	public void setVariacaoSaldo(BigDecimal variacaoSaldo) {
+		this.variacaoSaldo = variacaoSaldo;
+	}
+
+}
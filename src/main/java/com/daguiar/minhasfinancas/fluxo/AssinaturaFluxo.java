@@ -0,0 +1,63 @@
+package com.daguiar.minhasfinancas.fluxo;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class AssinaturaFluxo {
+	
+	private final Long idUsuario;
+	
+	private final SseEmitter emitter;
+	
+	private final BlockingQueue<SseEmitter.SseEventBuilder> fila;
+	
+	private final AtomicBoolean envioAgendado = new AtomicBoolean();
+	
+	private final AtomicBoolean encerrada = new AtomicBoolean();
+	
+	AssinaturaFluxo(Long idUsuario, SseEmitter emitter, int capacidade) {
+		this.idUsuario = idUsuario;
+		this.emitter = emitter;
+		this.fila = new ArrayBlockingQueue<>(capacidade);
+	}
+	
+	Long getIdUsuario() {
+		return idUsuario;
+	}
+	
+	SseEmitter getEmitter() {
+		return emitter;
+	}
+	
+	boolean enfileirar(SseEmitter.SseEventBuilder evento) {
+		return fila.offer(evento);
+	}
+	
+	SseEmitter.SseEventBuilder proximo() {
+		return fila.poll();
+	}
+	
+	boolean possuiPendentes() {
+		return !fila.isEmpty();
+	}
+	
+	boolean agendarEnvio() {
+		return envioAgendado.compareAndSet(false, true);
+	}
+	
+	void concluirEnvio() {
+		envioAgendado.set(false);
+	}
+	
+	boolean encerrar() {
+		return encerrada.compareAndSet(false, true);
+	}
+	
+	boolean isEncerrada() {
+		return encerrada.get();
+	}
+
+}
@@ -0,0 +1,186 @@
+package com.daguiar.minhasfinancas.fluxo;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+
+@Component
+public class DistribuidorFluxoUsuario {
+	
+	public static final String EVENTO_LANCAMENTO = "lancamento";
+	
+	public static final String EVENTO_SINCRONIZACAO = "sincronizacao";
+	
+	private final Map<Long, Deque<AssinaturaFluxo>> assinaturasPorUsuario = new ConcurrentHashMap<>();
+	
+	private final AtomicLong descartadas = new AtomicLong();
+	
+	private final Executor executor;
+	
+	private final long timeoutMs;
+	
+	private final int capacidadeFila;
+	
+	private final int assinaturasPorUsuarioMaximo;
+	
+	@Autowired
+	public DistribuidorFluxoUsuario(BarramentoInvalidacao barramento,
+			@Value("${minhasfinancas.fluxo.threads-envio:4}") int threadsEnvio,
+			@Value("${minhasfinancas.fluxo.timeout:PT30M}") Duration timeout,
+			@Value("${minhasfinancas.fluxo.capacidade-fila:64}") int capacidadeFila,
+			@Value("${minhasfinancas.fluxo.assinaturas-por-usuario:5}") int assinaturasPorUsuarioMaximo) {
+		this(Executors.newFixedThreadPool(threadsEnvio, tarefa -> {
+			Thread thread = new Thread(tarefa, "fluxo-usuario");
+			thread.setDaemon(true);
+			return thread;
+		}), timeout.toMillis(), capacidadeFila, assinaturasPorUsuarioMaximo);
+		// escritas feitas em outro nó chegam só como invalidação; o cliente recarrega o que precisar
+		barramento.registrar(RegiaoCache.LANCAMENTOS_USUARIO, this::sincronizar);
+	}
+	
+	DistribuidorFluxoUsuario(Executor executor, long timeoutMs, int capacidadeFila, int assinaturasPorUsuarioMaximo) {
+		this.executor = executor;
+		this.timeoutMs = timeoutMs;
+		this.capacidadeFila = capacidadeFila;
+		this.assinaturasPorUsuarioMaximo = assinaturasPorUsuarioMaximo;
+	}
+	
+	public SseEmitter assinar(Long idUsuario) {
+		
+		SseEmitter emitter = new SseEmitter(timeoutMs);
+		AssinaturaFluxo assinatura = new AssinaturaFluxo(idUsuario, emitter, capacidadeFila);
+		emitter.onCompletion(() -> remover(assinatura));
+		emitter.onTimeout(() -> encerrar(assinatura));
+		emitter.onError(erro -> encerrar(assinatura));
+		
+		Deque<AssinaturaFluxo> assinaturas = assinaturasPorUsuario.compute(idUsuario, (id, atuais) -> {
+			Deque<AssinaturaFluxo> deque = atuais == null ? new ConcurrentLinkedDeque<>() : atuais;
+			deque.addLast(assinatura);
+			return deque;
+		});
+		while(assinaturas.size() > assinaturasPorUsuarioMaximo) {
+			AssinaturaFluxo maisAntiga = assinaturas.pollFirst();
+			if(maisAntiga != null) {
+				encerrar(maisAntiga);
+			}
+		}
+		return emitter;
+		
+	}
+	
+	public boolean possuiAssinantes(Long idUsuario) {
+		Deque<AssinaturaFluxo> assinaturas = assinaturasPorUsuario.get(idUsuario);
+		return assinaturas != null && !assinaturas.isEmpty();
+	}
+	
+	public void publicar(Long idUsuario, String nome, Object dados) {
+		
+		Deque<AssinaturaFluxo> assinaturas = assinaturasPorUsuario.get(idUsuario);
+		if(assinaturas == null) {
+			return;
+		}
+		for(AssinaturaFluxo assinatura : assinaturas) {
+			distribuir(assinatura, SseEmitter.event().name(nome).data(dados, MediaType.APPLICATION_JSON));
+		}
+		
+	}
+	
+	public long getDescartadas() {
+		return descartadas.get();
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.fluxo.intervalo-heartbeat:PT15S}")
+	public void manterConexoes() {
+		// o comentário mantém proxies abertos e revela conexões que o cliente já abandonou
+		assinaturasPorUsuario.values().forEach(assinaturas -> 
+			assinaturas.forEach(assinatura -> distribuir(assinatura, SseEmitter.event().comment(""))));
+	}
+	
+	@PreDestroy
+	public void finalizar() {
+		assinaturasPorUsuario.values().forEach(assinaturas -> assinaturas.forEach(this::encerrar));
+		if(executor instanceof ExecutorService) {
+			((ExecutorService) executor).shutdown();
+		}
+	}
+	
+	private void sincronizar(Long idUsuario) {
+		if(idUsuario == null) {
+			assinaturasPorUsuario.keySet().forEach(id -> publicar(id, EVENTO_SINCRONIZACAO, Map.of()));
+		} else {
+			publicar(idUsuario, EVENTO_SINCRONIZACAO, Map.of());
+		}
+	}
+	
+	// quem publica nunca espera pela rede: o evento entra na fila do assinante ou o assinante é descartado
+	private void distribuir(AssinaturaFluxo assinatura, SseEmitter.SseEventBuilder evento) {
+		
+		if(assinatura.isEncerrada()) {
+			return;
+		}
+		if(!assinatura.enfileirar(evento)) {
+			descartadas.incrementAndGet();
+			encerrar(assinatura);
+			return;
+		}
+		if(assinatura.agendarEnvio()) {
+			executor.execute(() -> enviar(assinatura));
+		}
+		
+	}
+	
+	private void enviar(AssinaturaFluxo assinatura) {
+		
+		try {
+			SseEmitter.SseEventBuilder evento;
+			while(!assinatura.isEncerrada() && (evento = assinatura.proximo()) != null) {
+				assinatura.getEmitter().send(evento);
+			}
+		} catch(IOException | IllegalStateException e) {
+			encerrar(assinatura);
+		} finally {
+			assinatura.concluirEnvio();
+		}
+		
+		// um evento enfileirado entre o último poll e a liberação da flag não pode ficar parado
+		if(assinatura.possuiPendentes() && !assinatura.isEncerrada() && assinatura.agendarEnvio()) {
+			executor.execute(() -> enviar(assinatura));
+		}
+		
+	}
+	
+	private void encerrar(AssinaturaFluxo assinatura) {
+		if(assinatura.encerrar()) {
+			remover(assinatura);
+			assinatura.getEmitter().complete();
+		}
+	}
+	
+	private void remover(AssinaturaFluxo assinatura) {
+		assinatura.encerrar();
+		assinaturasPorUsuario.computeIfPresent(assinatura.getIdUsuario(), (id, assinaturas) -> {
+			assinaturas.remove(assinatura);
+			return assinaturas.isEmpty() ? null : assinaturas;
+		});
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.daguiar.minhasfinancas.importacao;
+
+public final class FiltroBloom {
+	
+	private static final int TAMANHO_MINIMO_BITS = 1024;
+	
+	private final long[] bits;
+	
+	private final long quantidadeBits;
+	
+	private final int funcoes;
+	
+	private FiltroBloom(long quantidadeBits, int funcoes) {
+		this.bits = new long[(int) ((quantidadeBits + 63) / 64)];
+		this.quantidadeBits = bits.length * 64L;
+		this.funcoes = funcoes;
+	}
+	
+	public static FiltroBloom dimensionar(long elementosEsperados, double taxaFalsoPositivo) {
+		long elementos = Math.max(elementosEsperados, 1);
+		long quantidadeBits = Math.max(TAMANHO_MINIMO_BITS,
+				(long) Math.ceil(-elementos * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2))));
+		int funcoes = Math.max(1, (int) Math.round((double) quantidadeBits / elementos * Math.log(2)));
+		return new FiltroBloom(quantidadeBits, funcoes);
+	}
+	
+	// as chaves já são hashes bem distribuídos: as duas metades alimentam o duplo hashing
+	public void adicionar(long chave) {
+		int h1 = (int) chave;
+		int h2 = (int) (chave >>> 32);
+		for(int i = 0; i < funcoes; i++) {
+			long bit = indice(h1 + i * h2);
+			bits[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+	
+	public boolean talvezContenha(long chave) {
+		int h1 = (int) chave;
+		int h2 = (int) (chave >>> 32);
+		for(int i = 0; i < funcoes; i++) {
+			long bit = indice(h1 + i * h2);
+			if((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private long indice(int hash) {
+		return (hash & 0xffffffffL) % quantidadeBits;
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+public final class ImpressaoDigital {
+	
+	private static final long FNV_BASE = 0xcbf29ce484222325L;
+	
+	private static final long FNV_PRIMO = 0x100000001b3L;
+	
+	private ImpressaoDigital() {
+	}
+	
+	// a ocorrência diferencia movimentos idênticos no mesmo dia, que são legítimos (duas compras iguais)
+	// e se repetem na mesma ordem quando o mesmo período é importado de novo
+	public static long calcular(Long idUsuario, LocalDate data, TipoLancamento tipo, long centavos, 
+			String descricao, int ocorrencia) {
+		
+		long hash = FNV_BASE;
+		hash = misturar(hash, idUsuario);
+		hash = misturar(hash, data.toEpochDay());
+		hash = misturar(hash, tipo.ordinal());
+		hash = misturar(hash, centavos);
+		hash = misturar(hash, ocorrencia);
+		String normalizada = normalizar(descricao);
+		for(int i = 0; i < normalizada.length(); i++) {
+			hash = (hash ^ normalizada.charAt(i)) * FNV_PRIMO;
+		}
+		return finalizar(hash);
+		
+	}
+	
+	static String normalizar(String descricao) {
+		if(descricao == null) {
+			return "";
+		}
+		return Normalizer.normalize(descricao, Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "")
+				.replaceAll("\\s+", " ")
+				.trim()
+				.toUpperCase();
+	}
+	
+	private static long misturar(long hash, long valor) {
+		for(int i = 0; i < 8; i++) {
+			hash = (hash ^ (valor & 0xff)) * FNV_PRIMO;
+			valor >>>= 8;
+		}
+		return hash;
+	}
+	
+	// espalha os bits para que as metades do hash sirvam como funções independentes no filtro de Bloom
+	private static long finalizar(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.time.LocalDate;
+
+// posições 1-based e inclusivas, como nos manuais dos bancos
+enum LayoutCnab {
+	
+	// FEBRABAN 240, extrato para conciliação bancária, registro detalhe segmento E
+	CNAB_240(240, 8, '3', 14, 'E', 143, 150, 151, 168, 169, 177, 201, 202, 240),
+	
+	// 400 posições, registro detalhe do extrato de conta corrente
+	CNAB_400(400, 1, '1', 0, ' ', 81, 86, 87, 104, 105, 106, 130, 131, 149);
+	
+	private final int tamanhoLinha;
+	private final int posicaoTipoRegistro;
+	private final char tipoDetalhe;
+	private final int posicaoSegmento;
+	private final char segmento;
+	private final int inicioData;
+	private final int fimData;
+	private final int inicioValor;
+	private final int fimValor;
+	private final int posicaoNatureza;
+	private final int inicioDescricao;
+	private final int fimDescricao;
+	private final int inicioDocumento;
+	private final int fimDocumento;
+	
+	private LayoutCnab(int tamanhoLinha, int posicaoTipoRegistro, char tipoDetalhe, int posicaoSegmento, char segmento,
+			int inicioData, int fimData, int inicioValor, int fimValor, int posicaoNatureza,
+			int inicioDescricao, int fimDescricao, int inicioDocumento, int fimDocumento) {
+		this.tamanhoLinha = tamanhoLinha;
+		this.posicaoTipoRegistro = posicaoTipoRegistro;
+		this.tipoDetalhe = tipoDetalhe;
+		this.posicaoSegmento = posicaoSegmento;
+		this.segmento = segmento;
+		this.inicioData = inicioData;
+		this.fimData = fimData;
+		this.inicioValor = inicioValor;
+		this.fimValor = fimValor;
+		this.posicaoNatureza = posicaoNatureza;
+		this.inicioDescricao = inicioDescricao;
+		this.fimDescricao = fimDescricao;
+		this.inicioDocumento = inicioDocumento;
+		this.fimDocumento = fimDocumento;
+	}
+	
+	int getTamanhoLinha() {
+		return tamanhoLinha;
+	}
+	
+	boolean isDetalhe(LeitorLinhas linha) {
+		return linha.caractere(posicaoTipoRegistro - 1) == tipoDetalhe
+				&& (posicaoSegmento == 0 || linha.caractere(posicaoSegmento - 1) == segmento);
+	}
+	
+	MovimentoExtrato ler(LeitorLinhas linha) {
+		
+		int dia = (int) linha.numero(inicioData - 1, inicioData + 1);
+		int mes = (int) linha.numero(inicioData + 1, inicioData + 3);
+		int ano = (int) linha.numero(inicioData + 3, fimData);
+		if(fimData - inicioData + 1 == 6) {
+			ano += 2000;
+		}
+		
+		long centavos = linha.numero(inicioValor - 1, fimValor);
+		char natureza = linha.caractere(posicaoNatureza - 1);
+		if(natureza == 'D') {
+			centavos = -centavos;
+		} else if(natureza != 'C') {
+			throw new NumberFormatException("Natureza do lançamento inválida: " + natureza);
+		}
+		
+		return new MovimentoExtrato(LocalDate.of(ano, mes, dia), centavos,
+				linha.texto(inicioDescricao - 1, fimDescricao), linha.texto(inicioDocumento - 1, fimDocumento));
+		
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.io.IOException;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+
+final class LeitorCnab extends LeitorExtrato {
+	
+	private final LayoutCnab layout;
+	
+	LeitorCnab(LeitorLinhas linhas, LayoutCnab layout) {
+		super(linhas);
+		this.layout = layout;
+	}
+
+	@Override
+	protected MovimentoExtrato ler() throws IOException {
+		
+		while(avancar()) {
+			if(linhas.tamanho() == 0) {
+				continue;
+			}
+			if(linhas.tamanho() != layout.getTamanhoLinha()) {
+				throw new RegraNegocioException("A linha " + linhas.getNumero() + " do extrato não tem " 
+						+ layout.getTamanhoLinha() + " posições.");
+			}
+			if(layout.isDetalhe(linhas)) {
+				return layout.ler(linhas);
+			}
+		}
+		return null;
+		
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.time.DateTimeException;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+
+public abstract class LeitorExtrato {
+	
+	private static final int TAMANHO_BUFFER = 64 * 1024;
+	
+	protected final LeitorLinhas linhas;
+	
+	private boolean linhaAtualPendente = true;
+	
+	LeitorExtrato(LeitorLinhas linhas) {
+		this.linhas = linhas;
+	}
+	
+	public static LeitorExtrato abrir(ReadableByteChannel canal) throws IOException {
+		return abrir(canal, TAMANHO_BUFFER);
+	}
+	
+	static LeitorExtrato abrir(ReadableByteChannel canal, int tamanhoBuffer) throws IOException {
+		
+		LeitorLinhas linhas = new LeitorLinhas(canal, tamanhoBuffer);
+		if(!linhas.proxima()) {
+			throw new RegraNegocioException("O extrato está vazio.");
+		}
+		
+		if(linhas.comecaCom("OFXHEADER") || linhas.comecaCom("<?XML") || linhas.comecaCom("<OFX")) {
+			return new LeitorOfx(linhas);
+		}
+		for(LayoutCnab layout : LayoutCnab.values()) {
+			if(linhas.tamanho() == layout.getTamanhoLinha()) {
+				return new LeitorCnab(linhas, layout);
+			}
+		}
+		throw new RegraNegocioException("Formato de extrato não reconhecido. Envie um arquivo OFX, CNAB 240 ou CNAB 400.");
+		
+	}
+	
+	public MovimentoExtrato proximo() throws IOException {
+		try {
+			return ler();
+		} catch(NumberFormatException | DateTimeException | ArithmeticException e) {
+			throw new RegraNegocioException("Linha " + linhas.getNumero() + " do extrato inválida: " + e.getMessage());
+		}
+	}
+	
+	protected abstract MovimentoExtrato ler() throws IOException;
+	
+	// a linha usada para detectar o formato ainda não foi processada pelo leitor
+	protected boolean avancar() throws IOException {
+		if(linhaAtualPendente) {
+			linhaAtualPendente = false;
+			return true;
+		}
+		return linhas.proxima();
+	}
+
+}
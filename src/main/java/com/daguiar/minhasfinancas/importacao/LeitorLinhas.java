@@ -0,0 +1,157 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+
+// lê o canal em um buffer reaproveitado e expõe cada linha como uma janela sobre ele, sem copiá-la
+final class LeitorLinhas {
+	
+	private static final int TAMANHO_MAXIMO_LINHA = 1024 * 1024;
+	
+	private final ReadableByteChannel canal;
+	
+	private ByteBuffer buffer;
+	
+	private Charset charset = StandardCharsets.ISO_8859_1;
+	
+	private boolean fimDoCanal;
+	
+	private int inicio;
+	
+	private int fim;
+	
+	private long numero;
+	
+	LeitorLinhas(ReadableByteChannel canal, int tamanhoBuffer) {
+		this.canal = canal;
+		this.buffer = ByteBuffer.allocate(tamanhoBuffer);
+		this.buffer.flip();
+	}
+	
+	boolean proxima() throws IOException {
+		
+		while(true) {
+			
+			for(int i = buffer.position(); i < buffer.limit(); i++) {
+				if(buffer.get(i) == '\n') {
+					definirLinha(buffer.position(), i);
+					buffer.position(i + 1);
+					return true;
+				}
+			}
+			
+			if(fimDoCanal) {
+				if(!buffer.hasRemaining()) {
+					return false;
+				}
+				definirLinha(buffer.position(), buffer.limit());
+				buffer.position(buffer.limit());
+				return true;
+			}
+			
+			carregar();
+			
+		}
+		
+	}
+	
+	private void carregar() throws IOException {
+		
+		buffer.compact();
+		if(!buffer.hasRemaining()) {
+			if(buffer.capacity() >= TAMANHO_MAXIMO_LINHA) {
+				throw new RegraNegocioException("A linha " + (numero + 1) + " do extrato excede o tamanho máximo.");
+			}
+			ByteBuffer maior = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, TAMANHO_MAXIMO_LINHA));
+			buffer.flip();
+			maior.put(buffer);
+			buffer = maior;
+		}
+		
+		if(canal.read(buffer) < 0) {
+			fimDoCanal = true;
+		}
+		buffer.flip();
+		
+	}
+	
+	private void definirLinha(int de, int ate) {
+		inicio = de;
+		fim = ate > de && buffer.get(ate - 1) == '\r' ? ate - 1 : ate;
+		numero++;
+	}
+	
+	long getNumero() {
+		return numero;
+	}
+	
+	void setCharset(Charset charset) {
+		this.charset = charset;
+	}
+	
+	int tamanho() {
+		return fim - inicio;
+	}
+	
+	char caractere(int indice) {
+		return (char) (buffer.get(inicio + indice) & 0xff);
+	}
+	
+	int indiceDe(char caractere, int de) {
+		for(int i = de; i < tamanho(); i++) {
+			if(caractere(i) == caractere) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	boolean contem(String texto) {
+		return texto(0, tamanho()).toUpperCase().contains(texto);
+	}
+	
+	boolean comecaCom(String prefixo) {
+		return igual(0, Math.min(prefixo.length(), tamanho()), prefixo);
+	}
+	
+	boolean igual(int de, int ate, String texto) {
+		if(ate - de != texto.length()) {
+			return false;
+		}
+		for(int i = 0; i < texto.length(); i++) {
+			if(Character.toUpperCase(caractere(de + i)) != texto.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	String texto(int de, int ate) {
+		ate = Math.min(ate, tamanho());
+		while(de < ate && caractere(de) <= ' ') {
+			de++;
+		}
+		while(ate > de && caractere(ate - 1) <= ' ') {
+			ate--;
+		}
+		return new String(buffer.array(), buffer.arrayOffset() + inicio + de, ate - de, charset);
+	}
+	
+	long numero(int de, int ate) {
+		long valor = 0;
+		for(int i = de; i < ate; i++) {
+			char digito = caractere(i);
+			if(digito < '0' || digito > '9') {
+				throw new NumberFormatException("Caractere inválido na posição " + (i + 1) + ": " + digito);
+			}
+			valor = valor * 10 + (digito - '0');
+		}
+		return valor;
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+// aceita tanto o OFX 1.x (SGML, tags sem fechamento) quanto o 2.x (XML), com uma ou várias tags por linha
+final class LeitorOfx extends LeitorExtrato {
+	
+	private boolean emTransacao;
+	
+	private String data;
+	private String valor;
+	private String memo;
+	private String nome;
+	private String documento;
+	
+	LeitorOfx(LeitorLinhas linhas) {
+		super(linhas);
+	}
+
+	@Override
+	protected MovimentoExtrato ler() throws IOException {
+		
+		while(avancar()) {
+			
+			if(linhas.indiceDe('<', 0) < 0 || linhas.comecaCom("<?XML")) {
+				lerCabecalho();
+				continue;
+			}
+			
+			int abertura = linhas.indiceDe('<', 0);
+			MovimentoExtrato movimento = null;
+			while(abertura >= 0) {
+				int fechamento = linhas.indiceDe('>', abertura);
+				if(fechamento < 0) {
+					break;
+				}
+				int proximaAbertura = linhas.indiceDe('<', fechamento);
+				int fimValor = proximaAbertura < 0 ? linhas.tamanho() : proximaAbertura;
+				MovimentoExtrato lido = lerTag(abertura + 1, fechamento, fechamento + 1, fimValor);
+				if(lido != null) {
+					movimento = lido;
+				}
+				abertura = proximaAbertura;
+			}
+			if(movimento != null) {
+				return movimento;
+			}
+			
+		}
+		return null;
+		
+	}
+	
+	private void lerCabecalho() {
+		if((linhas.comecaCom("ENCODING:") || linhas.comecaCom("<?XML")) && linhas.contem("UTF-8")) {
+			linhas.setCharset(StandardCharsets.UTF_8);
+		} else if(linhas.comecaCom("CHARSET:") && linhas.contem("1252")) {
+			linhas.setCharset(Charset.forName("windows-1252"));
+		}
+	}
+	
+	private MovimentoExtrato lerTag(int inicioTag, int fimTag, int inicioValor, int fimValor) {
+		
+		if(linhas.igual(inicioTag, fimTag, "STMTTRN")) {
+			emTransacao = true;
+			data = valor = memo = nome = documento = null;
+		} else if(linhas.igual(inicioTag, fimTag, "/STMTTRN")) {
+			emTransacao = false;
+			return criarMovimento();
+		} else if(emTransacao) {
+			if(linhas.igual(inicioTag, fimTag, "DTPOSTED")) {
+				data = linhas.texto(inicioValor, fimValor);
+			} else if(linhas.igual(inicioTag, fimTag, "TRNAMT")) {
+				valor = linhas.texto(inicioValor, fimValor);
+			} else if(linhas.igual(inicioTag, fimTag, "MEMO")) {
+				memo = linhas.texto(inicioValor, fimValor);
+			} else if(linhas.igual(inicioTag, fimTag, "NAME")) {
+				nome = linhas.texto(inicioValor, fimValor);
+			} else if(linhas.igual(inicioTag, fimTag, "FITID")) {
+				documento = linhas.texto(inicioValor, fimValor);
+			}
+		}
+		return null;
+		
+	}
+	
+	private MovimentoExtrato criarMovimento() {
+		
+		if(data == null || data.length() < 8 || valor == null) {
+			throw new NumberFormatException("transação sem data ou valor");
+		}
+		
+		LocalDate dataMovimento = LocalDate.of(Integer.parseInt(data.substring(0, 4)), 
+				Integer.parseInt(data.substring(4, 6)), Integer.parseInt(data.substring(6, 8)));
+		long centavos = new BigDecimal(valor.replace(',', '.'))
+				.movePointRight(2)
+				.setScale(0, RoundingMode.HALF_EVEN)
+				.longValueExact();
+		String descricao = memo == null || memo.isEmpty() ? nome : memo;
+		return new MovimentoExtrato(dataMovimento, centavos, descricao, documento);
+		
+	}
+
+}
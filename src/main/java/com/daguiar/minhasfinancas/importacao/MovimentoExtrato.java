@@ -0,0 +1,32 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.time.LocalDate;
+
+public class MovimentoExtrato {
+	
+	private final LocalDate data;
+	private final long centavos;
+	private final String descricao;
+	private final String documento;
+	
+	public MovimentoExtrato(LocalDate data, long centavos, String descricao, String documento) {
+		this.data = data;
+		this.centavos = centavos;
+		this.descricao = descricao;
+		this.documento = documento;
+	}
+	
+	public LocalDate getData() {
+		return data;
+	}
+	public long getCentavos() {
+		return centavos;
+	}
+	public String getDescricao() {
+		return descricao;
+	}
+	public String getDocumento() {
+		return documento;
+	}
+
+}
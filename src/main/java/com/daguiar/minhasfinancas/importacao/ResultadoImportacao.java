@@ -0,0 +1,30 @@
+package com.daguiar.minhasfinancas.importacao;
+
+public class ResultadoImportacao {
+	
+	private final long lidos;
+	private final long importados;
+	private final long duplicados;
+	private final long ignorados;
+	
+	public ResultadoImportacao(long lidos, long importados, long duplicados, long ignorados) {
+		this.lidos = lidos;
+		this.importados = importados;
+		this.duplicados = duplicados;
+		this.ignorados = ignorados;
+	}
+	
+	public long getLidos() {
+		return lidos;
+	}
+	public long getImportados() {
+		return importados;
+	}
+	public long getDuplicados() {
+		return duplicados;
+	}
+	public long getIgnorados() {
+		return ignorados;
+	}
+
+}
@@ -0,0 +1,166 @@
+package com.daguiar.minhasfinancas.ingestao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class DiarioIngestao {
+	
+	private static final String REGISTRO = "R ";
+	
+	private static final String CONFIRMACAO = "C ";
+	
+	private static final long TAMANHO_COMPACTACAO = 64L * 1024 * 1024;
+	
+	private final Path arquivo;
+	
+	private final ObjectMapper objectMapper;
+	
+	private final Map<Long, RegistroIngestao> pendentes = new LinkedHashMap<>();
+	
+	private FileChannel canal;
+	
+	public DiarioIngestao(Path arquivo, ObjectMapper objectMapper) {
+		this.arquivo = arquivo;
+		this.objectMapper = objectMapper;
+	}
+	
+	public synchronized List<RegistroIngestao> abrir() {
+		
+		try {
+			
+			Files.createDirectories(arquivo.toAbsolutePath().getParent());
+			if(Files.exists(arquivo)) {
+				try(BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+					String linha;
+					while((linha = leitor.readLine()) != null) {
+						ler(linha);
+					}
+				}
+			}
+			compactar();
+			return new ArrayList<>(pendentes.values());
+			
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+	}
+	
+	public synchronized void registrar(List<RegistroIngestao> registros) {
+		
+		StringBuilder linhas = new StringBuilder();
+		for(RegistroIngestao registro : registros) {
+			try {
+				linhas.append(REGISTRO).append(objectMapper.writeValueAsString(registro)).append('\n');
+			} catch(JsonProcessingException e) {
+				throw new IllegalArgumentException(e);
+			}
+		}
+		
+		gravar(linhas);
+		registros.forEach(registro -> pendentes.put(registro.getId(), registro));
+		
+	}
+	
+	public synchronized void confirmar(Collection<Long> ids) {
+		
+		StringBuilder linha = new StringBuilder(CONFIRMACAO);
+		for(Long id : ids) {
+			if(linha.length() > CONFIRMACAO.length()) {
+				linha.append(',');
+			}
+			linha.append(id);
+		}
+		gravar(linha.append('\n'));
+		ids.forEach(pendentes::remove);
+		
+		try {
+			if(pendentes.isEmpty()) {
+				canal.truncate(0);
+			} else if(canal.size() > TAMANHO_COMPACTACAO) {
+				compactar();
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+	}
+	
+	public synchronized int getPendentes() {
+		return pendentes.size();
+	}
+	
+	public synchronized void fechar() throws IOException {
+		if(canal != null) {
+			canal.close();
+		}
+	}
+	
+	private void ler(String linha) {
+		
+		try {
+			if(linha.startsWith(REGISTRO)) {
+				RegistroIngestao registro = objectMapper.readValue(linha.substring(REGISTRO.length()), RegistroIngestao.class);
+				pendentes.put(registro.getId(), registro);
+			} else if(linha.startsWith(CONFIRMACAO)) {
+				for(String id : linha.substring(CONFIRMACAO.length()).split(",")) {
+					pendentes.remove(Long.valueOf(id.trim()));
+				}
+			}
+		} catch(JsonProcessingException | NumberFormatException e) {
+			// a última linha pode ter ficado incompleta em uma queda; ela nunca foi confirmada ao cliente
+		}
+		
+	}
+	
+	private void gravar(CharSequence linhas) {
+		try {
+			ByteBuffer buffer = StandardCharsets.UTF_8.encode(linhas.toString());
+			while(buffer.hasRemaining()) {
+				canal.write(buffer);
+			}
+			canal.force(false);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	// reescreve o diário só com os pendentes e troca o arquivo de forma atômica
+	private void compactar() throws IOException {
+		
+		if(canal != null) {
+			canal.close();
+		}
+		
+		Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+		canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE, 
+				StandardOpenOption.TRUNCATE_EXISTING);
+		StringBuilder linhas = new StringBuilder();
+		for(RegistroIngestao registro : pendentes.values()) {
+			linhas.append(REGISTRO).append(objectMapper.writeValueAsString(registro)).append('\n');
+		}
+		gravar(linhas);
+		canal.close();
+		
+		Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		canal = FileChannel.open(arquivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.daguiar.minhasfinancas.ingestao;
+
+public class MetricasIngestao {
+	
+	private final int profundidadeFila;
+	private final int capacidadeFila;
+	private final long aceitos;
+	private final long rejeitados;
+	private final long gravados;
+	private final long descartados;
+	private final long lotesGravados;
+	private final double latenciaMediaGravacaoMs;
+	private final double latenciaMaximaGravacaoMs;
+	
+	public MetricasIngestao(int profundidadeFila, int capacidadeFila, long aceitos, long rejeitados, long gravados,
+			long descartados, long lotesGravados, double latenciaMediaGravacaoMs, double latenciaMaximaGravacaoMs) {
+		this.profundidadeFila = profundidadeFila;
+		this.capacidadeFila = capacidadeFila;
+		this.aceitos = aceitos;
+		this.rejeitados = rejeitados;
+		this.gravados = gravados;
+		this.descartados = descartados;
+		this.lotesGravados = lotesGravados;
+		this.latenciaMediaGravacaoMs = latenciaMediaGravacaoMs;
+		this.latenciaMaximaGravacaoMs = latenciaMaximaGravacaoMs;
+	}
+	
+	public int getProfundidadeFila() {
+		return profundidadeFila;
+	}
+	public int getCapacidadeFila() {
+		return capacidadeFila;
+	}
+	public long getAceitos() {
+		return aceitos;
+	}
+	public long getRejeitados() {
+		return rejeitados;
+	}
+	public long getGravados() {
+		return gravados;
+	}
+	public long getDescartados() {
+		return descartados;
+	}
+	public long getLotesGravados() {
+		return lotesGravados;
+	}
+	public double getLatenciaMediaGravacaoMs() {
+		return latenciaMediaGravacaoMs;
+	}
+	public double getLatenciaMaximaGravacaoMs() {
+		return latenciaMaximaGravacaoMs;
+	}
+
+}
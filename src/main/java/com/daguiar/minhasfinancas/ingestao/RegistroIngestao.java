@@ -0,0 +1,115 @@
+package com.daguiar.minhasfinancas.ingestao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+public class RegistroIngestao {
+	
+	private Long id;
+	private Long usuario;
+	private Long categoria;
+	private Long conta;
+	private Long livro;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private BigDecimal valor;
+	private Moeda moeda;
+	private TipoLancamento tipo;
+	private LocalDate dataLancamento;
+	
+	public static RegistroIngestao de(Lancamento lancamento) {
+		RegistroIngestao registro = new RegistroIngestao();
+		registro.setId(lancamento.getId());
+		registro.setUsuario(lancamento.getUsuario().getId());
+		registro.setCategoria(lancamento.getCategoria() == null ? null : lancamento.getCategoria().getId());
+		registro.setConta(lancamento.getConta() == null ? null : lancamento.getConta().getId());
+		registro.setLivro(lancamento.getIdLivro());
+		registro.setDescricao(lancamento.getDescricao());
+		registro.setMes(lancamento.getMes());
+		registro.setAno(lancamento.getAno());
+		registro.setValor(lancamento.getValor());
+		registro.setMoeda(lancamento.getMoeda());
+		registro.setTipo(lancamento.getTipo());
+		registro.setDataLancamento(lancamento.getDataLancamento());
+		return registro;
+	}
+	
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public Long getUsuario() {
+		return usuario;
+	}
+	public void setUsuario(Long usuario) {
+		this.usuario = usuario;
+	}
+	public Long getCategoria() {
+		return categoria;
+	}
+	public void setCategoria(Long categoria) {
+		this.categoria = categoria;
+	}
+	public Long getConta() {
+		return conta;
+	}
+	public void setConta(Long conta) {
+		this.conta = conta;
+	}
+	public Long getLivro() {
+		return livro;
+	}
+	public void setLivro(Long livro) {
+		this.livro = livro;
+	}
+	public String getDescricao() {
+		return descricao;
+	}
+	public void setDescricao(String descricao) {
+		this.descricao = descricao;
+	}
+	public Integer getMes() {
+		return mes;
+	}
+	public void setMes(Integer mes) {
+		this.mes = mes;
+	}
+	public Integer getAno() {
+		return ano;
+	}
+	public void setAno(Integer ano) {
+		this.ano = ano;
+	}
+	public BigDecimal getValor() {
+		return valor;
+	}
+	public void setValor(BigDecimal valor) {
+		this.valor = valor;
+	}
+	public Moeda getMoeda() {
+		return moeda;
+	}
+	public void setMoeda(Moeda moeda) {
+		this.moeda = moeda;
+	}
+	public TipoLancamento getTipo() {
+		return tipo;
+	}
+	public void setTipo(TipoLancamento tipo) {
+		this.tipo = tipo;
+	}
+	public LocalDate getDataLancamento() {
+		return dataLancamento;
+	}
+	public void setDataLancamento(LocalDate dataLancamento) {
+		this.dataLancamento = dataLancamento;
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.daguiar.minhasfinancas.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.ArquivoLancamentoService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+@Component
+public class ArquivamentoLancamentosJob {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(ArquivamentoLancamentosJob.class);
+	
+	private ArquivoLancamentoService service;
+	
+	private RoteadorShards roteador;
+	
+	private int tamanhoLote;
+	
+	public ArquivamentoLancamentosJob(ArquivoLancamentoService service, RoteadorShards roteador,
+			@Value("${minhasfinancas.arquivo.usuarios-por-lote:50}") int tamanhoLote) {
+		this.service = service;
+		this.roteador = roteador;
+		this.tamanhoLote = tamanhoLote;
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.arquivo.cron:0 0 4 * * *}")
+	@SchedulerLock(name = "arquivamentoLancamentos", lockAtMostFor = "PT6H")
+	public void executar() {
+		
+		int ano = service.obterAnoLimite();
+		roteador.paraCadaShard(() -> {
+			int total = 0;
+			int arquivados;
+			do {
+				arquivados = service.arquivarAntesDe(ano, tamanhoLote);
+				total += arquivados;
+			} while(arquivados == tamanhoLote);
+			if(total > 0) {
+				LOG.info("Lançamentos anteriores a {} de {} usuários arquivados.", ano, total);
+			}
+		});
+		
+	}
+
+}
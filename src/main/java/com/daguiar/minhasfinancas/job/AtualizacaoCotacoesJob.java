@@ -0,0 +1,31 @@
+package com.daguiar.minhasfinancas.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.CambioService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+@Component
+public class AtualizacaoCotacoesJob {
+	
+	private CambioService service;
+	
+	private RoteadorShards roteador;
+	
+	public AtualizacaoCotacoesJob(CambioService service, RoteadorShards roteador) {
+		this.service = service;
+		this.roteador = roteador;
+	}
+	
+	// cada shard guarda sua cópia das cotações para que as agregações não precisem sair dele
+	@Scheduled(cron = "${minhasfinancas.cambio.cron:0 0 6 * * *}")
+	@SchedulerLock(name = "atualizacaoCotacoes", lockAtMostFor = "PT30M")
+	public void executar() {
+		roteador.paraCadaShard(service::atualizarCotacoes);
+		service.recarregarCotacoes();
+	}
+
+}
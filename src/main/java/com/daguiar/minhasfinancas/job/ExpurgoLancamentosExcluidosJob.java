@@ -0,0 +1,46 @@
+package com.daguiar.minhasfinancas.job;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+@Component
+public class ExpurgoLancamentosExcluidosJob {
+	
+	private static final int TAMANHO_LOTE = 1000;
+	
+	private LancamentoService service;
+	
+	private RoteadorShards roteador;
+	
+	private int diasRetencao;
+	
+	public ExpurgoLancamentosExcluidosJob(LancamentoService service, RoteadorShards roteador,
+			@Value("${minhasfinancas.lancamento.dias-retencao-exclusao:30}") int diasRetencao) {
+		this.service = service;
+		this.roteador = roteador;
+		this.diasRetencao = diasRetencao;
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.lancamento.cron-expurgo:0 30 3 * * *}")
+	@SchedulerLock(name = "expurgoLancamentosExcluidos", lockAtMostFor = "PT1H")
+	public void executar() {
+		
+		LocalDateTime limite = LocalDateTime.now().minusDays(diasRetencao);
+		roteador.paraCadaShard(() -> {
+			int expurgados;
+			do {
+				expurgados = service.expurgarExcluidos(limite, TAMANHO_LOTE);
+			} while(expurgados == TAMANHO_LOTE);
+		});
+		
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.daguiar.minhasfinancas.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.IdempotenciaService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+@Component
+public class LimpezaIdempotenciaJob {
+	
+	private IdempotenciaService service;
+	
+	private RoteadorShards roteador;
+	
+	public LimpezaIdempotenciaJob(IdempotenciaService service, RoteadorShards roteador) {
+		this.service = service;
+		this.roteador = roteador;
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.idempotencia.intervalo-limpeza:PT15M}")
+	@SchedulerLock(name = "limpezaIdempotencia", lockAtMostFor = "PT10M")
+	public void executar() {
+		roteador.paraCadaShard(service::excluirExpiradas);
+	}
+
+}
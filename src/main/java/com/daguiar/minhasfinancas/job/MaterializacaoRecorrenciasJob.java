@@ -0,0 +1,46 @@
+package com.daguiar.minhasfinancas.job;
+
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.RecorrenciaService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+@Component
+public class MaterializacaoRecorrenciasJob {
+	
+	private static final int TAMANHO_LOTE = 200;
+	
+	private RecorrenciaService service;
+	
+	private RoteadorShards roteador;
+	
+	private int mesesAntecedencia;
+	
+	public MaterializacaoRecorrenciasJob(RecorrenciaService service, RoteadorShards roteador, 
+			@Value("${minhasfinancas.recorrencia.meses-antecedencia:3}") int mesesAntecedencia) {
+		this.service = service;
+		this.roteador = roteador;
+		this.mesesAntecedencia = mesesAntecedencia;
+	}
+	
+	@Scheduled(cron = "${minhasfinancas.recorrencia.cron:0 0 2 * * *}")
+	@SchedulerLock(name = "materializacaoRecorrencias", lockAtMostFor = "PT30M")
+	public void executar() {
+		
+		YearMonth limite = YearMonth.now().plusMonths(mesesAntecedencia);
+		roteador.paraCadaShard(() -> {
+			int processadas;
+			do {
+				processadas = service.materializarOcorrencias(limite, TAMANHO_LOTE);
+			} while(processadas > 0);
+		});
+		
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.daguiar.minhasfinancas.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+// preenche data_lancamento dos registros anteriores à coluna; depois da primeira execução não encontra nada
+@Component
+public class PreenchimentoDataLancamentoRunner implements ApplicationRunner {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(PreenchimentoDataLancamentoRunner.class);
+	
+	private static final int TAMANHO_LOTE = 1000;
+	
+	private LancamentoService service;
+	
+	private RoteadorShards roteador;
+	
+	public PreenchimentoDataLancamentoRunner(LancamentoService service, RoteadorShards roteador) {
+		this.service = service;
+		this.roteador = roteador;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		
+		roteador.paraCadaShard(() -> {
+			int total = 0;
+			int preenchidos;
+			do {
+				preenchidos = service.preencherDataLancamento(TAMANHO_LOTE);
+				total += preenchidos;
+			} while(preenchidos == TAMANHO_LOTE);
+			if(total > 0) {
+				LOG.info("Data de {} lançamentos preenchida pela competência.", total);
+			}
+		});
+		
+	}
+
+}
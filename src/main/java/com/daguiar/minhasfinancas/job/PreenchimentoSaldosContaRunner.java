@@ -0,0 +1,46 @@
+package com.daguiar.minhasfinancas.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.ContaService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+// cria a conta padrão e monta saldo_conta para usuários com lançamentos anteriores às contas
+@Component
+public class PreenchimentoSaldosContaRunner implements ApplicationRunner {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(PreenchimentoSaldosContaRunner.class);
+	
+	private static final int TAMANHO_LOTE = 100;
+	
+	private ContaService service;
+	
+	private RoteadorShards roteador;
+	
+	public PreenchimentoSaldosContaRunner(ContaService service, RoteadorShards roteador) {
+		this.service = service;
+		this.roteador = roteador;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		
+		roteador.paraCadaShard(() -> {
+			int total = 0;
+			int preenchidos;
+			do {
+				preenchidos = service.preencherSaldosAusentes(TAMANHO_LOTE);
+				total += preenchidos;
+			} while(preenchidos == TAMANHO_LOTE);
+			if(total > 0) {
+				LOG.info("Saldos por conta de {} usuários preenchidos.", total);
+			}
+		});
+		
+	}
+
+}
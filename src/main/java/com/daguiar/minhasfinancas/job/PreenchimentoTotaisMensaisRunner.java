@@ -0,0 +1,46 @@
+package com.daguiar.minhasfinancas.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.ProjecaoSaldoService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+// monta total_mensal para usuários com lançamentos anteriores à tabela; depois da primeira execução não encontra nada
+@Component
+public class PreenchimentoTotaisMensaisRunner implements ApplicationRunner {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(PreenchimentoTotaisMensaisRunner.class);
+	
+	private static final int TAMANHO_LOTE = 100;
+	
+	private ProjecaoSaldoService service;
+	
+	private RoteadorShards roteador;
+	
+	public PreenchimentoTotaisMensaisRunner(ProjecaoSaldoService service, RoteadorShards roteador) {
+		this.service = service;
+		this.roteador = roteador;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		
+		roteador.paraCadaShard(() -> {
+			int total = 0;
+			int preenchidos;
+			do {
+				preenchidos = service.preencherTotaisAusentes(TAMANHO_LOTE);
+				total += preenchidos;
+			} while(preenchidos == TAMANHO_LOTE);
+			if(total > 0) {
+				LOG.info("Totais mensais de {} usuários preenchidos.", total);
+			}
+		});
+		
+	}
+
+}
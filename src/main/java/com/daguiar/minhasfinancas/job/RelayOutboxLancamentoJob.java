@@ -0,0 +1,38 @@
+package com.daguiar.minhasfinancas.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.service.OutboxLancamentoService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+@Component
+public class RelayOutboxLancamentoJob {
+	
+	private static final int TAMANHO_LOTE = 500;
+	
+	private OutboxLancamentoService service;
+	
+	private RoteadorShards roteador;
+	
+	public RelayOutboxLancamentoJob(OutboxLancamentoService service, RoteadorShards roteador) {
+		this.service = service;
+		this.roteador = roteador;
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.outbox.intervalo:PT5S}")
+	@SchedulerLock(name = "relayOutboxLancamento", lockAtMostFor = "PT5M")
+	public void executar() {
+		
+		roteador.paraCadaShard(() -> {
+			int publicados;
+			do {
+				publicados = service.publicarPendentes(TAMANHO_LOTE);
+			} while(publicados == TAMANHO_LOTE);
+		});
+		
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.daguiar.minhasfinancas.livro;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+
+// livros de um usuário como vetor ordenado de ids e papéis; a checagem é uma busca binária sem alocação
+public final class PermissoesLivro {
+	
+	private static final PermissoesLivro VAZIA = new PermissoesLivro(new long[0], new PapelMembro[0]);
+	
+	private final long[] livros;
+	
+	private final PapelMembro[] papeis;
+	
+	private PermissoesLivro(long[] livros, PapelMembro[] papeis) {
+		this.livros = livros;
+		this.papeis = papeis;
+	}
+	
+	public static PermissoesLivro vazia() {
+		return VAZIA;
+	}
+	
+	// linhas no formato (id_livro, papel)
+	public static PermissoesLivro de(List<Object[]> linhas) {
+		
+		if(linhas.isEmpty()) {
+			return VAZIA;
+		}
+		
+		Object[][] ordenadas = linhas.toArray(new Object[0][]);
+		Arrays.sort(ordenadas, (a, b) -> Long.compare(((Number) a[0]).longValue(), ((Number) b[0]).longValue()));
+		long[] livros = new long[ordenadas.length];
+		PapelMembro[] papeis = new PapelMembro[ordenadas.length];
+		for(int i = 0; i < ordenadas.length; i++) {
+			livros[i] = ((Number) ordenadas[i][0]).longValue();
+			papeis[i] = (PapelMembro) ordenadas[i][1];
+		}
+		return new PermissoesLivro(livros, papeis);
+		
+	}
+	
+	public PapelMembro papel(long idLivro) {
+		int posicao = Arrays.binarySearch(livros, idLivro);
+		return posicao < 0 ? null : papeis[posicao];
+	}
+	
+	public boolean podeLer(long idLivro) {
+		return papel(idLivro) != null;
+	}
+	
+	public boolean podeEscrever(long idLivro) {
+		PapelMembro papel = papel(idLivro);
+		return papel == PapelMembro.EDITOR || papel == PapelMembro.DONO;
+	}
+	
+	public long[] getLivros() {
+		return livros.clone();
+	}
+
+}
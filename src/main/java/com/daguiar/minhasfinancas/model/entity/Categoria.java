@@ -0,0 +1,111 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+
+@Entity
+@Table(name = "categoria", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_categoria_usuario_nome", columnNames = { "id_usuario", "nome" })
+})
+public class Categoria {
+	
+	private static final String SEPARADOR_PALAVRAS_CHAVE = ";";
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(generator = GeradorIdGlobal.NOME)
+	@GenericGenerator(name = GeradorIdGlobal.NOME, strategy = "com.daguiar.minhasfinancas.model.id.GeradorIdGlobal")
+	private Long id;
+	
+	@Column(name = "nome", length = 100)
+	private String nome;
+	
+	@Column(name = "palavras_chave", length = 2000)
+	private String palavrasChave;
+	
+	@ManyToOne
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+
+	public String getPalavrasChave() {
+		return palavrasChave;
+	}
+
+	public void setPalavrasChave(String palavrasChave) {
+		this.palavrasChave = palavrasChave;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+	
+	public List<String> getListaPalavrasChave() {
+		if(palavrasChave == null) {
+			return List.of();
+		}
+		return Arrays.stream(palavrasChave.split(SEPARADOR_PALAVRAS_CHAVE))
+				.map(String::trim)
+				.filter(palavra -> !palavra.isEmpty())
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, nome, palavrasChave, usuario);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Categoria other = (Categoria) obj;
+		return Objects.equals(id, other.id) && Objects.equals(nome, other.nome)
+				&& Objects.equals(palavrasChave, other.palavrasChave) && Objects.equals(usuario, other.usuario);
+	}
+
+	@Override
+	public String toString() {
+		return "Categoria [id=" + id + ", nome=" + nome + ", palavrasChave=" + palavrasChave + ", usuario=" + usuario
+				+ "]";
+	}
+
+}
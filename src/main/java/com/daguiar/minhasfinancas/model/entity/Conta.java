@@ -0,0 +1,113 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.daguiar.minhasfinancas.model.enums.TipoConta;
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+
+@Entity
+@Table(name = "conta", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_conta_usuario_nome", columnNames = { "id_usuario", "nome" }),
+		@UniqueConstraint(name = "uk_conta_usuario_padrao", columnNames = { "id_usuario", "padrao" })
+})
+public class Conta {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(generator = GeradorIdGlobal.NOME)
+	@GenericGenerator(name = GeradorIdGlobal.NOME, strategy = "com.daguiar.minhasfinancas.model.id.GeradorIdGlobal")
+	private Long id;
+	
+	@Column(name = "nome", length = 100)
+	private String nome;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoConta tipo;
+	
+	// verdadeiro ou nulo: a restrição única só deixa uma conta padrão por usuário
+	@Column(name = "padrao")
+	private Boolean padrao;
+	
+	@ManyToOne
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+
+	public TipoConta getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoConta tipo) {
+		this.tipo = tipo;
+	}
+
+	public boolean isPadrao() {
+		return Boolean.TRUE.equals(padrao);
+	}
+
+	public void setPadrao(boolean padrao) {
+		this.padrao = padrao ? Boolean.TRUE : null;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, nome, padrao, tipo, usuario);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Conta other = (Conta) obj;
+		return Objects.equals(id, other.id) && Objects.equals(nome, other.nome) && Objects.equals(padrao, other.padrao)
+				&& tipo == other.tipo && Objects.equals(usuario, other.usuario);
+	}
+
+	@Override
+	public String toString() {
+		return "Conta [id=" + id + ", nome=" + nome + ", tipo=" + tipo + ", padrao=" + padrao + ", usuario=" + usuario
+				+ "]";
+	}
+
+}
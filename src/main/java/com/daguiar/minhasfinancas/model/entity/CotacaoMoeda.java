@@ -0,0 +1,100 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+
+@Entity
+@Table(name = "cotacao_moeda", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_cotacao_moeda_data", columnNames = { "moeda", "data" })
+})
+public class CotacaoMoeda {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(name = "moeda", length = 3)
+	@Enumerated(value = EnumType.STRING)
+	private Moeda moeda;
+	
+	@Column(name = "data")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate data;
+	
+	// quantos reais vale uma unidade da moeda
+	@Column(name = "taxa", precision = 19, scale = 6)
+	private BigDecimal taxa;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Moeda getMoeda() {
+		return moeda;
+	}
+
+	public void setMoeda(Moeda moeda) {
+		this.moeda = moeda;
+	}
+
+	public LocalDate getData() {
+		return data;
+	}
+
+	public void setData(LocalDate data) {
+		this.data = data;
+	}
+
+	public BigDecimal getTaxa() {
+		return taxa;
+	}
+
+	public void setTaxa(BigDecimal taxa) {
+		this.taxa = taxa;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(data, id, moeda, taxa);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CotacaoMoeda other = (CotacaoMoeda) obj;
+		return Objects.equals(data, other.data) && Objects.equals(id, other.id) && moeda == other.moeda
+				&& Objects.equals(taxa, other.taxa);
+	}
+
+	@Override
+	public String toString() {
+		return "CotacaoMoeda [id=" + id + ", moeda=" + moeda + ", data=" + data + ", taxa=" + taxa + "]";
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+
+@Entity
+@Table(name = "evento_lancamento_outbox", schema = "financas")
+public class EventoLancamento {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(generator = GeradorIdGlobal.NOME)
+	@GenericGenerator(name = GeradorIdGlobal.NOME, strategy = "com.daguiar.minhasfinancas.model.id.GeradorIdGlobal")
+	private Long id;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoEventoLancamento tipo;
+	
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+	
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Column(name = "id_autor")
+	private Long idAutor;
+	
+	@Column(name = "conteudo", length = 4000)
+	private String conteudo;
+	
+	@Column(name = "data_evento")
+	private LocalDateTime dataEvento;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public TipoEventoLancamento getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoEventoLancamento tipo) {
+		this.tipo = tipo;
+	}
+
+	public Long getIdLancamento() {
+		return idLancamento;
+	}
+
+	public void setIdLancamento(Long idLancamento) {
+		this.idLancamento = idLancamento;
+	}
+
+	public Long getIdUsuario() {
+		return idUsuario;
+	}
+
+	public void setIdUsuario(Long idUsuario) {
+		this.idUsuario = idUsuario;
+	}
+
+	public Long getIdAutor() {
+		return idAutor;
+	}
+
+	public void setIdAutor(Long idAutor) {
+		this.idAutor = idAutor;
+	}
+
+	public String getConteudo() {
+		return conteudo;
+	}
+
+	public void setConteudo(String conteudo) {
+		this.conteudo = conteudo;
+	}
+
+	public LocalDateTime getDataEvento() {
+		return dataEvento;
+	}
+
+	public void setDataEvento(LocalDateTime dataEvento) {
+		this.dataEvento = dataEvento;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(conteudo, dataEvento, id, idAutor, idLancamento, idUsuario, tipo);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		EventoLancamento other = (EventoLancamento) obj;
+		return Objects.equals(conteudo, other.conteudo) && Objects.equals(dataEvento, other.dataEvento)
+				&& Objects.equals(id, other.id) && Objects.equals(idLancamento, other.idLancamento)
+				&& Objects.equals(idUsuario, other.idUsuario)
+				&& Objects.equals(idAutor, other.idAutor) && tipo == other.tipo;
+	}
+
+	@Override
+	public String toString() {
+		return "EventoLancamento [id=" + id + ", tipo=" + tipo + ", idLancamento=" + idLancamento + ", idUsuario="
+				+ idUsuario + ", idAutor=" + idAutor + ", conteudo=" + conteudo + ", dataEvento=" + dataEvento + "]";
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+
+@Entity
+@Table(name = "historico_lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_historico_lancamento_lancamento", columnList = "id_lancamento"),
+		@Index(name = "idx_historico_lancamento_usuario", columnList = "id_usuario, data_evento")
+})
+public class HistoricoLancamento {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(generator = GeradorIdGlobal.NOME)
+	@GenericGenerator(name = GeradorIdGlobal.NOME, strategy = "com.daguiar.minhasfinancas.model.id.GeradorIdGlobal")
+	private Long id;
+	
+	@Column(name = "id_evento", unique = true)
+	private Long idEvento;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoEventoLancamento tipo;
+	
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+	
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Column(name = "id_autor")
+	private Long idAutor;
+	
+	@Column(name = "conteudo", length = 4000)
+	private String conteudo;
+	
+	@Column(name = "data_evento")
+	private LocalDateTime dataEvento;
+	
+	public static HistoricoLancamento de(EventoLancamento evento) {
+		
+		HistoricoLancamento historico = new HistoricoLancamento();
+		historico.setIdEvento(evento.getId());
+		historico.setTipo(evento.getTipo());
+		historico.setIdLancamento(evento.getIdLancamento());
+		historico.setIdUsuario(evento.getIdUsuario());
+		historico.setIdAutor(evento.getIdAutor());
+		historico.setConteudo(evento.getConteudo());
+		historico.setDataEvento(evento.getDataEvento());
+		return historico;
+		
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getIdEvento() {
+		return idEvento;
+	}
+
+	public void setIdEvento(Long idEvento) {
+		this.idEvento = idEvento;
+	}
+
+	public TipoEventoLancamento getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoEventoLancamento tipo) {
+		this.tipo = tipo;
+	}
+
+	public Long getIdLancamento() {
+		return idLancamento;
+	}
+
+	public void setIdLancamento(Long idLancamento) {
+		this.idLancamento = idLancamento;
+	}
+
+	public Long getIdUsuario() {
+		return idUsuario;
+	}
+
+	public void setIdUsuario(Long idUsuario) {
+		this.idUsuario = idUsuario;
+	}
+
+	public Long getIdAutor() {
+		return idAutor;
+	}
+
+	public void setIdAutor(Long idAutor) {
+		this.idAutor = idAutor;
+	}
+
+	public String getConteudo() {
+		return conteudo;
+	}
+
+	public void setConteudo(String conteudo) {
+		this.conteudo = conteudo;
+	}
+
+	public LocalDateTime getDataEvento() {
+		return dataEvento;
+	}
+
+	public void setDataEvento(LocalDateTime dataEvento) {
+		this.dataEvento = dataEvento;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(conteudo, dataEvento, id, idEvento, idAutor, idLancamento, idUsuario, tipo);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		HistoricoLancamento other = (HistoricoLancamento) obj;
+		return Objects.equals(conteudo, other.conteudo) && Objects.equals(dataEvento, other.dataEvento)
+				&& Objects.equals(id, other.id) && Objects.equals(idEvento, other.idEvento)
+				&& Objects.equals(idLancamento, other.idLancamento) && Objects.equals(idUsuario, other.idUsuario)
+				&& Objects.equals(idAutor, other.idAutor)
+				&& tipo == other.tipo;
+	}
+
+	@Override
+	public String toString() {
+		return "HistoricoLancamento [id=" + id + ", idEvento=" + idEvento + ", tipo=" + tipo + ", idLancamento="
+				+ idLancamento + ", idUsuario=" + idUsuario + ", idAutor=" + idAutor + ", conteudo=" + conteudo + ", dataEvento="
+				+ dataEvento + "]";
+	}
+
+}
@@ -2,6 +2,8 @@ package com.daguiar.minhasfinancas.model.entity;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Objects;
 
 import javax.persistence.Column;
@@ -9,25 +11,57 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import com.daguiar.minhasfinancas.model.enums.Moeda;
 import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
 import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.model.valor.DinheiroConverter;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
 
 @Entity
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_lancamento_recorrencia_competencia", columnNames = { "id_recorrencia", "ano", "mes" }),
+		@UniqueConstraint(name = "uk_lancamento_impressao_digital", columnNames = { "id_usuario", "impressao_digital" })
+}, indexes = {
+		@Index(name = "idx_lancamento_grupo", columnList = "grupo"),
+		@Index(name = "idx_lancamento_exclusao", columnList = "excluido, data_exclusao"),
+		@Index(name = "idx_lancamento_usuario_data", columnList = "id_usuario, data_lancamento"),
+		@Index(name = "idx_lancamento_conta", columnList = "id_conta"),
+		@Index(name = "idx_lancamento_livro_data", columnList = "id_livro, data_lancamento")
+})
+@SQLDelete(sql = "update financas.lancamento set excluido = true, data_exclusao = current_timestamp, versao = versao + 1 "
+			   + "where id = ? and versao = ?")
+@Where(clause = "excluido = false")
 public class Lancamento {
 	
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = GeradorIdGlobal.NOME)
+	@GenericGenerator(name = GeradorIdGlobal.NOME, strategy = "com.daguiar.minhasfinancas.model.id.GeradorIdGlobal")
 	private Long id;
 	
 	@Column(name = "descricao")
@@ -39,8 +73,13 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 	
-	@Column(name = "valor")
-	private BigDecimal valor;
+	@Column(name = "valor", precision = 19, scale = 2)
+	@Convert(converter = DinheiroConverter.class)
+	private Dinheiro valor;
+	
+	@Column(name = "moeda", length = 3)
+	@Enumerated(value = EnumType.STRING)
+	private Moeda moeda = Moeda.BRL;
 	
 	@Column(name = "tipo")
 	@Enumerated(value = EnumType.STRING)
@@ -57,6 +96,82 @@ public class Lancamento {
 	@Column(name = "data_cadastro")
 	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
 	private LocalDate dataCadastro;
+	
+	@Column(name = "data_lancamento")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataLancamento;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_recorrencia")
+	@JsonIgnore
+	private Recorrencia recorrencia;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_categoria")
+	@JsonIgnore
+	private Categoria categoria;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_conta")
+	@JsonIgnore
+	private Conta conta;
+	
+	// sem chave estrangeira: os membros de um livro podem estar em shards diferentes do dono
+	@Column(name = "id_livro")
+	private Long idLivro;
+	
+	// convertido uma única vez, na gravação, para os totais desfazerem exatamente o que somaram
+	@Column(name = "valor_base_centavos")
+	@JsonIgnore
+	private Long valorBaseCentavos;
+	
+	@Column(name = "grupo", length = 36)
+	private String grupo;
+	
+	@Column(name = "parcela")
+	private Integer parcela;
+	
+	@Column(name = "impressao_digital")
+	@JsonIgnore
+	private Long impressaoDigital;
+	
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+	
+	@Column(name = "excluido", nullable = false)
+	@JsonIgnore
+	private boolean excluido;
+	
+	@Column(name = "data_exclusao")
+	@JsonIgnore
+	private LocalDateTime dataExclusao;
+	
+	@Transient
+	@JsonIgnore
+	private EstadoLancamento estadoPersistido;
+	
+	@PostLoad
+	@PostPersist
+	@PostUpdate
+	public void registrarEstadoPersistido() {
+		this.estadoPersistido = EstadoLancamento.de(this);
+	}
+	
+	// mes e ano continuam sendo a competência; a data acompanha quando não foi informada ou saiu dela
+	@PrePersist
+	@PreUpdate
+	public void sincronizarDataLancamento() {
+		if(ano == null || mes == null) {
+			return;
+		}
+		YearMonth competencia = YearMonth.of(ano, mes);
+		if(dataLancamento == null) {
+			dataLancamento = competencia.atDay(1);
+		} else if(!YearMonth.from(dataLancamento).equals(competencia)) {
+			dataLancamento = competencia.atDay(Math.min(dataLancamento.getDayOfMonth(), competencia.lengthOfMonth()));
+		}
+	}
 
 	public Long getId() {
 		return id;
@@ -91,12 +206,37 @@ public class Lancamento {
 	}
 
 	public BigDecimal getValor() {
-		return valor;
+		return valor == null ? null : valor.toBigDecimal();
 	}
 
 	public void setValor(BigDecimal valor) {
+		this.valor = valor == null ? null : Dinheiro.de(valor);
+	}
+
+	@JsonIgnore
+	public Dinheiro getValorMonetario() {
+		return valor;
+	}
+
+	public void setValorMonetario(Dinheiro valor) {
 		this.valor = valor;
 	}
+	
+	public Long getValorBaseCentavos() {
+		return valorBaseCentavos;
+	}
+	
+	public void setValorBaseCentavos(Long valorBaseCentavos) {
+		this.valorBaseCentavos = valorBaseCentavos;
+	}
+	
+	public Moeda getMoeda() {
+		return moeda;
+	}
+
+	public void setMoeda(Moeda moeda) {
+		this.moeda = moeda;
+	}
 
 	public TipoLancamento getTipo() {
 		return tipo;
@@ -130,9 +270,102 @@ public class Lancamento {
 		this.dataCadastro = dataCadastro;
 	}
 
+	public LocalDate getDataLancamento() {
+		return dataLancamento;
+	}
+
+	public void setDataLancamento(LocalDate dataLancamento) {
+		this.dataLancamento = dataLancamento;
+	}
+
+	public Recorrencia getRecorrencia() {
+		return recorrencia;
+	}
+
+	public void setRecorrencia(Recorrencia recorrencia) {
+		this.recorrencia = recorrencia;
+	}
+
+	public String getGrupo() {
+		return grupo;
+	}
+
+	public void setGrupo(String grupo) {
+		this.grupo = grupo;
+	}
+
+	public Integer getParcela() {
+		return parcela;
+	}
+
+	public void setParcela(Integer parcela) {
+		this.parcela = parcela;
+	}
+
+	public Long getImpressaoDigital() {
+		return impressaoDigital;
+	}
+
+	public void setImpressaoDigital(Long impressaoDigital) {
+		this.impressaoDigital = impressaoDigital;
+	}
+
+	public Long getVersao() {
+		return versao;
+	}
+
+	public void setVersao(Long versao) {
+		this.versao = versao;
+	}
+
+	public boolean isExcluido() {
+		return excluido;
+	}
+
+	public void setExcluido(boolean excluido) {
+		this.excluido = excluido;
+	}
+
+	public LocalDateTime getDataExclusao() {
+		return dataExclusao;
+	}
+
+	public void setDataExclusao(LocalDateTime dataExclusao) {
+		this.dataExclusao = dataExclusao;
+	}
+
+	public Categoria getCategoria() {
+		return categoria;
+	}
+
+	public void setCategoria(Categoria categoria) {
+		this.categoria = categoria;
+	}
+
+	public Conta getConta() {
+		return conta;
+	}
+
+	public void setConta(Conta conta) {
+		this.conta = conta;
+	}
+
+	public Long getIdLivro() {
+		return idLivro;
+	}
+
+	public void setIdLivro(Long idLivro) {
+		this.idLivro = idLivro;
+	}
+
+	@JsonIgnore
+	public EstadoLancamento getEstadoPersistido() {
+		return estadoPersistido;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(ano, dataCadastro, descricao, id, mes, status, tipo, usuario, valor);
+		return Objects.hash(ano, dataCadastro, descricao, grupo, id, mes, parcela, status, tipo, usuario, valor);
 	}
 
 	@Override
@@ -145,16 +378,17 @@ public class Lancamento {
 			return false;
 		Lancamento other = (Lancamento) obj;
 		return Objects.equals(ano, other.ano) && Objects.equals(dataCadastro, other.dataCadastro)
-				&& Objects.equals(descricao, other.descricao) && Objects.equals(id, other.id)
-				&& Objects.equals(mes, other.mes) && status == other.status && tipo == other.tipo
+				&& Objects.equals(descricao, other.descricao) && Objects.equals(grupo, other.grupo)
+				&& Objects.equals(id, other.id) && Objects.equals(mes, other.mes)
+				&& Objects.equals(parcela, other.parcela) && status == other.status && tipo == other.tipo
 				&& Objects.equals(usuario, other.usuario) && Objects.equals(valor, other.valor);
 	}
 
 	@Override
 	public String toString() {
 		return "Lancamento [id=" + id + ", descricao=" + descricao + ", mes=" + mes + ", ano=" + ano + ", valor="
-				+ valor + ", tipo=" + tipo + ", status=" + status + ", usuario=" + usuario + ", dataCadastro="
-				+ dataCadastro + "]";
+				+ valor + ", moeda=" + moeda + ", tipo=" + tipo + ", status=" + status + ", usuario=" + usuario
+				+ ", dataCadastro=" + dataCadastro + ", grupo=" + grupo + ", parcela=" + parcela + "]";
 	}
 	
 }
@@ -0,0 +1,278 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+// lançamentos de anos fechados, movidos para fora da tabela quente com o mesmo id; não são mais alterados pela api
+@Entity
+@Table(name = "lancamento_arquivado", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_arquivado_usuario_data", columnList = "id_usuario, data_lancamento"),
+		@Index(name = "idx_lancamento_arquivado_livro_data", columnList = "id_livro, data_lancamento"),
+		@Index(name = "idx_lancamento_arquivado_conta", columnList = "id_conta")
+})
+public class LancamentoArquivado {
+	
+	@Id
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "valor", precision = 19, scale = 2)
+	private BigDecimal valor;
+	
+	@Column(name = "valor_base_centavos")
+	private Long valorBaseCentavos;
+	
+	@Column(name = "moeda", length = 3)
+	@Enumerated(value = EnumType.STRING)
+	private Moeda moeda;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	// sem chaves estrangeiras: categorias e contas seguem podendo ser alteradas depois do arquivamento
+	@Column(name = "id_categoria")
+	private Long idCategoria;
+	
+	@Column(name = "id_conta")
+	private Long idConta;
+	
+	@Column(name = "id_livro")
+	private Long idLivro;
+	
+	@Column(name = "grupo", length = 36)
+	private String grupo;
+	
+	@Column(name = "parcela")
+	private Integer parcela;
+	
+	@Column(name = "data_cadastro")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataCadastro;
+	
+	@Column(name = "data_lancamento")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataLancamento;
+	
+	@Column(name = "data_arquivamento")
+	private LocalDateTime dataArquivamento;
+	
+	// mesmo formato de filtro dos lançamentos, para reaproveitar o Example montado na busca
+	public static LancamentoArquivado exemplo(Lancamento filtro) {
+		LancamentoArquivado exemplo = new LancamentoArquivado();
+		exemplo.setDescricao(filtro.getDescricao());
+		exemplo.setMes(filtro.getMes());
+		exemplo.setAno(filtro.getAno());
+		exemplo.setMoeda(filtro.getMoeda());
+		exemplo.setTipo(filtro.getTipo());
+		exemplo.setStatus(filtro.getStatus());
+		exemplo.setUsuario(filtro.getUsuario());
+		exemplo.setIdLivro(filtro.getIdLivro());
+		return exemplo;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+	public void setDescricao(String descricao) {
+		this.descricao = descricao;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public void setMes(Integer mes) {
+		this.mes = mes;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public void setAno(Integer ano) {
+		this.ano = ano;
+	}
+
+	public BigDecimal getValor() {
+		return valor;
+	}
+
+	public void setValor(BigDecimal valor) {
+		this.valor = valor;
+	}
+
+	public Long getValorBaseCentavos() {
+		return valorBaseCentavos;
+	}
+
+	public void setValorBaseCentavos(Long valorBaseCentavos) {
+		this.valorBaseCentavos = valorBaseCentavos;
+	}
+
+	public Moeda getMoeda() {
+		return moeda;
+	}
+
+	public void setMoeda(Moeda moeda) {
+		this.moeda = moeda;
+	}
+
+	public TipoLancamento getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoLancamento tipo) {
+		this.tipo = tipo;
+	}
+
+	public StatusLancamento getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusLancamento status) {
+		this.status = status;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Long getIdCategoria() {
+		return idCategoria;
+	}
+
+	public void setIdCategoria(Long idCategoria) {
+		this.idCategoria = idCategoria;
+	}
+
+	public Long getIdConta() {
+		return idConta;
+	}
+
+	public void setIdConta(Long idConta) {
+		this.idConta = idConta;
+	}
+
+	public Long getIdLivro() {
+		return idLivro;
+	}
+
+	public void setIdLivro(Long idLivro) {
+		this.idLivro = idLivro;
+	}
+
+	public String getGrupo() {
+		return grupo;
+	}
+
+	public void setGrupo(String grupo) {
+		this.grupo = grupo;
+	}
+
+	public Integer getParcela() {
+		return parcela;
+	}
+
+	public void setParcela(Integer parcela) {
+		this.parcela = parcela;
+	}
+
+	public LocalDate getDataCadastro() {
+		return dataCadastro;
+	}
+
+	public void setDataCadastro(LocalDate dataCadastro) {
+		this.dataCadastro = dataCadastro;
+	}
+
+	public LocalDate getDataLancamento() {
+		return dataLancamento;
+	}
+
+	public void setDataLancamento(LocalDate dataLancamento) {
+		this.dataLancamento = dataLancamento;
+	}
+
+	public LocalDateTime getDataArquivamento() {
+		return dataArquivamento;
+	}
+
+	public void setDataArquivamento(LocalDateTime dataArquivamento) {
+		this.dataArquivamento = dataArquivamento;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		LancamentoArquivado other = (LancamentoArquivado) obj;
+		return Objects.equals(id, other.id);
+	}
+
+	@Override
+	public String toString() {
+		return "LancamentoArquivado [id=" + id + ", descricao=" + descricao + ", mes=" + mes + ", ano=" + ano 
+				+ ", valor=" + valor + ", moeda=" + moeda + ", tipo=" + tipo + ", status=" + status + "]";
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+
+// fica no shard do membro; o livro pode estar em outro, por isso id_livro não tem chave estrangeira
+@Entity
+@Table(name = "membro_livro", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_membro_livro_usuario_livro", columnNames = { "id_usuario", "id_livro" })
+}, indexes = {
+		@Index(name = "idx_membro_livro_livro", columnList = "id_livro")
+})
+public class MembroLivro {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@Column(name = "id_livro", nullable = false)
+	private Long idLivro;
+	
+	@Column(name = "papel", length = 10)
+	@Enumerated(value = EnumType.STRING)
+	private PapelMembro papel;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Long getIdLivro() {
+		return idLivro;
+	}
+
+	public void setIdLivro(Long idLivro) {
+		this.idLivro = idLivro;
+	}
+
+	public PapelMembro getPapel() {
+		return papel;
+	}
+
+	public void setPapel(PapelMembro papel) {
+		this.papel = papel;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, idLivro, papel);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MembroLivro other = (MembroLivro) obj;
+		return Objects.equals(id, other.id) && Objects.equals(idLivro, other.idLivro) && papel == other.papel;
+	}
+
+	@Override
+	public String toString() {
+		return "MembroLivro [id=" + id + ", idLivro=" + idLivro + ", papel=" + papel + "]";
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.model.valor.DinheiroConverter;
+
+@Entity
+@Table(name = "orcamento", schema = "financas")
+public class Orcamento {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(generator = GeradorIdGlobal.NOME)
+	@GenericGenerator(name = GeradorIdGlobal.NOME, strategy = "com.daguiar.minhasfinancas.model.id.GeradorIdGlobal")
+	private Long id;
+	
+	@ManyToOne
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@ManyToOne
+	@JoinColumn(name = "id_categoria")
+	private Categoria categoria;
+	
+	@Column(name = "valor_limite", precision = 19, scale = 2)
+	@Convert(converter = DinheiroConverter.class)
+	private Dinheiro limite;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public TipoLancamento getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoLancamento tipo) {
+		this.tipo = tipo;
+	}
+
+	public Categoria getCategoria() {
+		return categoria;
+	}
+
+	public void setCategoria(Categoria categoria) {
+		this.categoria = categoria;
+	}
+
+	public BigDecimal getLimite() {
+		return limite == null ? null : limite.toBigDecimal();
+	}
+
+	public void setLimite(BigDecimal limite) {
+		this.limite = limite == null ? null : Dinheiro.de(limite);
+	}
+
+	@JsonIgnore
+	public Dinheiro getLimiteMonetario() {
+		return limite;
+	}
+
+	public void setLimiteMonetario(Dinheiro limite) {
+		this.limite = limite;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(categoria, id, limite, tipo, usuario);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Orcamento other = (Orcamento) obj;
+		return Objects.equals(categoria, other.categoria) && Objects.equals(id, other.id)
+				&& Objects.equals(limite, other.limite) && tipo == other.tipo && Objects.equals(usuario, other.usuario);
+	}
+
+	@Override
+	public String toString() {
+		return "Orcamento [id=" + id + ", usuario=" + usuario + ", tipo=" + tipo + ", categoria=" + categoria
+				+ ", limite=" + limite + "]";
+	}
+
+}
@@ -0,0 +1,226 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.daguiar.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.id.GeradorIdGlobal;
+
+@Entity
+@Table(name = "recorrencia", schema = "financas", indexes = {
+		@Index(name = "idx_recorrencia_proxima_ocorrencia", columnList = "ativa, proximo_ano, proximo_mes")
+})
+public class Recorrencia {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(generator = GeradorIdGlobal.NOME)
+	@GenericGenerator(name = GeradorIdGlobal.NOME, strategy = "com.daguiar.minhasfinancas.model.id.GeradorIdGlobal")
+	private Long id;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@Column(name = "periodicidade")
+	@Enumerated(value = EnumType.STRING)
+	private PeriodicidadeRecorrencia periodicidade;
+	
+	@ManyToOne
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@Column(name = "mes_inicial")
+	private Integer mesInicial;
+	
+	@Column(name = "ano_inicial")
+	private Integer anoInicial;
+	
+	@Column(name = "quantidade_ocorrencias")
+	private Integer quantidadeOcorrencias;
+	
+	@Column(name = "ocorrencias_geradas")
+	private Integer ocorrenciasGeradas;
+	
+	@Column(name = "proximo_mes")
+	private Integer proximoMes;
+	
+	@Column(name = "proximo_ano")
+	private Integer proximoAno;
+	
+	@Column(name = "ativa")
+	private Boolean ativa;
+	
+	public YearMonth getProximaOcorrencia() {
+		return YearMonth.of(proximoAno, proximoMes);
+	}
+	
+	public void setProximaOcorrencia(YearMonth proximaOcorrencia) {
+		this.proximoAno = proximaOcorrencia.getYear();
+		this.proximoMes = proximaOcorrencia.getMonthValue();
+	}
+	
+	public boolean isEncerrada() {
+		return quantidadeOcorrencias != null && ocorrenciasGeradas >= quantidadeOcorrencias;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+	public void setDescricao(String descricao) {
+		this.descricao = descricao;
+	}
+
+	public BigDecimal getValor() {
+		return valor;
+	}
+
+	public void setValor(BigDecimal valor) {
+		this.valor = valor;
+	}
+
+	public TipoLancamento getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoLancamento tipo) {
+		this.tipo = tipo;
+	}
+
+	public PeriodicidadeRecorrencia getPeriodicidade() {
+		return periodicidade;
+	}
+
+	public void setPeriodicidade(PeriodicidadeRecorrencia periodicidade) {
+		this.periodicidade = periodicidade;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Integer getMesInicial() {
+		return mesInicial;
+	}
+
+	public void setMesInicial(Integer mesInicial) {
+		this.mesInicial = mesInicial;
+	}
+
+	public Integer getAnoInicial() {
+		return anoInicial;
+	}
+
+	public void setAnoInicial(Integer anoInicial) {
+		this.anoInicial = anoInicial;
+	}
+
+	public Integer getQuantidadeOcorrencias() {
+		return quantidadeOcorrencias;
+	}
+
+	public void setQuantidadeOcorrencias(Integer quantidadeOcorrencias) {
+		this.quantidadeOcorrencias = quantidadeOcorrencias;
+	}
+
+	public Integer getOcorrenciasGeradas() {
+		return ocorrenciasGeradas;
+	}
+
+	public void setOcorrenciasGeradas(Integer ocorrenciasGeradas) {
+		this.ocorrenciasGeradas = ocorrenciasGeradas;
+	}
+
+	public Integer getProximoMes() {
+		return proximoMes;
+	}
+
+	public void setProximoMes(Integer proximoMes) {
+		this.proximoMes = proximoMes;
+	}
+
+	public Integer getProximoAno() {
+		return proximoAno;
+	}
+
+	public void setProximoAno(Integer proximoAno) {
+		this.proximoAno = proximoAno;
+	}
+
+	public Boolean getAtiva() {
+		return ativa;
+	}
+
+	public void setAtiva(Boolean ativa) {
+		this.ativa = ativa;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(anoInicial, ativa, descricao, id, mesInicial, ocorrenciasGeradas, periodicidade,
+				proximoAno, proximoMes, quantidadeOcorrencias, tipo, usuario, valor);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Recorrencia other = (Recorrencia) obj;
+		return Objects.equals(anoInicial, other.anoInicial) && Objects.equals(ativa, other.ativa)
+				&& Objects.equals(descricao, other.descricao) && Objects.equals(id, other.id)
+				&& Objects.equals(mesInicial, other.mesInicial)
+				&& Objects.equals(ocorrenciasGeradas, other.ocorrenciasGeradas)
+				&& periodicidade == other.periodicidade && Objects.equals(proximoAno, other.proximoAno)
+				&& Objects.equals(proximoMes, other.proximoMes)
+				&& Objects.equals(quantidadeOcorrencias, other.quantidadeOcorrencias) && tipo == other.tipo
+				&& Objects.equals(usuario, other.usuario) && Objects.equals(valor, other.valor);
+	}
+
+	@Override
+	public String toString() {
+		return "Recorrencia [id=" + id + ", descricao=" + descricao + ", valor=" + valor + ", tipo=" + tipo
+				+ ", periodicidade=" + periodicidade + ", usuario=" + usuario + ", mesInicial=" + mesInicial
+				+ ", anoInicial=" + anoInicial + ", quantidadeOcorrencias=" + quantidadeOcorrencias
+				+ ", ocorrenciasGeradas=" + ocorrenciasGeradas + ", proximoMes=" + proximoMes + ", proximoAno="
+				+ proximoAno + ", ativa=" + ativa + "]";
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "resposta_idempotente", schema = "financas", indexes = {
+		@Index(name = "idx_resposta_idempotente_data_criacao", columnList = "data_criacao")
+})
+public class RespostaIdempotente implements Persistable<String> {
+	
+	@Id
+	@Column(name = "chave")
+	private String chave;
+	
+	@Column(name = "corpo", length = 8000)
+	private String corpo;
+	
+	@Column(name = "data_criacao")
+	private LocalDateTime dataCriacao;
+	
+	// a chave é atribuída, então o save faria merge e sobrescreveria a resposta de outra instância;
+	// como nova, a gravação é um insert e a chave repetida falha na chave primária
+	@Transient
+	private boolean nova = true;
+	
+	public RespostaIdempotente() {
+	}
+	
+	public RespostaIdempotente(String chave, String corpo, LocalDateTime dataCriacao) {
+		this.chave = chave;
+		this.corpo = corpo;
+		this.dataCriacao = dataCriacao;
+	}
+
+	@PostLoad
+	@PostPersist
+	public void marcarPersistida() {
+		this.nova = false;
+	}
+
+	@Override
+	public String getId() {
+		return chave;
+	}
+
+	@Override
+	public boolean isNew() {
+		return nova;
+	}
+
+	public String getChave() {
+		return chave;
+	}
+
+	public void setChave(String chave) {
+		this.chave = chave;
+	}
+
+	public String getCorpo() {
+		return corpo;
+	}
+
+	public void setCorpo(String corpo) {
+		this.corpo = corpo;
+	}
+
+	public LocalDateTime getDataCriacao() {
+		return dataCriacao;
+	}
+
+	public void setDataCriacao(LocalDateTime dataCriacao) {
+		this.dataCriacao = dataCriacao;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(chave, corpo, dataCriacao);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		RespostaIdempotente other = (RespostaIdempotente) obj;
+		return Objects.equals(chave, other.chave) && Objects.equals(corpo, other.corpo)
+				&& Objects.equals(dataCriacao, other.dataCriacao);
+	}
+
+	@Override
+	public String toString() {
+		return "RespostaIdempotente [chave=" + chave + ", corpo=" + corpo + ", dataCriacao=" + dataCriacao + "]";
+	}
+
+}
@@ -0,0 +1,195 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+// soma por mês dos lançamentos arquivados, no mesmo recorte usado pelas reconstruções de totais e saldos;
+// cada execução do arquivamento acrescenta linhas, então uma competência pode ter mais de uma
+@Entity
+@Table(name = "resumo_arquivado", schema = "financas", indexes = {
+		@Index(name = "idx_resumo_arquivado_usuario_competencia", columnList = "id_usuario, ano, mes"),
+		@Index(name = "idx_resumo_arquivado_conta", columnList = "id_conta")
+})
+public class ResumoArquivado {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "id_conta")
+	private Long idConta;
+	
+	@Column(name = "id_categoria")
+	private Long idCategoria;
+	
+	@Column(name = "moeda", length = 3)
+	@Enumerated(value = EnumType.STRING)
+	private Moeda moeda;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@Column(name = "quantidade", nullable = false)
+	private int quantidade;
+	
+	// na moeda do lançamento, para os saldos por conta
+	@Column(name = "valor_centavos", nullable = false)
+	private long valorCentavos;
+	
+	// convertido pela cotação da data de cada lançamento, para os totais
+	@Column(name = "valor_base_centavos", nullable = false)
+	private long valorBaseCentavos;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public void setAno(Integer ano) {
+		this.ano = ano;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public void setMes(Integer mes) {
+		this.mes = mes;
+	}
+
+	public Long getIdConta() {
+		return idConta;
+	}
+
+	public void setIdConta(Long idConta) {
+		this.idConta = idConta;
+	}
+
+	public Long getIdCategoria() {
+		return idCategoria;
+	}
+
+	public void setIdCategoria(Long idCategoria) {
+		this.idCategoria = idCategoria;
+	}
+
+	public Moeda getMoeda() {
+		return moeda;
+	}
+
+	public void setMoeda(Moeda moeda) {
+		this.moeda = moeda;
+	}
+
+	public TipoLancamento getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoLancamento tipo) {
+		this.tipo = tipo;
+	}
+
+	public StatusLancamento getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusLancamento status) {
+		this.status = status;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	public void setQuantidade(int quantidade) {
+		this.quantidade = quantidade;
+	}
+
+	public long getValorCentavos() {
+		return valorCentavos;
+	}
+
+	public void setValorCentavos(long valorCentavos) {
+		this.valorCentavos = valorCentavos;
+	}
+
+	public long getValorBaseCentavos() {
+		return valorBaseCentavos;
+	}
+
+	public void setValorBaseCentavos(long valorBaseCentavos) {
+		this.valorBaseCentavos = valorBaseCentavos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ResumoArquivado other = (ResumoArquivado) obj;
+		return Objects.equals(id, other.id);
+	}
+
+	@Override
+	public String toString() {
+		return "ResumoArquivado [id=" + id + ", ano=" + ano + ", mes=" + mes + ", idConta=" + idConta + ", idCategoria="
+				+ idCategoria + ", moeda=" + moeda + ", tipo=" + tipo + ", status=" + status + ", valorCentavos="
+				+ valorCentavos + ", valorBaseCentavos=" + valorBaseCentavos + "]";
+	}
+
+}
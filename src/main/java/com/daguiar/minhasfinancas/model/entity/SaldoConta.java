@@ -0,0 +1,109 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+
+// saldo efetivado de uma conta em cada moeda, na própria moeda; a conversão fica para a leitura
+@Entity
+@Table(name = "saldo_conta", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_saldo_conta_moeda", columnNames = { "id_conta", "moeda" })
+})
+public class SaldoConta {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_conta")
+	private Conta conta;
+	
+	@Column(name = "moeda", length = 3)
+	@Enumerated(value = EnumType.STRING)
+	private Moeda moeda;
+	
+	@Column(name = "saldo_centavos", nullable = false)
+	private long saldoCentavos;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Conta getConta() {
+		return conta;
+	}
+
+	public void setConta(Conta conta) {
+		this.conta = conta;
+	}
+
+	public Moeda getMoeda() {
+		return moeda;
+	}
+
+	public void setMoeda(Moeda moeda) {
+		this.moeda = moeda;
+	}
+
+	public long getSaldoCentavos() {
+		return saldoCentavos;
+	}
+
+	public void setSaldoCentavos(long saldoCentavos) {
+		this.saldoCentavos = saldoCentavos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, moeda, saldoCentavos);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SaldoConta other = (SaldoConta) obj;
+		return Objects.equals(id, other.id) && moeda == other.moeda && saldoCentavos == other.saldoCentavos;
+	}
+
+	@Override
+	public String toString() {
+		return "SaldoConta [id=" + id + ", moeda=" + moeda + ", saldoCentavos=" + saldoCentavos + "]";
+	}
+
+}
@@ -0,0 +1,128 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "total_categoria", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_total_categoria_competencia", columnNames = { "id_usuario", "ano", "mes", "id_categoria" })
+})
+public class TotalCategoria {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@ManyToOne
+	@JoinColumn(name = "id_categoria")
+	private Categoria categoria;
+	
+	@Column(name = "receitas_centavos", nullable = false)
+	private long receitasCentavos;
+	
+	@Column(name = "despesas_centavos", nullable = false)
+	private long despesasCentavos;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public void setAno(Integer ano) {
+		this.ano = ano;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public void setMes(Integer mes) {
+		this.mes = mes;
+	}
+
+	public Categoria getCategoria() {
+		return categoria;
+	}
+
+	public void setCategoria(Categoria categoria) {
+		this.categoria = categoria;
+	}
+
+	public long getReceitasCentavos() {
+		return receitasCentavos;
+	}
+
+	public void setReceitasCentavos(long receitasCentavos) {
+		this.receitasCentavos = receitasCentavos;
+	}
+
+	public long getDespesasCentavos() {
+		return despesasCentavos;
+	}
+
+	public void setDespesasCentavos(long despesasCentavos) {
+		this.despesasCentavos = despesasCentavos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ano, categoria, despesasCentavos, id, mes, receitasCentavos);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		TotalCategoria other = (TotalCategoria) obj;
+		return Objects.equals(ano, other.ano) && Objects.equals(categoria, other.categoria)
+				&& despesasCentavos == other.despesasCentavos && Objects.equals(id, other.id)
+				&& Objects.equals(mes, other.mes) && receitasCentavos == other.receitasCentavos;
+	}
+
+	@Override
+	public String toString() {
+		return "TotalCategoria [id=" + id + ", ano=" + ano + ", mes=" + mes + ", categoria=" + categoria
+				+ ", receitasCentavos=" + receitasCentavos + ", despesasCentavos=" + despesasCentavos + "]";
+	}
+
+}
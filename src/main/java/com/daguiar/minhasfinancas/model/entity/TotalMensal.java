@@ -0,0 +1,120 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+
+@Entity
+@Table(name = "total_mensal", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_total_mensal_competencia", columnNames = { "id_usuario", "ano", "mes", "status" })
+})
+public class TotalMensal {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@Column(name = "saldo_centavos", nullable = false)
+	private long saldoCentavos;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public void setAno(Integer ano) {
+		this.ano = ano;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public void setMes(Integer mes) {
+		this.mes = mes;
+	}
+
+	public StatusLancamento getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusLancamento status) {
+		this.status = status;
+	}
+
+	public long getSaldoCentavos() {
+		return saldoCentavos;
+	}
+
+	public void setSaldoCentavos(long saldoCentavos) {
+		this.saldoCentavos = saldoCentavos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ano, id, mes, saldoCentavos, status);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		TotalMensal other = (TotalMensal) obj;
+		return Objects.equals(ano, other.ano) && Objects.equals(id, other.id) && Objects.equals(mes, other.mes)
+				&& saldoCentavos == other.saldoCentavos && status == other.status;
+	}
+
+	@Override
+	public String toString() {
+		return "TotalMensal [id=" + id + ", ano=" + ano + ", mes=" + mes + ", status=" + status + ", saldoCentavos="
+				+ saldoCentavos + "]";
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.daguiar.minhasfinancas.model.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "total_orcamento", schema = "financas", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_total_orcamento_competencia", columnNames = { "id_orcamento", "ano", "mes" })
+})
+public class TotalOrcamento {
+	
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_orcamento")
+	private Orcamento orcamento;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "gasto_centavos", nullable = false)
+	private long gastoCentavos;
+	
+	@Column(name = "faixa_alertada", nullable = false)
+	private int faixaAlertada;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Usuario getUsuario() {
+		return usuario;
+	}
+
+	public void setUsuario(Usuario usuario) {
+		this.usuario = usuario;
+	}
+
+	public Orcamento getOrcamento() {
+		return orcamento;
+	}
+
+	public void setOrcamento(Orcamento orcamento) {
+		this.orcamento = orcamento;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public void setAno(Integer ano) {
+		this.ano = ano;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public void setMes(Integer mes) {
+		this.mes = mes;
+	}
+
+	public long getGastoCentavos() {
+		return gastoCentavos;
+	}
+
+	public void setGastoCentavos(long gastoCentavos) {
+		this.gastoCentavos = gastoCentavos;
+	}
+
+	public int getFaixaAlertada() {
+		return faixaAlertada;
+	}
+
+	public void setFaixaAlertada(int faixaAlertada) {
+		this.faixaAlertada = faixaAlertada;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ano, faixaAlertada, gastoCentavos, id, mes);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		TotalOrcamento other = (TotalOrcamento) obj;
+		return Objects.equals(ano, other.ano) && faixaAlertada == other.faixaAlertada
+				&& gastoCentavos == other.gastoCentavos && Objects.equals(id, other.id) && Objects.equals(mes, other.mes);
+	}
+
+	@Override
+	public String toString() {
+		return "TotalOrcamento [id=" + id + ", ano=" + ano + ", mes=" + mes + ", gastoCentavos=" + gastoCentavos
+				+ ", faixaAlertada=" + faixaAlertada + "]";
+	}
+
+}
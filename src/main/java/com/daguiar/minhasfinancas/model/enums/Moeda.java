@@ -0,0 +1,9 @@
+package com.daguiar.minhasfinancas.model.enums;
+
+public enum Moeda {
+	
+	BRL,
+	USD,
+	EUR
+
+}
@@ -0,0 +1,8 @@
+package com.daguiar.minhasfinancas.model.enums;
+
+public enum PeriodicidadeRecorrencia {
+	
+	MENSAL,
+	ANUAL
+
+}
@@ -0,0 +1,9 @@
+package com.daguiar.minhasfinancas.model.enums;
+
+public enum TipoConta {
+	
+	CORRENTE,
+	POUPANCA,
+	CARTAO_CREDITO
+
+}
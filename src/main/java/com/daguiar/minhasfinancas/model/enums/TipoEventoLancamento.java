@@ -0,0 +1,11 @@
+package com.daguiar.minhasfinancas.model.enums;
+
+public enum TipoEventoLancamento {
+	
+	CRIACAO,
+	ATUALIZACAO,
+	EXCLUSAO,
+	RESTAURACAO,
+	ALTERACAO_EM_LOTE
+
+}
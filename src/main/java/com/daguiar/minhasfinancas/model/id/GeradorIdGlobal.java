@@ -0,0 +1,26 @@
+package com.daguiar.minhasfinancas.model.id;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class GeradorIdGlobal implements IdentifierGenerator {
+	
+	public static final String NOME = "id_global";
+	
+	private static volatile GeradorIds gerador = new SequenciaSnowflake(0, SequenciaSnowflake.TOLERANCIA_RELOGIO_PADRAO_MS);
+	
+	public static void usar(GeradorIds novoGerador) {
+		gerador = Objects.requireNonNull(novoGerador);
+	}
+
+	@Override
+	public Serializable generate(SharedSessionContractImplementor session, Object object) {
+		// ids atribuídos antes da persistência, como o do usuário que define o shard, são mantidos
+		Serializable atual = session.getEntityPersister(null, object).getIdentifier(object, session);
+		return atual != null ? atual : gerador.proximo();
+	}
+
+}
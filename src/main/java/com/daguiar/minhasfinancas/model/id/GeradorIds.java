@@ -0,0 +1,7 @@
+package com.daguiar.minhasfinancas.model.id;
+
+public interface GeradorIds {
+	
+	long proximo();
+
+}
@@ -0,0 +1,93 @@
+package com.daguiar.minhasfinancas.model.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class SequenciaSnowflake implements GeradorIds {
+	
+	// 2021-01-01T00:00:00Z
+	public static final long EPOCA = 1609459200000L;
+	
+	private static final int BITS_NO = 10;
+	
+	private static final int BITS_SEQUENCIA = 12;
+	
+	public static final long TOLERANCIA_RELOGIO_PADRAO_MS = 5000;
+	
+	public static final long NO_MAXIMO = (1L << BITS_NO) - 1;
+	
+	private static final long SEQUENCIA_MAXIMA = (1L << BITS_SEQUENCIA) - 1;
+	
+	private final long no;
+	
+	private final long toleranciaRelogio;
+	
+	private final LongSupplier relogio;
+	
+	// instante (ms desde a época) e sequência do último id, no formato instante << BITS_SEQUENCIA | sequencia
+	private final AtomicLong ultimo = new AtomicLong();
+	
+	public SequenciaSnowflake(long no, long toleranciaRelogio) {
+		this(no, toleranciaRelogio, System::currentTimeMillis);
+	}
+	
+	public SequenciaSnowflake(long no, long toleranciaRelogio, LongSupplier relogio) {
+		if(no < 0 || no > NO_MAXIMO) {
+			throw new IllegalArgumentException("O nó do gerador de ids deve estar entre 0 e " + NO_MAXIMO + ".");
+		}
+		if(toleranciaRelogio < 0) {
+			throw new IllegalArgumentException("A tolerância do relógio não pode ser negativa.");
+		}
+		this.no = no;
+		this.toleranciaRelogio = toleranciaRelogio;
+		this.relogio = relogio;
+	}
+	
+	@Override
+	public long proximo() {
+		
+		while(true) {
+			
+			long anterior = ultimo.get();
+			long instanteAnterior = anterior >>> BITS_SEQUENCIA;
+			long agora = relogio.getAsLong() - EPOCA;
+			
+			long proximo;
+			if(agora > instanteAnterior) {
+				proximo = agora << BITS_SEQUENCIA;
+			} else {
+				// relógio parado ou atrasado: continua a sequência, avançando sobre o instante já usado se esgotada
+				proximo = anterior + 1;
+				if((proximo >>> BITS_SEQUENCIA) - agora > toleranciaRelogio) {
+					if(instanteAnterior - agora > toleranciaRelogio) {
+						throw new IllegalStateException("O relógio está " + (instanteAnterior - agora) 
+								+ " ms atrás do último id gerado; ids não gerados.");
+					}
+					Thread.onSpinWait();
+					continue;
+				}
+			}
+			
+			if(ultimo.compareAndSet(anterior, proximo)) {
+				return ((proximo >>> BITS_SEQUENCIA) << (BITS_NO + BITS_SEQUENCIA)) 
+						| (no << BITS_SEQUENCIA) 
+						| (proximo & SEQUENCIA_MAXIMA);
+			}
+			
+		}
+		
+	}
+	
+	public long getNo() {
+		return no;
+	}
+	
+	public static long extrairInstante(long id) {
+		return (id >>> (BITS_NO + BITS_SEQUENCIA)) + EPOCA;
+	}
+	
+	public static long extrairNo(long id) {
+		return (id >>> BITS_SEQUENCIA) & NO_MAXIMO;
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+
+public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+	
+	List<Categoria> findByUsuarioIdOrderByNome(Long idUsuario);
+	
+	boolean existsByUsuarioIdAndNomeIgnoreCaseAndIdNot(Long idUsuario, String nome, Long id);
+	
+	boolean existsByUsuarioIdAndNomeIgnoreCase(Long idUsuario, String nome);
+
+}
@@ -0,0 +1,27 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.Conta;
+
+public interface ContaRepository extends JpaRepository<Conta, Long> {
+	
+	List<Conta> findByUsuarioIdOrderByNome(Long idUsuario);
+	
+	Optional<Conta> findByUsuarioIdAndPadraoTrue(Long idUsuario);
+	
+	boolean existsByUsuarioIdAndNome(Long idUsuario, String nome);
+	
+	boolean existsByUsuarioIdAndNomeAndIdNot(Long idUsuario, String nome, Long id);
+	
+	@Query(value = " select distinct l.id_usuario from financas.lancamento l "
+				   + " where not exists (select 1 from financas.conta c where c.id_usuario = l.id_usuario and c.padrao = true) "
+				   + " limit :tamanhoLote ", nativeQuery = true)
+	List<Long> obterUsuariosSemContaPadrao(@Param("tamanhoLote") int tamanhoLote);
+
+}
@@ -0,0 +1,37 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.CotacaoMoeda;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+
+public interface CotacaoMoedaRepository extends JpaRepository<CotacaoMoeda, Long> {
+	
+	// trechos usados pelas agregações nativas sobre financas.lancamento l; o real não tem cotação e fica com taxa 1
+	String JUNCAO_ULTIMA_COTACAO = " left join (select c.moeda, c.taxa from financas.cotacao_moeda c "
+				   + " where c.data = (select max(u.data) from financas.cotacao_moeda u where u.moeda = c.moeda)) cu "
+				   + " on cu.moeda = l.moeda ";
+	
+	String JUNCAO_COTACOES = " left join financas.cotacao_moeda cd on cd.moeda = l.moeda and cd.data = l.data_lancamento "
+				   + JUNCAO_ULTIMA_COTACAO;
+	
+	// a tabela é preenchida dia a dia, então a data do lançamento só cai fora dela depois da última cotação
+	String VALOR_NA_DATA = " round(l.valor * coalesce(cd.taxa, cu.taxa, 1), 2) ";
+	
+	// o valor em moeda base gravado com o lançamento; a conversão pela data só cobre os gravados antes da coluna
+	String CENTAVOS_BASE = " coalesce(l.valor_base_centavos, cast(" + VALOR_NA_DATA + " * 100 as bigint)) ";
+	
+	String VALOR_ATUAL = " round(l.valor * coalesce(cu.taxa, 1), 2) ";
+	
+	List<CotacaoMoeda> findAllByOrderByMoedaAscDataAsc();
+	
+	@Query(value = " select c from CotacaoMoeda c where c.moeda = :moeda and c.data = "
+				   + " (select max(u.data) from CotacaoMoeda u where u.moeda = :moeda) ")
+	Optional<CotacaoMoeda> obterUltimaCotacao(@Param("moeda") Moeda moeda);
+
+}
@@ -0,0 +1,14 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.daguiar.minhasfinancas.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+	
+	List<EventoLancamento> findAllByOrderByIdAsc(Pageable pageable);
+
+}
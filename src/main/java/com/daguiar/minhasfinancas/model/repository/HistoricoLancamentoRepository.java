@@ -0,0 +1,13 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.daguiar.minhasfinancas.model.entity.HistoricoLancamento;
+
+public interface HistoricoLancamentoRepository extends JpaRepository<HistoricoLancamento, Long> {
+	
+	List<HistoricoLancamento> findByIdLancamentoOrderByIdAsc(Long idLancamento);
+
+}
@@ -0,0 +1,47 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.LancamentoArquivado;
+
+public interface LancamentoArquivadoRepository extends JpaRepository<LancamentoArquivado, Long>, 
+		JpaSpecificationExecutor<LancamentoArquivado> {
+	
+	@Query(value = " select distinct l.id_usuario from financas.lancamento l "
+				   + " where l.ano < :ano and l.excluido = false "
+				   + " limit :tamanhoLote ", nativeQuery = true)
+	List<Long> obterUsuariosComLancamentosAntesDe(
+			@Param("ano") Integer ano,
+			@Param("tamanhoLote") int tamanhoLote);
+	
+	@Modifying
+	@Query(value = " insert into financas.lancamento_arquivado (id, descricao, mes, ano, valor, valor_base_centavos, moeda, tipo, "
+				   + " status, id_usuario, id_categoria, id_conta, id_livro, grupo, parcela, data_cadastro, data_lancamento, "
+				   + " data_arquivamento) "
+				   + " select l.id, l.descricao, l.mes, l.ano, l.valor, l.valor_base_centavos, coalesce(l.moeda, 'BRL'), l.tipo, "
+				   + " l.status, l.id_usuario, l.id_categoria, l.id_conta, l.id_livro, l.grupo, l.parcela, l.data_cadastro, "
+				   + " l.data_lancamento, :dataArquivamento "
+				   + " from financas.lancamento l "
+				   + " where l.id_usuario = :idUsuario and l.ano < :ano and l.excluido = false ", nativeQuery = true)
+	int arquivarPorUsuarioAntesDe(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("dataArquivamento") LocalDateTime dataArquivamento);
+	
+	// mesmas colunas da consulta dos lançamentos vivos, para a carga das análises
+	@Query(value = " select l.id, l.ano, l.mes, l.tipo, l.status, l.valor, l.descricao, l.moeda, l.dataLancamento, "
+				   + " l.valorBaseCentavos from LancamentoArquivado l where l.usuario.id = :idUsuario ")
+	List<Object[]> obterColunasPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Modifying
+	@Query(value = " update LancamentoArquivado l set l.idCategoria = null where l.idCategoria = :idCategoria ")
+	int removerCategoria(@Param("idCategoria") Long idCategoria);
+
+}
@@ -1,23 +1,121 @@
 package com.daguiar.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.daguiar.minhasfinancas.model.entity.Lancamento;
 import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
-import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, JpaSpecificationExecutor<Lancamento> {
 	
-	@Query(value = " select sum(l.valor) from Lancamento l join l.usuario u "
-			       + " where u.id = :idUsuario and l.tipo = :tipo and l.status = :status  "
-			       + " group by u ")
-	BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatus(
+	// o lançamento obtido por id volta ao serviço fora da transação em que foi lido, e a validação usa a categoria e a conta
+	@Override
+	@EntityGraph(attributePaths = { "categoria", "conta" })
+	Optional<Lancamento> findById(Long id);
+	
+	// o saldo é uma posição de hoje, então moeda estrangeira vale pela última cotação
+	@Query(value = " select cast(coalesce(sum(case when l.tipo = 'RECEITA' then " + CotacaoMoedaRepository.VALOR_ATUAL 
+				   + " else -" + CotacaoMoedaRepository.VALOR_ATUAL + " end), 0) * 100 as bigint) "
+				   + " from financas.lancamento l " + CotacaoMoedaRepository.JUNCAO_ULTIMA_COTACAO
+				   + " where l.id_usuario = :idUsuario and l.status = :status and l.excluido = false ", nativeQuery = true)
+	long obterSaldoEmCentavosPorUsuarioEStatus(
 			@Param("idUsuario") Long idUsuario, 
-			@Param("tipo") TipoLancamento tipo,
+			@Param("status") String status);
+	
+	@Query(value = " select l.id, l.ano, l.mes, l.tipo, l.status, l.valor, l.descricao, l.moeda, l.dataLancamento, "
+				   + " l.valorBaseCentavos from Lancamento l where l.usuario.id = :idUsuario ")
+	List<Object[]> obterColunasPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	// conta também os excluídos, que seguram a chave estrangeira até o expurgo, e os arquivados, que entram nos saldos
+	@Query(value = " select (select count(*) from financas.lancamento l where l.id_conta = :idConta) "
+				   + " + (select count(*) from financas.lancamento_arquivado a where a.id_conta = :idConta) ", nativeQuery = true)
+	long contarPorConta(@Param("idConta") Long idConta);
+	
+	@Query(value = " select distinct l.usuario.id from Lancamento l where l.grupo = :grupo and l.excluido = false ")
+	List<Long> obterUsuariosPorGrupo(@Param("grupo") String grupo);
+	
+	@Modifying
+	@Query(value = " update Lancamento l set l.status = :status, l.versao = l.versao + 1 "
+				   + " where l.grupo = :grupo and l.excluido = false ")
+	int atualizarStatusPorGrupo(
+			@Param("grupo") String grupo,
 			@Param("status") StatusLancamento status);
+	
+	@Modifying
+	@Query(value = " update Lancamento l set l.excluido = true, l.dataExclusao = :dataExclusao, l.versao = l.versao + 1 "
+				   + " where l.usuario.id = :idUsuario and l.ano = :ano and l.excluido = false ")
+	int excluirPorUsuarioEAno(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("dataExclusao") LocalDateTime dataExclusao);
+	
+	@Modifying
+	@Query(value = " update Lancamento l set l.excluido = true, l.dataExclusao = :dataExclusao, l.versao = l.versao + 1 "
+				   + " where l.usuario.id = :idUsuario and l.ano = :ano and l.mes = :mes and l.excluido = false ")
+	int excluirPorUsuarioEAnoEMes(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes,
+			@Param("dataExclusao") LocalDateTime dataExclusao);
+	
+	@Modifying
+	@Query(value = " update Lancamento l set l.categoria = null, l.versao = l.versao + 1 where l.categoria.id = :idCategoria ")
+	int removerCategoria(@Param("idCategoria") Long idCategoria);
+	
+	// consulta nativa porque o @Where da entidade esconde os excluídos
+	@Query(value = " select * from financas.lancamento where id = :id and excluido = true ", nativeQuery = true)
+	Optional<Lancamento> obterExcluido(@Param("id") Long id);
+	
+	@Modifying
+	@Query(value = " update financas.lancamento set excluido = false, data_exclusao = null, versao = versao + 1 "
+				   + " where id = :id and excluido = true ", nativeQuery = true)
+	int restaurar(@Param("id") Long id);
+	
+	@Modifying
+	@Query(value = " delete from financas.lancamento where id in ( "
+				   + " select id from financas.lancamento "
+				   + " where excluido = true and data_exclusao < :limite "
+				   + " order by id limit :tamanhoLote ) ", nativeQuery = true)
+	int expurgarExcluidosAntesDe(
+			@Param("limite") LocalDateTime limite,
+			@Param("tamanhoLote") int tamanhoLote);
+	
+	@Modifying
+	@Query(value = " update financas.lancamento "
+				   + " set data_lancamento = cast(cast(ano as varchar) || '-' || lpad(cast(mes as varchar), 2, '0') || '-01' as date) "
+				   + " where id in ( "
+				   + " select id from financas.lancamento "
+				   + " where data_lancamento is null and ano is not null and mes is not null "
+				   + " order by id limit :tamanhoLote ) ", nativeQuery = true)
+	int preencherDataLancamentoPelaCompetencia(@Param("tamanhoLote") int tamanhoLote);
+	
+	@Modifying
+	@Query(value = " delete from financas.lancamento "
+				   + " where id_usuario = :idUsuario and ano < :ano and excluido = false ", nativeQuery = true)
+	int excluirFisicamentePorUsuarioAntesDe(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano);
+	
+	@Query(value = " select id from financas.lancamento where id in (:ids) ", nativeQuery = true)
+	List<Long> obterIdsExistentes(@Param("ids") Collection<Long> ids);
+	
+	@Query(value = " select impressao_digital from financas.lancamento "
+				   + " where id_usuario = :idUsuario and impressao_digital is not null ", nativeQuery = true)
+	List<Long> obterImpressoesDigitaisPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Query(value = " select impressao_digital from financas.lancamento "
+				   + " where id_usuario = :idUsuario and impressao_digital in (:impressoes) ", nativeQuery = true)
+	List<Long> obterImpressoesDigitaisExistentes(
+			@Param("idUsuario") Long idUsuario,
+			@Param("impressoes") Collection<Long> impressoes);
 
 }
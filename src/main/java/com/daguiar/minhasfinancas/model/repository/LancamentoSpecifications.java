@@ -0,0 +1,34 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class LancamentoSpecifications {
+	
+	private LancamentoSpecifications() {
+	}
+	
+	public static <T> Specification<T> conformeExemplo(Example<T> example) {
+		return (root, query, builder) -> QueryByExamplePredicateBuilder.getPredicate(root, builder, example);
+	}
+	
+	// limites inclusivos sobre dataLancamento, que também existe nos arquivados; um lado em branco deixa o intervalo aberto
+	public static <T> Specification<T> noPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
+		return (root, query, builder) -> {
+			if(dataInicial != null && dataFinal != null) {
+				return builder.between(root.get("dataLancamento"), dataInicial, dataFinal);
+			}
+			if(dataInicial != null) {
+				return builder.greaterThanOrEqualTo(root.get("dataLancamento"), dataInicial);
+			}
+			if(dataFinal != null) {
+				return builder.lessThanOrEqualTo(root.get("dataLancamento"), dataFinal);
+			}
+			return null;
+		};
+	}
+
+}
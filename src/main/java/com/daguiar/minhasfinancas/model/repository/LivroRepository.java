@@ -0,0 +1,9 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.daguiar.minhasfinancas.model.entity.Livro;
+
+public interface LivroRepository extends JpaRepository<Livro, Long> {
+
+}
@@ -0,0 +1,34 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.MembroLivro;
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+
+public interface MembroLivroRepository extends JpaRepository<MembroLivro, Long> {
+	
+	// só id_livro e papel, lidos pelo índice único (id_usuario, id_livro)
+	@Query(value = " select m.idLivro, m.papel from MembroLivro m where m.usuario.id = :idUsuario ")
+	List<Object[]> obterPapeisPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	List<MembroLivro> findByIdLivro(Long idLivro);
+	
+	@Modifying
+	@Query(value = " update MembroLivro m set m.papel = :papel where m.usuario.id = :idUsuario and m.idLivro = :idLivro ")
+	int atualizarPapel(
+			@Param("idUsuario") Long idUsuario,
+			@Param("idLivro") Long idLivro,
+			@Param("papel") PapelMembro papel);
+	
+	@Modifying
+	@Query(value = " delete from MembroLivro m where m.usuario.id = :idUsuario and m.idLivro = :idLivro ")
+	int excluir(
+			@Param("idUsuario") Long idUsuario,
+			@Param("idLivro") Long idLivro);
+
+}
@@ -0,0 +1,24 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.daguiar.minhasfinancas.model.entity.Orcamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+public interface OrcamentoRepository extends JpaRepository<Orcamento, Long> {
+	
+	List<Orcamento> findByUsuarioId(Long idUsuario);
+	
+	List<Orcamento> findByCategoriaId(Long idCategoria);
+	
+	boolean existsByUsuarioIdAndTipo(Long idUsuario, TipoLancamento tipo);
+	
+	boolean existsByUsuarioIdAndTipoAndIdNot(Long idUsuario, TipoLancamento tipo, Long id);
+	
+	boolean existsByUsuarioIdAndCategoriaId(Long idUsuario, Long idCategoria);
+	
+	boolean existsByUsuarioIdAndCategoriaIdAndIdNot(Long idUsuario, Long idCategoria, Long id);
+
+}
@@ -0,0 +1,30 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+	
+	@Query(value = " select r from Recorrencia r "
+				   + " where r.ativa = true "
+				   + " and (r.proximoAno < :ano or (r.proximoAno = :ano and r.proximoMes <= :mes)) "
+				   + " order by r.id ")
+	List<Recorrencia> obterPendentesDeMaterializacao(
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes,
+			Pageable pageable);
+	
+	List<Recorrencia> findByUsuarioIdAndAtivaTrue(Long idUsuario);
+	
+	@Modifying
+	@Query(value = " update Recorrencia r set r.ativa = false where r.id = :id ")
+	int desativar(@Param("id") Long id);
+
+}
@@ -0,0 +1,18 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.RespostaIdempotente;
+
+public interface RespostaIdempotenteRepository extends JpaRepository<RespostaIdempotente, String> {
+	
+	@Modifying
+	@Query(value = " delete from RespostaIdempotente r where r.dataCriacao < :limite ")
+	int excluirCriadasAntesDe(@Param("limite") LocalDateTime limite);
+
+}
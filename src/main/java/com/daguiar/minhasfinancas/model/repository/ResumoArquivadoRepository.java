@@ -0,0 +1,42 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.ResumoArquivado;
+
+public interface ResumoArquivadoRepository extends JpaRepository<ResumoArquivado, Long> {
+	
+	// lançamentos vivos e resumos dos arquivados no mesmo formato, para as reconstruções por usuário;
+	// centavos na moeda do lançamento e centavos_base como gravados em cada lançamento
+	String MOVIMENTOS = " (select l.id_usuario, l.ano, l.mes, l.tipo, l.status, l.id_categoria, l.id_conta, "
+				   + " coalesce(l.moeda, 'BRL') as moeda, cast(l.valor * 100 as bigint) as centavos, "
+				   + CotacaoMoedaRepository.CENTAVOS_BASE + " as centavos_base "
+				   + " from financas.lancamento l " + CotacaoMoedaRepository.JUNCAO_COTACOES
+				   + " where l.id_usuario = :idUsuario and l.excluido = false "
+				   + " union all "
+				   + " select r.id_usuario, r.ano, r.mes, r.tipo, r.status, r.id_categoria, r.id_conta, "
+				   + " r.moeda, r.valor_centavos, r.valor_base_centavos "
+				   + " from financas.resumo_arquivado r where r.id_usuario = :idUsuario) m ";
+	
+	@Modifying
+	@Query(value = " insert into financas.resumo_arquivado (id_usuario, ano, mes, id_conta, id_categoria, moeda, tipo, status, "
+				   + " quantidade, valor_centavos, valor_base_centavos) "
+				   + " select l.id_usuario, l.ano, l.mes, l.id_conta, l.id_categoria, coalesce(l.moeda, 'BRL'), l.tipo, l.status, "
+				   + " count(*), cast(sum(l.valor) * 100 as bigint), "
+				   + " sum(" + CotacaoMoedaRepository.CENTAVOS_BASE + ") "
+				   + " from financas.lancamento l " + CotacaoMoedaRepository.JUNCAO_COTACOES
+				   + " where l.id_usuario = :idUsuario and l.ano < :ano and l.excluido = false "
+				   + " group by l.id_usuario, l.ano, l.mes, l.id_conta, l.id_categoria, coalesce(l.moeda, 'BRL'), "
+				   + " l.tipo, l.status ", nativeQuery = true)
+	int resumirPorUsuarioAntesDe(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano);
+	
+	@Modifying
+	@Query(value = " update ResumoArquivado r set r.idCategoria = null where r.idCategoria = :idCategoria ")
+	int removerCategoria(@Param("idCategoria") Long idCategoria);
+
+}
@@ -0,0 +1,35 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.SaldoConta;
+
+public interface SaldoContaRepository extends JpaRepository<SaldoConta, Long> {
+	
+	List<SaldoConta> findByUsuarioId(Long idUsuario);
+	
+	@Modifying
+	@Query(value = " delete from SaldoConta s where s.usuario.id = :idUsuario ")
+	int excluirPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Modifying
+	@Query(value = " delete from SaldoConta s where s.conta.id = :idConta ")
+	int excluirPorConta(@Param("idConta") Long idConta);
+	
+	// lançamentos sem conta pertencem à conta padrão do usuário
+	@Modifying
+	@Query(value = " insert into financas.saldo_conta (id_usuario, id_conta, moeda, saldo_centavos) "
+				   + " select m.id_usuario, coalesce(m.id_conta, p.id), m.moeda, "
+				   + " cast(sum(case when m.tipo = 'RECEITA' then m.centavos else -m.centavos end) as bigint) "
+				   + " from " + ResumoArquivadoRepository.MOVIMENTOS
+				   + " join financas.conta p on p.id_usuario = m.id_usuario and p.padrao = true "
+				   + " where m.status = 'EFETIVADO' "
+				   + " group by m.id_usuario, coalesce(m.id_conta, p.id), m.moeda ", nativeQuery = true)
+	int recalcularPorUsuario(@Param("idUsuario") Long idUsuario);
+
+}
@@ -0,0 +1,37 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.TotalCategoria;
+
+public interface TotalCategoriaRepository extends JpaRepository<TotalCategoria, Long> {
+	
+	// o resource lê a categoria fora da transação
+	@EntityGraph(attributePaths = "categoria")
+	List<TotalCategoria> findByUsuarioIdAndAnoAndMes(Long idUsuario, Integer ano, Integer mes);
+	
+	@Modifying
+	@Query(value = " delete from TotalCategoria t where t.usuario.id = :idUsuario ")
+	int excluirPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Modifying
+	@Query(value = " delete from TotalCategoria t where t.categoria.id = :idCategoria ")
+	int excluirPorCategoria(@Param("idCategoria") Long idCategoria);
+	
+	@Modifying
+	@Query(value = " insert into financas.total_categoria (id_usuario, ano, mes, id_categoria, receitas_centavos, despesas_centavos) "
+				   + " select m.id_usuario, m.ano, m.mes, m.id_categoria, "
+				   + " cast(coalesce(sum(case when m.tipo = 'RECEITA' then m.centavos_base else 0 end), 0) as bigint), "
+				   + " cast(coalesce(sum(case when m.tipo = 'DESPESA' then m.centavos_base else 0 end), 0) as bigint) "
+				   + " from " + ResumoArquivadoRepository.MOVIMENTOS
+				   + " where m.id_categoria is not null and m.status <> 'CANCELADO' "
+				   + " group by m.id_usuario, m.ano, m.mes, m.id_categoria ", nativeQuery = true)
+	int recalcularPorUsuario(@Param("idUsuario") Long idUsuario);
+
+}
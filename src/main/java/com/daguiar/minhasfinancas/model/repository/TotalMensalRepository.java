@@ -0,0 +1,35 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.TotalMensal;
+
+public interface TotalMensalRepository extends JpaRepository<TotalMensal, Long> {
+	
+	List<TotalMensal> findByUsuarioId(Long idUsuario);
+	
+	@Modifying
+	@Query(value = " delete from TotalMensal t where t.usuario.id = :idUsuario ")
+	int excluirPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Modifying
+	@Query(value = " insert into financas.total_mensal (id_usuario, ano, mes, status, saldo_centavos) "
+				   + " select m.id_usuario, m.ano, m.mes, m.status, "
+				   + " cast(sum(case when m.tipo = 'RECEITA' then m.centavos_base else -m.centavos_base end) as bigint) "
+				   + " from " + ResumoArquivadoRepository.MOVIMENTOS
+				   + " where m.status is not null "
+				   + " group by m.id_usuario, m.ano, m.mes, m.status ", nativeQuery = true)
+	int recalcularPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Query(value = " select distinct l.id_usuario from financas.lancamento l "
+				   + " where l.excluido = false and l.status is not null "
+				   + " and not exists (select 1 from financas.total_mensal t where t.id_usuario = l.id_usuario) "
+				   + " limit :tamanhoLote ", nativeQuery = true)
+	List<Long> obterUsuariosSemTotais(@Param("tamanhoLote") int tamanhoLote);
+
+}
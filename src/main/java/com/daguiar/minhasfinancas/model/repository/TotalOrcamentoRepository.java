@@ -0,0 +1,66 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.daguiar.minhasfinancas.model.entity.TotalOrcamento;
+
+public interface TotalOrcamentoRepository extends JpaRepository<TotalOrcamento, Long> {
+	
+	interface Situacao {
+		
+		long getGastoCentavos();
+		
+		int getFaixaAlertada();
+		
+	}
+	
+	// o resource lê o orcamento fora da transação
+	@EntityGraph(attributePaths = "orcamento")
+	List<TotalOrcamento> findByUsuarioIdAndAnoAndMes(Long idUsuario, Integer ano, Integer mes);
+	
+	// projeção escalar: lê o valor do banco, não a instância que a sessão possa ter em memória
+	@Query(value = " select t.gastoCentavos as gastoCentavos, t.faixaAlertada as faixaAlertada from TotalOrcamento t "
+				   + " where t.orcamento.id = :idOrcamento and t.ano = :ano and t.mes = :mes ")
+	Optional<Situacao> obterSituacao(
+			@Param("idOrcamento") Long idOrcamento,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+	
+	@Modifying
+	@Query(value = " update TotalOrcamento t set t.faixaAlertada = :faixa "
+				   + " where t.orcamento.id = :idOrcamento and t.ano = :ano and t.mes = :mes ")
+	int atualizarFaixaAlertada(
+			@Param("idOrcamento") Long idOrcamento,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes,
+			@Param("faixa") int faixa);
+	
+	@Modifying
+	@Query(value = " delete from TotalOrcamento t where t.usuario.id = :idUsuario ")
+	int excluirPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Modifying
+	@Query(value = " delete from TotalOrcamento t where t.orcamento.id = :idOrcamento ")
+	int excluirPorOrcamento(@Param("idOrcamento") Long idOrcamento);
+	
+	@Modifying
+	@Query(value = " insert into financas.total_orcamento (id_usuario, id_orcamento, ano, mes, gasto_centavos, faixa_alertada) "
+				   + " select o.id_usuario, o.id, m.ano, m.mes, cast(sum(m.centavos_base) as bigint), "
+				   + " case when sum(m.centavos_base) >= o.valor_limite * 100 then 100 "
+				   + " when sum(m.centavos_base) * 5 >= o.valor_limite * 400 then 80 else 0 end "
+				   + " from financas.orcamento o "
+				   + " join " + ResumoArquivadoRepository.MOVIMENTOS + " on m.id_usuario = o.id_usuario "
+				   + " and ((o.id_categoria is null and m.tipo = o.tipo) "
+				   + " or (m.id_categoria = o.id_categoria and m.tipo = 'DESPESA')) "
+				   + " where o.id_usuario = :idUsuario and m.status <> 'CANCELADO' "
+				   + " group by o.id_usuario, o.id, o.valor_limite, m.ano, m.mes ", nativeQuery = true)
+	int recalcularPorUsuario(@Param("idUsuario") Long idUsuario);
+
+}
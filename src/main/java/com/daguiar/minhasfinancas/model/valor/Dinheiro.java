@@ -0,0 +1,100 @@
+package com.daguiar.minhasfinancas.model.valor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Dinheiro implements Comparable<Dinheiro> {
+	
+	public static final Dinheiro ZERO = new Dinheiro(0);
+	
+	private static final int CASAS_DECIMAIS = 2;
+	
+	private final long centavos;
+	
+	private Dinheiro(long centavos) {
+		this.centavos = centavos;
+	}
+	
+	public static Dinheiro deCentavos(long centavos) {
+		return centavos == 0 ? ZERO : new Dinheiro(centavos);
+	}
+	
+	public static Dinheiro de(BigDecimal valor) {
+		try {
+			return deCentavos(valor.setScale(CASAS_DECIMAIS, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+		} catch(ArithmeticException e) {
+			throw new IllegalArgumentException("Valor sem representação exata em centavos: " + valor, e);
+		}
+	}
+	
+	public long getCentavos() {
+		return centavos;
+	}
+	
+	public BigDecimal toBigDecimal() {
+		return BigDecimal.valueOf(centavos, CASAS_DECIMAIS);
+	}
+	
+	public boolean isPositivo() {
+		return centavos > 0;
+	}
+	
+	public Dinheiro somar(Dinheiro outro) {
+		return deCentavos(Math.addExact(centavos, outro.centavos));
+	}
+	
+	public Dinheiro subtrair(Dinheiro outro) {
+		return deCentavos(Math.subtractExact(centavos, outro.centavos));
+	}
+	
+	public Dinheiro multiplicar(long fator) {
+		return deCentavos(Math.multiplyExact(centavos, fator));
+	}
+	
+	public List<Dinheiro> dividir(int partes) {
+		
+		if(partes < 1) {
+			throw new IllegalArgumentException("Quantidade de partes inválida: " + partes);
+		}
+		
+		long valorParte = centavos / partes;
+		long resto = centavos % partes;
+		
+		List<Dinheiro> valores = new ArrayList<>(partes);
+		for(int i = 0; i < partes; i++) {
+			valores.add(deCentavos(i < Math.abs(resto) ? valorParte + Long.signum(resto) : valorParte));
+		}
+		return valores;
+		
+	}
+
+	@Override
+	public int compareTo(Dinheiro outro) {
+		return Long.compare(centavos, outro.centavos);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(centavos);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Dinheiro other = (Dinheiro) obj;
+		return centavos == other.centavos;
+	}
+
+	@Override
+	public String toString() {
+		return toBigDecimal().toPlainString();
+	}
+	
+}
@@ -0,0 +1,21 @@
+package com.daguiar.minhasfinancas.model.valor;
+
+import java.math.BigDecimal;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+	@Override
+	public BigDecimal convertToDatabaseColumn(Dinheiro dinheiro) {
+		return dinheiro == null ? null : dinheiro.toBigDecimal();
+	}
+
+	@Override
+	public Dinheiro convertToEntityAttribute(BigDecimal valor) {
+		return valor == null ? null : Dinheiro.de(valor);
+	}
+
+}
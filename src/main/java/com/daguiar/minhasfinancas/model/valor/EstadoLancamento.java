@@ -0,0 +1,145 @@
+package com.daguiar.minhasfinancas.model.valor;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+public final class EstadoLancamento {
+	
+	private final Long idUsuario;
+	
+	private final Integer ano;
+	
+	private final Integer mes;
+	
+	private final Long idCategoria;
+	
+	private final Long idConta;
+	
+	private final TipoLancamento tipo;
+	
+	private final StatusLancamento status;
+	
+	private final long centavos;
+	
+	private final Moeda moeda;
+	
+	private final LocalDate dataLancamento;
+	
+	// valor em moeda base gravado com o lançamento; nulo nos lançamentos anteriores à coluna
+	private final Long centavosBase;
+	
+	private EstadoLancamento(Long idUsuario, Integer ano, Integer mes, Long idCategoria, Long idConta,
+			TipoLancamento tipo, StatusLancamento status, long centavos, Moeda moeda, LocalDate dataLancamento,
+			Long centavosBase) {
+		this.idUsuario = idUsuario;
+		this.ano = ano;
+		this.mes = mes;
+		this.idCategoria = idCategoria;
+		this.idConta = idConta;
+		this.tipo = tipo;
+		this.status = status;
+		this.centavos = centavos;
+		this.moeda = moeda;
+		this.dataLancamento = dataLancamento;
+		this.centavosBase = centavosBase;
+	}
+	
+	public static EstadoLancamento de(Lancamento lancamento) {
+		return new EstadoLancamento(
+				lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId(),
+				lancamento.getAno(),
+				lancamento.getMes(),
+				lancamento.getCategoria() == null ? null : lancamento.getCategoria().getId(),
+				lancamento.getConta() == null ? null : lancamento.getConta().getId(),
+				lancamento.getTipo(),
+				lancamento.getStatus(),
+				lancamento.getValorMonetario() == null ? 0 : lancamento.getValorMonetario().getCentavos(),
+				lancamento.getMoeda() == null ? Moeda.BRL : lancamento.getMoeda(),
+				lancamento.getDataLancamento(),
+				lancamento.getValorBaseCentavos());
+	}
+	
+	public EstadoLancamento emMoeda(Moeda outraMoeda, long centavosConvertidos) {
+		return new EstadoLancamento(idUsuario, ano, mes, idCategoria, idConta, tipo, status, centavosConvertidos,
+				outraMoeda, dataLancamento, centavosBase);
+	}
+
+	public Long getIdUsuario() {
+		return idUsuario;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public Long getIdCategoria() {
+		return idCategoria;
+	}
+
+	public Long getIdConta() {
+		return idConta;
+	}
+
+	public TipoLancamento getTipo() {
+		return tipo;
+	}
+
+	public StatusLancamento getStatus() {
+		return status;
+	}
+
+	public long getCentavos() {
+		return centavos;
+	}
+
+	public Moeda getMoeda() {
+		return moeda;
+	}
+
+	public LocalDate getDataLancamento() {
+		return dataLancamento;
+	}
+	
+	public Long getCentavosBase() {
+		return centavosBase;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(ano, centavos, centavosBase, dataLancamento, idCategoria, idConta, idUsuario, mes, moeda, status, tipo);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		EstadoLancamento other = (EstadoLancamento) obj;
+		return Objects.equals(ano, other.ano) && centavos == other.centavos
+				&& Objects.equals(centavosBase, other.centavosBase)
+				&& Objects.equals(dataLancamento, other.dataLancamento) && Objects.equals(idCategoria, other.idCategoria)
+				&& Objects.equals(idConta, other.idConta)
+				&& Objects.equals(idUsuario, other.idUsuario) && Objects.equals(mes, other.mes) && moeda == other.moeda
+				&& status == other.status && tipo == other.tipo;
+	}
+
+	@Override
+	public String toString() {
+		return "EstadoLancamento [idUsuario=" + idUsuario + ", ano=" + ano + ", mes=" + mes + ", idCategoria="
+				+ idCategoria + ", idConta=" + idConta + ", tipo=" + tipo + ", status=" + status + ", centavos="
+				+ centavos + ", moeda=" + moeda + ", dataLancamento=" + dataLancamento + ", centavosBase=" + centavosBase + "]";
+	}
+
+}
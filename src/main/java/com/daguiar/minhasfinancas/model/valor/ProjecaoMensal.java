@@ -0,0 +1,72 @@
+package com.daguiar.minhasfinancas.model.valor;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+public final class ProjecaoMensal {
+	
+	private final Integer ano;
+	
+	private final Integer mes;
+	
+	private final BigDecimal pendentes;
+	
+	private final BigDecimal recorrentes;
+	
+	private final BigDecimal saldoProjetado;
+	
+	public ProjecaoMensal(Integer ano, Integer mes, BigDecimal pendentes, BigDecimal recorrentes, 
+			BigDecimal saldoProjetado) {
+		this.ano = ano;
+		this.mes = mes;
+		this.pendentes = pendentes;
+		this.recorrentes = recorrentes;
+		this.saldoProjetado = saldoProjetado;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public BigDecimal getPendentes() {
+		return pendentes;
+	}
+
+	public BigDecimal getRecorrentes() {
+		return recorrentes;
+	}
+
+	public BigDecimal getSaldoProjetado() {
+		return saldoProjetado;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ano, mes, pendentes, recorrentes, saldoProjetado);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ProjecaoMensal other = (ProjecaoMensal) obj;
+		return Objects.equals(ano, other.ano) && Objects.equals(mes, other.mes)
+				&& Objects.equals(pendentes, other.pendentes) && Objects.equals(recorrentes, other.recorrentes)
+				&& Objects.equals(saldoProjetado, other.saldoProjetado);
+	}
+
+	@Override
+	public String toString() {
+		return "ProjecaoMensal [ano=" + ano + ", mes=" + mes + ", pendentes=" + pendentes + ", recorrentes="
+				+ recorrentes + ", saldoProjetado=" + saldoProjetado + "]";
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.daguiar.minhasfinancas.orcamento;
+
+import java.math.BigDecimal;
+
+public final class AlertaOrcamento {
+	
+	private final Long idUsuario;
+	
+	private final Long idOrcamento;
+	
+	private final Integer ano;
+	
+	private final Integer mes;
+	
+	private final int faixa;
+	
+	private final BigDecimal gasto;
+	
+	private final BigDecimal limite;
+	
+	public AlertaOrcamento(Long idUsuario, Long idOrcamento, Integer ano, Integer mes, int faixa, BigDecimal gasto,
+			BigDecimal limite) {
+		this.idUsuario = idUsuario;
+		this.idOrcamento = idOrcamento;
+		this.ano = ano;
+		this.mes = mes;
+		this.faixa = faixa;
+		this.gasto = gasto;
+		this.limite = limite;
+	}
+
+	public Long getIdUsuario() {
+		return idUsuario;
+	}
+
+	public Long getIdOrcamento() {
+		return idOrcamento;
+	}
+
+	public Integer getAno() {
+		return ano;
+	}
+
+	public Integer getMes() {
+		return mes;
+	}
+
+	public int getFaixa() {
+		return faixa;
+	}
+
+	public BigDecimal getGasto() {
+		return gasto;
+	}
+
+	public BigDecimal getLimite() {
+		return limite;
+	}
+
+	@Override
+	public String toString() {
+		return "AlertaOrcamento [idUsuario=" + idUsuario + ", idOrcamento=" + idOrcamento + ", ano=" + ano + ", mes="
+				+ mes + ", faixa=" + faixa + ", gasto=" + gasto + ", limite=" + limite + "]";
+	}
+
+}
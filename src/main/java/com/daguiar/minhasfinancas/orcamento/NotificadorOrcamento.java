@@ -0,0 +1,9 @@
+package com.daguiar.minhasfinancas.orcamento;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface NotificadorOrcamento {
+	
+	CompletableFuture<Void> notificar(AlertaOrcamento alerta);
+
+}
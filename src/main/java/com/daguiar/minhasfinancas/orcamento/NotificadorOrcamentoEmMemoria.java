@@ -0,0 +1,73 @@
+package com.daguiar.minhasfinancas.orcamento;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.orcamento.notificador", havingValue = "memoria", matchIfMissing = true)
+public class NotificadorOrcamentoEmMemoria implements NotificadorOrcamento {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(NotificadorOrcamentoEmMemoria.class);
+	
+	private final Map<Long, Deque<AlertaOrcamento>> recentesPorUsuario = new ConcurrentHashMap<>();
+	
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+		Thread thread = new Thread(tarefa, "notificador-orcamento");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private final int capacidadePorUsuario;
+	
+	public NotificadorOrcamentoEmMemoria(@Value("${minhasfinancas.orcamento.alertas-por-usuario:50}") int capacidadePorUsuario) {
+		this.capacidadePorUsuario = capacidadePorUsuario;
+	}
+
+	@Override
+	public CompletableFuture<Void> notificar(AlertaOrcamento alerta) {
+		return CompletableFuture.runAsync(() -> {
+			LOG.info("Orçamento {} do usuário {} atingiu {}% em {}/{}: {} de {}", alerta.getIdOrcamento(), 
+					alerta.getIdUsuario(), alerta.getFaixa(), alerta.getMes(), alerta.getAno(), alerta.getGasto(), 
+					alerta.getLimite());
+			Deque<AlertaOrcamento> recentes = recentesPorUsuario.computeIfAbsent(alerta.getIdUsuario(), 
+					chave -> new ArrayDeque<>());
+			synchronized(recentes) {
+				if(recentes.size() >= capacidadePorUsuario) {
+					recentes.removeFirst();
+				}
+				recentes.addLast(alerta);
+			}
+		}, executor);
+	}
+	
+	public List<AlertaOrcamento> obterRecentes(Long idUsuario) {
+		Deque<AlertaOrcamento> recentes = recentesPorUsuario.get(idUsuario);
+		if(recentes == null) {
+			return List.of();
+		}
+		synchronized(recentes) {
+			return new ArrayList<>(recentes);
+		}
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+public interface AnaliseLancamentoService {
+	
+	List<BigDecimal> obterTotaisMensais(Long idUsuario, Integer ano, TipoLancamento tipo, StatusLancamento status);
+	
+	Map<TipoLancamento, Map<StatusLancamento, BigDecimal>> obterTotaisPorTipoEStatus(Long idUsuario, Integer ano);
+	
+	Map<String, BigDecimal> obterMaioresDescricoes(Long idUsuario, TipoLancamento tipo, Integer ano, int limite);
+
+}
@@ -0,0 +1,20 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+
+public interface ArquivoLancamentoService {
+	
+	int obterAnoLimite();
+	
+	int arquivarAntesDe(int ano, int tamanhoLote);
+	
+	boolean deveConsultar(Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal);
+	
+	List<Lancamento> buscar(Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal);
+	
+	void removerCategoria(Long idCategoria);
+
+}
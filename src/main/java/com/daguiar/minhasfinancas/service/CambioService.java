@@ -0,0 +1,18 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.time.LocalDate;
+
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+
+public interface CambioService {
+	
+	void atualizarCotacoes();
+	
+	void recarregarCotacoes();
+	
+	long converterParaMoedaBase(long centavos, Moeda moeda, LocalDate data);
+	
+	EstadoLancamento emMoedaBase(EstadoLancamento estado);
+
+}
@@ -0,0 +1,32 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.TotalCategoria;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+
+public interface CategoriaService {
+	
+	Categoria salvar(Categoria categoria);
+	
+	Categoria atualizar(Categoria categoria);
+	
+	void deletar(Categoria categoria);
+	
+	List<Categoria> buscarPorUsuario(Long idUsuario);
+	
+	Optional<Categoria> obterPorId(Long id);
+	
+	Optional<Categoria> classificar(Long idUsuario, String descricao);
+	
+	void contabilizar(EstadoLancamento anterior, EstadoLancamento atual);
+	
+	void recalcularTotais(Long idUsuario);
+	
+	List<TotalCategoria> obterTotais(Long idUsuario, Integer ano, Integer mes);
+	
+	void validar(Categoria categoria);
+
+}
@@ -0,0 +1,40 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.daguiar.minhasfinancas.model.entity.Conta;
+import com.daguiar.minhasfinancas.model.entity.SaldoConta;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+
+public interface ContaService {
+	
+	Conta salvar(Conta conta);
+	
+	Conta atualizar(Conta conta);
+	
+	void deletar(Conta conta);
+	
+	List<Conta> buscarPorUsuario(Long idUsuario);
+	
+	Optional<Conta> obterPorId(Long id);
+	
+	Conta obterContaPadrao(Long idUsuario);
+	
+	void contabilizar(EstadoLancamento anterior, EstadoLancamento atual);
+	
+	void recalcularSaldos(Long idUsuario);
+	
+	int preencherSaldosAusentes(int tamanhoLote);
+	
+	List<SaldoConta> obterSaldos(Long idUsuario);
+	
+	long obterSaldoEmCentavos(Long idUsuario);
+	
+	Map<Moeda, Long> obterSaldosEmCentavosPorMoeda(Long idUsuario);
+	
+	void validar(Conta conta);
+
+}
@@ -0,0 +1,11 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotenciaService {
+	
+	String executar(String chave, Supplier<?> operacao);
+	
+	int excluirExpiradas();
+
+}
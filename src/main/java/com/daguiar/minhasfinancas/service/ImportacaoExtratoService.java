@@ -0,0 +1,11 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.nio.channels.ReadableByteChannel;
+
+import com.daguiar.minhasfinancas.importacao.ResultadoImportacao;
+
+public interface ImportacaoExtratoService {
+	
+	ResultadoImportacao importar(Long idUsuario, ReadableByteChannel conteudo);
+
+}
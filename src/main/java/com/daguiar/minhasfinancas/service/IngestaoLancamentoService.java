@@ -0,0 +1,14 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+
+import com.daguiar.minhasfinancas.ingestao.MetricasIngestao;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+
+public interface IngestaoLancamentoService {
+	
+	boolean enfileirar(List<Lancamento> lancamentos);
+	
+	MetricasIngestao obterMetricas();
+
+}
@@ -1,9 +1,12 @@
 package com.daguiar.minhasfinancas.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import com.daguiar.minhasfinancas.model.entity.Conta;
 import com.daguiar.minhasfinancas.model.entity.Lancamento;
 import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
 
@@ -11,18 +14,40 @@ public interface LancamentoService {
 	
 	Lancamento salvar(Lancamento lancamento);
 	
+	List<Lancamento> salvarEmLote(List<Lancamento> lancamentos);
+	
+	List<Lancamento> salvarParcelamento(Lancamento lancamento, Integer quantidadeParcelas);
+	
+	List<Lancamento> salvarTransferencia(Lancamento saida, Conta destino);
+	
+	int atualizarStatusDoParcelamento(String grupo, StatusLancamento status);
+	
 	Lancamento atualizar(Lancamento lancamento);
 	
 	void deletar(Lancamento lancamento);
 	
+	int deletarEmLote(Long idUsuario, Integer ano, Integer mes);
+	
+	Optional<Lancamento> restaurar(Long id);
+	
+	int expurgarExcluidos(LocalDateTime limite, int tamanhoLote);
+	
+	int preencherDataLancamento(int tamanhoLote);
+	
 	List<Lancamento> buscar(Lancamento lancamentoFiltro);
 	
+	List<Lancamento> buscar(Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal);
+	
+	List<Lancamento> buscarNoLivro(Long idLivro, Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal);
+	
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
 	
+	Optional<Lancamento> obterExcluidoPorId(Long id);
+	
 	BigDecimal obterSaldoPorUsuario(Long idUsuario);
 
 }
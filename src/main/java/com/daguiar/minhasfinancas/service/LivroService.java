@@ -0,0 +1,33 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.daguiar.minhasfinancas.livro.PermissoesLivro;
+import com.daguiar.minhasfinancas.model.entity.Livro;
+import com.daguiar.minhasfinancas.model.entity.MembroLivro;
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+
+public interface LivroService {
+	
+	Livro salvar(Livro livro);
+	
+	Optional<Livro> obterPorId(Long id);
+	
+	List<Livro> buscarPorUsuario(Long idUsuario);
+	
+	void adicionarMembro(Livro livro, Long idUsuario, PapelMembro papel);
+	
+	void removerMembro(Livro livro, Long idUsuario);
+	
+	List<MembroLivro> buscarMembros(Long idLivro);
+	
+	PermissoesLivro obterPermissoes(Long idUsuario);
+	
+	void verificarLeitura(Long idUsuario, Long idLivro);
+	
+	void verificarEscrita(Long idUsuario, Long idLivro);
+	
+	void validar(Livro livro);
+
+}
@@ -0,0 +1,33 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.Orcamento;
+import com.daguiar.minhasfinancas.model.entity.TotalOrcamento;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+
+public interface OrcamentoService {
+	
+	Orcamento salvar(Orcamento orcamento);
+	
+	Orcamento atualizar(Orcamento orcamento);
+	
+	void deletar(Orcamento orcamento);
+	
+	void excluirPorCategoria(Categoria categoria);
+	
+	List<Orcamento> buscarPorUsuario(Long idUsuario);
+	
+	Optional<Orcamento> obterPorId(Long id);
+	
+	void contabilizar(EstadoLancamento anterior, EstadoLancamento atual);
+	
+	void recalcularTotais(Long idUsuario);
+	
+	List<TotalOrcamento> obterTotais(Long idUsuario, Integer ano, Integer mes);
+	
+	void validar(Orcamento orcamento);
+
+}
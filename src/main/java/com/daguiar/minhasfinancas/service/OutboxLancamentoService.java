@@ -0,0 +1,19 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.entity.HistoricoLancamento;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+
+public interface OutboxLancamentoService {
+	
+	void registrar(TipoEventoLancamento tipo, Lancamento lancamento);
+	
+	void registrarAlteracaoEmLote(Long idUsuario, String descricao);
+	
+	int publicarPendentes(int tamanhoLote);
+	
+	List<HistoricoLancamento> buscarHistorico(Long idLancamento);
+
+}
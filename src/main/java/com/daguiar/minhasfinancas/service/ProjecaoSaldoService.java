@@ -0,0 +1,20 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.model.valor.ProjecaoMensal;
+
+public interface ProjecaoSaldoService {
+	
+	List<ProjecaoMensal> projetar(Long idUsuario, int meses);
+	
+	void contabilizar(EstadoLancamento anterior, EstadoLancamento atual);
+	
+	void recalcularTotais(Long idUsuario);
+	
+	int preencherTotaisAusentes(int tamanhoLote);
+	
+	void invalidar(Long idUsuario);
+
+}
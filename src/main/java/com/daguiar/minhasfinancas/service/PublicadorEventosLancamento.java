@@ -0,0 +1,11 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.entity.EventoLancamento;
+
+public interface PublicadorEventosLancamento {
+	
+	void publicar(List<EventoLancamento> eventos);
+
+}
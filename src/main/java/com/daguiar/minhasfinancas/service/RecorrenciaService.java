@@ -0,0 +1,23 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import com.daguiar.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaService {
+	
+	Recorrencia salvar(Recorrencia recorrencia);
+	
+	void desativar(Recorrencia recorrencia);
+	
+	List<Recorrencia> buscarAtivasPorUsuario(Long idUsuario);
+	
+	void validar(Recorrencia recorrencia);
+	
+	Optional<Recorrencia> obterPorId(Long id);
+	
+	int materializarOcorrencias(YearMonth limite, int tamanhoLote);
+
+}
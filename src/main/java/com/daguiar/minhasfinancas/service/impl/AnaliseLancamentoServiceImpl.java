@@ -0,0 +1,84 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.daguiar.minhasfinancas.analise.CacheColunarLancamento;
+import com.daguiar.minhasfinancas.analise.ColunasLancamento;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.AnaliseLancamentoService;
+
+@Service
+public class AnaliseLancamentoServiceImpl implements AnaliseLancamentoService {
+	
+	private CacheColunarLancamento cache;
+	
+	public AnaliseLancamentoServiceImpl(CacheColunarLancamento cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public List<BigDecimal> obterTotaisMensais(Long idUsuario, Integer ano, TipoLancamento tipo, StatusLancamento status) {
+		
+		if(ano == null) {
+			throw new RegraNegocioException("Informe um ano válido.");
+		}
+		if(tipo == null) {
+			throw new RegraNegocioException("Informe um tipo de lançamento.");
+		}
+		
+		long[] totais = cache.obter(idUsuario).totaisPorMes(ano, tipo, status);
+		List<BigDecimal> valores = new ArrayList<>(totais.length);
+		for(long total : totais) {
+			valores.add(Dinheiro.deCentavos(total).toBigDecimal());
+		}
+		return valores;
+		
+	}
+
+	@Override
+	public Map<TipoLancamento, Map<StatusLancamento, BigDecimal>> obterTotaisPorTipoEStatus(Long idUsuario, Integer ano) {
+		
+		long[][] totais = cache.obter(idUsuario).totaisPorTipoEStatus(ano);
+		Map<TipoLancamento, Map<StatusLancamento, BigDecimal>> valores = new EnumMap<>(TipoLancamento.class);
+		for(TipoLancamento tipo : TipoLancamento.values()) {
+			Map<StatusLancamento, BigDecimal> valoresPorStatus = new EnumMap<>(StatusLancamento.class);
+			for(StatusLancamento status : StatusLancamento.values()) {
+				valoresPorStatus.put(status, Dinheiro.deCentavos(totais[tipo.ordinal()][status.ordinal()]).toBigDecimal());
+			}
+			valores.put(tipo, valoresPorStatus);
+		}
+		return valores;
+		
+	}
+
+	@Override
+	public Map<String, BigDecimal> obterMaioresDescricoes(Long idUsuario, TipoLancamento tipo, Integer ano, int limite) {
+		
+		if(tipo == null) {
+			throw new RegraNegocioException("Informe um tipo de lançamento.");
+		}
+		if(limite < 1) {
+			throw new RegraNegocioException("Informe um limite válido.");
+		}
+		
+		ColunasLancamento colunas = cache.obter(idUsuario);
+		Map<String, BigDecimal> maiores = new LinkedHashMap<>();
+		colunas.totaisPorDescricao(tipo, ano).entrySet().stream()
+			.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+			.limit(limite)
+			.forEach(total -> maiores.put(total.getKey(), Dinheiro.deCentavos(total.getValue()).toBigDecimal()));
+		return maiores;
+		
+	}
+
+}
@@ -0,0 +1,154 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.event.LancamentosAlteradosEmLoteEvent;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.LancamentoArquivado;
+import com.daguiar.minhasfinancas.model.repository.CategoriaRepository;
+import com.daguiar.minhasfinancas.model.repository.ContaRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoArquivadoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoSpecifications;
+import com.daguiar.minhasfinancas.model.repository.ResumoArquivadoRepository;
+import com.daguiar.minhasfinancas.service.ArquivoLancamentoService;
+
+@Service
+public class ArquivoLancamentoServiceImpl implements ArquivoLancamentoService {
+	
+	private LancamentoArquivadoRepository repository;
+	
+	private ResumoArquivadoRepository resumoRepository;
+	
+	private LancamentoRepository lancamentoRepository;
+	
+	private CategoriaRepository categoriaRepository;
+	
+	private ContaRepository contaRepository;
+	
+	private ApplicationEventPublisher eventPublisher;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private int anosRetencao;
+	
+	public ArquivoLancamentoServiceImpl(LancamentoArquivadoRepository repository, ResumoArquivadoRepository resumoRepository,
+			LancamentoRepository lancamentoRepository, CategoriaRepository categoriaRepository, ContaRepository contaRepository,
+			ApplicationEventPublisher eventPublisher, BarramentoInvalidacao barramento,
+			@Value("${minhasfinancas.arquivo.anos-retencao:5}") int anosRetencao) {
+		this.repository = repository;
+		this.resumoRepository = resumoRepository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.categoriaRepository = categoriaRepository;
+		this.contaRepository = contaRepository;
+		this.eventPublisher = eventPublisher;
+		this.barramento = barramento;
+		this.anosRetencao = anosRetencao;
+	}
+
+	// anos anteriores a este estão fechados e podem estar no arquivo
+	@Override
+	public int obterAnoLimite() {
+		return Year.now().getValue() - anosRetencao;
+	}
+
+	// resumo, cópia e remoção na mesma transação; os saldos incrementais não mudam porque nenhum evento
+	// de lançamento é emitido, e as reconstruções passam a somar os resumos no lugar das linhas movidas
+	@Override
+	@Transactional
+	public int arquivarAntesDe(int ano, int tamanhoLote) {
+		
+		List<Long> usuarios = repository.obterUsuariosComLancamentosAntesDe(ano, tamanhoLote);
+		LocalDateTime agora = LocalDateTime.now();
+		for(Long idUsuario : usuarios) {
+			resumoRepository.resumirPorUsuarioAntesDe(idUsuario, ano);
+			int arquivados = repository.arquivarPorUsuarioAntesDe(idUsuario, ano, agora);
+			lancamentoRepository.excluirFisicamentePorUsuarioAntesDe(idUsuario, ano);
+			eventPublisher.publishEvent(new LancamentosAlteradosEmLoteEvent(idUsuario, 
+					arquivados + " lançamentos anteriores a " + ano + " arquivados"));
+			barramento.publicar(RegiaoCache.LANCAMENTOS_USUARIO, idUsuario);
+		}
+		return usuarios.size();
+		
+	}
+
+	// sem ano nem período a busca fica na tabela quente; o arquivo só entra quando o filtro alcança um ano fechado
+	@Override
+	public boolean deveConsultar(Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal) {
+		int anoLimite = obterAnoLimite();
+		if(lancamentoFiltro.getAno() != null) {
+			return lancamentoFiltro.getAno() < anoLimite;
+		}
+		if(dataInicial != null) {
+			return dataInicial.getYear() < anoLimite;
+		}
+		return dataFinal != null;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> buscar(Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal) {
+		
+		Example<LancamentoArquivado> exemplo = Example.of(LancamentoArquivado.exemplo(lancamentoFiltro),
+				ExampleMatcher.matching()
+				.withIgnoreCase()
+				.withStringMatcher(StringMatcher.CONTAINING));
+		return repository.findAll(LancamentoSpecifications.conformeExemplo(exemplo)
+				.and(LancamentoSpecifications.noPeriodo(dataInicial, dataFinal)))
+				.stream()
+				.map(this::converter)
+				.collect(Collectors.toList());
+		
+	}
+
+	@Override
+	@Transactional
+	public void removerCategoria(Long idCategoria) {
+		repository.removerCategoria(idCategoria);
+		resumoRepository.removerCategoria(idCategoria);
+	}
+	
+	private Lancamento converter(LancamentoArquivado arquivado) {
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setId(arquivado.getId());
+		lancamento.setDescricao(arquivado.getDescricao());
+		lancamento.setMes(arquivado.getMes());
+		lancamento.setAno(arquivado.getAno());
+		lancamento.setValor(arquivado.getValor());
+		lancamento.setValorBaseCentavos(arquivado.getValorBaseCentavos());
+		lancamento.setMoeda(arquivado.getMoeda());
+		lancamento.setTipo(arquivado.getTipo());
+		lancamento.setStatus(arquivado.getStatus());
+		lancamento.setUsuario(arquivado.getUsuario());
+		lancamento.setIdLivro(arquivado.getIdLivro());
+		lancamento.setGrupo(arquivado.getGrupo());
+		lancamento.setParcela(arquivado.getParcela());
+		lancamento.setDataCadastro(arquivado.getDataCadastro());
+		lancamento.setDataLancamento(arquivado.getDataLancamento());
+		if(arquivado.getIdCategoria() != null) {
+			lancamento.setCategoria(categoriaRepository.getById(arquivado.getIdCategoria()));
+		}
+		if(arquivado.getIdConta() != null) {
+			lancamento.setConta(contaRepository.getById(arquivado.getIdConta()));
+		}
+		
+		return lancamento;
+		
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.cambio.FonteCotacoes;
+import com.daguiar.minhasfinancas.cambio.TabelaCotacoes;
+import com.daguiar.minhasfinancas.model.entity.CotacaoMoeda;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.repository.CotacaoMoedaRepository;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.CambioService;
+
+@Service
+public class CambioServiceImpl implements CambioService {
+	
+	private CotacaoMoedaRepository repository;
+	
+	private FonteCotacoes fonte;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private volatile TabelaCotacoes tabela;
+	
+	public CambioServiceImpl(CotacaoMoedaRepository repository, FonteCotacoes fonte, BarramentoInvalidacao barramento) {
+		this.repository = repository;
+		this.fonte = fonte;
+		this.barramento = barramento;
+		barramento.registrar(RegiaoCache.COTACOES, chave -> carregar());
+	}
+
+	@Override
+	@Transactional
+	public void atualizarCotacoes() {
+		
+		for(Moeda moeda : Moeda.values()) {
+			if(moeda == Moeda.BRL) {
+				continue;
+			}
+			Optional<CotacaoMoeda> ultima = repository.obterUltimaCotacao(moeda);
+			LocalDate desde = ultima.map(cotacao -> cotacao.getData().plusDays(1)).orElse(null);
+			repository.saveAll(preencherDias(ultima.orElse(null), fonte.obter(moeda, desde)));
+		}
+		
+	}
+
+	@Override
+	public void recarregarCotacoes() {
+		carregar();
+		barramento.publicar(RegiaoCache.COTACOES, null);
+	}
+
+	@Override
+	public long converterParaMoedaBase(long centavos, Moeda moeda, LocalDate data) {
+		return tabela().converter(centavos, moeda, data);
+	}
+
+	@Override
+	public EstadoLancamento emMoedaBase(EstadoLancamento estado) {
+		if(estado == null || estado.getMoeda() == Moeda.BRL) {
+			return estado;
+		}
+		// a cotação de uma data pode mudar depois da gravação; o valor gravado é o que os totais já somaram
+		if(estado.getCentavosBase() != null) {
+			return estado.emMoeda(Moeda.BRL, estado.getCentavosBase());
+		}
+		return estado.emMoeda(Moeda.BRL, converterParaMoedaBase(estado.getCentavos(), estado.getMoeda(), estado.getDataLancamento()));
+	}
+	
+	private TabelaCotacoes tabela() {
+		TabelaCotacoes atual = tabela;
+		return atual != null ? atual : carregar();
+	}
+	
+	private TabelaCotacoes carregar() {
+		TabelaCotacoes carregada = TabelaCotacoes.de(repository.findAllByOrderByMoedaAscDataAsc());
+		tabela = carregada;
+		return carregada;
+	}
+	
+	// fins de semana e feriados não têm cotação; repetir a do último dia útil mantém a tabela sem lacunas
+	// e permite que as agregações juntem pela data exata do lançamento
+	private List<CotacaoMoeda> preencherDias(CotacaoMoeda ultima, List<CotacaoMoeda> novas) {
+		
+		List<CotacaoMoeda> dias = new ArrayList<>();
+		CotacaoMoeda anterior = ultima;
+		for(CotacaoMoeda cotacao : novas) {
+			if(anterior != null && !cotacao.getData().isAfter(anterior.getData())) {
+				continue;
+			}
+			if(anterior != null) {
+				for(LocalDate dia = anterior.getData().plusDays(1); dia.isBefore(cotacao.getData()); dia = dia.plusDays(1)) {
+					CotacaoMoeda repetida = new CotacaoMoeda();
+					repetida.setMoeda(cotacao.getMoeda());
+					repetida.setData(dia);
+					repetida.setTaxa(anterior.getTaxa());
+					dias.add(repetida);
+				}
+			}
+			dias.add(cotacao);
+			anterior = cotacao;
+		}
+		return dias;
+		
+	}
+
+}
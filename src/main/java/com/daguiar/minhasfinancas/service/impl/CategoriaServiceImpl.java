@@ -0,0 +1,195 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.categorizacao.MatcherCategorias;
+import com.daguiar.minhasfinancas.event.CategoriasAlteradasEvent;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.TotalCategoria;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.CategoriaRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.TotalCategoriaRepository;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.ArquivoLancamentoService;
+import com.daguiar.minhasfinancas.service.CategoriaService;
+import com.daguiar.minhasfinancas.service.OrcamentoService;
+
+@Service
+public class CategoriaServiceImpl implements CategoriaService {
+	
+	private final Map<Long, MatcherCategorias> matchersPorUsuario = new ConcurrentHashMap<>();
+	
+	private CategoriaRepository repository;
+	
+	private TotalCategoriaRepository totalRepository;
+	
+	private LancamentoRepository lancamentoRepository;
+	
+	private AcumuladorTotais acumulador;
+	
+	private ApplicationEventPublisher eventPublisher;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private OrcamentoService orcamentoService;
+	
+	private ArquivoLancamentoService arquivoService;
+	
+	public CategoriaServiceImpl(CategoriaRepository repository, TotalCategoriaRepository totalRepository,
+			LancamentoRepository lancamentoRepository, AcumuladorTotais acumulador,
+			ApplicationEventPublisher eventPublisher, BarramentoInvalidacao barramento,
+			OrcamentoService orcamentoService, ArquivoLancamentoService arquivoService) {
+		this.repository = repository;
+		this.totalRepository = totalRepository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.acumulador = acumulador;
+		this.eventPublisher = eventPublisher;
+		this.barramento = barramento;
+		this.orcamentoService = orcamentoService;
+		this.arquivoService = arquivoService;
+		barramento.registrar(RegiaoCache.CATEGORIAS_USUARIO, this::descartarMatcher);
+	}
+
+	@Override
+	@Transactional
+	public Categoria salvar(Categoria categoria) {
+		validar(categoria);
+		Categoria salva = repository.save(categoria);
+		notificarAlteracao(salva.getUsuario().getId());
+		return salva;
+	}
+
+	@Override
+	@Transactional
+	public Categoria atualizar(Categoria categoria) {
+		Objects.requireNonNull(categoria.getId());
+		return salvar(categoria);
+	}
+
+	@Override
+	@Transactional
+	public void deletar(Categoria categoria) {
+		Objects.requireNonNull(categoria.getId());
+		lancamentoRepository.removerCategoria(categoria.getId());
+		arquivoService.removerCategoria(categoria.getId());
+		totalRepository.excluirPorCategoria(categoria.getId());
+		orcamentoService.excluirPorCategoria(categoria);
+		repository.delete(categoria);
+		notificarAlteracao(categoria.getUsuario().getId());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Categoria> buscarPorUsuario(Long idUsuario) {
+		return repository.findByUsuarioIdOrderByNome(idUsuario);
+	}
+
+	@Override
+	public Optional<Categoria> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	public Optional<Categoria> classificar(Long idUsuario, String descricao) {
+		MatcherCategorias matcher = matchersPorUsuario.computeIfAbsent(idUsuario, 
+				id -> MatcherCategorias.compilar(repository.findByUsuarioIdOrderByNome(id)));
+		return matcher.classificar(descricao).map(repository::getById);
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void aoAlterarCategorias(CategoriasAlteradasEvent event) {
+		descartarMatcher(event.getIdUsuario());
+	}
+	
+	private void notificarAlteracao(Long idUsuario) {
+		eventPublisher.publishEvent(new CategoriasAlteradasEvent(idUsuario));
+		barramento.publicar(RegiaoCache.CATEGORIAS_USUARIO, idUsuario);
+	}
+	
+	private void descartarMatcher(Long idUsuario) {
+		if(idUsuario == null) {
+			matchersPorUsuario.clear();
+		} else {
+			matchersPorUsuario.remove(idUsuario);
+		}
+	}
+
+	@Override
+	@Transactional
+	public void contabilizar(EstadoLancamento anterior, EstadoLancamento atual) {
+		if(Objects.equals(anterior, atual)) {
+			return;
+		}
+		acumular(anterior, -1);
+		acumular(atual, 1);
+	}
+	
+	private void acumular(EstadoLancamento estado, int sinal) {
+		
+		if(estado == null || estado.getIdCategoria() == null || estado.getTipo() == null 
+				|| estado.getStatus() == StatusLancamento.CANCELADO) {
+			return;
+		}
+		
+		long valor = sinal * estado.getCentavos();
+		long receitas = estado.getTipo() == TipoLancamento.RECEITA ? valor : 0;
+		long despesas = estado.getTipo() == TipoLancamento.DESPESA ? valor : 0;
+		acumulador.acumular("total_categoria", Map.of("id_usuario", estado.getIdUsuario(), "ano", estado.getAno(), 
+				"mes", estado.getMes(), "id_categoria", estado.getIdCategoria()), 
+				Map.of("receitas_centavos", receitas, "despesas_centavos", despesas));
+		
+	}
+
+	@Override
+	@Transactional
+	public void recalcularTotais(Long idUsuario) {
+		totalRepository.excluirPorUsuario(idUsuario);
+		totalRepository.recalcularPorUsuario(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<TotalCategoria> obterTotais(Long idUsuario, Integer ano, Integer mes) {
+		if(ano == null || mes == null) {
+			throw new RegraNegocioException("Informe o ano e o mês.");
+		}
+		return totalRepository.findByUsuarioIdAndAnoAndMes(idUsuario, ano, mes);
+	}
+
+	@Override
+	public void validar(Categoria categoria) {
+		
+		if(categoria.getNome() == null || categoria.getNome().trim().equals("")) {
+			throw new RegraNegocioException("Informe um nome válido.");
+		}
+		
+		if(categoria.getUsuario() == null || categoria.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		
+		Long idUsuario = categoria.getUsuario().getId();
+		boolean nomeEmUso = categoria.getId() == null 
+				? repository.existsByUsuarioIdAndNomeIgnoreCase(idUsuario, categoria.getNome())
+				: repository.existsByUsuarioIdAndNomeIgnoreCaseAndIdNot(idUsuario, categoria.getNome(), categoria.getId());
+		if(nomeEmUso) {
+			throw new RegraNegocioException("Já existe uma categoria com este nome.");
+		}
+		
+	}
+
+}
@@ -0,0 +1,210 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Conta;
+import com.daguiar.minhasfinancas.model.entity.SaldoConta;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoConta;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.id.GeradorIds;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.ContaRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.SaldoContaRepository;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.CambioService;
+import com.daguiar.minhasfinancas.service.ContaService;
+
+@Service
+public class ContaServiceImpl implements ContaService {
+	
+	private static final String NOME_CONTA_PADRAO = "Conta principal";
+	
+	private ContaRepository repository;
+	
+	private SaldoContaRepository saldoRepository;
+	
+	private LancamentoRepository lancamentoRepository;
+	
+	private CambioService cambio;
+	
+	private AcumuladorTotais acumulador;
+	
+	private GeradorIds geradorIds;
+	
+	public ContaServiceImpl(ContaRepository repository, SaldoContaRepository saldoRepository,
+			LancamentoRepository lancamentoRepository, CambioService cambio, AcumuladorTotais acumulador,
+			GeradorIds geradorIds) {
+		this.repository = repository;
+		this.saldoRepository = saldoRepository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.cambio = cambio;
+		this.acumulador = acumulador;
+		this.geradorIds = geradorIds;
+	}
+
+	@Override
+	@Transactional
+	public Conta salvar(Conta conta) {
+		validar(conta);
+		return repository.save(conta);
+	}
+
+	@Override
+	@Transactional
+	public Conta atualizar(Conta conta) {
+		Objects.requireNonNull(conta.getId());
+		return salvar(conta);
+	}
+
+	@Override
+	@Transactional
+	public void deletar(Conta conta) {
+		
+		if(conta.isPadrao()) {
+			throw new RegraNegocioException("A conta padrão não pode ser excluída.");
+		}
+		
+		if(lancamentoRepository.contarPorConta(conta.getId()) > 0) {
+			throw new RegraNegocioException("A conta possui lançamentos e não pode ser excluída.");
+		}
+		
+		saldoRepository.excluirPorConta(conta.getId());
+		repository.delete(conta);
+		
+	}
+
+	@Override
+	@Transactional
+	public List<Conta> buscarPorUsuario(Long idUsuario) {
+		obterContaPadrao(idUsuario);
+		return repository.findByUsuarioIdOrderByNome(idUsuario);
+	}
+
+	@Override
+	public Optional<Conta> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	@Transactional
+	public Conta obterContaPadrao(Long idUsuario) {
+		
+		Optional<Conta> padrao = repository.findByUsuarioIdAndPadraoTrue(idUsuario);
+		if(padrao.isPresent()) {
+			return padrao.get();
+		}
+		
+		// criada sob demanda: se uma transação concorrente criou a conta padrão antes, o insert é ignorado
+		acumulador.inserirSeAusente("conta", Map.of("id", geradorIds.proximo(), "id_usuario", idUsuario,
+				"nome", NOME_CONTA_PADRAO, "tipo", TipoConta.CORRENTE, "padrao", true));
+		return repository.findByUsuarioIdAndPadraoTrue(idUsuario)
+				.orElseThrow(() -> new RegraNegocioException("Não foi possível criar a conta padrão do usuário."));
+		
+	}
+
+	@Override
+	@Transactional
+	public void contabilizar(EstadoLancamento anterior, EstadoLancamento atual) {
+		if(Objects.equals(anterior, atual)) {
+			return;
+		}
+		acumular(anterior, -1);
+		acumular(atual, 1);
+	}
+	
+	// mesma regra do saldo do usuário: só lançamentos efetivados contam
+	private void acumular(EstadoLancamento estado, int sinal) {
+		
+		if(estado == null || estado.getIdUsuario() == null || estado.getTipo() == null 
+				|| estado.getStatus() != StatusLancamento.EFETIVADO) {
+			return;
+		}
+		
+		Long idConta = estado.getIdConta() != null ? estado.getIdConta() : obterContaPadrao(estado.getIdUsuario()).getId();
+		long valor = sinal * (estado.getTipo() == TipoLancamento.RECEITA ? estado.getCentavos() : -estado.getCentavos());
+		acumulador.acumular("saldo_conta", Map.of("id_conta", idConta, "moeda", estado.getMoeda()),
+				Map.of("id_usuario", estado.getIdUsuario()), Map.of("saldo_centavos", valor));
+		
+	}
+
+	@Override
+	@Transactional
+	public void recalcularSaldos(Long idUsuario) {
+		obterContaPadrao(idUsuario);
+		saldoRepository.excluirPorUsuario(idUsuario);
+		saldoRepository.recalcularPorUsuario(idUsuario);
+	}
+
+	@Override
+	@Transactional
+	public int preencherSaldosAusentes(int tamanhoLote) {
+		List<Long> usuarios = repository.obterUsuariosSemContaPadrao(tamanhoLote);
+		usuarios.forEach(this::recalcularSaldos);
+		return usuarios.size();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<SaldoConta> obterSaldos(Long idUsuario) {
+		return saldoRepository.findByUsuarioId(idUsuario);
+	}
+
+	// poucas linhas por usuário, uma por conta e moeda; o saldo em moeda estrangeira vale pela última cotação
+	@Override
+	@Transactional(readOnly = true)
+	public long obterSaldoEmCentavos(Long idUsuario) {
+		long saldo = 0;
+		for(Map.Entry<Moeda, Long> saldoMoeda : obterSaldosEmCentavosPorMoeda(idUsuario).entrySet()) {
+			saldo += cambio.converterParaMoedaBase(saldoMoeda.getValue(), saldoMoeda.getKey(), null);
+		}
+		return saldo;
+	}
+
+	// na moeda de cada conta, sem conversão: quem guarda o resultado converte na leitura e acompanha as cotações
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Moeda, Long> obterSaldosEmCentavosPorMoeda(Long idUsuario) {
+		Map<Moeda, Long> saldos = new EnumMap<>(Moeda.class);
+		for(SaldoConta saldoConta : saldoRepository.findByUsuarioId(idUsuario)) {
+			saldos.merge(saldoConta.getMoeda(), saldoConta.getSaldoCentavos(), Long::sum);
+		}
+		return saldos;
+	}
+
+	@Override
+	public void validar(Conta conta) {
+		
+		if(conta.getUsuario() == null || conta.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		
+		if(conta.getNome() == null || conta.getNome().trim().isEmpty()) {
+			throw new RegraNegocioException("Informe um nome válido.");
+		}
+		
+		if(conta.getTipo() == null) {
+			throw new RegraNegocioException("Informe um tipo de conta.");
+		}
+		
+		Long idUsuario = conta.getUsuario().getId();
+		boolean duplicada = conta.getId() == null
+				? repository.existsByUsuarioIdAndNome(idUsuario, conta.getNome())
+				: repository.existsByUsuarioIdAndNomeAndIdNot(idUsuario, conta.getNome(), conta.getId());
+		if(duplicada) {
+			throw new RegraNegocioException("Já existe uma conta com este nome.");
+		}
+		
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.daguiar.minhasfinancas.model.entity.EventoLancamento;
+import com.daguiar.minhasfinancas.model.entity.HistoricoLancamento;
+import com.daguiar.minhasfinancas.model.repository.HistoricoLancamentoRepository;
+import com.daguiar.minhasfinancas.service.PublicadorEventosLancamento;
+
+@Component
+public class HistoricoPublicadorEventosLancamento implements PublicadorEventosLancamento {
+	
+	private HistoricoLancamentoRepository repository;
+	
+	public HistoricoPublicadorEventosLancamento(HistoricoLancamentoRepository repository) {
+		this.repository = repository;
+	}
+
+	@Override
+	public void publicar(List<EventoLancamento> eventos) {
+		repository.saveAll(eventos.stream()
+				.map(HistoricoLancamento::de)
+				.collect(Collectors.toList()));
+	}
+
+}
@@ -0,0 +1,177 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.RespostaIdempotente;
+import com.daguiar.minhasfinancas.model.repository.RespostaIdempotenteRepository;
+import com.daguiar.minhasfinancas.service.IdempotenciaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+	
+	private static final int TAMANHO_MAXIMO_CHAVE = 255;
+	
+	private RespostaIdempotenteRepository repository;
+	
+	private TransactionTemplate transactionTemplate;
+	
+	private ObjectMapper objectMapper;
+	
+	private Duration validade;
+	
+	private int capacidadeCache;
+	
+	private final Map<String, RespostaIdempotente> cache = new ConcurrentHashMap<>();
+	
+	private final Map<String, CompletableFuture<String>> emAndamento = new ConcurrentHashMap<>();
+	
+	public IdempotenciaServiceImpl(RespostaIdempotenteRepository repository, 
+			PlatformTransactionManager transactionManager,
+			ObjectMapper objectMapper,
+			@Value("${minhasfinancas.idempotencia.validade-horas:24}") long validadeHoras,
+			@Value("${minhasfinancas.idempotencia.capacidade-cache:10000}") int capacidadeCache) {
+		this.repository = repository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.objectMapper = objectMapper;
+		this.validade = Duration.ofHours(validadeHoras);
+		this.capacidadeCache = capacidadeCache;
+	}
+
+	@Override
+	public String executar(String chave, Supplier<?> operacao) {
+		
+		if(chave == null || chave.trim().isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+			throw new RegraNegocioException("Informe uma chave de idempotência válida.");
+		}
+		
+		RespostaIdempotente armazenada = obterArmazenada(chave);
+		if(armazenada != null) {
+			return armazenada.getCorpo();
+		}
+		
+		CompletableFuture<String> execucao = new CompletableFuture<>();
+		CompletableFuture<String> execucaoConcorrente = emAndamento.putIfAbsent(chave, execucao);
+		if(execucaoConcorrente != null) {
+			return aguardar(execucaoConcorrente);
+		}
+		
+		try {
+			
+			String corpo = executarUmaVez(chave, operacao);
+			execucao.complete(corpo);
+			return corpo;
+			
+		} catch(RuntimeException e) {
+			
+			execucao.completeExceptionally(e);
+			throw e;
+			
+		} finally {
+			emAndamento.remove(chave, execucao);
+		}
+		
+	}
+
+	@Override
+	public int excluirExpiradas() {
+		LocalDateTime limite = LocalDateTime.now().minus(validade);
+		cache.values().removeIf(resposta -> resposta.getDataCriacao().isBefore(limite));
+		return transactionTemplate.execute(status -> repository.excluirCriadasAntesDe(limite));
+	}
+	
+	private String executarUmaVez(String chave, Supplier<?> operacao) {
+		
+		RespostaIdempotente armazenada = obterArmazenada(chave);
+		if(armazenada != null) {
+			return armazenada.getCorpo();
+		}
+		
+		try {
+			
+			RespostaIdempotente resposta = transactionTemplate.execute(status -> {
+				String corpo = serializar(operacao.get());
+				return repository.saveAndFlush(new RespostaIdempotente(chave, corpo, LocalDateTime.now()));
+			});
+			armazenarEmCache(resposta);
+			return resposta.getCorpo();
+			
+		} catch(DataIntegrityViolationException e) {
+			
+			// outra instância registrou a mesma chave primeiro; a operação desta foi desfeita
+			return repository.findById(chave)
+					.map(RespostaIdempotente::getCorpo)
+					.orElseThrow(() -> e);
+			
+		}
+		
+	}
+	
+	private RespostaIdempotente obterArmazenada(String chave) {
+		
+		LocalDateTime limite = LocalDateTime.now().minus(validade);
+		RespostaIdempotente resposta = cache.get(chave);
+		if(resposta == null) {
+			resposta = repository.findById(chave).orElse(null);
+			if(resposta != null) {
+				armazenarEmCache(resposta);
+			}
+		}
+		
+		if(resposta == null || resposta.getDataCriacao().isBefore(limite)) {
+			return null;
+		}
+		return resposta;
+		
+	}
+	
+	private void armazenarEmCache(RespostaIdempotente resposta) {
+		
+		if(cache.size() >= capacidadeCache) {
+			LocalDateTime limite = LocalDateTime.now().minus(validade);
+			cache.values().removeIf(armazenada -> armazenada.getDataCriacao().isBefore(limite));
+			if(cache.size() >= capacidadeCache) {
+				cache.clear();
+			}
+		}
+		cache.put(resposta.getChave(), resposta);
+		
+	}
+	
+	private String serializar(Object resultado) {
+		try {
+			return objectMapper.writeValueAsString(resultado);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível serializar a resposta.", e);
+		}
+	}
+	
+	private String aguardar(CompletableFuture<String> execucao) {
+		try {
+			return execucao.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Requisição interrompida.", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.importacao.FiltroBloom;
+import com.daguiar.minhasfinancas.importacao.ImpressaoDigital;
+import com.daguiar.minhasfinancas.importacao.LeitorExtrato;
+import com.daguiar.minhasfinancas.importacao.MovimentoExtrato;
+import com.daguiar.minhasfinancas.importacao.ResultadoImportacao;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.ImportacaoExtratoService;
+import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+@Service
+public class ImportacaoExtratoServiceImpl implements ImportacaoExtratoService {
+	
+	private static final int TAMANHO_DESCRICAO = 255;
+	
+	private static final double TAXA_FALSO_POSITIVO = 0.01;
+	
+	private LancamentoService lancamentoService;
+	
+	private UsuarioService usuarioService;
+	
+	private LancamentoRepository repository;
+	
+	private RoteadorShards roteador;
+	
+	private int tamanhoLote;
+	
+	public ImportacaoExtratoServiceImpl(LancamentoService lancamentoService, UsuarioService usuarioService,
+			LancamentoRepository repository, RoteadorShards roteador,
+			@Value("${minhasfinancas.importacao.tamanho-lote:500}") int tamanhoLote) {
+		this.lancamentoService = lancamentoService;
+		this.usuarioService = usuarioService;
+		this.repository = repository;
+		this.roteador = roteador;
+		this.tamanhoLote = tamanhoLote;
+	}
+
+	@Override
+	public ResultadoImportacao importar(Long idUsuario, ReadableByteChannel conteudo) {
+		
+		Usuario usuario = usuarioService.obterPorID(idUsuario)
+				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado."));
+		FiltroBloom filtro = roteador.executarComoUsuario(idUsuario, () -> carregarFiltro(idUsuario));
+		
+		long lidos = 0;
+		long importados = 0;
+		long duplicados = 0;
+		long ignorados = 0;
+		List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+		Set<Long> suspeitos = new HashSet<>();
+		Map<Long, Integer> ocorrenciasNoDia = new HashMap<>();
+		LocalDate dia = null;
+		
+		try {
+			
+			// o arquivo é consumido linha a linha e gravado em lotes, cada um na sua transação
+			LeitorExtrato leitor = LeitorExtrato.abrir(conteudo);
+			MovimentoExtrato movimento;
+			while((movimento = leitor.proximo()) != null) {
+				
+				lidos++;
+				Lancamento lancamento = converter(movimento, usuario);
+				try {
+					lancamentoService.validar(lancamento);
+				} catch(RegraNegocioException e) {
+					ignorados++;
+					continue;
+				}
+				
+				if(!movimento.getData().equals(dia)) {
+					dia = movimento.getData();
+					ocorrenciasNoDia.clear();
+				}
+				long base = ImpressaoDigital.calcular(idUsuario, dia, lancamento.getTipo(), 
+						lancamento.getValorMonetario().getCentavos(), lancamento.getDescricao(), 0);
+				int ocorrencia = ocorrenciasNoDia.merge(base, 1, Integer::sum) - 1;
+				long impressao = ocorrencia == 0 ? base : ImpressaoDigital.calcular(idUsuario, dia, lancamento.getTipo(), 
+						lancamento.getValorMonetario().getCentavos(), lancamento.getDescricao(), ocorrencia);
+				lancamento.setImpressaoDigital(impressao);
+				
+				// só o que o filtro não descarta é conferido no banco, com uma consulta por lote
+				if(filtro.talvezContenha(impressao)) {
+					suspeitos.add(impressao);
+				}
+				
+				lote.add(lancamento);
+				if(lote.size() == tamanhoLote) {
+					int gravados = gravar(idUsuario, lote, suspeitos);
+					importados += gravados;
+					duplicados += lote.size() - gravados;
+					lote = new ArrayList<>(tamanhoLote);
+					suspeitos.clear();
+				}
+				
+			}
+			
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		if(!lote.isEmpty()) {
+			int gravados = gravar(idUsuario, lote, suspeitos);
+			importados += gravados;
+			duplicados += lote.size() - gravados;
+		}
+		return new ResultadoImportacao(lidos, importados, duplicados, ignorados);
+		
+	}
+	
+	private int gravar(Long idUsuario, List<Lancamento> lote, Set<Long> suspeitos) {
+		
+		return roteador.executarComoUsuario(idUsuario, () -> {
+			
+			List<Lancamento> novos = lote;
+			if(!suspeitos.isEmpty()) {
+				Set<Long> existentes = new HashSet<>(repository.obterImpressoesDigitaisExistentes(idUsuario, suspeitos));
+				novos = lote.stream()
+						.filter(lancamento -> !existentes.contains(lancamento.getImpressaoDigital()))
+						.collect(Collectors.toList());
+			}
+			if(!novos.isEmpty()) {
+				lancamentoService.salvarEmLote(novos);
+			}
+			return novos.size();
+			
+		});
+		
+	}
+	
+	private FiltroBloom carregarFiltro(Long idUsuario) {
+		List<Long> impressoes = repository.obterImpressoesDigitaisPorUsuario(idUsuario);
+		FiltroBloom filtro = FiltroBloom.dimensionar(impressoes.size(), TAXA_FALSO_POSITIVO);
+		impressoes.forEach(filtro::adicionar);
+		return filtro;
+	}
+	
+	private static Lancamento converter(MovimentoExtrato movimento, Usuario usuario) {
+		
+		String descricao = movimento.getDescricao();
+		if(descricao != null && descricao.length() > TAMANHO_DESCRICAO) {
+			descricao = descricao.substring(0, TAMANHO_DESCRICAO);
+		}
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setDescricao(descricao);
+		lancamento.setMes(movimento.getData().getMonthValue());
+		lancamento.setAno(movimento.getData().getYear());
+		lancamento.setDataLancamento(movimento.getData());
+		lancamento.setValorMonetario(Dinheiro.deCentavos(Math.abs(movimento.getCentavos())));
+		lancamento.setTipo(movimento.getCentavos() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA);
+		lancamento.setUsuario(usuario);
+		return lancamento;
+		
+	}
+
+}
@@ -0,0 +1,336 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.ingestao.DiarioIngestao;
+import com.daguiar.minhasfinancas.ingestao.MetricasIngestao;
+import com.daguiar.minhasfinancas.ingestao.RegistroIngestao;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.Conta;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.id.GeradorIds;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.service.CategoriaService;
+import com.daguiar.minhasfinancas.service.ContaService;
+import com.daguiar.minhasfinancas.service.IngestaoLancamentoService;
+import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class IngestaoLancamentoServiceImpl implements IngestaoLancamentoService {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(IngestaoLancamentoServiceImpl.class);
+	
+	private static final long ESPERA_RETENTATIVA_MS = 2000;
+	
+	private final LinkedBlockingQueue<RegistroIngestao> fila = new LinkedBlockingQueue<>();
+	
+	private final AtomicLong aceitos = new AtomicLong();
+	
+	private final AtomicLong rejeitados = new AtomicLong();
+	
+	private final AtomicLong gravados = new AtomicLong();
+	
+	private final AtomicLong descartados = new AtomicLong();
+	
+	private final AtomicLong lotesGravados = new AtomicLong();
+	
+	private final AtomicLong tempoTotalGravacaoNanos = new AtomicLong();
+	
+	private final AtomicLong maiorTempoGravacaoNanos = new AtomicLong();
+	
+	private LancamentoService lancamentoService;
+	
+	private UsuarioService usuarioService;
+	
+	private CategoriaService categoriaService;
+	
+	private ContaService contaService;
+	
+	private LancamentoRepository lancamentoRepository;
+	
+	private GeradorIds geradorIds;
+	
+	private RoteadorShards roteador;
+	
+	private DiarioIngestao diario;
+	
+	private int capacidade;
+	
+	private int tamanhoLote;
+	
+	private long intervaloMaximoNanos;
+	
+	private Semaphore vagas;
+	
+	private volatile boolean ativo;
+	
+	private Thread gravacao;
+	
+	public IngestaoLancamentoServiceImpl(LancamentoService lancamentoService, UsuarioService usuarioService,
+			CategoriaService categoriaService, ContaService contaService, LancamentoRepository lancamentoRepository,
+			GeradorIds geradorIds, RoteadorShards roteador, ObjectMapper objectMapper,
+			@Value("${minhasfinancas.ingestao.diretorio:ingestao}") String diretorio,
+			@Value("${minhasfinancas.ingestao.capacidade:10000}") int capacidade,
+			@Value("${minhasfinancas.ingestao.tamanho-lote:500}") int tamanhoLote,
+			@Value("${minhasfinancas.ingestao.intervalo-maximo-ms:200}") long intervaloMaximoMs) {
+		this.lancamentoService = lancamentoService;
+		this.usuarioService = usuarioService;
+		this.categoriaService = categoriaService;
+		this.contaService = contaService;
+		this.lancamentoRepository = lancamentoRepository;
+		this.geradorIds = geradorIds;
+		this.roteador = roteador;
+		this.diario = new DiarioIngestao(Paths.get(diretorio, "lancamentos.wal"), objectMapper);
+		this.capacidade = capacidade;
+		this.tamanhoLote = tamanhoLote;
+		this.intervaloMaximoNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMaximoMs);
+	}
+	
+	@PostConstruct
+	public void iniciar() {
+		
+		// o que ficou no diário de uma execução anterior volta para a fila, mesmo acima da capacidade
+		List<RegistroIngestao> recuperados = diario.abrir();
+		fila.addAll(recuperados);
+		vagas = new Semaphore(capacidade - recuperados.size());
+		
+		ativo = true;
+		gravacao = new Thread(this::gravarContinuamente, "ingestao-lancamentos");
+		gravacao.setDaemon(true);
+		gravacao.start();
+		
+	}
+	
+	@PreDestroy
+	public void parar() throws InterruptedException, IOException {
+		ativo = false;
+		gravacao.interrupt();
+		gravacao.join(ESPERA_RETENTATIVA_MS);
+		diario.fechar();
+	}
+
+	@Override
+	public boolean enfileirar(List<Lancamento> lancamentos) {
+		
+		if(lancamentos.size() > capacidade) {
+			throw new RegraNegocioException("Envie no máximo " + capacidade + " lançamentos por vez.");
+		}
+		
+		if(!vagas.tryAcquire(lancamentos.size())) {
+			rejeitados.addAndGet(lancamentos.size());
+			return false;
+		}
+		
+		try {
+			List<RegistroIngestao> registros = new ArrayList<>(lancamentos.size());
+			for(Lancamento lancamento : lancamentos) {
+				// o id atribuído na entrada torna a regravação após uma queda detectável
+				if(lancamento.getId() == null) {
+					lancamento.setId(geradorIds.proximo());
+				}
+				registros.add(RegistroIngestao.de(lancamento));
+			}
+			diario.registrar(registros);
+			fila.addAll(registros);
+		} catch(RuntimeException e) {
+			vagas.release(lancamentos.size());
+			throw e;
+		}
+		
+		aceitos.addAndGet(lancamentos.size());
+		return true;
+		
+	}
+
+	@Override
+	public MetricasIngestao obterMetricas() {
+		long lotes = lotesGravados.get();
+		return new MetricasIngestao(fila.size(), capacidade, aceitos.get(), rejeitados.get(), gravados.get(),
+				descartados.get(), lotes,
+				lotes == 0 ? 0 : tempoTotalGravacaoNanos.get() / 1e6 / lotes,
+				maiorTempoGravacaoNanos.get() / 1e6);
+	}
+	
+	private void gravarContinuamente() {
+		
+		while(ativo) {
+			try {
+				List<RegistroIngestao> lote = montarLote();
+				if(!lote.isEmpty()) {
+					gravarComRetentativas(lote);
+				}
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		
+	}
+	
+	// aguarda o lote encher ou o intervalo máximo vencer, o que vier primeiro
+	private List<RegistroIngestao> montarLote() throws InterruptedException {
+		
+		List<RegistroIngestao> lote = new ArrayList<>(tamanhoLote);
+		RegistroIngestao primeiro = fila.poll(intervaloMaximoNanos, TimeUnit.NANOSECONDS);
+		if(primeiro == null) {
+			return lote;
+		}
+		lote.add(primeiro);
+		
+		long limite = System.nanoTime() + intervaloMaximoNanos;
+		while(lote.size() < tamanhoLote) {
+			fila.drainTo(lote, tamanhoLote - lote.size());
+			long restante = limite - System.nanoTime();
+			if(lote.size() >= tamanhoLote || restante <= 0) {
+				break;
+			}
+			RegistroIngestao proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+			if(proximo == null) {
+				break;
+			}
+			lote.add(proximo);
+		}
+		return lote;
+		
+	}
+	
+	private void gravarComRetentativas(List<RegistroIngestao> lote) throws InterruptedException {
+		
+		while(true) {
+			try {
+				long inicio = System.nanoTime();
+				gravar(lote);
+				registrarLatencia(System.nanoTime() - inicio);
+				return;
+			} catch(RuntimeException e) {
+				// falhas de infraestrutura: o lote continua no diário e é regravado
+				LOG.warn("Falha ao gravar lote de {} lançamentos ingeridos, nova tentativa em {} ms.", 
+						lote.size(), ESPERA_RETENTATIVA_MS, e);
+				if(!ativo) {
+					return;
+				}
+				Thread.sleep(ESPERA_RETENTATIVA_MS);
+			}
+		}
+		
+	}
+	
+	private void gravar(List<RegistroIngestao> lote) {
+		
+		Map<String, List<RegistroIngestao>> porShard = lote.stream()
+				.collect(Collectors.groupingBy(registro -> roteador.shardDoUsuario(registro.getUsuario()),
+						LinkedHashMap::new, Collectors.toList()));
+		porShard.forEach((shard, registros) -> roteador.executarNoShard(shard, () -> {
+			gravarNoShard(registros);
+			return null;
+		}));
+		
+		diario.confirmar(lote.stream().map(RegistroIngestao::getId).collect(Collectors.toList()));
+		vagas.release(lote.size());
+		
+	}
+	
+	private void gravarNoShard(List<RegistroIngestao> registros) {
+		
+		// um lote gravado antes de uma queda, mas não confirmado no diário, não é gravado de novo
+		Set<Long> existentes = new HashSet<>(lancamentoRepository.obterIdsExistentes(
+				registros.stream().map(RegistroIngestao::getId).collect(Collectors.toList())));
+		List<RegistroIngestao> novos = registros.stream()
+				.filter(registro -> !existentes.contains(registro.getId()))
+				.collect(Collectors.toList());
+		if(novos.isEmpty()) {
+			return;
+		}
+		
+		try {
+			lancamentoService.salvarEmLote(converter(novos));
+			gravados.addAndGet(novos.size());
+		} catch(RegraNegocioException | DataIntegrityViolationException e) {
+			gravarIndividualmente(novos);
+		}
+		
+	}
+	
+	private void gravarIndividualmente(List<RegistroIngestao> registros) {
+		for(RegistroIngestao registro : registros) {
+			try {
+				lancamentoService.salvarEmLote(converter(List.of(registro)));
+				gravados.incrementAndGet();
+			} catch(RegraNegocioException | DataIntegrityViolationException e) {
+				descartados.incrementAndGet();
+				LOG.warn("Lançamento ingerido {} descartado: {}", registro.getId(), e.getMessage());
+			}
+		}
+	}
+	
+	private List<Lancamento> converter(List<RegistroIngestao> registros) {
+		
+		Map<Long, Categoria> categorias = new HashMap<>();
+		Map<Long, Conta> contas = new HashMap<>();
+		List<Lancamento> lancamentos = new ArrayList<>(registros.size());
+		for(RegistroIngestao registro : registros) {
+			
+			Lancamento lancamento = new Lancamento();
+			lancamento.setId(registro.getId());
+			lancamento.setDescricao(registro.getDescricao());
+			lancamento.setMes(registro.getMes());
+			lancamento.setAno(registro.getAno());
+			lancamento.setValor(registro.getValor());
+			// registros gravados no diário antes da moeda existir chegam sem ela
+			lancamento.setMoeda(registro.getMoeda() == null ? Moeda.BRL : registro.getMoeda());
+			lancamento.setTipo(registro.getTipo());
+			lancamento.setDataLancamento(registro.getDataLancamento());
+			Usuario usuario = usuarioService.obterPorID(registro.getUsuario())
+					.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado."));
+			lancamento.setUsuario(usuario);
+			if(registro.getCategoria() != null) {
+				lancamento.setCategoria(categorias.computeIfAbsent(registro.getCategoria(), id -> categoriaService.obterPorId(id)
+						.orElseThrow(() -> new RegraNegocioException("Categoria não encontrada para o Id informado."))));
+			}
+			if(registro.getConta() != null) {
+				lancamento.setConta(contas.computeIfAbsent(registro.getConta(), id -> contaService.obterPorId(id)
+						.orElseThrow(() -> new RegraNegocioException("Conta não encontrada para o Id informado."))));
+			}
+			lancamento.setIdLivro(registro.getLivro());
+			lancamentos.add(lancamento);
+			
+		}
+		return lancamentos;
+		
+	}
+	
+	private void registrarLatencia(long nanos) {
+		lotesGravados.incrementAndGet();
+		tempoTotalGravacaoNanos.addAndGet(nanos);
+		maiorTempoGravacaoNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+}
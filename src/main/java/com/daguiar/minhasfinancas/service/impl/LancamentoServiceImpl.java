@@ -1,30 +1,87 @@
 package com.daguiar.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.ExampleMatcher.StringMatcher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.CacheLocal;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.daguiar.minhasfinancas.event.LancamentosAlteradosEmLoteEvent;
 import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Conta;
 import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
 import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
 import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
 import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoSpecifications;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.ArquivoLancamentoService;
+import com.daguiar.minhasfinancas.service.CambioService;
+import com.daguiar.minhasfinancas.service.CategoriaService;
+import com.daguiar.minhasfinancas.service.ContaService;
 import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.service.LivroService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 	
+	
 	private LancamentoRepository repository;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	private CategoriaService categoriaService;
+	
+	private ContaService contaService;
+	
+	private LivroService livroService;
+	
+	private RoteadorShards roteador;
+	
+	private ArquivoLancamentoService arquivoService;
+	
+	private CambioService cambio;
+	
+	private ApplicationEventPublisher eventPublisher;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private final CacheLocal<Long, Map<Moeda, Long>> cacheSaldos;
+	
+	public LancamentoServiceImpl(LancamentoRepository repository, CategoriaService categoriaService,
+			ContaService contaService, LivroService livroService, RoteadorShards roteador, ArquivoLancamentoService arquivoService,
+			CambioService cambio, ApplicationEventPublisher eventPublisher, BarramentoInvalidacao barramento,
+			@Value("${minhasfinancas.cache.capacidade-saldos:10000}") int capacidadeCache) {
 		this.repository = repository;
+		this.categoriaService = categoriaService;
+		this.contaService = contaService;
+		this.livroService = livroService;
+		this.roteador = roteador;
+		this.arquivoService = arquivoService;
+		this.cambio = cambio;
+		this.eventPublisher = eventPublisher;
+		this.barramento = barramento;
+		this.cacheSaldos = new CacheLocal<>(capacidadeCache);
+		barramento.registrar(RegiaoCache.LANCAMENTOS_USUARIO, cacheSaldos::invalidar);
 	}
 
 	@Override
@@ -32,15 +89,171 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		categorizar(lancamento);
+		prepararGravacao(lancamento, null);
+		Lancamento salvo = repository.save(lancamento);
+		notificar(new LancamentoAlteradoEvent(TipoEventoLancamento.CRIACAO, salvo));
+		return salvo;
+	}
+
+	@Override
+	@Transactional
+	public List<Lancamento> salvarEmLote(List<Lancamento> lancamentos) {
+		lancamentos.forEach(this::validar);
+		return persistirNovos(lancamentos);
+	}
+
+	@Override
+	@Transactional
+	public List<Lancamento> salvarParcelamento(Lancamento lancamento, Integer quantidadeParcelas) {
+		
+		validar(lancamento);
+		if(quantidadeParcelas == null || quantidadeParcelas < 2) {
+			throw new RegraNegocioException("Informe uma quantidade de parcelas válida.");
+		}
+		
+		Dinheiro valorTotal = lancamento.getValorMonetario();
+		if(valorTotal.getCentavos() < quantidadeParcelas) {
+			throw new RegraNegocioException("Informe um valor válido.");
+		}
+		
+		List<Dinheiro> valores = valorTotal.dividir(quantidadeParcelas);
+		String grupo = UUID.randomUUID().toString();
+		YearMonth competencia = YearMonth.of(lancamento.getAno(), lancamento.getMes());
+		LocalDate hoje = LocalDate.now();
+		
+		List<Lancamento> parcelas = new ArrayList<>(quantidadeParcelas);
+		for(int i = 0; i < quantidadeParcelas; i++) {
+			
+			Lancamento parcela = new Lancamento();
+			parcela.setDescricao(lancamento.getDescricao() + " (" + (i + 1) + "/" + quantidadeParcelas + ")");
+			parcela.setValorMonetario(valores.get(i));
+			parcela.setMoeda(lancamento.getMoeda());
+			parcela.setTipo(lancamento.getTipo());
+			parcela.setUsuario(lancamento.getUsuario());
+			parcela.setCategoria(lancamento.getCategoria());
+			parcela.setIdLivro(lancamento.getIdLivro());
+			parcela.setMes(competencia.getMonthValue());
+			parcela.setAno(competencia.getYear());
+			parcela.setDataCadastro(hoje);
+			parcela.setGrupo(grupo);
+			parcela.setParcela(i + 1);
+			if(lancamento.getDataLancamento() != null) {
+				parcela.setDataLancamento(lancamento.getDataLancamento().plusMonths(i));
+			}
+			parcelas.add(parcela);
+			
+			competencia = competencia.plusMonths(1);
+			
+		}
+		
+		return persistirNovos(parcelas);
+		
 	}
 
+	@Override
+	@Transactional
+	public List<Lancamento> salvarTransferencia(Lancamento saida, Conta destino) {
+		
+		saida.setTipo(TipoLancamento.DESPESA);
+		validar(saida);
+		if(saida.getConta() == null || destino == null) {
+			throw new RegraNegocioException("Informe as contas de origem e de destino.");
+		}
+		
+		if(saida.getConta().getId().equals(destino.getId())) {
+			throw new RegraNegocioException("Informe contas diferentes para a transferência.");
+		}
+		
+		if(destino.getUsuario() == null || !saida.getUsuario().getId().equals(destino.getUsuario().getId())) {
+			throw new RegraNegocioException("Informe uma conta do usuário.");
+		}
+		
+		Lancamento entrada = new Lancamento();
+		entrada.setDescricao(saida.getDescricao());
+		entrada.setValorMonetario(saida.getValorMonetario());
+		entrada.setMoeda(saida.getMoeda());
+		entrada.setTipo(TipoLancamento.RECEITA);
+		entrada.setUsuario(saida.getUsuario());
+		entrada.setConta(destino);
+		entrada.setIdLivro(saida.getIdLivro());
+		entrada.setMes(saida.getMes());
+		entrada.setAno(saida.getAno());
+		entrada.setDataLancamento(saida.getDataLancamento());
+		
+		// as duas pontas são gravadas na mesma transação e, pelo grupo, mudam de status juntas como um parcelamento;
+		// sem categorização automática para não contarem como receita ou despesa de alguma categoria
+		String grupo = UUID.randomUUID().toString();
+		LocalDate hoje = LocalDate.now();
+		List<Lancamento> pontas = List.of(saida, entrada);
+		pontas.forEach(ponta -> {
+			ponta.setGrupo(grupo);
+			ponta.setDataCadastro(hoje);
+			ponta.setStatus(StatusLancamento.PENDENTE);
+			prepararGravacao(ponta, null);
+		});
+		List<Lancamento> salvas = repository.saveAll(pontas);
+		salvas.forEach(salva -> notificar(new LancamentoAlteradoEvent(TipoEventoLancamento.CRIACAO, salva)));
+		return salvas;
+		
+	}
+
+	@Override
+	@Transactional
+	public int atualizarStatusDoParcelamento(String grupo, StatusLancamento status) {
+		Objects.requireNonNull(grupo);
+		Objects.requireNonNull(status);
+		List<Long> usuarios = repository.obterUsuariosPorGrupo(grupo);
+		int atualizados = repository.atualizarStatusPorGrupo(grupo, status);
+		usuarios.forEach(idUsuario -> notificar(
+				new LancamentosAlteradosEmLoteEvent(idUsuario, "Parcelamento " + grupo + " alterado para " + status)));
+		return atualizados;
+	}
+	
+	private List<Lancamento> persistirNovos(List<Lancamento> lancamentos) {
+		lancamentos.forEach(lancamento -> {
+			lancamento.setStatus(StatusLancamento.PENDENTE);
+			categorizar(lancamento);
+			prepararGravacao(lancamento, null);
+		});
+		List<Lancamento> salvos = repository.saveAll(lancamentos);
+		salvos.forEach(salvo -> notificar(
+				new LancamentoAlteradoEvent(TipoEventoLancamento.CRIACAO, salvo)));
+		return salvos;
+	}
+	
+	private void categorizar(Lancamento lancamento) {
+		if(lancamento.getCategoria() == null && lancamento.getUsuario() != null) {
+			categoriaService.classificar(lancamento.getUsuario().getId(), lancamento.getDescricao())
+				.ifPresent(lancamento::setCategoria);
+		}
+	}
+	
+	// a data acompanha a competência já aqui, e não só no flush, porque o evento sai antes dele;
+	// o valor em moeda base só é convertido de novo quando valor, moeda ou data mudam
+	private void prepararGravacao(Lancamento lancamento, EstadoLancamento anterior) {
+		lancamento.sincronizarDataLancamento();
+		EstadoLancamento atual = EstadoLancamento.de(lancamento);
+		if(anterior != null && anterior.getCentavosBase() != null && anterior.getCentavos() == atual.getCentavos()
+				&& anterior.getMoeda() == atual.getMoeda() && Objects.equals(anterior.getDataLancamento(), atual.getDataLancamento())) {
+			lancamento.setValorBaseCentavos(anterior.getCentavosBase());
+		} else {
+			lancamento.setValorBaseCentavos(
+					cambio.converterParaMoedaBase(atual.getCentavos(), atual.getMoeda(), atual.getDataLancamento()));
+		}
+	}
+	
 	@Override
 	@Transactional
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+		Lancamento atualizado = repository.save(lancamento);
+		prepararGravacao(atualizado, atualizado.getEstadoPersistido());
+		notificar(new LancamentoAlteradoEvent(
+				TipoEventoLancamento.ATUALIZACAO, atualizado, atualizado.getEstadoPersistido()));
+		atualizado.registrarEstadoPersistido();
+		return atualizado;
 	}
 
 	@Override
@@ -48,19 +261,117 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		repository.delete(lancamento);
+		notificar(new LancamentoAlteradoEvent(
+				TipoEventoLancamento.EXCLUSAO, lancamento, lancamento.getEstadoPersistido()));
+	}
+
+	@Override
+	@Transactional
+	public int deletarEmLote(Long idUsuario, Integer ano, Integer mes) {
+		
+		Objects.requireNonNull(idUsuario);
+		if(ano == null) {
+			throw new RegraNegocioException("Informe o ano dos lançamentos a excluir.");
+		}
+		
+		LocalDateTime agora = LocalDateTime.now();
+		int excluidos = mes == null
+				? repository.excluirPorUsuarioEAno(idUsuario, ano, agora)
+				: repository.excluirPorUsuarioEAnoEMes(idUsuario, ano, mes, agora);
+		
+		if(excluidos > 0) {
+			String periodo = mes == null ? ano.toString() : mes + "/" + ano;
+			notificar(new LancamentosAlteradosEmLoteEvent(idUsuario, 
+					excluidos + " lançamentos de " + periodo + " excluídos"));
+		}
+		return excluidos;
+		
+	}
+
+	@Override
+	@Transactional
+	public Optional<Lancamento> restaurar(Long id) {
+		
+		if(repository.restaurar(id) == 0) {
+			return Optional.empty();
+		}
+		
+		Optional<Lancamento> restaurado = repository.findById(id);
+		restaurado.ifPresent(lancamento -> notificar(
+				new LancamentoAlteradoEvent(TipoEventoLancamento.RESTAURACAO, lancamento)));
+		return restaurado;
+		
+	}
+
+	@Override
+	@Transactional
+	public int expurgarExcluidos(LocalDateTime limite, int tamanhoLote) {
+		return repository.expurgarExcluidosAntesDe(limite, tamanhoLote);
+	}
+
+	@Override
+	@Transactional
+	public int preencherDataLancamento(int tamanhoLote) {
+		return repository.preencherDataLancamentoPelaCompetencia(tamanhoLote);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
 	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example example = Example.of(lancamentoFiltro,
-									ExampleMatcher.matching()
-									.withIgnoreCase()
-									.withStringMatcher(StringMatcher.CONTAINING));
-		return repository.findAll(example);
+		return incluirArquivados(repository.findAll(criarExemplo(lancamentoFiltro)), lancamentoFiltro, null, null);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> buscar(Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal) {
+		
+		if(dataInicial == null && dataFinal == null) {
+			return buscar(lancamentoFiltro);
+		}
+		
+		if(dataInicial != null && dataFinal != null && dataInicial.isAfter(dataFinal)) {
+			throw new RegraNegocioException("Informe um período válido.");
+		}
+		
+		// o período vira um único intervalo no índice (id_usuario, data_lancamento)
+		List<Lancamento> lancamentos = repository.findAll(LancamentoSpecifications.conformeExemplo(criarExemplo(lancamentoFiltro))
+				.and(LancamentoSpecifications.noPeriodo(dataInicial, dataFinal)));
+		return incluirArquivados(lancamentos, lancamentoFiltro, dataInicial, dataFinal);
+		
+	}
+	
+	// lançamentos de anos fechados saem da tabela quente; quem filtra por um desses anos recebe os dois lados
+	private List<Lancamento> incluirArquivados(List<Lancamento> lancamentos, Lancamento lancamentoFiltro, 
+			LocalDate dataInicial, LocalDate dataFinal) {
+		if(!arquivoService.deveConsultar(lancamentoFiltro, dataInicial, dataFinal)) {
+			return lancamentos;
+		}
+		List<Lancamento> todos = new ArrayList<>(lancamentos);
+		todos.addAll(arquivoService.buscar(lancamentoFiltro, dataInicial, dataFinal));
+		return todos;
+	}
+	
+	// cada membro grava no próprio shard; em cada um o filtro por id_livro usa o índice (id_livro, data_lancamento),
+	// sem junção com as participações, que já foram checadas em memória
+	@Override
+	public List<Lancamento> buscarNoLivro(Long idLivro, Lancamento lancamentoFiltro, LocalDate dataInicial, LocalDate dataFinal) {
+		Objects.requireNonNull(idLivro);
+		lancamentoFiltro.setUsuario(null);
+		lancamentoFiltro.setIdLivro(idLivro);
+		List<Lancamento> lancamentos = new ArrayList<>();
+		roteador.paraCadaShard(() -> lancamentos.addAll(buscar(lancamentoFiltro, dataInicial, dataFinal)));
+		return lancamentos;
+	}
+	
+	private static Example<Lancamento> criarExemplo(Lancamento lancamentoFiltro) {
+		return Example.of(lancamentoFiltro,
+						ExampleMatcher.matching()
+						.withIgnoreCase()
+						.withStringMatcher(StringMatcher.CONTAINING));
 	}
 
 	@Override
+	@Transactional
 	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
 		lancamento.setStatus(status);
 		atualizar(lancamento);
@@ -85,7 +396,21 @@ public class LancamentoServiceImpl implements LancamentoService {
 			throw new RegraNegocioException("Informe um usuário.");
 		}
 		
-		if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1) {
+		if(lancamento.getCategoria() != null && lancamento.getCategoria().getUsuario() != null
+				&& !lancamento.getUsuario().getId().equals(lancamento.getCategoria().getUsuario().getId())) {
+			throw new RegraNegocioException("Informe uma categoria do usuário.");
+		}
+		
+		if(lancamento.getConta() != null && lancamento.getConta().getUsuario() != null
+				&& !lancamento.getUsuario().getId().equals(lancamento.getConta().getUsuario().getId())) {
+			throw new RegraNegocioException("Informe uma conta do usuário.");
+		}
+		
+		if(lancamento.getIdLivro() != null) {
+			livroService.verificarEscrita(lancamento.getUsuario().getId(), lancamento.getIdLivro());
+		}
+		
+		if(lancamento.getValorMonetario() == null || !lancamento.getValorMonetario().isPositivo()) {
 			throw new RegraNegocioException("Informe um valor válido.");
 		}
 		
@@ -95,28 +420,45 @@ public class LancamentoServiceImpl implements LancamentoService {
 		
 	}
 
+	// o id não diz o shard: quem consulta pode ser membro de um livro de outro usuário
 	@Override
 	public Optional<Lancamento> obterPorId(Long id) {
-		return repository.findById(id);
+		return roteador.buscarEmTodos(() -> repository.findById(id));
+	}
+
+	@Override
+	public Optional<Lancamento> obterExcluidoPorId(Long id) {
+		return roteador.buscarEmTodos(() -> repository.obterExcluido(id));
 	}
 
 	@Override
 	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long idUsuario) {
 		
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(
-								idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(
-								idUsuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
-		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
+		// soma as poucas linhas de saldo_conta do usuário em vez de percorrer todos os lançamentos; o cache guarda
+		// os saldos por moeda e converte na leitura, então uma recarga das cotações vale sem nova escrita
+		long saldo = 0;
+		for(Map.Entry<Moeda, Long> saldoMoeda : cacheSaldos.obter(idUsuario, contaService::obterSaldosEmCentavosPorMoeda).entrySet()) {
+			saldo += cambio.converterParaMoedaBase(saldoMoeda.getValue(), saldoMoeda.getKey(), null);
 		}
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
+		return Dinheiro.deCentavos(saldo).toBigDecimal();
+	}
+	
+	private void notificar(LancamentoAlteradoEvent evento) {
+		eventPublisher.publishEvent(evento);
+		if(evento.getLancamento().getUsuario() != null) {
+			invalidarCaches(evento.getLancamento().getUsuario().getId());
 		}
-		
-		return receitas.subtract(despesas);
+	}
+	
+	private void notificar(LancamentosAlteradosEmLoteEvent evento) {
+		eventPublisher.publishEvent(evento);
+		invalidarCaches(evento.getIdUsuario());
+	}
+	
+	private void invalidarCaches(Long idUsuario) {
+		cacheSaldos.invalidar(idUsuario);
+		barramento.publicar(RegiaoCache.LANCAMENTOS_USUARIO, idUsuario);
 	}
 
 }
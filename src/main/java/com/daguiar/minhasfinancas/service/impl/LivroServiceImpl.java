@@ -0,0 +1,187 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.CacheLocal;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.livro.PermissoesLivro;
+import com.daguiar.minhasfinancas.model.entity.Livro;
+import com.daguiar.minhasfinancas.model.entity.MembroLivro;
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+import com.daguiar.minhasfinancas.model.repository.LivroRepository;
+import com.daguiar.minhasfinancas.model.repository.MembroLivroRepository;
+import com.daguiar.minhasfinancas.model.repository.UsuarioRepository;
+import com.daguiar.minhasfinancas.service.LivroService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+@Service
+public class LivroServiceImpl implements LivroService {
+	
+	private LivroRepository repository;
+	
+	private MembroLivroRepository membroRepository;
+	
+	private UsuarioRepository usuarioRepository;
+	
+	private RoteadorShards roteador;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private TransactionTemplate transactionTemplate;
+	
+	private final CacheLocal<Long, PermissoesLivro> cachePermissoes;
+	
+	public LivroServiceImpl(LivroRepository repository, MembroLivroRepository membroRepository,
+			UsuarioRepository usuarioRepository, RoteadorShards roteador, BarramentoInvalidacao barramento,
+			PlatformTransactionManager transactionManager,
+			@Value("${minhasfinancas.cache.capacidade-membros-livro:10000}") int capacidadeCache) {
+		this.repository = repository;
+		this.membroRepository = membroRepository;
+		this.usuarioRepository = usuarioRepository;
+		this.roteador = roteador;
+		this.barramento = barramento;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.cachePermissoes = new CacheLocal<>(capacidadeCache);
+		barramento.registrar(RegiaoCache.MEMBROS_LIVRO, cachePermissoes::invalidar);
+	}
+
+	// o livro e a participação do dono ficam no shard do dono, o mesmo da requisição
+	@Override
+	@Transactional
+	public Livro salvar(Livro livro) {
+		validar(livro);
+		boolean novo = livro.getId() == null;
+		Livro salvo = repository.save(livro);
+		if(novo) {
+			gravarMembro(salvo.getId(), salvo.getUsuario().getId(), PapelMembro.DONO);
+		}
+		invalidarPermissoes(salvo.getUsuario().getId());
+		return salvo;
+	}
+
+	@Override
+	public Optional<Livro> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	public List<Livro> buscarPorUsuario(Long idUsuario) {
+		List<Long> ids = Arrays.stream(obterPermissoes(idUsuario).getLivros()).boxed().collect(Collectors.toList());
+		if(ids.isEmpty()) {
+			return List.of();
+		}
+		List<Livro> livros = new ArrayList<>();
+		roteador.paraCadaShard(() -> livros.addAll(repository.findAllById(ids)));
+		return livros;
+	}
+
+	// a participação é gravada no shard do membro, que é onde as checagens dele vão procurar;
+	// a transação é aberta já dentro do shard escolhido
+	@Override
+	public void adicionarMembro(Livro livro, Long idUsuario, PapelMembro papel) {
+		
+		if(idUsuario == null || papel == null) {
+			throw new RegraNegocioException("Informe o usuário e o papel do membro.");
+		}
+		
+		if(papel == PapelMembro.DONO || idUsuario.equals(livro.getUsuario().getId())) {
+			throw new RegraNegocioException("O livro já pertence ao usuário informado.");
+		}
+		
+		roteador.executarComoUsuario(idUsuario, () -> transactionTemplate.execute(status -> {
+			if(!usuarioRepository.existsById(idUsuario)) {
+				throw new RegraNegocioException("Usuário não encontrado.");
+			}
+			if(membroRepository.atualizarPapel(idUsuario, livro.getId(), papel) == 0) {
+				gravarMembro(livro.getId(), idUsuario, papel);
+			}
+			return null;
+		}));
+		invalidarPermissoes(idUsuario);
+		
+	}
+
+	@Override
+	public void removerMembro(Livro livro, Long idUsuario) {
+		
+		if(livro.getUsuario().getId().equals(idUsuario)) {
+			throw new RegraNegocioException("O dono não pode ser removido do livro.");
+		}
+		
+		Integer removidos = roteador.executarComoUsuario(idUsuario, () -> 
+				transactionTemplate.execute(status -> membroRepository.excluir(idUsuario, livro.getId())));
+		if(removidos == null || removidos == 0) {
+			throw new RegraNegocioException("O usuário não é membro do livro.");
+		}
+		invalidarPermissoes(idUsuario);
+		
+	}
+
+	@Override
+	public List<MembroLivro> buscarMembros(Long idLivro) {
+		List<MembroLivro> membros = new ArrayList<>();
+		roteador.paraCadaShard(() -> membros.addAll(membroRepository.findByIdLivro(idLivro)));
+		return membros;
+	}
+
+	// consultada em toda requisição de livro: um acesso ao mapa e uma busca binária, sem junções nas consultas;
+	// as participações ficam no shard do membro, que pode não ser o da requisição
+	@Override
+	public PermissoesLivro obterPermissoes(Long idUsuario) {
+		return cachePermissoes.obter(idUsuario, chave -> roteador.executarComoUsuario(chave, () ->
+				PermissoesLivro.de(membroRepository.obterPapeisPorUsuario(chave))));
+	}
+
+	@Override
+	public void verificarLeitura(Long idUsuario, Long idLivro) {
+		if(idUsuario == null || !obterPermissoes(idUsuario).podeLer(idLivro)) {
+			throw new RegraNegocioException("Usuário sem acesso ao livro informado.");
+		}
+	}
+
+	@Override
+	public void verificarEscrita(Long idUsuario, Long idLivro) {
+		if(idUsuario == null || !obterPermissoes(idUsuario).podeEscrever(idLivro)) {
+			throw new RegraNegocioException("Usuário sem permissão para alterar lançamentos do livro informado.");
+		}
+	}
+
+	@Override
+	public void validar(Livro livro) {
+		
+		if(livro.getUsuario() == null || livro.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		
+		if(livro.getNome() == null || livro.getNome().trim().isEmpty()) {
+			throw new RegraNegocioException("Informe um nome válido.");
+		}
+		
+	}
+	
+	private void gravarMembro(Long idLivro, Long idUsuario, PapelMembro papel) {
+		MembroLivro membro = new MembroLivro();
+		membro.setIdLivro(idLivro);
+		membro.setUsuario(usuarioRepository.getById(idUsuario));
+		membro.setPapel(papel);
+		membroRepository.save(membro);
+	}
+	
+	private void invalidarPermissoes(Long idUsuario) {
+		cachePermissoes.invalidar(idUsuario);
+		barramento.publicar(RegiaoCache.MEMBROS_LIVRO, idUsuario);
+	}
+
+}
@@ -0,0 +1,265 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.CacheLocal;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.Orcamento;
+import com.daguiar.minhasfinancas.model.entity.TotalOrcamento;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.CategoriaRepository;
+import com.daguiar.minhasfinancas.model.repository.OrcamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.TotalOrcamentoRepository;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.orcamento.AlertaOrcamento;
+import com.daguiar.minhasfinancas.orcamento.NotificadorOrcamento;
+import com.daguiar.minhasfinancas.service.OrcamentoService;
+
+@Service
+public class OrcamentoServiceImpl implements OrcamentoService {
+	
+	static final int FAIXA_ATENCAO = 80;
+	
+	static final int FAIXA_ESGOTADO = 100;
+	
+	private OrcamentoRepository repository;
+	
+	private TotalOrcamentoRepository totalRepository;
+	
+	private CategoriaRepository categoriaRepository;
+	
+	private AcumuladorTotais acumulador;
+	
+	private NotificadorOrcamento notificador;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private final CacheLocal<Long, List<Orcamento>> cacheOrcamentos;
+	
+	public OrcamentoServiceImpl(OrcamentoRepository repository, TotalOrcamentoRepository totalRepository,
+			CategoriaRepository categoriaRepository, AcumuladorTotais acumulador, 
+			NotificadorOrcamento notificador, BarramentoInvalidacao barramento,
+			@Value("${minhasfinancas.cache.capacidade-orcamentos:10000}") int capacidadeCache) {
+		this.repository = repository;
+		this.totalRepository = totalRepository;
+		this.categoriaRepository = categoriaRepository;
+		this.acumulador = acumulador;
+		this.notificador = notificador;
+		this.barramento = barramento;
+		this.cacheOrcamentos = new CacheLocal<>(capacidadeCache);
+		barramento.registrar(RegiaoCache.ORCAMENTOS_USUARIO, cacheOrcamentos::invalidar);
+	}
+
+	@Override
+	@Transactional
+	public Orcamento salvar(Orcamento orcamento) {
+		validar(orcamento);
+		Orcamento salvo = repository.save(orcamento);
+		recalcularAposAlteracao(salvo.getUsuario().getId());
+		return salvo;
+	}
+
+	@Override
+	@Transactional
+	public Orcamento atualizar(Orcamento orcamento) {
+		Objects.requireNonNull(orcamento.getId());
+		return salvar(orcamento);
+	}
+
+	@Override
+	@Transactional
+	public void deletar(Orcamento orcamento) {
+		Objects.requireNonNull(orcamento.getId());
+		totalRepository.excluirPorOrcamento(orcamento.getId());
+		repository.delete(orcamento);
+		notificarAlteracao(orcamento.getUsuario().getId());
+	}
+
+	@Override
+	@Transactional
+	public void excluirPorCategoria(Categoria categoria) {
+		for(Orcamento orcamento : repository.findByCategoriaId(categoria.getId())) {
+			deletar(orcamento);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Orcamento> buscarPorUsuario(Long idUsuario) {
+		return repository.findByUsuarioId(idUsuario);
+	}
+
+	@Override
+	public Optional<Orcamento> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	@Transactional
+	public void contabilizar(EstadoLancamento anterior, EstadoLancamento atual) {
+		if(Objects.equals(anterior, atual)) {
+			return;
+		}
+		acumular(anterior, -1);
+		acumular(atual, 1);
+	}
+	
+	private void acumular(EstadoLancamento estado, int sinal) {
+		
+		if(estado == null || estado.getIdUsuario() == null || estado.getTipo() == null 
+				|| estado.getStatus() == StatusLancamento.CANCELADO) {
+			return;
+		}
+		
+		List<Orcamento> orcamentos = cacheOrcamentos.obter(estado.getIdUsuario(), repository::findByUsuarioId);
+		for(Orcamento orcamento : orcamentos) {
+			if(abrange(orcamento, estado)) {
+				acumular(orcamento, estado, sinal * estado.getCentavos());
+			}
+		}
+		
+	}
+	
+	private boolean abrange(Orcamento orcamento, EstadoLancamento estado) {
+		if(orcamento.getCategoria() != null) {
+			return estado.getTipo() == TipoLancamento.DESPESA 
+					&& orcamento.getCategoria().getId().equals(estado.getIdCategoria());
+		}
+		return orcamento.getTipo() == estado.getTipo();
+	}
+	
+	private void acumular(Orcamento orcamento, EstadoLancamento estado, long valor) {
+		
+		long limite = orcamento.getLimiteMonetario().getCentavos();
+		
+		// o acumulador sempre termina num update, que bloqueia a linha do total até o commit (inclusive a do
+		// primeiro lançamento do mês), então dois lançamentos simultâneos não avaliam a mesma faixa e o alerta sai uma vez só
+		acumulador.acumular("total_orcamento", Map.of("id_orcamento", orcamento.getId(), "ano", estado.getAno(), 
+				"mes", estado.getMes()), Map.of("id_usuario", estado.getIdUsuario(), "faixa_alertada", 0), Map.of("gasto_centavos", valor));
+		
+		totalRepository.obterSituacao(orcamento.getId(), estado.getAno(), estado.getMes()).ifPresent(situacao -> {
+			int faixa = faixa(situacao.getGastoCentavos(), limite);
+			if(faixa != situacao.getFaixaAlertada()) {
+				// ao voltar para uma faixa menor o alerta é rearmado
+				totalRepository.atualizarFaixaAlertada(orcamento.getId(), estado.getAno(), estado.getMes(), faixa);
+				alertar(orcamento, estado, situacao.getGastoCentavos(), situacao.getFaixaAlertada(), faixa);
+			}
+		});
+		
+	}
+	
+	static int faixa(long gasto, long limite) {
+		if(gasto >= limite) {
+			return FAIXA_ESGOTADO;
+		}
+		if(gasto * 100 >= limite * FAIXA_ATENCAO) {
+			return FAIXA_ATENCAO;
+		}
+		return 0;
+	}
+	
+	private void alertar(Orcamento orcamento, EstadoLancamento estado, long gasto, int faixaAnterior, int faixa) {
+		
+		if(faixa <= faixaAnterior) {
+			return;
+		}
+		
+		AlertaOrcamento alerta = new AlertaOrcamento(estado.getIdUsuario(), orcamento.getId(), estado.getAno(), 
+				estado.getMes(), faixa, Dinheiro.deCentavos(gasto).toBigDecimal(), orcamento.getLimite());
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			notificador.notificar(alerta);
+			return;
+		}
+		
+		// um rollback desfaz o total, então o alerta só sai depois do commit
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				notificador.notificar(alerta);
+			}
+		});
+		
+	}
+
+	@Override
+	@Transactional
+	public void recalcularTotais(Long idUsuario) {
+		totalRepository.excluirPorUsuario(idUsuario);
+		totalRepository.recalcularPorUsuario(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<TotalOrcamento> obterTotais(Long idUsuario, Integer ano, Integer mes) {
+		if(ano == null || mes == null) {
+			throw new RegraNegocioException("Informe o ano e o mês.");
+		}
+		return totalRepository.findByUsuarioIdAndAnoAndMes(idUsuario, ano, mes);
+	}
+
+	@Override
+	public void validar(Orcamento orcamento) {
+		
+		if(orcamento.getUsuario() == null || orcamento.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		
+		if((orcamento.getTipo() == null) == (orcamento.getCategoria() == null)) {
+			throw new RegraNegocioException("Informe um tipo ou uma categoria para o orçamento.");
+		}
+		
+		if(orcamento.getLimite() == null || orcamento.getLimite().signum() <= 0) {
+			throw new RegraNegocioException("Informe um limite válido.");
+		}
+		
+		Long idUsuario = orcamento.getUsuario().getId();
+		Long id = orcamento.getId();
+		boolean duplicado;
+		if(orcamento.getCategoria() != null) {
+			Long idCategoria = orcamento.getCategoria().getId();
+			boolean categoriaDoUsuario = categoriaRepository.findById(idCategoria)
+					.map(categoria -> idUsuario.equals(categoria.getUsuario().getId()))
+					.orElse(false);
+			if(!categoriaDoUsuario) {
+				throw new RegraNegocioException("Categoria não encontrada.");
+			}
+			duplicado = id == null 
+					? repository.existsByUsuarioIdAndCategoriaId(idUsuario, idCategoria)
+					: repository.existsByUsuarioIdAndCategoriaIdAndIdNot(idUsuario, idCategoria, id);
+		} else {
+			duplicado = id == null 
+					? repository.existsByUsuarioIdAndTipo(idUsuario, orcamento.getTipo())
+					: repository.existsByUsuarioIdAndTipoAndIdNot(idUsuario, orcamento.getTipo(), id);
+		}
+		if(duplicado) {
+			throw new RegraNegocioException("Já existe um orçamento para este tipo ou categoria.");
+		}
+		
+	}
+	
+	private void recalcularAposAlteracao(Long idUsuario) {
+		notificarAlteracao(idUsuario);
+		recalcularTotais(idUsuario);
+	}
+	
+	private void notificarAlteracao(Long idUsuario) {
+		cacheOrcamentos.invalidar(idUsuario);
+		barramento.publicar(RegiaoCache.ORCAMENTOS_USUARIO, idUsuario);
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.daguiar.minhasfinancas.auditoria.ContextoAutor;
+import com.daguiar.minhasfinancas.model.entity.EventoLancamento;
+import com.daguiar.minhasfinancas.model.entity.HistoricoLancamento;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.HistoricoLancamentoRepository;
+import com.daguiar.minhasfinancas.service.OutboxLancamentoService;
+import com.daguiar.minhasfinancas.service.PublicadorEventosLancamento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class OutboxLancamentoServiceImpl implements OutboxLancamentoService {
+	
+	private EventoLancamentoRepository repository;
+	
+	private HistoricoLancamentoRepository historicoRepository;
+	
+	private PublicadorEventosLancamento publicador;
+	
+	private ObjectMapper objectMapper;
+	
+	public OutboxLancamentoServiceImpl(EventoLancamentoRepository repository, HistoricoLancamentoRepository historicoRepository,
+			PublicadorEventosLancamento publicador, ObjectMapper objectMapper) {
+		this.repository = repository;
+		this.historicoRepository = historicoRepository;
+		this.publicador = publicador;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void registrar(TipoEventoLancamento tipo, Lancamento lancamento) {
+		
+		Map<String, Object> conteudo = new LinkedHashMap<>();
+		conteudo.put("id", lancamento.getId());
+		conteudo.put("descricao", lancamento.getDescricao());
+		conteudo.put("mes", lancamento.getMes());
+		conteudo.put("ano", lancamento.getAno());
+		conteudo.put("valor", lancamento.getValor());
+		conteudo.put("tipo", lancamento.getTipo());
+		conteudo.put("status", lancamento.getStatus());
+		conteudo.put("grupo", lancamento.getGrupo());
+		conteudo.put("parcela", lancamento.getParcela());
+		
+		repository.save(criarEvento(tipo, lancamento.getId(), lancamento.getUsuario().getId(), serializar(conteudo)));
+		
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void registrarAlteracaoEmLote(Long idUsuario, String descricao) {
+		repository.save(criarEvento(TipoEventoLancamento.ALTERACAO_EM_LOTE, null, idUsuario, descricao));
+	}
+
+	@Override
+	@Transactional
+	public int publicarPendentes(int tamanhoLote) {
+		
+		List<EventoLancamento> eventos = repository.findAllByOrderByIdAsc(PageRequest.of(0, tamanhoLote));
+		if(eventos.isEmpty()) {
+			return 0;
+		}
+		
+		publicador.publicar(eventos);
+		repository.deleteAllInBatch(eventos);
+		return eventos.size();
+		
+	}
+	
+	@Override
+	public List<HistoricoLancamento> buscarHistorico(Long idLancamento) {
+		return historicoRepository.findByIdLancamentoOrderByIdAsc(idLancamento);
+	}
+	
+	private EventoLancamento criarEvento(TipoEventoLancamento tipo, Long idLancamento, Long idUsuario, String conteudo) {
+		
+		EventoLancamento evento = new EventoLancamento();
+		evento.setTipo(tipo);
+		evento.setIdLancamento(idLancamento);
+		evento.setIdUsuario(idUsuario);
+		// fora de uma requisição (jobs, ingestão assíncrona) ou sem o cabeçalho, a alteração é do próprio dono
+		evento.setIdAutor(ContextoAutor.atual() != null ? ContextoAutor.atual() : idUsuario);
+		evento.setConteudo(conteudo);
+		evento.setDataEvento(LocalDateTime.now());
+		return evento;
+		
+	}
+	
+	private String serializar(Map<String, Object> conteudo) {
+		try {
+			return objectMapper.writeValueAsString(conteudo);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível serializar o evento do lançamento.", e);
+		}
+	}
+
+}
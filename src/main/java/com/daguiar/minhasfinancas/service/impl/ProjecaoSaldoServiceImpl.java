@@ -0,0 +1,205 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.CacheLocal;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Recorrencia;
+import com.daguiar.minhasfinancas.model.entity.TotalMensal;
+import com.daguiar.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.daguiar.minhasfinancas.model.repository.TotalMensalRepository;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.model.valor.ProjecaoMensal;
+import com.daguiar.minhasfinancas.service.ProjecaoSaldoService;
+
+@Service
+public class ProjecaoSaldoServiceImpl implements ProjecaoSaldoService {
+	
+	private TotalMensalRepository totalRepository;
+	
+	private RecorrenciaRepository recorrenciaRepository;
+	
+	private AcumuladorTotais acumulador;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private final CacheLocal<Long, BaseProjecao> cacheBases;
+	
+	private final int mesesMaximo;
+	
+	public ProjecaoSaldoServiceImpl(TotalMensalRepository totalRepository, RecorrenciaRepository recorrenciaRepository,
+			AcumuladorTotais acumulador, BarramentoInvalidacao barramento,
+			@Value("${minhasfinancas.cache.capacidade-projecoes:10000}") int capacidadeCache,
+			@Value("${minhasfinancas.projecao.meses-maximo:60}") int mesesMaximo) {
+		this.totalRepository = totalRepository;
+		this.recorrenciaRepository = recorrenciaRepository;
+		this.acumulador = acumulador;
+		this.barramento = barramento;
+		this.cacheBases = new CacheLocal<>(capacidadeCache);
+		this.mesesMaximo = mesesMaximo;
+		barramento.registrar(RegiaoCache.LANCAMENTOS_USUARIO, cacheBases::invalidar);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProjecaoMensal> projetar(Long idUsuario, int meses) {
+		
+		if(meses < 1 || meses > mesesMaximo) {
+			throw new RegraNegocioException("Informe uma quantidade de meses entre 1 e " + mesesMaximo + ".");
+		}
+		
+		BaseProjecao base = cacheBases.obter(idUsuario, this::carregarBase);
+		YearMonth inicio = YearMonth.now();
+		YearMonth fim = inicio.plusMonths(meses - 1);
+		
+		// pendências de meses passados continuam esperadas e entram no mês corrente
+		Map<YearMonth, Long> pendentes = new HashMap<>();
+		base.pendentesPorMes.forEach((competencia, valor) -> 
+			pendentes.merge(competencia.isBefore(inicio) ? inicio : competencia, valor, Long::sum));
+		
+		Map<YearMonth, Long> recorrentes = new HashMap<>();
+		for(RecorrenciaProjetada recorrencia : base.recorrencias) {
+			YearMonth competencia = recorrencia.proximaOcorrencia;
+			for(int n = 0; recorrencia.restantes == null || n < recorrencia.restantes; n++) {
+				if(competencia.isAfter(fim)) {
+					break;
+				}
+				recorrentes.merge(competencia.isBefore(inicio) ? inicio : competencia, recorrencia.centavos, Long::sum);
+				competencia = recorrencia.anual ? competencia.plusYears(1) : competencia.plusMonths(1);
+			}
+		}
+		
+		List<ProjecaoMensal> projecao = new ArrayList<>(meses);
+		long saldo = base.saldoEfetivado;
+		for(YearMonth competencia = inicio; !competencia.isAfter(fim); competencia = competencia.plusMonths(1)) {
+			long pendentesDoMes = pendentes.getOrDefault(competencia, 0l);
+			long recorrentesDoMes = recorrentes.getOrDefault(competencia, 0l);
+			saldo += pendentesDoMes + recorrentesDoMes;
+			projecao.add(new ProjecaoMensal(competencia.getYear(), competencia.getMonthValue(), 
+					Dinheiro.deCentavos(pendentesDoMes).toBigDecimal(), 
+					Dinheiro.deCentavos(recorrentesDoMes).toBigDecimal(), 
+					Dinheiro.deCentavos(saldo).toBigDecimal()));
+		}
+		return projecao;
+		
+	}
+	
+	private BaseProjecao carregarBase(Long idUsuario) {
+		
+		BaseProjecao base = new BaseProjecao();
+		for(TotalMensal total : totalRepository.findByUsuarioId(idUsuario)) {
+			if(total.getStatus() == StatusLancamento.EFETIVADO) {
+				base.saldoEfetivado += total.getSaldoCentavos();
+			} else if(total.getStatus() == StatusLancamento.PENDENTE) {
+				base.pendentesPorMes.merge(YearMonth.of(total.getAno(), total.getMes()), total.getSaldoCentavos(), Long::sum);
+			}
+		}
+		
+		// as ocorrências já materializadas são lançamentos pendentes; daqui só sai o que ainda não foi gerado
+		for(Recorrencia recorrencia : recorrenciaRepository.findByUsuarioIdAndAtivaTrue(idUsuario)) {
+			if(recorrencia.isEncerrada()) {
+				continue;
+			}
+			long centavos = Dinheiro.de(recorrencia.getValor()).getCentavos();
+			base.recorrencias.add(new RecorrenciaProjetada(
+					recorrencia.getProximaOcorrencia(),
+					recorrencia.getTipo() == TipoLancamento.RECEITA ? centavos : -centavos,
+					recorrencia.getPeriodicidade() == PeriodicidadeRecorrencia.ANUAL,
+					recorrencia.getQuantidadeOcorrencias() == null ? null 
+							: recorrencia.getQuantidadeOcorrencias() - recorrencia.getOcorrenciasGeradas()));
+		}
+		return base;
+		
+	}
+
+	@Override
+	@Transactional
+	public void contabilizar(EstadoLancamento anterior, EstadoLancamento atual) {
+		if(Objects.equals(anterior, atual)) {
+			return;
+		}
+		acumular(anterior, -1);
+		acumular(atual, 1);
+	}
+	
+	private void acumular(EstadoLancamento estado, int sinal) {
+		
+		if(estado == null || estado.getIdUsuario() == null || estado.getTipo() == null || estado.getStatus() == null) {
+			return;
+		}
+		
+		long valor = sinal * (estado.getTipo() == TipoLancamento.RECEITA ? estado.getCentavos() : -estado.getCentavos());
+		acumulador.acumular("total_mensal", Map.of("id_usuario", estado.getIdUsuario(), "ano", estado.getAno(), 
+				"mes", estado.getMes(), "status", estado.getStatus()), Map.of("saldo_centavos", valor));
+		cacheBases.invalidar(estado.getIdUsuario());
+		
+	}
+
+	@Override
+	@Transactional
+	public void recalcularTotais(Long idUsuario) {
+		totalRepository.excluirPorUsuario(idUsuario);
+		totalRepository.recalcularPorUsuario(idUsuario);
+		cacheBases.invalidar(idUsuario);
+	}
+
+	@Override
+	@Transactional
+	public int preencherTotaisAusentes(int tamanhoLote) {
+		List<Long> usuarios = totalRepository.obterUsuariosSemTotais(tamanhoLote);
+		usuarios.forEach(this::recalcularTotais);
+		return usuarios.size();
+	}
+
+	@Override
+	public void invalidar(Long idUsuario) {
+		cacheBases.invalidar(idUsuario);
+		barramento.publicar(RegiaoCache.LANCAMENTOS_USUARIO, idUsuario);
+	}
+	
+	private static class BaseProjecao {
+		
+		private long saldoEfetivado;
+		
+		private final Map<YearMonth, Long> pendentesPorMes = new HashMap<>();
+		
+		private final List<RecorrenciaProjetada> recorrencias = new ArrayList<>();
+		
+	}
+	
+	private static class RecorrenciaProjetada {
+		
+		private final YearMonth proximaOcorrencia;
+		
+		private final long centavos;
+		
+		private final boolean anual;
+		
+		private final Integer restantes;
+		
+		private RecorrenciaProjetada(YearMonth proximaOcorrencia, long centavos, boolean anual, Integer restantes) {
+			this.proximaOcorrencia = proximaOcorrencia;
+			this.centavos = centavos;
+			this.anual = anual;
+			this.restantes = restantes;
+		}
+		
+	}
+
+}
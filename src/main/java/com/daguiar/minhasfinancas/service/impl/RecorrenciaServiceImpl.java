@@ -0,0 +1,194 @@
+package com.daguiar.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Recorrencia;
+import com.daguiar.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.daguiar.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.service.ProjecaoSaldoService;
+import com.daguiar.minhasfinancas.service.RecorrenciaService;
+
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(RecorrenciaServiceImpl.class);
+	
+	private RecorrenciaRepository repository;
+	
+	private LancamentoService lancamentoService;
+	
+	private ProjecaoSaldoService projecaoService;
+	
+	private TransactionTemplate transacaoPorRegra;
+	
+	public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoService lancamentoService,
+			ProjecaoSaldoService projecaoService, PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+		this.projecaoService = projecaoService;
+		this.transacaoPorRegra = new TransactionTemplate(transactionManager);
+		this.transacaoPorRegra.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia salvar(Recorrencia recorrencia) {
+		validar(recorrencia);
+		recorrencia.setOcorrenciasGeradas(0);
+		recorrencia.setProximaOcorrencia(YearMonth.of(recorrencia.getAnoInicial(), recorrencia.getMesInicial()));
+		recorrencia.setAtiva(true);
+		Recorrencia salva = repository.save(recorrencia);
+		projecaoService.invalidar(salva.getUsuario().getId());
+		return salva;
+	}
+
+	@Override
+	@Transactional
+	public void desativar(Recorrencia recorrencia) {
+		Objects.requireNonNull(recorrencia.getId());
+		recorrencia.setAtiva(false);
+		repository.save(recorrencia);
+		projecaoService.invalidar(recorrencia.getUsuario().getId());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Recorrencia> buscarAtivasPorUsuario(Long idUsuario) {
+		return repository.findByUsuarioIdAndAtivaTrue(idUsuario);
+	}
+
+	@Override
+	public void validar(Recorrencia recorrencia) {
+		
+		if(recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException("Informe uma descrição válida.");
+		}
+		
+		if(recorrencia.getMesInicial() == null || recorrencia.getMesInicial() < 1 || recorrencia.getMesInicial() > 12) {
+			throw new RegraNegocioException("Informe um mês inicial válido.");
+		}
+		
+		if(recorrencia.getAnoInicial() == null || recorrencia.getAnoInicial().toString().length() != 4) {
+			throw new RegraNegocioException("Informe um ano inicial válido.");
+		}
+		
+		if(recorrencia.getUsuario() == null || recorrencia.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		
+		if(recorrencia.getValor() == null || !valorPositivo(recorrencia.getValor())) {
+			throw new RegraNegocioException("Informe um valor válido.");
+		}
+		
+		if(recorrencia.getTipo() == null) {
+			throw new RegraNegocioException("Informe um tipo de lançamento.");
+		}
+		
+		if(recorrencia.getPeriodicidade() == null) {
+			throw new RegraNegocioException("Informe uma periodicidade.");
+		}
+		
+		if(recorrencia.getQuantidadeOcorrencias() != null && recorrencia.getQuantidadeOcorrencias() < 1) {
+			throw new RegraNegocioException("Informe uma quantidade de ocorrências válida.");
+		}
+		
+	}
+
+	@Override
+	public Optional<Recorrencia> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	public int materializarOcorrencias(YearMonth limite, int tamanhoLote) {
+		
+		List<Recorrencia> recorrencias = repository.obterPendentesDeMaterializacao(
+											limite.getYear(), limite.getMonthValue(), PageRequest.of(0, tamanhoLote));
+		
+		// uma transação por regra: a regra que falha é desativada para não desfazer as outras
+		// nem voltar na mesma página a cada execução do job
+		for(Recorrencia recorrencia : recorrencias) {
+			try {
+				transacaoPorRegra.executeWithoutResult(status -> 
+					repository.findById(recorrencia.getId()).ifPresent(gerenciada -> materializar(gerenciada, limite)));
+			} catch(RuntimeException e) {
+				LOG.warn("Recorrência {} desativada por falha ao materializar as ocorrências.", recorrencia.getId(), e);
+				transacaoPorRegra.executeWithoutResult(status -> repository.desativar(recorrencia.getId()));
+				projecaoService.invalidar(recorrencia.getUsuario().getId());
+			}
+		}
+		
+		return recorrencias.size();
+		
+	}
+	
+	private void materializar(Recorrencia recorrencia, YearMonth limite) {
+		
+		List<Lancamento> ocorrencias = new ArrayList<>();
+		YearMonth competencia = recorrencia.getProximaOcorrencia();
+		while(!recorrencia.isEncerrada() && !competencia.isAfter(limite)) {
+			ocorrencias.add(criarOcorrencia(recorrencia, competencia));
+			recorrencia.setOcorrenciasGeradas(recorrencia.getOcorrenciasGeradas() + 1);
+			competencia = obterCompetenciaSeguinte(recorrencia, competencia);
+		}
+		
+		recorrencia.setProximaOcorrencia(competencia);
+		if(recorrencia.isEncerrada()) {
+			recorrencia.setAtiva(false);
+		}
+		
+		lancamentoService.salvarEmLote(ocorrencias);
+		
+	}
+	
+	private YearMonth obterCompetenciaSeguinte(Recorrencia recorrencia, YearMonth competencia) {
+		if(recorrencia.getPeriodicidade() == PeriodicidadeRecorrencia.ANUAL) {
+			return competencia.plusYears(1);
+		}
+		return competencia.plusMonths(1);
+	}
+	
+	private Lancamento criarOcorrencia(Recorrencia recorrencia, YearMonth competencia) {
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setDescricao(recorrencia.getDescricao());
+		lancamento.setValor(recorrencia.getValor());
+		lancamento.setTipo(recorrencia.getTipo());
+		lancamento.setUsuario(recorrencia.getUsuario());
+		lancamento.setMes(competencia.getMonthValue());
+		lancamento.setAno(competencia.getYear());
+		lancamento.setDataCadastro(LocalDate.now());
+		lancamento.setRecorrencia(recorrencia);
+		
+		return lancamento;
+		
+	}
+	
+	private static boolean valorPositivo(BigDecimal valor) {
+		try {
+			return Dinheiro.de(valor).isPositivo();
+		} catch(IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+}
@@ -2,28 +2,47 @@ package com.daguiar.minhasfinancas.service.impl;
 
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.CacheLocal;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
 import com.daguiar.minhasfinancas.exception.ErroAutenticacaoException;
 import com.daguiar.minhasfinancas.exception.RegraNegocioException;
 import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.id.GeradorIds;
 import com.daguiar.minhasfinancas.model.repository.UsuarioRepository;
 import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 	
 	private UsuarioRepository repository;
+	
+	private RoteadorShards roteador;
+	
+	private GeradorIds geradorIds;
+	
+	private BarramentoInvalidacao barramento;
+	
+	private final CacheLocal<Long, Usuario> cacheUsuarios;
 
-	public UsuarioServiceImpl(UsuarioRepository repository) {
+	public UsuarioServiceImpl(UsuarioRepository repository, RoteadorShards roteador, GeradorIds geradorIds,
+			BarramentoInvalidacao barramento, @Value("${minhasfinancas.cache.capacidade-usuarios:10000}") int capacidadeCache) {
 		super();
 		this.repository = repository;
+		this.roteador = roteador;
+		this.geradorIds = geradorIds;
+		this.barramento = barramento;
+		this.cacheUsuarios = new CacheLocal<>(capacidadeCache);
+		barramento.registrar(RegiaoCache.USUARIO, cacheUsuarios::invalidar);
 	}
 
 	@Override
 	public Usuario autenticar(String email, String senha) {
-		Optional<Usuario> usuario = repository.findByEmail(email);
+		Optional<Usuario> usuario = roteador.buscarEmTodos(() -> repository.findByEmail(email));
 		if(!usuario.isPresent()) {
 			throw new ErroAutenticacaoException("Usuário não encontrado para o e-mail informado.");
 		}
@@ -36,25 +55,36 @@ public class UsuarioServiceImpl implements UsuarioService {
 	}
 
 	@Override
-	@Transactional
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
-		return repository.save(usuario);
+		// o id é definido antes da gravação porque é ele que escolhe o shard do usuário
+		if(usuario.getId() == null) {
+			usuario.setId(geradorIds.proximo());
+		}
+		Usuario salvo = roteador.executarComoUsuario(usuario.getId(), () -> repository.save(usuario));
+		cacheUsuarios.invalidar(salvo.getId());
+		barramento.publicar(RegiaoCache.USUARIO, salvo.getId());
+		return salvo;
 	}
 
 	@Override
 	public void validarEmail(String email) {
 		
-		boolean existeEmail = repository.existsByEmail(email);
+		boolean existeEmail = roteador.existeEmAlgum(() -> repository.existsByEmail(email));
 		if(existeEmail) {
 			throw new RegraNegocioException("Já existe um usuário cadastrado com este e-mail.");
 		}
 		
 	}
 
+	// o id já diz o shard do usuário; a busca não depende do contexto da requisição
 	@Override
 	public Optional<Usuario> obterPorID(Long id) {
-		return repository.findById(id);
+		if(id == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(cacheUsuarios.obter(id, chave -> 
+				roteador.executarComoUsuario(chave, () -> repository.findById(chave)).orElse(null)));
 	}
 
 }
@@ -0,0 +1,61 @@
+package com.daguiar.minhasfinancas.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class AnelConsistente {
+	
+	private final TreeMap<Long, String> anel = new TreeMap<>();
+	
+	public AnelConsistente(Collection<String> shards, int nosVirtuais) {
+		
+		if(shards.isEmpty() || nosVirtuais < 1) {
+			throw new IllegalArgumentException("Informe ao menos um shard e um nó virtual por shard.");
+		}
+		
+		MessageDigest md5 = criarMd5();
+		for(String shard : shards) {
+			for(int i = 0; i < nosVirtuais; i++) {
+				anel.putIfAbsent(posicao(md5, shard + "#" + i), shard);
+			}
+		}
+		
+	}
+	
+	public String obterShard(long chave) {
+		Map.Entry<Long, String> entrada = anel.ceilingEntry(misturar(chave));
+		return entrada != null ? entrada.getValue() : anel.firstEntry().getValue();
+	}
+	
+	private static long posicao(MessageDigest md5, String no) {
+		byte[] resumo = md5.digest(no.getBytes(StandardCharsets.UTF_8));
+		long posicao = 0;
+		for(int i = 0; i < Long.BYTES; i++) {
+			posicao = (posicao << 8) | (resumo[i] & 0xff);
+		}
+		return posicao;
+	}
+	
+	// ids sequenciais precisam ser espalhados antes de cair no anel
+	private static long misturar(long chave) {
+		chave ^= chave >>> 33;
+		chave *= 0xff51afd7ed558ccdL;
+		chave ^= chave >>> 33;
+		chave *= 0xc4ceb9fe1a85ec53L;
+		chave ^= chave >>> 33;
+		return chave;
+	}
+	
+	private static MessageDigest criarMd5() {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
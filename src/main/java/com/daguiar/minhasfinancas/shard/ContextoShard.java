@@ -0,0 +1,26 @@
+package com.daguiar.minhasfinancas.shard;
+
+public final class ContextoShard {
+	
+	private static final ThreadLocal<String> SHARD_ATUAL = new ThreadLocal<>();
+	
+	private ContextoShard() {
+	}
+	
+	public static String atual() {
+		return SHARD_ATUAL.get();
+	}
+	
+	public static void definir(String shard) {
+		if(shard == null) {
+			SHARD_ATUAL.remove();
+		} else {
+			SHARD_ATUAL.set(shard);
+		}
+	}
+	
+	public static void limpar() {
+		SHARD_ATUAL.remove();
+	}
+
+}
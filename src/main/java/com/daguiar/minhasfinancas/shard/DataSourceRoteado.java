@@ -0,0 +1,22 @@
+package com.daguiar.minhasfinancas.shard;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+public class DataSourceRoteado extends AbstractRoutingDataSource {
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return ContextoShard.atual();
+	}
+	
+	public DataSource obterDataSource(String shard) {
+		DataSource dataSource = getResolvedDataSources().get(shard);
+		if(dataSource == null) {
+			throw new IllegalArgumentException("Shard desconhecido: " + shard);
+		}
+		return dataSource;
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.daguiar.minhasfinancas.shard;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.shards.habilitado", havingValue = "true")
+public class InterceptorShardUsuario implements HandlerInterceptor {
+	
+	public static final String CABECALHO_USUARIO = "X-Usuario";
+	
+	private RoteadorShards roteador;
+	
+	public InterceptorShardUsuario(RoteadorShards roteador) {
+		this.roteador = roteador;
+	}
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		
+		String usuario = request.getHeader(CABECALHO_USUARIO);
+		if(usuario == null) {
+			usuario = request.getParameter("usuario");
+		}
+		
+		if(usuario != null && !usuario.isBlank()) {
+			try {
+				ContextoShard.definir(roteador.shardDoUsuario(Long.valueOf(usuario.trim())));
+			} catch(NumberFormatException e) {
+				response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+				return false;
+			}
+			return true;
+		}
+		
+		// sem o usuário a requisição cairia no shard padrão, onde os dados da maioria dos usuários não estão
+		if(request.getDispatcherType() == DispatcherType.REQUEST && handler instanceof HandlerMethod
+				&& !((HandlerMethod) handler).hasMethodAnnotation(RoteamentoProprio.class)) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return false;
+		}
+		return true;
+		
+	}
+	
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		ContextoShard.limpar();
+	}
+
+}
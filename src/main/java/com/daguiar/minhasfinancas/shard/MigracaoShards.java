@@ -0,0 +1,135 @@
+package com.daguiar.minhasfinancas.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class MigracaoShards {
+	
+	// ordem de inserção respeitando as chaves estrangeiras; a exclusão segue a ordem inversa
+	private static final List<TabelaUsuario> TABELAS = List.of(
+			new TabelaUsuario("financas.usuario", "id", false),
+			new TabelaUsuario("financas.categoria", "id_usuario", false),
+			new TabelaUsuario("financas.orcamento", "id_usuario", false),
+			new TabelaUsuario("financas.recorrencia", "id_usuario", false),
+			new TabelaUsuario("financas.conta", "id_usuario", false),
+			new TabelaUsuario("financas.livro", "id_usuario", false),
+			new TabelaUsuario("financas.membro_livro", "id_usuario", true),
+			new TabelaUsuario("financas.lancamento", "id_usuario", false),
+			new TabelaUsuario("financas.lancamento_arquivado", "id_usuario", false),
+			new TabelaUsuario("financas.resumo_arquivado", "id_usuario", true),
+			new TabelaUsuario("financas.total_categoria", "id_usuario", true),
+			new TabelaUsuario("financas.total_orcamento", "id_usuario", true),
+			new TabelaUsuario("financas.total_mensal", "id_usuario", true),
+			new TabelaUsuario("financas.saldo_conta", "id_usuario", true),
+			new TabelaUsuario("financas.evento_lancamento_outbox", "id_usuario", false),
+			new TabelaUsuario("financas.historico_lancamento", "id_usuario", false));
+	
+	private DataSourceRoteado dataSource;
+	
+	private RoteadorShards roteador;
+	
+	public MigracaoShards(DataSourceRoteado dataSource, RoteadorShards roteador) {
+		this.dataSource = dataSource;
+		this.roteador = roteador;
+	}
+	
+	public int rebalancear() {
+		
+		int migrados = 0;
+		for(String origem : roteador.getShards()) {
+			
+			List<Long> usuarios = new JdbcTemplate(dataSource.obterDataSource(origem))
+										.queryForList("select id from financas.usuario", Long.class);
+			for(Long idUsuario : usuarios) {
+				String destino = roteador.shardDoUsuario(idUsuario);
+				if(!destino.equals(origem)) {
+					migrar(idUsuario, origem, destino);
+					migrados++;
+				}
+			}
+			
+		}
+		return migrados;
+		
+	}
+	
+	public void migrar(Long idUsuario, String origem, String destino) {
+		
+		if(origem.equals(destino)) {
+			return;
+		}
+		
+		JdbcTemplate jdbcOrigem = new JdbcTemplate(dataSource.obterDataSource(origem));
+		JdbcTemplate jdbcDestino = new JdbcTemplate(dataSource.obterDataSource(destino));
+		
+		List<List<Map<String, Object>>> linhasPorTabela = new ArrayList<>();
+		for(TabelaUsuario tabela : TABELAS) {
+			linhasPorTabela.add(jdbcOrigem.queryForList(
+					"select * from " + tabela.nome + " where " + tabela.colunaUsuario + " = ?", idUsuario));
+		}
+		
+		// a cópia substitui restos de uma migração interrompida, o que permite repetir a operação
+		transacao(jdbcDestino).executeWithoutResult(status -> {
+			excluir(jdbcDestino, idUsuario);
+			for(int i = 0; i < TABELAS.size(); i++) {
+				inserir(jdbcDestino, TABELAS.get(i), linhasPorTabela.get(i));
+			}
+		});
+		transacao(jdbcOrigem).executeWithoutResult(status -> excluir(jdbcOrigem, idUsuario));
+		
+	}
+	
+	private void excluir(JdbcTemplate jdbc, Long idUsuario) {
+		for(int i = TABELAS.size() - 1; i >= 0; i--) {
+			TabelaUsuario tabela = TABELAS.get(i);
+			jdbc.update("delete from " + tabela.nome + " where " + tabela.colunaUsuario + " = ?", idUsuario);
+		}
+	}
+	
+	private void inserir(JdbcTemplate jdbc, TabelaUsuario tabela, List<Map<String, Object>> linhas) {
+		
+		if(linhas.isEmpty()) {
+			return;
+		}
+		
+		List<String> colunas = linhas.get(0).keySet().stream()
+									.filter(coluna -> !tabela.idLocal || !coluna.equalsIgnoreCase("id"))
+									.collect(Collectors.toList());
+		String sql = "insert into " + tabela.nome + " (" + String.join(", ", colunas) + ") values ("
+				+ colunas.stream().map(coluna -> "?").collect(Collectors.joining(", ")) + ")";
+		
+		List<Object[]> valores = linhas.stream()
+									.map(linha -> colunas.stream().map(linha::get).toArray())
+									.collect(Collectors.toList());
+		jdbc.batchUpdate(sql, valores);
+		
+	}
+	
+	private TransactionTemplate transacao(JdbcTemplate jdbc) {
+		return new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+	}
+	
+	private static class TabelaUsuario {
+		
+		private final String nome;
+		
+		private final String colunaUsuario;
+		
+		// ids gerados pelo próprio banco não são copiados para não colidir no destino
+		private final boolean idLocal;
+		
+		private TabelaUsuario(String nome, String colunaUsuario, boolean idLocal) {
+			this.nome = nome;
+			this.colunaUsuario = colunaUsuario;
+			this.idLocal = idLocal;
+		}
+		
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.daguiar.minhasfinancas.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+public class RebalanceamentoShardsRunner implements ApplicationRunner {
+	
+	private static final Logger LOG = LoggerFactory.getLogger(RebalanceamentoShardsRunner.class);
+	
+	public static final String OPCAO = "rebalancear-shards";
+	
+	private MigracaoShards migracao;
+	
+	public RebalanceamentoShardsRunner(MigracaoShards migracao) {
+		this.migracao = migracao;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if(args.containsOption(OPCAO)) {
+			int migrados = migracao.rebalancear();
+			LOG.info("Rebalanceamento de shards concluído: {} usuários migrados.", migrados);
+		}
+	}
+
+}
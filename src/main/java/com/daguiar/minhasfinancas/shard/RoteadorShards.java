@@ -0,0 +1,89 @@
+package com.daguiar.minhasfinancas.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class RoteadorShards {
+	
+	private final List<String> shards;
+	
+	private final AnelConsistente anel;
+	
+	public RoteadorShards(@Value("${minhasfinancas.shards.nomes:padrao}") String[] shards,
+			@Value("${minhasfinancas.shards.nos-virtuais:128}") int nosVirtuais) {
+		this.shards = List.of(shards);
+		this.anel = new AnelConsistente(this.shards, nosVirtuais);
+	}
+	
+	public List<String> getShards() {
+		return shards;
+	}
+	
+	public String shardDoUsuario(Long idUsuario) {
+		return anel.obterShard(idUsuario);
+	}
+	
+	// a conexão é escolhida ao abrir a transação; chamar antes de entrar no serviço transacional
+	public <T> T executarComoUsuario(Long idUsuario, Supplier<T> operacao) {
+		return executarNoShard(shardDoUsuario(idUsuario), operacao);
+	}
+	
+	public <T> T executarNoShard(String shard, Supplier<T> operacao) {
+		String anterior = ContextoShard.atual();
+		// com um EntityManager ou transação já presos à thread a conexão continua no shard anterior
+		String efetivo = anterior == null ? shards.get(0) : anterior;
+		if(!shard.equals(efetivo) && !TransactionSynchronizationManager.getResourceMap().isEmpty()) {
+			throw new IllegalStateException("Troca para o shard " + shard + " com uma conexão aberta no shard " + efetivo + ".");
+		}
+		ContextoShard.definir(shard);
+		try {
+			return operacao.get();
+		} finally {
+			ContextoShard.definir(anterior);
+		}
+	}
+	
+	public void paraCadaShard(Runnable operacao) {
+		for(String shard : shards) {
+			executarNoShard(shard, () -> {
+				operacao.run();
+				return null;
+			});
+		}
+	}
+	
+	// o shard da requisição vem primeiro; os demais só são consultados quando nada é encontrado nele
+	public <T> Optional<T> buscarEmTodos(Supplier<Optional<T>> busca) {
+		for(String shard : ordemDeBusca()) {
+			Optional<T> encontrado = executarNoShard(shard, busca);
+			if(encontrado.isPresent()) {
+				return encontrado;
+			}
+		}
+		return Optional.empty();
+	}
+	
+	public boolean existeEmAlgum(BooleanSupplier condicao) {
+		return buscarEmTodos(() -> condicao.getAsBoolean() ? Optional.of(true) : Optional.empty()).isPresent();
+	}
+	
+	private List<String> ordemDeBusca() {
+		String atual = ContextoShard.atual();
+		if(atual == null || atual.equals(shards.get(0))) {
+			return shards;
+		}
+		List<String> ordem = new ArrayList<>(shards.size());
+		ordem.add(atual);
+		shards.stream().filter(shard -> !shard.equals(atual)).forEach(ordem::add);
+		return ordem;
+	}
+
+}
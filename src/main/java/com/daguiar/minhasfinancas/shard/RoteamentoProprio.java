@@ -0,0 +1,14 @@
+package com.daguiar.minhasfinancas.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// endpoint que escolhe o shard sozinho (pelo corpo, pelo dono do registro ou procurando em todos);
+// dispensa o usuário no cabeçalho ou nos parâmetros
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RoteamentoProprio {
+
+}
@@ -3,7 +3,7 @@ package com.daguiar.minhasfinancas;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "minhasfinancas.id.no=0")
 class MinhasfinancasApplicationTests {
 
 	@Test
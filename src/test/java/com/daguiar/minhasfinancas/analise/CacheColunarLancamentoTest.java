@@ -0,0 +1,94 @@
+package com.daguiar.minhasfinancas.analise;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.UsuarioRepository;
+import com.daguiar.minhasfinancas.model.valor.Dinheiro;
+import com.daguiar.minhasfinancas.service.AnaliseLancamentoService;
+import com.daguiar.minhasfinancas.service.ArquivoLancamentoService;
+import com.daguiar.minhasfinancas.service.LancamentoService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class CacheColunarLancamentoTest {
+	
+	@Autowired
+	AnaliseLancamentoService analiseService;
+	
+	@Autowired
+	ArquivoLancamentoService arquivoService;
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Test
+	public void deveManterAsAnalisesDosAnosArquivados() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setNome("usuario");
+		usuario.setEmail("analise.arquivo@email.com");
+		usuario.setSenha("senha");
+		usuario = usuarioRepository.save(usuario);
+		Long id = usuario.getId();
+		
+		criarLancamento(usuario, 2010, 1, "aluguel", TipoLancamento.DESPESA, 1500);
+		criarLancamento(usuario, 2010, 1, "mercado", TipoLancamento.DESPESA, 320);
+		criarLancamento(usuario, 2010, 2, "mercado", TipoLancamento.DESPESA, 280);
+		criarLancamento(usuario, 2010, 2, "salario", TipoLancamento.RECEITA, 5000);
+		criarLancamento(usuario, 2021, 3, "aluguel", TipoLancamento.DESPESA, 1600);
+		
+		List<BigDecimal> mensaisAntes = analiseService.obterTotaisMensais(id, 2010, TipoLancamento.DESPESA, null);
+		Map<TipoLancamento, Map<StatusLancamento, BigDecimal>> tiposAntes = analiseService.obterTotaisPorTipoEStatus(id, null);
+		Map<TipoLancamento, Map<StatusLancamento, BigDecimal>> tiposDoAnoAntes = analiseService.obterTotaisPorTipoEStatus(id, 2010);
+		Map<String, BigDecimal> descricoesAntes = analiseService.obterMaioresDescricoes(id, TipoLancamento.DESPESA, null, 10);
+		
+		arquivoService.arquivarAntesDe(2011, 100);
+		
+		Assertions.assertThat(lancamentoRepository.obterColunasPorUsuario(id)).hasSize(1);
+		Assertions.assertThat(analiseService.obterTotaisMensais(id, 2010, TipoLancamento.DESPESA, null))
+			.isEqualTo(mensaisAntes)
+			.startsWith(new BigDecimal("18.20"), new BigDecimal("2.80"));
+		Assertions.assertThat(analiseService.obterTotaisPorTipoEStatus(id, null)).isEqualTo(tiposAntes);
+		Assertions.assertThat(analiseService.obterTotaisPorTipoEStatus(id, 2010)).isEqualTo(tiposDoAnoAntes);
+		Assertions.assertThat(analiseService.obterMaioresDescricoes(id, TipoLancamento.DESPESA, null, 10))
+			.isEqualTo(descricoesAntes)
+			.containsEntry("aluguel", new BigDecimal("31.00"));
+		
+	}
+	
+	private void criarLancamento(Usuario usuario, int ano, int mes, String descricao, TipoLancamento tipo, long centavos) {
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		lancamento.setDescricao(descricao);
+		lancamento.setTipo(tipo);
+		lancamento.setValorMonetario(Dinheiro.deCentavos(centavos));
+		lancamentoService.salvar(lancamento);
+		
+	}
+
+}
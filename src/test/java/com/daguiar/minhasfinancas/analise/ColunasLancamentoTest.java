@@ -0,0 +1,77 @@
+package com.daguiar.minhasfinancas.analise;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+public class ColunasLancamentoTest {
+	
+	private static final int ALTERACOES = 50000;
+	
+	@Test
+	public void deveManterOsTotaisAoLongoDeMuitasAlteracoes() {
+		
+		Random aleatorio = new Random(1);
+		Map<Long, Long> esperados = new HashMap<>();
+		ColunasLancamento colunas = ColunasLancamento.construtor(0).construir();
+		for(int i = 0; i < ALTERACOES; i++) {
+			long id = aleatorio.nextInt(2000);
+			if(aleatorio.nextInt(4) == 0) {
+				colunas = colunas.semLancamento(id);
+				esperados.remove(id);
+			} else {
+				long centavos = aleatorio.nextInt(10000);
+				colunas = colunas.comLancamento(criarLancamento(id), centavos);
+				esperados.put(id, centavos);
+			}
+		}
+		
+		Assertions.assertThat(colunas.getTamanho()).isEqualTo(esperados.size());
+		Assertions.assertThat(somar(colunas)).isEqualTo(esperados.values().stream().mapToLong(Long::longValue).sum());
+		
+	}
+	
+	@Test
+	public void deveManterORetratoAnteriorInalteradoAposNovasEscritas() {
+		
+		ColunasLancamento anterior = ColunasLancamento.construtor(0)
+				.adicionar(1l, 2021, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 100, "salario")
+				.adicionar(2l, 2021, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 200, "bonus")
+				.construir();
+		
+		ColunasLancamento atual = anterior.comLancamento(criarLancamento(1l), 1000).semLancamento(2l);
+		ColunasLancamento ramificado = anterior.semLancamento(1l);
+		
+		Assertions.assertThat(somar(anterior)).isEqualTo(300);
+		Assertions.assertThat(somar(atual)).isEqualTo(1000);
+		Assertions.assertThat(somar(ramificado)).isEqualTo(200);
+		Assertions.assertThat(somar(atual)).isEqualTo(1000);
+		
+	}
+	
+	private static long somar(ColunasLancamento colunas) {
+		long total = 0;
+		for(long centavos : colunas.totaisPorMes(2021, TipoLancamento.RECEITA, null)) {
+			total += centavos;
+		}
+		return total;
+	}
+	
+	private static Lancamento criarLancamento(long id) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setId(id);
+		lancamento.setAno(2021);
+		lancamento.setMes(1 + (int) (id % 12));
+		lancamento.setTipo(TipoLancamento.RECEITA);
+		lancamento.setStatus(StatusLancamento.PENDENTE);
+		return lancamento;
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.daguiar.minhasfinancas.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.daguiar.minhasfinancas.categorizacao.MatcherCategorias;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategorizacaoBenchmark {
+	
+	private static final String LETRAS = "abcdefghijklmnopqrstuvwxyz";
+	
+	@Param({ "1000" })
+	private int quantidadeRegras;
+	
+	@Param({ "100000" })
+	private int quantidadeDescricoes;
+	
+	private List<Categoria> categorias;
+	
+	private List<String> descricoes;
+	
+	private MatcherCategorias matcher;
+	
+	@Setup
+	public void setUp() {
+		
+		Random aleatorio = new Random(42);
+		List<String> palavrasChave = new ArrayList<>();
+		categorias = new ArrayList<>();
+		for(int i = 0; i < quantidadeRegras; i++) {
+			String palavraChave = palavra(aleatorio, 5 + aleatorio.nextInt(6));
+			palavrasChave.add(palavraChave);
+			Categoria categoria = new Categoria();
+			categoria.setId((long) i);
+			categoria.setNome("categoria " + i);
+			categoria.setPalavrasChave(palavraChave);
+			categorias.add(categoria);
+		}
+		
+		descricoes = new ArrayList<>(quantidadeDescricoes);
+		for(int i = 0; i < quantidadeDescricoes; i++) {
+			String descricao = "COMPRA CARTAO " + palavra(aleatorio, 8) + " " + palavra(aleatorio, 6);
+			if(aleatorio.nextInt(3) > 0) {
+				descricao += " " + palavrasChave.get(aleatorio.nextInt(palavrasChave.size())).toUpperCase(Locale.ROOT);
+			}
+			descricoes.add(descricao);
+		}
+		
+		matcher = MatcherCategorias.compilar(categorias);
+		
+	}
+	
+	@Benchmark
+	public void regrasComContains(Blackhole blackhole) {
+		for(String descricao : descricoes) {
+			String normalizada = descricao.toLowerCase(Locale.ROOT);
+			Long encontrada = null;
+			for(Categoria categoria : categorias) {
+				if(normalizada.contains(categoria.getPalavrasChave())) {
+					encontrada = categoria.getId();
+					break;
+				}
+			}
+			blackhole.consume(encontrada);
+		}
+	}
+	
+	@Benchmark
+	public void automatoAhoCorasick(Blackhole blackhole) {
+		for(String descricao : descricoes) {
+			Optional<Long> encontrada = matcher.classificar(descricao);
+			blackhole.consume(encontrada);
+		}
+	}
+	
+	@Benchmark
+	public MatcherCategorias compilacaoDoAutomato() {
+		return MatcherCategorias.compilar(categorias);
+	}
+	
+	private static String palavra(Random aleatorio, int tamanho) {
+		StringBuilder palavra = new StringBuilder(tamanho);
+		for(int i = 0; i < tamanho; i++) {
+			palavra.append(LETRAS.charAt(aleatorio.nextInt(LETRAS.length())));
+		}
+		return palavra.toString();
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(CategorizacaoBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+
+}
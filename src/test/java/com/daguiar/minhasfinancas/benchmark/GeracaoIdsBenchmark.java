@@ -0,0 +1,98 @@
+package com.daguiar.minhasfinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.daguiar.minhasfinancas.model.id.SequenciaSnowflake;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class GeracaoIdsBenchmark {
+	
+	private SequenciaSnowflake sequenciaSemLock;
+	
+	private SequenciaSincronizada sequenciaSincronizada;
+	
+	private AtomicLong contador;
+	
+	@Setup
+	public void setUp() {
+		sequenciaSemLock = new SequenciaSnowflake(1, SequenciaSnowflake.TOLERANCIA_RELOGIO_PADRAO_MS);
+		sequenciaSincronizada = new SequenciaSincronizada(1);
+		contador = new AtomicLong();
+	}
+	
+	@Benchmark
+	public long snowflakeSemLock() {
+		return sequenciaSemLock.proximo();
+	}
+	
+	@Benchmark
+	public long snowflakeSincronizado() {
+		return sequenciaSincronizada.proximo();
+	}
+	
+	@Benchmark
+	public long contadorAtomico() {
+		return contador.incrementAndGet();
+	}
+	
+	// implementação anterior, mantida como referência
+	private static class SequenciaSincronizada {
+		
+		private final long no;
+		
+		private long ultimoInstante = -1;
+		
+		private long sequencia;
+		
+		private SequenciaSincronizada(long no) {
+			this.no = no;
+		}
+		
+		private synchronized long proximo() {
+			long instante = System.currentTimeMillis();
+			if(instante == ultimoInstante) {
+				sequencia = (sequencia + 1) & 4095;
+				if(sequencia == 0) {
+					while(instante <= ultimoInstante) {
+						instante = System.currentTimeMillis();
+					}
+				}
+			} else {
+				sequencia = 0;
+			}
+			ultimoInstante = instante;
+			return ((instante - SequenciaSnowflake.EPOCA) << 22) | (no << 12) | sequencia;
+		}
+		
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(GeracaoIdsBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+
+}
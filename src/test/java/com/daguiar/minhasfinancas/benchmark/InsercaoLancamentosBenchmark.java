@@ -0,0 +1,128 @@
+package com.daguiar.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.daguiar.minhasfinancas.model.id.SequenciaSnowflake;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsercaoLancamentosBenchmark {
+	
+	private static final int TAMANHO_LOTE = 50;
+	
+	@Param({ "1000" })
+	private int quantidade;
+	
+	private Connection conexao;
+	
+	private SequenciaSnowflake sequencia;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		
+		conexao = DriverManager.getConnection("jdbc:h2:mem:insercao;DB_CLOSE_DELAY=-1", "sa", "sa");
+		try(Statement comando = conexao.createStatement()) {
+			comando.execute("create table lancamento_identity (id bigint auto_increment primary key, "
+						  + "descricao varchar(100), valor decimal(19, 2), id_usuario bigint)");
+			comando.execute("create table lancamento_id_global (id bigint primary key, "
+						  + "descricao varchar(100), valor decimal(19, 2), id_usuario bigint)");
+		}
+		sequencia = new SequenciaSnowflake(1, SequenciaSnowflake.TOLERANCIA_RELOGIO_PADRAO_MS);
+		
+	}
+	
+	@Setup(Level.Iteration)
+	public void limpar() throws SQLException {
+		try(Statement comando = conexao.createStatement()) {
+			comando.execute("truncate table lancamento_identity");
+			comando.execute("truncate table lancamento_id_global");
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		conexao.close();
+	}
+	
+	// o que o IDENTITY impõe ao Hibernate: um insert por vez para ler a chave gerada
+	@Benchmark
+	public long identityUmPorVez() throws SQLException {
+		
+		long ultimoId = 0;
+		try(PreparedStatement insert = conexao.prepareStatement(
+				"insert into lancamento_identity (descricao, valor, id_usuario) values (?, ?, ?)",
+				Statement.RETURN_GENERATED_KEYS)) {
+			for(int i = 0; i < quantidade; i++) {
+				insert.setString(1, "Lançamento " + i);
+				insert.setBigDecimal(2, BigDecimal.valueOf(i, 2));
+				insert.setLong(3, 1l);
+				insert.executeUpdate();
+				try(ResultSet chaves = insert.getGeneratedKeys()) {
+					chaves.next();
+					ultimoId = chaves.getLong(1);
+				}
+			}
+		}
+		return ultimoId;
+		
+	}
+	
+	@Benchmark
+	public long idGlobalEmLote() throws SQLException {
+		
+		long ultimoId = 0;
+		try(PreparedStatement insert = conexao.prepareStatement(
+				"insert into lancamento_id_global (id, descricao, valor, id_usuario) values (?, ?, ?, ?)")) {
+			for(int i = 0; i < quantidade; i++) {
+				ultimoId = sequencia.proximo();
+				insert.setLong(1, ultimoId);
+				insert.setString(2, "Lançamento " + i);
+				insert.setBigDecimal(3, BigDecimal.valueOf(i, 2));
+				insert.setLong(4, 1l);
+				insert.addBatch();
+				if((i + 1) % TAMANHO_LOTE == 0) {
+					insert.executeBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+		return ultimoId;
+		
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(InsercaoLancamentosBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.daguiar.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.daguiar.minhasfinancas.api.cache.CacheLancamentoSerializado;
+import com.daguiar.minhasfinancas.api.dto.LancamentoDTO;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+	
+	private ObjectMapper objectMapperPadrao;
+	
+	private ObjectMapper objectMapperBlackbird;
+	
+	private CacheLancamentoSerializado cache;
+	
+	private Lancamento lancamento;
+	
+	private LancamentoDTO dto;
+	
+	@Setup
+	public void setUp() {
+		
+		objectMapperPadrao = new ObjectMapper();
+		objectMapperBlackbird = new ObjectMapper()
+				.registerModule(new BlackbirdModule())
+				.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+		cache = new CacheLancamentoSerializado(objectMapperBlackbird, 1000);
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		usuario.setNome("usuario");
+		usuario.setEmail("usuario@email.com");
+		
+		lancamento = new Lancamento();
+		lancamento.setId(1l);
+		lancamento.setVersao(3l);
+		lancamento.setDescricao("Supermercado");
+		lancamento.setMes(5);
+		lancamento.setAno(2021);
+		lancamento.setValor(new BigDecimal("432.17"));
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		lancamento.setUsuario(usuario);
+		
+		dto = new LancamentoDTO();
+		dto.setId(lancamento.getId());
+		dto.setDescricao(lancamento.getDescricao());
+		dto.setMes(lancamento.getMes());
+		dto.setAno(lancamento.getAno());
+		dto.setValor(lancamento.getValor());
+		dto.setTipo(lancamento.getTipo().name());
+		dto.setStatus(lancamento.getStatus().name());
+		dto.setUsuario(usuario.getId());
+		
+	}
+	
+	@Benchmark
+	public byte[] entidadeComObjectMapperPadrao() throws JsonProcessingException {
+		return objectMapperPadrao.writeValueAsBytes(lancamento);
+	}
+	
+	@Benchmark
+	public byte[] dtoComObjectMapperPadrao() throws JsonProcessingException {
+		return objectMapperPadrao.writeValueAsBytes(dto);
+	}
+	
+	@Benchmark
+	public byte[] dtoComBlackbird() throws JsonProcessingException {
+		return objectMapperBlackbird.writeValueAsBytes(dto);
+	}
+	
+	@Benchmark
+	public byte[] dtoComCacheSerializado() {
+		return cache.obter(lancamento, () -> dto);
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(SerializacaoLancamentoBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.daguiar.minhasfinancas.cambio;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.daguiar.minhasfinancas.model.entity.CotacaoMoeda;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+
+public class TabelaCotacoesTest {
+	
+	private static final LocalDate SEGUNDA = LocalDate.of(2021, 1, 4);
+	
+	@Test
+	public void deveConverterPelaCotacaoDoDiaDoLancamento() {
+		
+		TabelaCotacoes tabela = TabelaCotacoes.de(List.of(
+				cotacao(Moeda.USD, SEGUNDA, "5.0"), 
+				cotacao(Moeda.USD, SEGUNDA.plusDays(1), "5.5"),
+				cotacao(Moeda.EUR, SEGUNDA, "6.123456")));
+		
+		Assertions.assertThat(tabela.converter(10000, Moeda.USD, SEGUNDA)).isEqualTo(50000);
+		Assertions.assertThat(tabela.converter(10000, Moeda.USD, SEGUNDA.plusDays(1))).isEqualTo(55000);
+		Assertions.assertThat(tabela.converter(1, Moeda.EUR, SEGUNDA)).isEqualTo(6);
+		Assertions.assertThat(tabela.converter(-250, Moeda.EUR, SEGUNDA)).isEqualTo(-1531);
+		
+	}
+	
+	@Test
+	public void deveUsarAUltimaCotacaoParaDatasForaDaTabela() {
+		
+		TabelaCotacoes tabela = TabelaCotacoes.de(List.of(
+				cotacao(Moeda.USD, SEGUNDA, "5.0"), 
+				cotacao(Moeda.USD, SEGUNDA.plusDays(3), "5.2")));
+		
+		Assertions.assertThat(tabela.converter(100, Moeda.USD, SEGUNDA.minusDays(10))).isEqualTo(520);
+		Assertions.assertThat(tabela.converter(100, Moeda.USD, SEGUNDA.plusDays(1))).isEqualTo(520);
+		Assertions.assertThat(tabela.converter(100, Moeda.USD, SEGUNDA.plusDays(30))).isEqualTo(520);
+		Assertions.assertThat(tabela.converterPelaUltima(100, Moeda.USD)).isEqualTo(520);
+		
+	}
+	
+	@Test
+	public void naoDeveConverterReaisNemMoedasSemCotacao() {
+		
+		TabelaCotacoes tabela = TabelaCotacoes.vazia();
+		
+		Assertions.assertThat(tabela.converter(12345, Moeda.BRL, SEGUNDA)).isEqualTo(12345);
+		Assertions.assertThat(tabela.converter(12345, null, SEGUNDA)).isEqualTo(12345);
+		Assertions.assertThat(tabela.converter(12345, Moeda.USD, SEGUNDA)).isEqualTo(12345);
+		
+	}
+	
+	private CotacaoMoeda cotacao(Moeda moeda, LocalDate data, String taxa) {
+		CotacaoMoeda cotacao = new CotacaoMoeda();
+		cotacao.setMoeda(moeda);
+		cotacao.setData(data);
+		cotacao.setTaxa(new BigDecimal(taxa));
+		return cotacao;
+	}
+
+}
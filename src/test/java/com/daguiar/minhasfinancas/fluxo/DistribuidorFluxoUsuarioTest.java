@@ -0,0 +1,57 @@
+package com.daguiar.minhasfinancas.fluxo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DistribuidorFluxoUsuarioTest {
+	
+	@Test
+	public void deveDescartarOAssinanteQueNaoAcompanhaOsEventos() {
+		
+		// um executor que nunca roda simula um cliente que parou de ler
+		DistribuidorFluxoUsuario distribuidor = new DistribuidorFluxoUsuario(tarefa -> {}, 60000, 2, 5);
+		distribuidor.assinar(1l);
+		
+		distribuidor.publicar(1l, DistribuidorFluxoUsuario.EVENTO_SINCRONIZACAO, Map.of());
+		distribuidor.publicar(1l, DistribuidorFluxoUsuario.EVENTO_SINCRONIZACAO, Map.of());
+		Assertions.assertThat(distribuidor.possuiAssinantes(1l)).isTrue();
+		
+		distribuidor.publicar(1l, DistribuidorFluxoUsuario.EVENTO_SINCRONIZACAO, Map.of());
+		Assertions.assertThat(distribuidor.possuiAssinantes(1l)).isFalse();
+		Assertions.assertThat(distribuidor.getDescartadas()).isEqualTo(1);
+		
+	}
+	
+	@Test
+	public void deveEnviarSomenteAosAssinantesDoUsuario() {
+		
+		List<Runnable> tarefas = new ArrayList<>();
+		DistribuidorFluxoUsuario distribuidor = new DistribuidorFluxoUsuario(tarefas::add, 60000, 2, 5);
+		distribuidor.assinar(1l);
+		distribuidor.assinar(2l);
+		
+		distribuidor.publicar(1l, DistribuidorFluxoUsuario.EVENTO_SINCRONIZACAO, Map.of());
+		
+		Assertions.assertThat(tarefas).hasSize(1);
+		
+	}
+	
+	@Test
+	public void deveEncerrarAAssinaturaMaisAntigaAoPassarDoLimitePorUsuario() {
+		
+		List<Runnable> tarefas = new ArrayList<>();
+		DistribuidorFluxoUsuario distribuidor = new DistribuidorFluxoUsuario(tarefas::add, 60000, 2, 1);
+		distribuidor.assinar(1l);
+		distribuidor.assinar(1l);
+		
+		distribuidor.publicar(1l, DistribuidorFluxoUsuario.EVENTO_SINCRONIZACAO, Map.of());
+		
+		Assertions.assertThat(tarefas).hasSize(1);
+		
+	}
+
+}
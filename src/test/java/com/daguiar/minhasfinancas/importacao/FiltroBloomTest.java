@@ -0,0 +1,55 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.time.LocalDate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+
+public class FiltroBloomTest {
+	
+	private static final int ELEMENTOS = 20000;
+	
+	private static final LocalDate INICIO = LocalDate.of(2021, 1, 1);
+	
+	@Test
+	public void naoDeveTerFalsosNegativosEDeveRespeitarATaxaDeFalsosPositivos() {
+		
+		FiltroBloom filtro = FiltroBloom.dimensionar(ELEMENTOS, 0.01);
+		for(int i = 0; i < ELEMENTOS; i++) {
+			filtro.adicionar(impressao(1l, i));
+		}
+		
+		for(int i = 0; i < ELEMENTOS; i++) {
+			Assertions.assertThat(filtro.talvezContenha(impressao(1l, i))).isTrue();
+		}
+		
+		int falsosPositivos = 0;
+		for(int i = 0; i < ELEMENTOS; i++) {
+			if(filtro.talvezContenha(impressao(2l, i))) {
+				falsosPositivos++;
+			}
+		}
+		Assertions.assertThat(falsosPositivos).isLessThan(ELEMENTOS / 50);
+		
+	}
+	
+	@Test
+	public void deveGerarAMesmaImpressaoParaDescricoesQueSoDiferemNaFormatacao() {
+		
+		long original = ImpressaoDigital.calcular(1l, INICIO, TipoLancamento.DESPESA, 1050, "Padaria São João", 0);
+		long formatada = ImpressaoDigital.calcular(1l, INICIO, TipoLancamento.DESPESA, 1050, "  PADARIA  SAO JOAO ", 0);
+		long segundaCompra = ImpressaoDigital.calcular(1l, INICIO, TipoLancamento.DESPESA, 1050, "Padaria São João", 1);
+		
+		Assertions.assertThat(formatada).isEqualTo(original);
+		Assertions.assertThat(segundaCompra).isNotEqualTo(original);
+		
+	}
+	
+	private static long impressao(Long idUsuario, int i) {
+		return ImpressaoDigital.calcular(idUsuario, INICIO.plusDays(i % 365), TipoLancamento.DESPESA, 
+				1000 + i, "Compra " + i, 0);
+	}
+
+}
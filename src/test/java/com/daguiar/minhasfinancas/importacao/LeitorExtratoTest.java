@@ -0,0 +1,102 @@
+package com.daguiar.minhasfinancas.importacao;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+
+public class LeitorExtratoTest {
+	
+	@Test
+	public void deveLerTransacoesDeUmOfxSgmlComBufferMenorQueAsLinhas() throws Exception {
+		
+		String ofx = "OFXHEADER:100\r\nDATA:OFXSGML\r\nCHARSET:1252\r\n\r\n"
+				+ "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\r\n"
+				+ "<STMTTRN>\r\n<TRNTYPE>DEBIT\r\n<DTPOSTED>20210115120000[-3:BRT]\r\n<TRNAMT>-150.25\r\n"
+				+ "<FITID>0001\r\n<MEMO>Compra   Supermercado\r\n</STMTTRN>\r\n"
+				+ "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20210201<TRNAMT>3000,00<FITID>0002<NAME>Salario</STMTTRN>\r\n"
+				+ "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+		
+		List<MovimentoExtrato> movimentos = ler(ofx, 16);
+		
+		Assertions.assertThat(movimentos).hasSize(2);
+		Assertions.assertThat(movimentos.get(0).getData()).isEqualTo(LocalDate.of(2021, 1, 15));
+		Assertions.assertThat(movimentos.get(0).getCentavos()).isEqualTo(-15025l);
+		Assertions.assertThat(movimentos.get(0).getDescricao()).isEqualTo("Compra   Supermercado");
+		Assertions.assertThat(movimentos.get(1).getCentavos()).isEqualTo(300000l);
+		Assertions.assertThat(movimentos.get(1).getDescricao()).isEqualTo("Salario");
+		Assertions.assertThat(movimentos.get(1).getDocumento()).isEqualTo("0002");
+		
+	}
+	
+	@Test
+	public void deveLerApenasOsDetalhesDoSegmentoEDeUmCnab240() throws Exception {
+		
+		char[] cabecalho = linhaEmBranco(240);
+		cabecalho[7] = '0';
+		char[] debito = detalheCnab240("15012021", 15025, 'D', "TARIFA BANCARIA");
+		char[] credito = detalheCnab240("01022021", 300000, 'C', "TED RECEBIDA");
+		String cnab = new String(cabecalho) + "\r\n" + new String(debito) + "\r\n" + new String(credito) + "\r\n";
+		
+		List<MovimentoExtrato> movimentos = ler(cnab, 100);
+		
+		Assertions.assertThat(movimentos).hasSize(2);
+		Assertions.assertThat(movimentos.get(0).getData()).isEqualTo(LocalDate.of(2021, 1, 15));
+		Assertions.assertThat(movimentos.get(0).getCentavos()).isEqualTo(-15025l);
+		Assertions.assertThat(movimentos.get(0).getDescricao()).isEqualTo("TARIFA BANCARIA");
+		Assertions.assertThat(movimentos.get(1).getCentavos()).isEqualTo(300000l);
+		
+	}
+	
+	@Test
+	public void deveRecusarUmArquivoEmFormatoDesconhecido() {
+		
+		Throwable erro = Assertions.catchThrowable(() -> ler("descricao;valor\nmercado;10,00\n", 64));
+		
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class);
+		
+	}
+	
+	private static List<MovimentoExtrato> ler(String conteudo, int tamanhoBuffer) throws Exception {
+		
+		LeitorExtrato leitor = LeitorExtrato.abrir(Channels.newChannel(
+				new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.ISO_8859_1))), tamanhoBuffer);
+		List<MovimentoExtrato> movimentos = new ArrayList<>();
+		MovimentoExtrato movimento;
+		while((movimento = leitor.proximo()) != null) {
+			movimentos.add(movimento);
+		}
+		return movimentos;
+		
+	}
+	
+	private static char[] detalheCnab240(String data, long centavos, char natureza, String historico) {
+		char[] linha = linhaEmBranco(240);
+		linha[7] = '3';
+		linha[13] = 'E';
+		escrever(linha, 143, data);
+		escrever(linha, 151, String.format("%018d", centavos));
+		linha[168] = natureza;
+		escrever(linha, 177, historico);
+		return linha;
+	}
+	
+	private static char[] linhaEmBranco(int tamanho) {
+		char[] linha = new char[tamanho];
+		Arrays.fill(linha, ' ');
+		return linha;
+	}
+	
+	private static void escrever(char[] linha, int posicao, String valor) {
+		valor.getChars(0, valor.length(), linha, posicao - 1);
+	}
+
+}
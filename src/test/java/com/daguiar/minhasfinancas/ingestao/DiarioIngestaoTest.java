@@ -0,0 +1,69 @@
+package com.daguiar.minhasfinancas.ingestao;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class DiarioIngestaoTest {
+	
+	@TempDir
+	Path diretorio;
+	
+	@Test
+	public void deveRecuperarApenasOsRegistrosNaoConfirmadosAoReabrir() throws Exception {
+		
+		Path arquivo = diretorio.resolve("lancamentos.wal");
+		DiarioIngestao diario = new DiarioIngestao(arquivo, new ObjectMapper());
+		diario.abrir();
+		diario.registrar(List.of(criarRegistro(1l), criarRegistro(2l), criarRegistro(3l)));
+		diario.confirmar(List.of(1l, 3l));
+		diario.fechar();
+		
+		// simula uma linha interrompida por uma queda no meio da gravação
+		Files.writeString(arquivo, "R {\"id\":4,\"desc", StandardOpenOption.APPEND);
+		
+		DiarioIngestao reaberto = new DiarioIngestao(arquivo, new ObjectMapper());
+		List<RegistroIngestao> pendentes = reaberto.abrir();
+		
+		Assertions.assertThat(pendentes).extracting(RegistroIngestao::getId).containsExactly(2l);
+		Assertions.assertThat(pendentes.get(0).getValor()).isEqualByComparingTo("10.50");
+		reaberto.fechar();
+		
+	}
+	
+	@Test
+	public void deveEsvaziarODiarioQuandoTudoForConfirmado() throws Exception {
+		
+		Path arquivo = diretorio.resolve("lancamentos.wal");
+		DiarioIngestao diario = new DiarioIngestao(arquivo, new ObjectMapper());
+		diario.abrir();
+		diario.registrar(List.of(criarRegistro(1l)));
+		diario.confirmar(List.of(1l));
+		diario.fechar();
+		
+		Assertions.assertThat(Files.size(arquivo)).isZero();
+		
+	}
+	
+	private static RegistroIngestao criarRegistro(Long id) {
+		RegistroIngestao registro = new RegistroIngestao();
+		registro.setId(id);
+		registro.setUsuario(1l);
+		registro.setDescricao("salario");
+		registro.setMes(1);
+		registro.setAno(2021);
+		registro.setValor(new BigDecimal("10.50"));
+		registro.setTipo(TipoLancamento.RECEITA);
+		return registro;
+	}
+
+}
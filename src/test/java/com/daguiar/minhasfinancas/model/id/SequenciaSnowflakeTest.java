@@ -0,0 +1,123 @@
+package com.daguiar.minhasfinancas.model.id;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SequenciaSnowflakeTest {
+	
+	private static final long AGORA = 1700000000000L;
+	
+	@Test
+	public void deveGerarIdsUnicosECrescentesEmCadaThreadSobConcorrencia() throws Exception {
+		
+		SequenciaSnowflake sequencia = new SequenciaSnowflake(3, 5000);
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Boolean>> crescentes = new ArrayList<>();
+		for(int i = 0; i < 8; i++) {
+			crescentes.add(executor.submit(() -> {
+				long anterior = -1;
+				boolean crescente = true;
+				for(int j = 0; j < 50000; j++) {
+					long id = sequencia.proximo();
+					crescente &= id > anterior;
+					anterior = id;
+					ids.add(id);
+				}
+				return crescente;
+			}));
+		}
+		for(Future<Boolean> crescente : crescentes) {
+			Assertions.assertThat(crescente.get()).isTrue();
+		}
+		executor.shutdown();
+		
+		Assertions.assertThat(ids).hasSize(8 * 50000);
+		
+	}
+	
+	@Test
+	public void deveCodificarONoEOInstanteNoId() {
+		
+		SequenciaSnowflake sequencia = new SequenciaSnowflake(17, 5000, () -> AGORA);
+		
+		long id = sequencia.proximo();
+		
+		Assertions.assertThat(SequenciaSnowflake.extrairNo(id)).isEqualTo(17);
+		Assertions.assertThat(SequenciaSnowflake.extrairInstante(id)).isEqualTo(AGORA);
+		
+	}
+	
+	@Test
+	public void deveContinuarCrescendoQuandoORelogioAtrasaDentroDaTolerancia() {
+		
+		AtomicLong relogio = new AtomicLong(AGORA);
+		SequenciaSnowflake sequencia = new SequenciaSnowflake(1, 10, relogio::get);
+		
+		long primeiro = sequencia.proximo();
+		relogio.addAndGet(-5);
+		long segundo = sequencia.proximo();
+		
+		Assertions.assertThat(segundo).isGreaterThan(primeiro);
+		
+	}
+	
+	@Test
+	public void deveLancarErroQuandoORelogioAtrasaAlemDaTolerancia() {
+		
+		AtomicLong relogio = new AtomicLong(AGORA);
+		SequenciaSnowflake sequencia = new SequenciaSnowflake(1, 10, relogio::get);
+		
+		sequencia.proximo();
+		relogio.addAndGet(-100);
+		
+		assertThrows(IllegalStateException.class, sequencia::proximo);
+		
+	}
+	
+	@Test
+	public void deveAguardarOProximoMilissegundoQuandoASequenciaSeEsgota() throws Exception {
+		
+		AtomicLong relogio = new AtomicLong(AGORA);
+		SequenciaSnowflake sequencia = new SequenciaSnowflake(1, 0, relogio::get);
+		
+		long ultimoDoInstante = 0;
+		for(int i = 0; i < 4096; i++) {
+			ultimoDoInstante = sequencia.proximo();
+		}
+		
+		Thread avancarRelogio = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			relogio.incrementAndGet();
+		});
+		avancarRelogio.start();
+		long proximo = sequencia.proximo();
+		avancarRelogio.join();
+		
+		Assertions.assertThat(proximo).isGreaterThan(ultimoDoInstante);
+		Assertions.assertThat(SequenciaSnowflake.extrairInstante(proximo)).isEqualTo(AGORA + 1);
+		
+	}
+	
+	@Test
+	public void naoDeveAceitarNoForaDoIntervalo() {
+		assertThrows(IllegalArgumentException.class, () -> new SequenciaSnowflake(SequenciaSnowflake.NO_MAXIMO + 1, 5000));
+	}
+
+}
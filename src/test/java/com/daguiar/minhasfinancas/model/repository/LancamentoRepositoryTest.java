@@ -2,6 +2,7 @@ package com.daguiar.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -12,10 +13,12 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Example;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
 import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
 import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
 
@@ -54,6 +57,48 @@ public class LancamentoRepositoryTest {
 		
 	}
 	
+	@Test
+	public void deveExcluirLogicamenteEPermitirRestaurarUmLancamento() {
+		
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		Long id = lancamento.getId();
+		
+		repository.delete(lancamento);
+		entityManager.flush();
+		entityManager.clear();
+		
+		Assertions.assertThat(repository.findById(id).isPresent()).isFalse();
+		
+		int restaurados = repository.restaurar(id);
+		entityManager.clear();
+		
+		Assertions.assertThat(restaurados).isEqualTo(1);
+		Assertions.assertThat(repository.findById(id).isPresent()).isTrue();
+		
+	}
+	
+	@Test
+	public void naoDeveAlterarOStatusDasParcelasExcluidasDoGrupo() {
+		
+		Lancamento ativa = criarLancamento();
+		ativa.setGrupo("grupo");
+		entityManager.persist(ativa);
+		Lancamento excluida = criarLancamento();
+		excluida.setGrupo("grupo");
+		entityManager.persist(excluida);
+		repository.delete(excluida);
+		entityManager.flush();
+		
+		int atualizados = repository.atualizarStatusPorGrupo("grupo", StatusLancamento.EFETIVADO);
+		entityManager.clear();
+		repository.restaurar(excluida.getId());
+		entityManager.clear();
+		
+		Assertions.assertThat(atualizados).isEqualTo(1);
+		Assertions.assertThat(repository.findById(excluida.getId()).get().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		
+	}
+	
 	@Test
 	public void deveAtualizarUmLancamento() {
 		
@@ -81,6 +126,91 @@ public class LancamentoRepositoryTest {
 		
 	}
 	
+	@Test
+	public void deveCalcularOSaldoEmCentavosDosLancamentosEfetivados() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setNome("usuario");
+		usuario.setEmail("usuario@email.com");
+		usuario.setSenha("senha");
+		entityManager.persist(usuario);
+		
+		persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, "1000.10");
+		persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, "250.05");
+		persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, "99.99");
+		entityManager.flush();
+		
+		long saldo = repository.obterSaldoEmCentavosPorUsuarioEStatus(usuario.getId(), StatusLancamento.EFETIVADO.name());
+		
+		Assertions.assertThat(saldo).isEqualTo(75005l);
+		
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosDoUsuarioNoPeriodo() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setNome("usuario");
+		usuario.setEmail("usuario@email.com");
+		usuario.setSenha("senha");
+		entityManager.persist(usuario);
+		
+		persistirLancamento(usuario, LocalDate.of(2021, 1, 31));
+		persistirLancamento(usuario, LocalDate.of(2021, 2, 15));
+		persistirLancamento(usuario, LocalDate.of(2021, 4, 1));
+		entityManager.flush();
+		
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		List<Lancamento> lancamentos = repository.findAll(
+				LancamentoSpecifications.conformeExemplo(Example.of(filtro))
+				.and(LancamentoSpecifications.noPeriodo(LocalDate.of(2021, 2, 1), LocalDate.of(2021, 3, 31))));
+		
+		Assertions.assertThat(lancamentos).extracting(Lancamento::getDataLancamento)
+			.containsExactly(LocalDate.of(2021, 2, 15));
+		
+	}
+	
+	@Test
+	public void devePreencherADataDosLancamentosAntigosPelaCompetencia() {
+		
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		entityManager.flush();
+		entityManager.getEntityManager()
+			.createNativeQuery("update financas.lancamento set data_lancamento = null")
+			.executeUpdate();
+		
+		int preenchidos = repository.preencherDataLancamentoPelaCompetencia(1000);
+		entityManager.clear();
+		
+		Assertions.assertThat(preenchidos).isEqualTo(1);
+		Assertions.assertThat(repository.findById(lancamento.getId()).get().getDataLancamento())
+			.isEqualTo(LocalDate.of(2021, 1, 1));
+		
+	}
+	
+	private void persistirLancamento(Usuario usuario, LocalDate dataLancamento) {
+		
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(dataLancamento.getYear());
+		lancamento.setMes(dataLancamento.getMonthValue());
+		lancamento.setDataLancamento(dataLancamento);
+		entityManager.persist(lancamento);
+		
+	}
+	
+	private void persistirLancamento(Usuario usuario, TipoLancamento tipo, StatusLancamento status, String valor) {
+		
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setTipo(tipo);
+		lancamento.setStatus(status);
+		lancamento.setValor(new BigDecimal(valor));
+		entityManager.persist(lancamento);
+		
+	}
+	
 	private Lancamento criarEPersistirUmLancamento() {
 		
 		Lancamento lancamento = criarLancamento();
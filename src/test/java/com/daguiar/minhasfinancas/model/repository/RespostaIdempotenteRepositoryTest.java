@@ -0,0 +1,54 @@
+package com.daguiar.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.model.entity.RespostaIdempotente;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class RespostaIdempotenteRepositoryTest {
+	
+	@Autowired
+	RespostaIdempotenteRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Test
+	public void naoDeveSobrescreverARespostaDeUmaChaveJaGravada() {
+		
+		repository.saveAndFlush(new RespostaIdempotente("1:chave", "{\"id\":1}", LocalDateTime.now()));
+		entityManager.clear();
+		
+		Throwable erro = Assertions.catchThrowable(
+				() -> repository.saveAndFlush(new RespostaIdempotente("1:chave", "{\"id\":2}", LocalDateTime.now())));
+		
+		Assertions.assertThat(erro).isInstanceOf(DataIntegrityViolationException.class);
+		
+	}
+	
+	@Test
+	public void deveCarregarUmaRespostaGravadaComoPersistida() {
+		
+		repository.saveAndFlush(new RespostaIdempotente("1:outra", "{\"id\":1}", LocalDateTime.now()));
+		entityManager.clear();
+		
+		Assertions.assertThat(repository.findById("1:outra").get().isNew()).isFalse();
+		
+	}
+
+}
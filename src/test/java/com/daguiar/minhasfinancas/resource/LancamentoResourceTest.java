@@ -0,0 +1,289 @@
+package com.daguiar.minhasfinancas.resource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.daguiar.minhasfinancas.api.cache.CacheLancamentoSerializado;
+import com.daguiar.minhasfinancas.api.dto.LancamentoDTO;
+import com.daguiar.minhasfinancas.api.resource.LancamentoResource;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.daguiar.minhasfinancas.service.CategoriaService;
+import com.daguiar.minhasfinancas.service.ContaService;
+import com.daguiar.minhasfinancas.service.IdempotenciaService;
+import com.daguiar.minhasfinancas.service.ImportacaoExtratoService;
+import com.daguiar.minhasfinancas.service.IngestaoLancamentoService;
+import com.daguiar.minhasfinancas.service.LancamentoService;
+import com.daguiar.minhasfinancas.service.LivroService;
+import com.daguiar.minhasfinancas.service.OutboxLancamentoService;
+import com.daguiar.minhasfinancas.service.UsuarioService;
+import com.daguiar.minhasfinancas.shard.InterceptorShardUsuario;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoResource.class)
+@AutoConfigureMockMvc
+public class LancamentoResourceTest {
+	
+	static final String API = "/api/lancamentos";
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@MockBean
+	LancamentoService service;
+	
+	@MockBean
+	UsuarioService usuarioService;
+	
+	@MockBean
+	IdempotenciaService idempotenciaService;
+	
+	@MockBean
+	CacheLancamentoSerializado cacheSerializado;
+	
+	@MockBean
+	CategoriaService categoriaService;
+	
+	@MockBean
+	IngestaoLancamentoService ingestaoService;
+	
+	@MockBean
+	ImportacaoExtratoService importacaoService;
+	
+	@MockBean
+	ContaService contaService;
+	
+	@MockBean
+	LivroService livroService;
+	
+	@MockBean
+	OutboxLancamentoService outboxService;
+	
+	@SpyBean
+	RoteadorShards roteador;
+	
+	@Test
+	public void deveRetornarLancamentoEmCborQuandoSolicitado() throws Exception {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setId(1l);
+		lancamento.setDescricao("salario");
+		lancamento.setValor(BigDecimal.valueOf(1500));
+		lancamento.setMes(1);
+		lancamento.setAno(2021);
+		lancamento.setTipo(TipoLancamento.RECEITA);
+		lancamento.setStatus(StatusLancamento.PENDENTE);
+		lancamento.setUsuario(usuario);
+		lancamento.setVersao(0l);
+		
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(lancamento));
+		
+		MvcResult resultado = mvc
+			.perform(MockMvcRequestBuilders.get(API.concat("/1")).accept(MediaType.APPLICATION_CBOR))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+			.andReturn();
+		
+		LancamentoDTO dto = new ObjectMapper(new CBORFactory())
+				.readValue(resultado.getResponse().getContentAsByteArray(), LancamentoDTO.class);
+		Assertions.assertThat(dto.getId()).isEqualTo(1l);
+		Assertions.assertThat(dto.getDescricao()).isEqualTo("salario");
+		Mockito.verify(cacheSerializado, Mockito.never()).obter(Mockito.any(), Mockito.any());
+		
+	}
+	
+	@Test
+	public void deveRecusarAIngestaoQuandoAFilaEstiverCheia() throws Exception {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Mockito.when(usuarioService.obterPorID(1l)).thenReturn(Optional.of(usuario));
+		Mockito.when(ingestaoService.enfileirar(Mockito.anyList())).thenReturn(false);
+		
+		LancamentoDTO dto = new LancamentoDTO();
+		dto.setDescricao("salario");
+		dto.setValor(BigDecimal.valueOf(1500));
+		dto.setMes(1);
+		dto.setAno(2021);
+		dto.setTipo(TipoLancamento.RECEITA.name());
+		dto.setUsuario(1l);
+		
+		mvc.perform(MockMvcRequestBuilders.post(API.concat("/ingestao"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(new ObjectMapper().writeValueAsString(List.of(dto))))
+			.andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+			.andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+		
+		Mockito.verify(service).validar(Mockito.any(Lancamento.class));
+		
+	}
+	
+	@Test
+	public void deveRecusarValorComMaisDeDuasCasasDecimais() throws Exception {
+		
+		LancamentoDTO dto = new LancamentoDTO();
+		dto.setDescricao("salario");
+		dto.setValor(new BigDecimal("10.005"));
+		dto.setMes(1);
+		dto.setAno(2021);
+		dto.setTipo(TipoLancamento.RECEITA.name());
+		dto.setUsuario(1l);
+		
+		mvc.perform(MockMvcRequestBuilders.post(API)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest())
+			.andExpect(MockMvcResultMatchers.content().string("Informe um valor válido."));
+		
+		Mockito.verify(service, Mockito.never()).salvar(Mockito.any(Lancamento.class));
+		
+	}
+	
+	@Test
+	public void naoDeveAproveitarOIdInformadoPeloClienteAoCriar() throws Exception {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Mockito.when(usuarioService.obterPorID(1l)).thenReturn(Optional.of(usuario));
+		Lancamento salvo = LancamentoRepositoryTest.criarLancamento();
+		salvo.setId(2l);
+		salvo.setUsuario(usuario);
+		Mockito.when(service.salvar(Mockito.any(Lancamento.class))).thenReturn(salvo);
+		
+		LancamentoDTO dto = new LancamentoDTO();
+		dto.setId(99l);
+		dto.setDescricao("salario");
+		dto.setValor(BigDecimal.valueOf(1500));
+		dto.setMes(1);
+		dto.setAno(2021);
+		dto.setTipo(TipoLancamento.RECEITA.name());
+		dto.setUsuario(1l);
+		
+		mvc.perform(MockMvcRequestBuilders.post(API)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+			.andExpect(MockMvcResultMatchers.status().isCreated())
+			.andExpect(MockMvcResultMatchers.jsonPath("id").value(2));
+		
+		Mockito.verify(service).salvar(Mockito.argThat(lancamento -> lancamento.getId() == null));
+		
+	}
+	
+	@Test
+	public void deveRecusarUmStatusInvalidoComBadRequest() throws Exception {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(2l);
+		lancamento.setUsuario(usuario);
+		Mockito.when(service.obterPorId(2l)).thenReturn(Optional.of(lancamento));
+		
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/2/atualiza-status"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"QUALQUER\"}"))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest())
+			.andExpect(MockMvcResultMatchers.content().string("Envie um status válido."));
+		
+		Mockito.verify(service, Mockito.never()).atualizar(Mockito.any(Lancamento.class));
+		
+	}
+	
+	@Test
+	public void naoDeveAlterarStatusNemRestaurarSemPermissaoDeEscritaNoLivro() throws Exception {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(2l);
+		lancamento.setUsuario(usuario);
+		lancamento.setIdLivro(7l);
+		Mockito.when(service.obterPorId(2l)).thenReturn(Optional.of(lancamento));
+		Mockito.when(service.obterExcluidoPorId(2l)).thenReturn(Optional.of(lancamento));
+		Mockito.doThrow(new RegraNegocioException("Usuário sem permissão de escrita no livro."))
+			.when(livroService).verificarEscrita(5l, 7l);
+		
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/2/atualiza-status"))
+				.header(InterceptorShardUsuario.CABECALHO_USUARIO, 5l)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"EFETIVADO\"}"))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/2/restaurar"))
+				.header(InterceptorShardUsuario.CABECALHO_USUARIO, 5l))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		
+		Mockito.verify(service, Mockito.never()).atualizar(Mockito.any(Lancamento.class));
+		Mockito.verify(service, Mockito.never()).restaurar(Mockito.anyLong());
+		
+	}
+	
+	@Test
+	public void deveManterParcelamentoEImpressaoDigitalAoEditarUmaParcela() throws Exception {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Mockito.when(usuarioService.obterPorID(1l)).thenReturn(Optional.of(usuario));
+		
+		Lancamento parcela = LancamentoRepositoryTest.criarLancamento();
+		parcela.setId(2l);
+		parcela.setVersao(3l);
+		parcela.setUsuario(usuario);
+		parcela.setGrupo("grupo");
+		parcela.setParcela(2);
+		parcela.setImpressaoDigital(123l);
+		Mockito.when(service.obterPorId(2l)).thenReturn(Optional.of(parcela));
+		Mockito.when(service.atualizar(Mockito.any(Lancamento.class)))
+			.thenAnswer(invocacao -> invocacao.getArgument(0));
+		
+		LancamentoDTO dto = new LancamentoDTO();
+		dto.setDescricao("Notebook (2/10) corrigido");
+		dto.setValor(BigDecimal.valueOf(350));
+		dto.setMes(2);
+		dto.setAno(2021);
+		dto.setTipo(TipoLancamento.DESPESA.name());
+		dto.setUsuario(1l);
+		
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/2"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("status").value(StatusLancamento.PENDENTE.name()));
+		
+		Mockito.verify(service).atualizar(Mockito.argThat(lancamento -> "grupo".equals(lancamento.getGrupo())
+				&& Integer.valueOf(2).equals(lancamento.getParcela())
+				&& Long.valueOf(123l).equals(lancamento.getImpressaoDigital())
+				&& Long.valueOf(3l).equals(lancamento.getVersao())));
+		
+	}
+	
+}
@@ -0,0 +1,87 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.analise.CacheColunarLancamento;
+import com.daguiar.minhasfinancas.analise.ColunasLancamento;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.daguiar.minhasfinancas.service.impl.AnaliseLancamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class AnaliseLancamentoServiceTest {
+	
+	@SpyBean
+	AnaliseLancamentoServiceImpl service;
+	
+	@MockBean
+	CacheColunarLancamento cache;
+	
+	@Test
+	public void deveSomarOsTotaisMensaisConsiderandoAsAlteracoes() {
+		
+		Lancamento alterado = LancamentoRepositoryTest.criarLancamento();
+		alterado.setId(2l);
+		alterado.setMes(3);
+		alterado.setValor(new BigDecimal("10.05"));
+		
+		ColunasLancamento colunas = ColunasLancamento.construtor(2)
+				.adicionar(1l, 2021, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 10000, "salario")
+				.adicionar(2l, 2021, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 500, "bonus")
+				.adicionar(3l, 2021, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 700, "bonus")
+				.adicionar(4l, 2020, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 999, "salario")
+				.construir()
+				.comLancamento(alterado)
+				.semLancamento(3l);
+		Mockito.when(cache.obter(1l)).thenReturn(colunas);
+		
+		Assertions.assertThat(service.obterTotaisMensais(1l, 2021, TipoLancamento.RECEITA, null))
+			.startsWith(new BigDecimal("100.00"), new BigDecimal("0.00"), new BigDecimal("10.05"));
+		Assertions.assertThat(service.obterTotaisMensais(1l, 2021, TipoLancamento.RECEITA, StatusLancamento.PENDENTE).get(2))
+			.isEqualTo(new BigDecimal("10.05"));
+		
+	}
+	
+	@Test
+	public void deveRetornarAsMaioresDescricoesEmOrdemDecrescente() {
+		
+		ColunasLancamento colunas = ColunasLancamento.construtor(0)
+				.adicionar(1l, 2021, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 3000, "mercado")
+				.adicionar(2l, 2021, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 2500, "mercado")
+				.adicionar(3l, 2021, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 4000, "aluguel")
+				.adicionar(4l, 2021, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 100, "cafe")
+				.adicionar(5l, 2021, 2, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 90000, "salario")
+				.construir();
+		Mockito.when(cache.obter(1l)).thenReturn(colunas);
+		
+		Map<String, BigDecimal> maiores = service.obterMaioresDescricoes(1l, TipoLancamento.DESPESA, null, 2);
+		
+		Assertions.assertThat(maiores.keySet()).containsExactly("mercado", "aluguel");
+		Assertions.assertThat(maiores.get("mercado")).isEqualTo(new BigDecimal("55.00"));
+		
+	}
+	
+	@Test
+	public void naoDeveObterTotaisMensaisSemAno() {
+		
+		Assertions.catchThrowableOfType(() -> service.obterTotaisMensais(1l, null, TipoLancamento.RECEITA, null), 
+										RegraNegocioException.class);
+		Mockito.verify(cache, Mockito.never()).obter(Mockito.anyLong());
+		
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.repository.CategoriaRepository;
+import com.daguiar.minhasfinancas.model.repository.ContaRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoArquivadoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.ResumoArquivadoRepository;
+import com.daguiar.minhasfinancas.service.impl.ArquivoLancamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ArquivoLancamentoServiceTest {
+	
+	@SpyBean
+	ArquivoLancamentoServiceImpl service;
+	
+	@MockBean
+	LancamentoArquivadoRepository repository;
+	
+	@MockBean
+	ResumoArquivadoRepository resumoRepository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@MockBean
+	CategoriaRepository categoriaRepository;
+	
+	@MockBean
+	ContaRepository contaRepository;
+	
+	@MockBean
+	BarramentoInvalidacao barramento;
+	
+	@Test
+	public void deveResumirAntesDeMoverOsLancamentosDoUsuario() {
+		
+		Mockito.when(repository.obterUsuariosComLancamentosAntesDe(2015, 50)).thenReturn(List.of(1l));
+		Mockito.when(repository.arquivarPorUsuarioAntesDe(Mockito.eq(1l), Mockito.eq(2015), Mockito.any())).thenReturn(3);
+		
+		int usuarios = service.arquivarAntesDe(2015, 50);
+		
+		Assertions.assertThat(usuarios).isEqualTo(1);
+		InOrder ordem = Mockito.inOrder(resumoRepository, repository, lancamentoRepository, barramento);
+		ordem.verify(resumoRepository).resumirPorUsuarioAntesDe(1l, 2015);
+		ordem.verify(repository).arquivarPorUsuarioAntesDe(Mockito.eq(1l), Mockito.eq(2015), Mockito.any());
+		ordem.verify(lancamentoRepository).excluirFisicamentePorUsuarioAntesDe(1l, 2015);
+		ordem.verify(barramento).publicar(RegiaoCache.LANCAMENTOS_USUARIO, 1l);
+		
+	}
+	
+	@Test
+	public void deveConsultarOArquivoSomenteQuandoOFiltroAlcancaUmAnoFechado() {
+		
+		int anoLimite = service.obterAnoLimite();
+		Lancamento filtro = new Lancamento();
+		
+		Assertions.assertThat(service.deveConsultar(filtro, null, null)).isFalse();
+		Assertions.assertThat(service.deveConsultar(filtro, null, LocalDate.of(anoLimite, 1, 1))).isTrue();
+		Assertions.assertThat(service.deveConsultar(filtro, LocalDate.of(anoLimite, 1, 1), null)).isFalse();
+		Assertions.assertThat(service.deveConsultar(filtro, LocalDate.of(anoLimite - 1, 12, 1), null)).isTrue();
+		
+		filtro.setAno(anoLimite);
+		Assertions.assertThat(service.deveConsultar(filtro, null, null)).isFalse();
+		filtro.setAno(anoLimite - 1);
+		Assertions.assertThat(service.deveConsultar(filtro, null, null)).isTrue();
+		
+	}
+
+}
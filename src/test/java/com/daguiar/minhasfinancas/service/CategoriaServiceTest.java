@@ -0,0 +1,172 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.CategoriaRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.daguiar.minhasfinancas.model.repository.TotalCategoriaRepository;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.impl.CategoriaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class CategoriaServiceTest {
+	
+	@SpyBean
+	CategoriaServiceImpl service;
+	
+	@MockBean
+	CategoriaRepository repository;
+	
+	@MockBean
+	TotalCategoriaRepository totalRepository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@MockBean
+	AcumuladorTotais acumulador;
+	
+	@MockBean
+	BarramentoInvalidacao barramento;
+	
+	@MockBean
+	OrcamentoService orcamentoService;
+	
+	@MockBean
+	ArquivoLancamentoService arquivoService;
+	
+	@Test
+	public void deveClassificarPelaPalavraChaveDaCategoria() {
+		
+		Categoria mercado = criarCategoria(1l, "Mercado", "supermercado; padaria");
+		Categoria transporte = criarCategoria(2l, "Transporte", "uber;posto");
+		Mockito.when(repository.findByUsuarioIdOrderByNome(1l)).thenReturn(Arrays.asList(mercado, transporte));
+		Mockito.when(repository.getById(2l)).thenReturn(transporte);
+		
+		Optional<Categoria> categoria = service.classificar(1l, "Corrida UBER centro");
+		
+		Assertions.assertThat(categoria).contains(transporte);
+		Assertions.assertThat(service.classificar(1l, "Aluguel")).isEmpty();
+		
+	}
+	
+	@Test
+	public void deveClassificarPelaPalavraChaveQueApareceAntesNaDescricao() {
+		
+		Categoria mercado = criarCategoria(1l, "Mercado", "mercado");
+		Categoria alimentacao = criarCategoria(2l, "Alimentação", "super");
+		Mockito.when(repository.findByUsuarioIdOrderByNome(1l)).thenReturn(Arrays.asList(mercado, alimentacao));
+		Mockito.when(repository.getById(2l)).thenReturn(alimentacao);
+		
+		Optional<Categoria> categoria = service.classificar(1l, "Compra Supermercado Central");
+		
+		Assertions.assertThat(categoria).contains(alimentacao);
+		
+	}
+	
+	@Test
+	public void deveMoverOTotalAoAlterarACategoriaDeUmLancamento() {
+		
+		Lancamento lancamento = criarLancamento(1l, "150.25");
+		EstadoLancamento anterior = EstadoLancamento.de(lancamento);
+		lancamento.setCategoria(criarCategoria(2l, "Outra", null));
+		
+		service.contabilizar(anterior, EstadoLancamento.de(lancamento));
+		
+		Mockito.verify(acumulador).acumular("total_categoria", chave(1l), Map.of("receitas_centavos", 0l, "despesas_centavos", -15025l));
+		Mockito.verify(acumulador).acumular("total_categoria", chave(2l), Map.of("receitas_centavos", 0l, "despesas_centavos", 15025l));
+		
+	}
+	
+	@Test
+	public void deveCriarOTotalQuandoACompetenciaAindaNaoExistir() {
+		
+		Lancamento lancamento = criarLancamento(1l, "10.00");
+		
+		service.contabilizar(null, EstadoLancamento.de(lancamento));
+		
+		// a criação da linha fica com o acumulador, o serviço não salva o total
+		Mockito.verify(acumulador).acumular("total_categoria", chave(1l), Map.of("receitas_centavos", 0l, "despesas_centavos", 1000l));
+		Mockito.verify(totalRepository, Mockito.never()).save(Mockito.any());
+		
+	}
+	
+	@Test
+	public void naoDeveContabilizarUmLancamentoCancelado() {
+		
+		Lancamento lancamento = criarLancamento(1l, "10.00");
+		lancamento.setStatus(StatusLancamento.CANCELADO);
+		
+		service.contabilizar(null, EstadoLancamento.de(lancamento));
+		
+		Mockito.verifyNoInteractions(totalRepository, acumulador);
+		
+	}
+	
+	@Test
+	public void naoDeveSalvarUmaCategoriaComNomeRepetido() {
+		
+		Categoria categoria = criarCategoria(null, "Mercado", null);
+		Mockito.when(repository.existsByUsuarioIdAndNomeIgnoreCase(1l, "Mercado")).thenReturn(true);
+		
+		Assertions.catchThrowableOfType(() -> service.salvar(categoria), RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).save(categoria);
+		
+	}
+	
+	private static Lancamento criarLancamento(Long idCategoria, String valor) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(criarUsuario());
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		lancamento.setValor(new BigDecimal(valor));
+		lancamento.setCategoria(criarCategoria(idCategoria, "Mercado", null));
+		return lancamento;
+		
+	}
+	
+	// competência de LancamentoRepositoryTest.criarLancamento
+	private static Map<String, Object> chave(Long idCategoria) {
+		return Map.of("id_usuario", 1l, "ano", 2021, "mes", 1, "id_categoria", idCategoria);
+	}
+	
+	private static Categoria criarCategoria(Long id, String nome, String palavrasChave) {
+		
+		Categoria categoria = new Categoria();
+		categoria.setId(id);
+		categoria.setNome(nome);
+		categoria.setPalavrasChave(palavrasChave);
+		categoria.setUsuario(criarUsuario());
+		return categoria;
+		
+	}
+	
+	private static Usuario criarUsuario() {
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		return usuario;
+	}
+
+}
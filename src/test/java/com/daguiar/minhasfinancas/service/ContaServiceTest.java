@@ -0,0 +1,151 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Conta;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.SaldoConta;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoConta;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.id.GeradorIds;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.ContaRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.daguiar.minhasfinancas.model.repository.SaldoContaRepository;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.service.impl.ContaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ContaServiceTest {
+	
+	@SpyBean
+	ContaServiceImpl service;
+	
+	@MockBean
+	ContaRepository repository;
+	
+	@MockBean
+	SaldoContaRepository saldoRepository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@MockBean
+	AcumuladorTotais acumulador;
+	
+	@MockBean
+	GeradorIds geradorIds;
+	
+	@MockBean
+	CambioService cambio;
+	
+	@Test
+	public void deveContabilizarLancamentoSemContaNaContaPadrao() {
+		
+		Mockito.when(repository.findByUsuarioIdAndPadraoTrue(1l)).thenReturn(Optional.of(criarConta(10l, true)));
+		
+		service.contabilizar(null, EstadoLancamento.de(criarLancamento(StatusLancamento.EFETIVADO)));
+		
+		Mockito.verify(acumulador).acumular("saldo_conta", Map.of("id_conta", 10l, "moeda", Moeda.BRL),
+				Map.of("id_usuario", 1l), Map.of("saldo_centavos", -5000l));
+		Mockito.verify(saldoRepository, Mockito.never()).save(Mockito.any());
+		
+	}
+	
+	@Test
+	public void deveCriarAContaPadraoSemDuplicarAQueUmaTransacaoConcorrenteCriou() {
+		
+		Conta padrao = criarConta(10l, true);
+		Mockito.when(repository.findByUsuarioIdAndPadraoTrue(1l)).thenReturn(Optional.empty(), Optional.of(padrao));
+		Mockito.when(geradorIds.proximo()).thenReturn(99l);
+		
+		Assertions.assertThat(service.obterContaPadrao(1l)).isSameAs(padrao);
+		
+		// o insert é ignorado se a conta já existir e a conta é relida do banco
+		Mockito.verify(acumulador).inserirSeAusente("conta", Map.of("id", 99l, "id_usuario", 1l,
+				"nome", "Conta principal", "tipo", TipoConta.CORRENTE, "padrao", true));
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+		
+	}
+	
+	@Test
+	public void naoDeveContabilizarLancamentoPendente() {
+		
+		service.contabilizar(null, EstadoLancamento.de(criarLancamento(StatusLancamento.PENDENTE)));
+		
+		Mockito.verifyNoInteractions(saldoRepository, acumulador);
+		
+	}
+	
+	@Test
+	public void deveSomarOsSaldosDasContasConvertendoAMoedaEstrangeira() {
+		
+		SaldoConta reais = criarSaldo(Moeda.BRL, 10000l);
+		SaldoConta dolares = criarSaldo(Moeda.USD, 2000l);
+		Mockito.when(saldoRepository.findByUsuarioId(1l)).thenReturn(List.of(reais, dolares));
+		Mockito.when(cambio.converterParaMoedaBase(10000l, Moeda.BRL, null)).thenReturn(10000l);
+		Mockito.when(cambio.converterParaMoedaBase(2000l, Moeda.USD, null)).thenReturn(10500l);
+		
+		Assertions.assertThat(service.obterSaldoEmCentavos(1l)).isEqualTo(20500l);
+		
+	}
+	
+	@Test
+	public void naoDeveExcluirAContaPadrao() {
+		
+		Assertions.catchThrowableOfType(() -> service.deletar(criarConta(10l, true)), RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).delete(Mockito.any());
+		
+	}
+	
+	private static Conta criarConta(Long id, boolean padrao) {
+		Conta conta = new Conta();
+		conta.setId(id);
+		conta.setUsuario(criarUsuario());
+		conta.setPadrao(padrao);
+		return conta;
+	}
+	
+	private static SaldoConta criarSaldo(Moeda moeda, long saldoCentavos) {
+		SaldoConta saldo = new SaldoConta();
+		saldo.setMoeda(moeda);
+		saldo.setSaldoCentavos(saldoCentavos);
+		return saldo;
+	}
+	
+	private static Lancamento criarLancamento(StatusLancamento status) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(criarUsuario());
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		lancamento.setStatus(status);
+		lancamento.setValor(new BigDecimal("50.00"));
+		return lancamento;
+		
+	}
+	
+	private static Usuario criarUsuario() {
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		return usuario;
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.RespostaIdempotente;
+import com.daguiar.minhasfinancas.model.repository.RespostaIdempotenteRepository;
+import com.daguiar.minhasfinancas.service.impl.IdempotenciaServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class IdempotenciaServiceTest {
+	
+	@SpyBean
+	IdempotenciaServiceImpl service;
+	
+	@SpyBean
+	ObjectMapper objectMapper;
+	
+	@MockBean
+	RespostaIdempotenteRepository repository;
+	
+	@MockBean
+	PlatformTransactionManager transactionManager;
+	
+	@Test
+	public void deveExecutarAOperacaoUmaUnicaVezParaAMesmaChave() {
+		
+		AtomicInteger execucoes = new AtomicInteger();
+		Mockito.when(repository.findById("1:chave")).thenReturn(Optional.empty());
+		Mockito.when(repository.saveAndFlush(Mockito.any(RespostaIdempotente.class)))
+			.thenAnswer(invocation -> invocation.getArgument(0));
+		
+		String primeira = service.executar("1:chave", () -> execucoes.incrementAndGet());
+		String segunda = service.executar("1:chave", () -> execucoes.incrementAndGet());
+		
+		Assertions.assertThat(execucoes.get()).isEqualTo(1);
+		Assertions.assertThat(primeira).isEqualTo("1");
+		Assertions.assertThat(segunda).isEqualTo(primeira);
+		
+	}
+	
+	@Test
+	public void deveRetornarARespostaDaOutraInstanciaQuandoAMesmaChaveForGravadaAntes() throws Exception {
+		
+		IdempotenciaServiceImpl outraInstancia = new IdempotenciaServiceImpl(repository, transactionManager, objectMapper, 24, 100);
+		AtomicReference<RespostaIdempotente> gravada = new AtomicReference<>();
+		Mockito.when(repository.findById("1:concorrente")).thenAnswer(invocation -> Optional.ofNullable(gravada.get()));
+		Mockito.when(repository.saveAndFlush(Mockito.any(RespostaIdempotente.class))).thenAnswer(invocation -> {
+			RespostaIdempotente resposta = invocation.getArgument(0);
+			Assertions.assertThat(resposta.isNew()).isTrue();
+			if(!gravada.compareAndSet(null, resposta)) {
+				throw new DataIntegrityViolationException("chave duplicada");
+			}
+			return resposta;
+		});
+		
+		CountDownLatch ambasIniciadas = new CountDownLatch(2);
+		AtomicInteger execucoes = new AtomicInteger();
+		CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() -> service.executar("1:concorrente", () -> {
+			aguardar(ambasIniciadas);
+			return execucoes.incrementAndGet();
+		}));
+		CompletableFuture<String> segunda = CompletableFuture.supplyAsync(() -> outraInstancia.executar("1:concorrente", () -> {
+			aguardar(ambasIniciadas);
+			return execucoes.incrementAndGet();
+		}));
+		
+		Assertions.assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo(segunda.get(5, TimeUnit.SECONDS));
+		Assertions.assertThat(primeira.get()).isEqualTo(gravada.get().getCorpo());
+		Assertions.assertThat(execucoes.get()).isEqualTo(2);
+		Mockito.verify(repository, Mockito.times(2)).saveAndFlush(Mockito.any(RespostaIdempotente.class));
+		
+	}
+	
+	@Test
+	public void deveRetornarARespostaArmazenadaSemExecutarAOperacao() {
+		
+		RespostaIdempotente armazenada = new RespostaIdempotente("1:outra", "{\"id\":10}", LocalDateTime.now());
+		Mockito.when(repository.findById("1:outra")).thenReturn(Optional.of(armazenada));
+		
+		String resposta = service.executar("1:outra", () -> {
+			throw new IllegalStateException("não deveria executar");
+		});
+		
+		Assertions.assertThat(resposta).isEqualTo("{\"id\":10}");
+		Mockito.verify(repository, Mockito.never()).saveAndFlush(Mockito.any(RespostaIdempotente.class));
+		
+	}
+	
+	@Test
+	public void naoDeveArmazenarARespostaQuandoAOperacaoFalhar() {
+		
+		Mockito.when(repository.findById("1:falha")).thenReturn(Optional.empty());
+		
+		Assertions.catchThrowableOfType(() -> service.executar("1:falha", () -> {
+			throw new RegraNegocioException("Informe um valor válido.");
+		}), RegraNegocioException.class);
+		
+		Mockito.verify(repository, Mockito.never()).saveAndFlush(Mockito.any(RespostaIdempotente.class));
+		
+	}
+
+	private static void aguardar(CountDownLatch ambasIniciadas) {
+		ambasIniciadas.countDown();
+		try {
+			ambasIniciadas.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -4,8 +4,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -15,17 +18,24 @@ import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
 import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Categoria;
+import com.daguiar.minhasfinancas.model.entity.Conta;
 import com.daguiar.minhasfinancas.model.entity.Lancamento;
 import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.Moeda;
 import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
 import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
 import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
 import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
 import com.daguiar.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -37,6 +47,27 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 	
+	@MockBean
+	CategoriaService categoriaService;
+	
+	@MockBean
+	ContaService contaService;
+	
+	@MockBean
+	LivroService livroService;
+	
+	@MockBean
+	ArquivoLancamentoService arquivoService;
+	
+	@MockBean
+	CambioService cambio;
+	
+	@SpyBean
+	RoteadorShards roteador;
+	
+	@MockBean
+	BarramentoInvalidacao barramento;
+	
 	@Test
 	public void deveSalvarUmLancamento() {
 		
@@ -54,6 +85,132 @@ public class LancamentoServiceTest {
 		
 	}
 	
+	@Test
+	public void deveInvalidarOSaldoEmCacheDoUsuarioAoSalvarUmLancamento() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		Mockito.when(contaService.obterSaldosEmCentavosPorMoeda(1l)).thenReturn(Map.of(Moeda.BRL, 1000l), Map.of(Moeda.BRL, 2500l));
+		Mockito.when(cambio.converterParaMoedaBase(Mockito.anyLong(), Mockito.eq(Moeda.BRL), Mockito.isNull()))
+			.thenAnswer(invocacao -> invocacao.getArgument(0));
+		
+		Assertions.assertThat(service.obterSaldoPorUsuario(1l)).isEqualByComparingTo("10.00");
+		Assertions.assertThat(service.obterSaldoPorUsuario(1l)).isEqualByComparingTo("10.00");
+		service.salvar(lancamento);
+		
+		Assertions.assertThat(service.obterSaldoPorUsuario(1l)).isEqualByComparingTo("25.00");
+		Mockito.verify(barramento).publicar(RegiaoCache.LANCAMENTOS_USUARIO, 1l);
+		
+	}
+	
+	@Test
+	public void deveConverterOSaldoEmCachePelaCotacaoAtual() {
+		
+		Mockito.when(contaService.obterSaldosEmCentavosPorMoeda(2l)).thenReturn(Map.of(Moeda.USD, 1000l));
+		Mockito.when(cambio.converterParaMoedaBase(1000l, Moeda.USD, null)).thenReturn(5000l, 5500l);
+		
+		Assertions.assertThat(service.obterSaldoPorUsuario(2l)).isEqualByComparingTo("50.00");
+		Assertions.assertThat(service.obterSaldoPorUsuario(2l)).isEqualByComparingTo("55.00");
+		Mockito.verify(contaService, Mockito.times(1)).obterSaldosEmCentavosPorMoeda(2l);
+		
+	}
+	
+	@Test
+	public void deveCategorizarUmLancamentoSemCategoriaAoSalvar() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		lancamento.setUsuario(usuario);
+		Categoria categoria = new Categoria();
+		categoria.setId(2l);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(categoriaService.classificar(1l, lancamento.getDescricao())).thenReturn(Optional.of(categoria));
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		Lancamento salvo = service.salvar(lancamento);
+		
+		Assertions.assertThat(salvo.getCategoria()).isEqualTo(categoria);
+		
+	}
+	
+	@Test
+	public void deveSalvarUmParcelamentoDistribuindoOsCentavos() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setValor(new BigDecimal("100.00"));
+		lancamento.setMes(11);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		List<Lancamento> parcelas = service.salvarParcelamento(lancamento, 3);
+		
+		Assertions.assertThat(parcelas).hasSize(3);
+		Assertions.assertThat(parcelas).extracting(Lancamento::getValor)
+			.containsExactly(new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33"));
+		Assertions.assertThat(parcelas.get(2).getMes()).isEqualTo(1);
+		Assertions.assertThat(parcelas.get(2).getAno()).isEqualTo(2022);
+		Assertions.assertThat(parcelas).extracting(Lancamento::getGrupo).containsOnly(parcelas.get(0).getGrupo());
+		
+	}
+	
+	@Test
+	public void deveSalvarAsDuasPontasDeUmaTransferenciaNoMesmoGrupo() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Conta origem = criarConta(10l, usuario);
+		Conta destino = criarConta(11l, usuario);
+		Lancamento saida = LancamentoRepositoryTest.criarLancamento();
+		saida.setUsuario(usuario);
+		saida.setConta(origem);
+		Mockito.doNothing().when(service).validar(saida);
+		Mockito.when(repository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		List<Lancamento> pontas = service.salvarTransferencia(saida, destino);
+		
+		Assertions.assertThat(pontas).extracting(Lancamento::getTipo)
+			.containsExactly(TipoLancamento.DESPESA, TipoLancamento.RECEITA);
+		Assertions.assertThat(pontas).extracting(Lancamento::getConta).containsExactly(origem, destino);
+		Assertions.assertThat(pontas).extracting(Lancamento::getValor).containsOnly(saida.getValor());
+		Assertions.assertThat(pontas).extracting(Lancamento::getGrupo).doesNotContainNull().containsOnly(saida.getGrupo());
+		Mockito.verify(categoriaService, Mockito.never()).classificar(Mockito.any(), Mockito.any());
+		
+	}
+	
+	@Test
+	public void naoDeveTransferirParaAMesmaConta() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Conta conta = criarConta(10l, usuario);
+		Lancamento saida = LancamentoRepositoryTest.criarLancamento();
+		saida.setUsuario(usuario);
+		saida.setConta(conta);
+		Mockito.doNothing().when(service).validar(saida);
+		
+		Assertions.catchThrowableOfType(() -> service.salvarTransferencia(saida, conta), RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).saveAll(Mockito.anyList());
+		
+	}
+	
+	@Test
+	public void naoDeveSalvarUmParcelamentoComValorMenorQueUmCentavoPorParcela() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setValor(new BigDecimal("0.02"));
+		Mockito.doNothing().when(service).validar(lancamento);
+		
+		Assertions.catchThrowableOfType(() -> service.salvarParcelamento(lancamento, 3), 
+										RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).saveAll(Mockito.anyList());
+		
+	}
+	
 	@Test
 	public void deveAtualizarUmLancamento() {
 		
@@ -71,6 +228,64 @@ public class LancamentoServiceTest {
 		
 	}
 	
+	@Test
+	public void deveSincronizarADataEGravarOValorEmMoedaBaseAntesDeSalvar() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setMoeda(Moeda.USD);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(cambio.converterParaMoedaBase(100000l, Moeda.USD, LocalDate.of(2021, 1, 1))).thenReturn(520000l);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		service.salvar(lancamento);
+		
+		Assertions.assertThat(lancamento.getDataLancamento()).isEqualTo(LocalDate.of(2021, 1, 1));
+		Assertions.assertThat(lancamento.getValorBaseCentavos()).isEqualTo(520000l);
+		
+	}
+	
+	@Test
+	public void deveManterOValorEmMoedaBaseGravadoQuandoValorMoedaEDataNaoMudam() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setMoeda(Moeda.USD);
+		lancamento.setDataLancamento(LocalDate.of(2021, 1, 10));
+		lancamento.setValorBaseCentavos(520000l);
+		lancamento.registrarEstadoPersistido();
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		service.atualizar(lancamento);
+		
+		Assertions.assertThat(lancamento.getValorBaseCentavos()).isEqualTo(520000l);
+		Mockito.verify(cambio, Mockito.never()).converterParaMoedaBase(Mockito.anyLong(), Mockito.any(), Mockito.any());
+		
+	}
+	
+	@Test
+	public void deveConverterDeNovoOValorEmMoedaBaseQuandoACompetenciaMuda() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setMoeda(Moeda.USD);
+		lancamento.setDataLancamento(LocalDate.of(2021, 1, 10));
+		lancamento.setValorBaseCentavos(520000l);
+		lancamento.registrarEstadoPersistido();
+		lancamento.setMes(2);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(cambio.converterParaMoedaBase(100000l, Moeda.USD, LocalDate.of(2021, 2, 10))).thenReturn(540000l);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		service.atualizar(lancamento);
+		
+		Assertions.assertThat(lancamento.getDataLancamento()).isEqualTo(LocalDate.of(2021, 2, 10));
+		Assertions.assertThat(lancamento.getValorBaseCentavos()).isEqualTo(540000l);
+		Assertions.assertThat(lancamento.getEstadoPersistido().getCentavosBase()).isEqualTo(540000l);
+		
+	}
+	
 	@Test
 	public void naoDeveSalvarUmLancamentoQuandoHouverErroDeValidacao() {
 		
@@ -116,6 +331,42 @@ public class LancamentoServiceTest {
 		
 	}
 	
+	@Test
+	public void deveExcluirLogicamenteEmLoteOsLancamentosDoMes() {
+		
+		Mockito.when(repository.excluirPorUsuarioEAnoEMes(Mockito.eq(1l), Mockito.eq(2021), Mockito.eq(5), 
+				Mockito.any(LocalDateTime.class))).thenReturn(3);
+		
+		int excluidos = service.deletarEmLote(1l, 2021, 5);
+		
+		Assertions.assertThat(excluidos).isEqualTo(3);
+		Mockito.verify(repository, Mockito.never()).excluirPorUsuarioEAno(Mockito.anyLong(), Mockito.anyInt(), 
+				Mockito.any(LocalDateTime.class));
+		
+	}
+	
+	@Test
+	public void deveLancarErroAoExcluirEmLoteSemInformarOAno() {
+		
+		Assertions.catchThrowableOfType(() -> service.deletarEmLote(1l, null, 5), 
+										RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).excluirPorUsuarioEAnoEMes(Mockito.anyLong(), Mockito.anyInt(), 
+				Mockito.anyInt(), Mockito.any(LocalDateTime.class));
+		
+	}
+	
+	@Test
+	public void deveRetornarVazioAoRestaurarUmLancamentoNaoExcluido() {
+		
+		Mockito.when(repository.restaurar(1l)).thenReturn(0);
+		
+		Optional<Lancamento> resultado = service.restaurar(1l);
+		
+		Assertions.assertThat(resultado.isPresent()).isFalse();
+		Mockito.verify(repository, Mockito.never()).findById(1l);
+		
+	}
+	
 	@Test
 	public void deveFiltrarLancamentos() {
 		
@@ -135,6 +386,86 @@ public class LancamentoServiceTest {
 		
 	}
 	
+	@Test
+	public void deveFiltrarLancamentosPorPeriodo() {
+		
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		Mockito.when(repository.findAll(Mockito.any(Specification.class))).thenReturn(Arrays.asList(lancamento));
+		
+		List<Lancamento> resultado = service.buscar(filtro, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 3, 31));
+		
+		Assertions.assertThat(resultado).containsExactly(lancamento);
+		Mockito.verify(repository, Mockito.never()).findAll(Mockito.any(Example.class));
+		
+	}
+	
+	@Test
+	public void deveIncluirOsArquivadosAoFiltrarUmAnoFechado() {
+		
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		filtro.setAno(2010);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		Lancamento arquivado = LancamentoRepositoryTest.criarLancamento();
+		arquivado.setId(2l);
+		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(Arrays.asList(lancamento));
+		Mockito.when(arquivoService.deveConsultar(filtro, null, null)).thenReturn(true);
+		Mockito.when(arquivoService.buscar(filtro, null, null)).thenReturn(Arrays.asList(arquivado));
+		
+		List<Lancamento> resultado = service.buscar(filtro);
+		
+		Assertions.assertThat(resultado).containsExactly(lancamento, arquivado);
+		
+	}
+	
+	@Test
+	public void deveFiltrarLancamentosDoLivroSemRestringirAoUsuario() {
+		
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setIdLivro(7l);
+		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(Arrays.asList(lancamento));
+		
+		List<Lancamento> resultado = service.buscarNoLivro(7l, filtro, null, null);
+		
+		Assertions.assertThat(resultado).containsExactly(lancamento);
+		Assertions.assertThat(filtro.getUsuario()).isNull();
+		Assertions.assertThat(filtro.getIdLivro()).isEqualTo(7l);
+		
+	}
+	
+	@Test
+	public void naoDeveSalvarLancamentoEmLivroSemPermissaoDeEscrita() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setIdLivro(7l);
+		Mockito.doThrow(new RegraNegocioException("Usuário sem permissão para alterar lançamentos do livro informado."))
+			.when(livroService).verificarEscrita(1l, 7l);
+		
+		Assertions.assertThatThrownBy(() -> service.salvar(lancamento)).isInstanceOf(RegraNegocioException.class);
+		
+		Mockito.verify(repository, Mockito.never()).save(lancamento);
+		
+	}
+	
+	@Test
+	public void naoDeveFiltrarLancamentosComPeriodoInvertido() {
+		
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		
+		Throwable erro = Assertions.catchThrowable(
+				() -> service.buscar(filtro, LocalDate.of(2021, 3, 31), LocalDate.of(2021, 1, 1)));
+		
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um período válido.");
+		
+	}
+	
 	@Test
 	public void deveAtualizarOStatusDeUmLancamento() {
 		
@@ -280,5 +611,12 @@ public class LancamentoServiceTest {
 		service.validar(lancamento);
 		
 	}
+	
+	private static Conta criarConta(Long id, Usuario usuario) {
+		Conta conta = new Conta();
+		conta.setId(id);
+		conta.setUsuario(usuario);
+		return conta;
+	}
 
 }
@@ -0,0 +1,122 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacaoEmMemoria;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Livro;
+import com.daguiar.minhasfinancas.model.entity.MembroLivro;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+import com.daguiar.minhasfinancas.model.repository.LivroRepository;
+import com.daguiar.minhasfinancas.model.repository.MembroLivroRepository;
+import com.daguiar.minhasfinancas.model.repository.UsuarioRepository;
+import com.daguiar.minhasfinancas.service.impl.LivroServiceImpl;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class LivroServiceTest {
+	
+	@SpyBean
+	LivroServiceImpl service;
+	
+	@MockBean
+	LivroRepository repository;
+	
+	@MockBean
+	MembroLivroRepository membroRepository;
+	
+	@MockBean
+	UsuarioRepository usuarioRepository;
+	
+	@MockBean
+	PlatformTransactionManager transactionManager;
+	
+	@SpyBean
+	RoteadorShards roteador;
+	
+	@SpyBean
+	BarramentoInvalidacaoEmMemoria barramento;
+	
+	@Test
+	public void deveGravarODonoComoMembroAoCriarOLivro() {
+		
+		Livro livro = criarLivro(null, 1l);
+		Livro salvo = criarLivro(7l, 1l);
+		Mockito.when(repository.save(livro)).thenReturn(salvo);
+		
+		service.salvar(livro);
+		
+		ArgumentCaptor<MembroLivro> membro = ArgumentCaptor.forClass(MembroLivro.class);
+		Mockito.verify(membroRepository).save(membro.capture());
+		Assertions.assertThat(membro.getValue().getIdLivro()).isEqualTo(7l);
+		Assertions.assertThat(membro.getValue().getPapel()).isEqualTo(PapelMembro.DONO);
+		
+	}
+	
+	@Test
+	public void deveConsultarAsParticipacoesUmaVezAteOsMembrosMudarem() {
+		
+		Mockito.when(membroRepository.obterPapeisPorUsuario(2l))
+			.thenReturn(List.<Object[]>of(new Object[] { 7l, PapelMembro.EDITOR }));
+		
+		service.verificarEscrita(2l, 7l);
+		service.verificarLeitura(2l, 7l);
+		Mockito.verify(membroRepository, Mockito.times(1)).obterPapeisPorUsuario(2l);
+		
+		Mockito.when(usuarioRepository.existsById(2l)).thenReturn(true);
+		Mockito.when(membroRepository.atualizarPapel(2l, 7l, PapelMembro.LEITOR)).thenReturn(1);
+		Mockito.when(membroRepository.obterPapeisPorUsuario(2l))
+			.thenReturn(List.<Object[]>of(new Object[] { 7l, PapelMembro.LEITOR }));
+		service.adicionarMembro(criarLivro(7l, 1l), 2l, PapelMembro.LEITOR);
+		
+		Assertions.assertThatThrownBy(() -> service.verificarEscrita(2l, 7l)).isInstanceOf(RegraNegocioException.class);
+		Mockito.verify(membroRepository, Mockito.times(2)).obterPapeisPorUsuario(2l);
+		
+	}
+	
+	@Test
+	public void naoDevePermitirAcessoAQuemNaoEMembro() {
+		
+		Mockito.when(membroRepository.obterPapeisPorUsuario(3l))
+			.thenReturn(List.<Object[]>of(new Object[] { 8l, PapelMembro.DONO }));
+		
+		Assertions.assertThatThrownBy(() -> service.verificarLeitura(3l, 7l))
+			.isInstanceOf(RegraNegocioException.class)
+			.hasMessage("Usuário sem acesso ao livro informado.");
+		
+	}
+	
+	@Test
+	public void naoDeveRemoverODonoDoLivro() {
+		
+		Assertions.assertThatThrownBy(() -> service.removerMembro(criarLivro(7l, 1l), 1l))
+			.isInstanceOf(RegraNegocioException.class);
+		
+		Mockito.verify(membroRepository, Mockito.never()).excluir(Mockito.any(), Mockito.any());
+		
+	}
+	
+	private static Livro criarLivro(Long id, Long idDono) {
+		Usuario dono = new Usuario();
+		dono.setId(idDono);
+		Livro livro = new Livro();
+		livro.setId(id);
+		livro.setNome("Casa");
+		livro.setUsuario(dono);
+		return livro;
+	}
+
+}
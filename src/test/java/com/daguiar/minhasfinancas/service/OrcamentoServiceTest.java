@@ -0,0 +1,139 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Orcamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.CategoriaRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.daguiar.minhasfinancas.model.repository.OrcamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.TotalOrcamentoRepository;
+import com.daguiar.minhasfinancas.model.valor.EstadoLancamento;
+import com.daguiar.minhasfinancas.orcamento.NotificadorOrcamento;
+import com.daguiar.minhasfinancas.service.impl.OrcamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class OrcamentoServiceTest {
+	
+	@SpyBean
+	OrcamentoServiceImpl service;
+	
+	@MockBean
+	OrcamentoRepository repository;
+	
+	@MockBean
+	TotalOrcamentoRepository totalRepository;
+	
+	@MockBean
+	CategoriaRepository categoriaRepository;
+	
+	@MockBean
+	AcumuladorTotais acumulador;
+	
+	@MockBean
+	NotificadorOrcamento notificador;
+	
+	@MockBean
+	BarramentoInvalidacao barramento;
+	
+	@Test
+	public void deveAlertarAoUltrapassarOitentaPorCentoDoOrcamento() {
+		
+		Mockito.when(repository.findByUsuarioId(1l)).thenReturn(List.of(criarOrcamento("1000.00")));
+		Mockito.when(totalRepository.obterSituacao(10l, 2021, 1)).thenReturn(Optional.of(criarSituacao(82000l, 0)));
+		
+		service.contabilizar(null, EstadoLancamento.de(criarLancamento("50.00")));
+		
+		// o total do mês nasce sem faixa alertada e a faixa é sempre avaliada depois do update
+		Mockito.verify(acumulador).acumular("total_orcamento", Map.of("id_orcamento", 10l, "ano", 2021, "mes", 1),
+				Map.of("id_usuario", 1l, "faixa_alertada", 0), Map.of("gasto_centavos", 5000l));
+		Mockito.verify(totalRepository).atualizarFaixaAlertada(10l, 2021, 1, 80);
+		Mockito.verify(notificador).notificar(Mockito.argThat(alerta -> alerta.getFaixa() == 80 
+				&& alerta.getGasto().compareTo(new BigDecimal("820.00")) == 0));
+		
+	}
+	
+	@Test
+	public void naoDeveAlertarNovamenteNaMesmaFaixa() {
+		
+		Mockito.when(repository.findByUsuarioId(1l)).thenReturn(List.of(criarOrcamento("1000.00")));
+		Mockito.when(totalRepository.obterSituacao(10l, 2021, 1)).thenReturn(Optional.of(criarSituacao(87000l, 80)));
+		
+		service.contabilizar(null, EstadoLancamento.de(criarLancamento("50.00")));
+		
+		Mockito.verify(totalRepository, Mockito.never()).atualizarFaixaAlertada(Mockito.anyLong(), Mockito.anyInt(), 
+				Mockito.anyInt(), Mockito.anyInt());
+		Mockito.verifyNoInteractions(notificador);
+		
+	}
+	
+	@Test
+	public void naoDeveContabilizarReceitaEmOrcamentoDeDespesa() {
+		
+		Mockito.when(repository.findByUsuarioId(1l)).thenReturn(List.of(criarOrcamento("1000.00")));
+		Lancamento lancamento = criarLancamento("50.00");
+		lancamento.setTipo(TipoLancamento.RECEITA);
+		
+		service.contabilizar(null, EstadoLancamento.de(lancamento));
+		
+		Mockito.verifyNoInteractions(totalRepository, acumulador);
+		
+	}
+	
+	private static Orcamento criarOrcamento(String limite) {
+		
+		Orcamento orcamento = new Orcamento();
+		orcamento.setId(10l);
+		orcamento.setUsuario(criarUsuario());
+		orcamento.setTipo(TipoLancamento.DESPESA);
+		orcamento.setLimite(new BigDecimal(limite));
+		return orcamento;
+		
+	}
+	
+	private static Lancamento criarLancamento(String valor) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(criarUsuario());
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		lancamento.setValor(new BigDecimal(valor));
+		return lancamento;
+		
+	}
+	
+	private static TotalOrcamentoRepository.Situacao criarSituacao(long gastoCentavos, int faixaAlertada) {
+		return new TotalOrcamentoRepository.Situacao() {
+			@Override
+			public long getGastoCentavos() {
+				return gastoCentavos;
+			}
+			@Override
+			public int getFaixaAlertada() {
+				return faixaAlertada;
+			}
+		};
+	}
+	
+	private static Usuario criarUsuario() {
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		return usuario;
+	}
+
+}
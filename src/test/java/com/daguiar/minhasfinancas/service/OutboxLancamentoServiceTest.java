@@ -0,0 +1,132 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.auditoria.ContextoAutor;
+import com.daguiar.minhasfinancas.model.entity.EventoLancamento;
+import com.daguiar.minhasfinancas.model.entity.HistoricoLancamento;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.daguiar.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.HistoricoLancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.daguiar.minhasfinancas.service.impl.OutboxLancamentoServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class OutboxLancamentoServiceTest {
+	
+	@SpyBean
+	OutboxLancamentoServiceImpl service;
+	
+	@SpyBean
+	PublicadorEventosLancamentoEmMemoria publicador;
+	
+	@SpyBean
+	ObjectMapper objectMapper;
+	
+	@MockBean
+	EventoLancamentoRepository repository;
+	
+	@MockBean
+	HistoricoLancamentoRepository historicoRepository;
+	
+	@BeforeEach
+	public void setUp() {
+		publicador.limpar();
+	}
+	
+	@Test
+	public void deveRegistrarUmEventoComOConteudoDoLancamento() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		Usuario usuario = new Usuario();
+		usuario.setId(2l);
+		lancamento.setUsuario(usuario);
+		
+		service.registrar(TipoEventoLancamento.CRIACAO, lancamento);
+		
+		ArgumentCaptor<EventoLancamento> captor = ArgumentCaptor.forClass(EventoLancamento.class);
+		Mockito.verify(repository).save(captor.capture());
+		
+		EventoLancamento evento = captor.getValue();
+		Assertions.assertThat(evento.getTipo()).isEqualTo(TipoEventoLancamento.CRIACAO);
+		Assertions.assertThat(evento.getIdLancamento()).isEqualTo(1l);
+		Assertions.assertThat(evento.getIdUsuario()).isEqualTo(2l);
+		Assertions.assertThat(evento.getIdAutor()).isEqualTo(2l);
+		Assertions.assertThat(evento.getConteudo()).contains("\"descricao\":\"Lançamento qualquer\"");
+		
+	}
+	
+	@Test
+	public void deveRegistrarComoAutorOUsuarioDaRequisicao() {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		Usuario dono = new Usuario();
+		dono.setId(2l);
+		lancamento.setUsuario(dono);
+		
+		ContextoAutor.definir(3l);
+		try {
+			service.registrar(TipoEventoLancamento.ATUALIZACAO, lancamento);
+		} finally {
+			ContextoAutor.limpar();
+		}
+		
+		ArgumentCaptor<EventoLancamento> captor = ArgumentCaptor.forClass(EventoLancamento.class);
+		Mockito.verify(repository).save(captor.capture());
+		Assertions.assertThat(captor.getValue().getIdUsuario()).isEqualTo(2l);
+		Assertions.assertThat(captor.getValue().getIdAutor()).isEqualTo(3l);
+		Assertions.assertThat(HistoricoLancamento.de(captor.getValue()).getIdAutor()).isEqualTo(3l);
+		
+	}
+	
+	@Test
+	public void devePublicarEExcluirOsEventosPendentes() {
+		
+		EventoLancamento primeiro = new EventoLancamento();
+		primeiro.setId(1l);
+		EventoLancamento segundo = new EventoLancamento();
+		segundo.setId(2l);
+		List<EventoLancamento> pendentes = Arrays.asList(primeiro, segundo);
+		Mockito.when(repository.findAllByOrderByIdAsc(Mockito.any(Pageable.class))).thenReturn(pendentes);
+		
+		int publicados = service.publicarPendentes(10);
+		
+		Assertions.assertThat(publicados).isEqualTo(2);
+		Assertions.assertThat(publicador.getPublicados()).containsExactly(primeiro, segundo);
+		Mockito.verify(repository).deleteAllInBatch(pendentes);
+		
+	}
+	
+	@Test
+	public void naoDevePublicarQuandoNaoHouverEventosPendentes() {
+		
+		Mockito.when(repository.findAllByOrderByIdAsc(Mockito.any(Pageable.class))).thenReturn(Collections.emptyList());
+		
+		int publicados = service.publicarPendentes(10);
+		
+		Assertions.assertThat(publicados).isEqualTo(0);
+		Assertions.assertThat(publicador.getPublicados()).isEmpty();
+		
+	}
+
+}
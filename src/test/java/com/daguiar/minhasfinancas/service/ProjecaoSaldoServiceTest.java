@@ -0,0 +1,118 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacao;
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Recorrencia;
+import com.daguiar.minhasfinancas.model.entity.TotalMensal;
+import com.daguiar.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.daguiar.minhasfinancas.model.enums.StatusLancamento;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.AcumuladorTotais;
+import com.daguiar.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.daguiar.minhasfinancas.model.repository.TotalMensalRepository;
+import com.daguiar.minhasfinancas.model.valor.ProjecaoMensal;
+import com.daguiar.minhasfinancas.service.impl.ProjecaoSaldoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ProjecaoSaldoServiceTest {
+	
+	@SpyBean
+	ProjecaoSaldoServiceImpl service;
+	
+	@MockBean
+	TotalMensalRepository totalRepository;
+	
+	@MockBean
+	RecorrenciaRepository recorrenciaRepository;
+	
+	@MockBean
+	AcumuladorTotais acumulador;
+	
+	@MockBean
+	BarramentoInvalidacao barramento;
+	
+	@Test
+	public void deveProjetarOSaldoSomandoPendentesERecorrencias() {
+		
+		YearMonth atual = YearMonth.now();
+		Mockito.when(totalRepository.findByUsuarioId(1l)).thenReturn(Arrays.asList(
+				criarTotal(atual.minusMonths(1), StatusLancamento.EFETIVADO, 100000l),
+				criarTotal(atual.minusMonths(1), StatusLancamento.PENDENTE, -5000l),
+				criarTotal(atual, StatusLancamento.PENDENTE, -20000l),
+				criarTotal(atual, StatusLancamento.CANCELADO, -99900l)));
+		Mockito.when(recorrenciaRepository.findByUsuarioIdAndAtivaTrue(1l))
+			.thenReturn(List.of(criarRecorrencia(atual.plusMonths(1), 5, 3)));
+		
+		List<ProjecaoMensal> projecao = service.projetar(1l, 4);
+		
+		Assertions.assertThat(projecao).hasSize(4);
+		Assertions.assertThat(projecao.get(0).getPendentes()).isEqualByComparingTo("-250.00");
+		Assertions.assertThat(projecao).extracting(ProjecaoMensal::getSaldoProjetado)
+			.usingElementComparator(BigDecimal::compareTo)
+			.containsExactly(new BigDecimal("750.00"), new BigDecimal("1050.00"), 
+					new BigDecimal("1350.00"), new BigDecimal("1350.00"));
+		
+	}
+	
+	@Test
+	public void deveReaproveitarOsTotaisAteAProximaAlteracao() {
+		
+		service.projetar(2l, 12);
+		service.projetar(2l, 6);
+		Mockito.verify(totalRepository, Mockito.times(1)).findByUsuarioId(2l);
+		
+		service.invalidar(2l);
+		service.projetar(2l, 12);
+		Mockito.verify(totalRepository, Mockito.times(2)).findByUsuarioId(2l);
+		
+	}
+	
+	@Test
+	public void naoDeveProjetarUmaQuantidadeDeMesesInvalida() {
+		
+		Assertions.catchThrowableOfType(() -> service.projetar(3l, 0), RegraNegocioException.class);
+		Mockito.verifyNoInteractions(totalRepository);
+		
+	}
+	
+	private static TotalMensal criarTotal(YearMonth competencia, StatusLancamento status, long saldoCentavos) {
+		
+		TotalMensal total = new TotalMensal();
+		total.setAno(competencia.getYear());
+		total.setMes(competencia.getMonthValue());
+		total.setStatus(status);
+		total.setSaldoCentavos(saldoCentavos);
+		return total;
+		
+	}
+	
+	private static Recorrencia criarRecorrencia(YearMonth proxima, Integer quantidade, Integer geradas) {
+		
+		Recorrencia recorrencia = new Recorrencia();
+		recorrencia.setValor(new BigDecimal("300.00"));
+		recorrencia.setTipo(TipoLancamento.RECEITA);
+		recorrencia.setPeriodicidade(PeriodicidadeRecorrencia.MENSAL);
+		recorrencia.setProximaOcorrencia(proxima);
+		recorrencia.setQuantidadeOcorrencias(quantidade);
+		recorrencia.setOcorrenciasGeradas(geradas);
+		recorrencia.setAtiva(true);
+		return recorrencia;
+		
+	}
+
+}
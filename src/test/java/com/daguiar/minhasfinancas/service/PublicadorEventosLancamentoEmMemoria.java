@@ -0,0 +1,26 @@
+package com.daguiar.minhasfinancas.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.daguiar.minhasfinancas.model.entity.EventoLancamento;
+
+public class PublicadorEventosLancamentoEmMemoria implements PublicadorEventosLancamento {
+	
+	private final List<EventoLancamento> publicados = Collections.synchronizedList(new ArrayList<>());
+
+	@Override
+	public void publicar(List<EventoLancamento> eventos) {
+		publicados.addAll(eventos);
+	}
+	
+	public List<EventoLancamento> getPublicados() {
+		return publicados;
+	}
+	
+	public void limpar() {
+		publicados.clear();
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.daguiar.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.daguiar.minhasfinancas.exception.RegraNegocioException;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Recorrencia;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.daguiar.minhasfinancas.model.enums.TipoLancamento;
+import com.daguiar.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.daguiar.minhasfinancas.service.impl.RecorrenciaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RecorrenciaServiceTest {
+	
+	@SpyBean
+	RecorrenciaServiceImpl service;
+	
+	@MockBean
+	RecorrenciaRepository repository;
+	
+	@MockBean
+	LancamentoService lancamentoService;
+	
+	@MockBean
+	ProjecaoSaldoService projecaoService;
+	
+	@MockBean
+	PlatformTransactionManager transactionManager;
+	
+	@Test
+	public void deveSalvarUmaRecorrenciaAtivaComProximaOcorrenciaNoInicio() {
+		
+		Recorrencia recorrencia = criarRecorrencia();
+		Mockito.when(repository.save(recorrencia)).thenReturn(recorrencia);
+		
+		Recorrencia salva = service.salvar(recorrencia);
+		
+		Assertions.assertThat(salva.getAtiva()).isTrue();
+		Assertions.assertThat(salva.getOcorrenciasGeradas()).isEqualTo(0);
+		Assertions.assertThat(salva.getProximaOcorrencia()).isEqualTo(YearMonth.of(2021, 11));
+		
+	}
+	
+	@Test
+	public void deveMaterializarAsParcelasEEncerrarARecorrencia() {
+		
+		Recorrencia recorrencia = criarRecorrencia();
+		recorrencia.setOcorrenciasGeradas(0);
+		recorrencia.setProximaOcorrencia(YearMonth.of(2021, 11));
+		recorrencia.setAtiva(true);
+		recorrencia.setQuantidadeOcorrencias(3);
+		
+		Mockito.when(repository.obterPendentesDeMaterializacao(Mockito.eq(2022), Mockito.eq(6), Mockito.any(Pageable.class)))
+			.thenReturn(Arrays.asList(recorrencia));
+		Mockito.when(repository.findById(recorrencia.getId())).thenReturn(Optional.of(recorrencia));
+		
+		int processadas = service.materializarOcorrencias(YearMonth.of(2022, 6), 10);
+		
+		ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoService).salvarEmLote(captor.capture());
+		
+		List<Lancamento> ocorrencias = captor.getValue();
+		Assertions.assertThat(processadas).isEqualTo(1);
+		Assertions.assertThat(ocorrencias).hasSize(3);
+		Assertions.assertThat(ocorrencias.get(2).getMes()).isEqualTo(1);
+		Assertions.assertThat(ocorrencias.get(2).getAno()).isEqualTo(2022);
+		Assertions.assertThat(recorrencia.getAtiva()).isFalse();
+		
+	}
+	
+	@Test
+	public void deveMaterializarApenasAteOLimite() {
+		
+		Recorrencia recorrencia = criarRecorrencia();
+		recorrencia.setOcorrenciasGeradas(0);
+		recorrencia.setProximaOcorrencia(YearMonth.of(2021, 11));
+		recorrencia.setAtiva(true);
+		
+		Mockito.when(repository.obterPendentesDeMaterializacao(Mockito.eq(2022), Mockito.eq(1), Mockito.any(Pageable.class)))
+			.thenReturn(Arrays.asList(recorrencia));
+		Mockito.when(repository.findById(recorrencia.getId())).thenReturn(Optional.of(recorrencia));
+		
+		service.materializarOcorrencias(YearMonth.of(2022, 1), 10);
+		
+		ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoService).salvarEmLote(captor.capture());
+		
+		Assertions.assertThat(captor.getValue()).hasSize(3);
+		Assertions.assertThat(recorrencia.getAtiva()).isTrue();
+		Assertions.assertThat(recorrencia.getProximaOcorrencia()).isEqualTo(YearMonth.of(2022, 2));
+		
+	}
+	
+	@Test
+	public void deveDesativarARegraInvalidaSemDesfazerAsOutrasDoLote() {
+		
+		Recorrencia invalida = criarRecorrencia();
+		invalida.setId(1l);
+		invalida.setDescricao("Inválida");
+		invalida.setOcorrenciasGeradas(0);
+		invalida.setProximaOcorrencia(YearMonth.of(2022, 1));
+		invalida.setAtiva(true);
+		
+		Recorrencia valida = criarRecorrencia();
+		valida.setId(2l);
+		valida.setOcorrenciasGeradas(0);
+		valida.setProximaOcorrencia(YearMonth.of(2022, 1));
+		valida.setAtiva(true);
+		
+		Mockito.when(repository.obterPendentesDeMaterializacao(Mockito.eq(2022), Mockito.eq(1), Mockito.any(Pageable.class)))
+			.thenReturn(Arrays.asList(invalida, valida));
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(invalida));
+		Mockito.when(repository.findById(2l)).thenReturn(Optional.of(valida));
+		Mockito.when(lancamentoService.salvarEmLote(Mockito.argThat(ocorrencias -> 
+				ocorrencias.get(0).getRecorrencia() == invalida)))
+			.thenThrow(new RegraNegocioException("Informe uma descrição válida."));
+		
+		int processadas = service.materializarOcorrencias(YearMonth.of(2022, 1), 10);
+		
+		Assertions.assertThat(processadas).isEqualTo(2);
+		Mockito.verify(repository).desativar(1l);
+		Mockito.verify(repository, Mockito.never()).desativar(2l);
+		Mockito.verify(lancamentoService).salvarEmLote(Mockito.argThat(ocorrencias -> 
+				ocorrencias.size() == 1 && ocorrencias.get(0).getRecorrencia() == valida));
+		Mockito.verify(transactionManager).rollback(Mockito.any());
+		Assertions.assertThat(valida.getProximaOcorrencia()).isEqualTo(YearMonth.of(2022, 2));
+		
+	}
+	
+	@Test
+	public void deveLancarErroAoValidarUmaRecorrenciaSemPeriodicidade() {
+		
+		Recorrencia recorrencia = criarRecorrencia();
+		recorrencia.setPeriodicidade(null);
+		
+		RuntimeException exception = assertThrows(RegraNegocioException.class, 
+				() -> {
+					service.validar(recorrencia);
+				});
+		assertEquals("Informe uma periodicidade.", exception.getMessage());
+		
+	}
+	
+	public static Recorrencia criarRecorrencia() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(1l);
+		
+		Recorrencia recorrencia = new Recorrencia();
+		recorrencia.setDescricao("Aluguel");
+		recorrencia.setValor(BigDecimal.valueOf(1500));
+		recorrencia.setTipo(TipoLancamento.DESPESA);
+		recorrencia.setPeriodicidade(PeriodicidadeRecorrencia.MENSAL);
+		recorrencia.setMesInicial(11);
+		recorrencia.setAnoInicial(2021);
+		recorrencia.setUsuario(usuario);
+		
+		return recorrencia;
+		
+	}
+
+}
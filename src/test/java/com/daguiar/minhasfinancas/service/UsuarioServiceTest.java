@@ -14,11 +14,15 @@ import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.daguiar.minhasfinancas.cache.BarramentoInvalidacaoEmMemoria;
+import com.daguiar.minhasfinancas.cache.RegiaoCache;
 import com.daguiar.minhasfinancas.exception.ErroAutenticacaoException;
 import com.daguiar.minhasfinancas.exception.RegraNegocioException;
 import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.id.GeradorIds;
 import com.daguiar.minhasfinancas.model.repository.UsuarioRepository;
 import com.daguiar.minhasfinancas.service.impl.UsuarioServiceImpl;
+import com.daguiar.minhasfinancas.shard.RoteadorShards;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -30,6 +34,15 @@ public class UsuarioServiceTest {
 	@MockBean
 	UsuarioRepository repository;
 	
+	@SpyBean
+	BarramentoInvalidacaoEmMemoria barramento;
+	
+	@SpyBean
+	RoteadorShards roteador;
+	
+	@MockBean
+	GeradorIds geradorIds;
+	
 	@Test
 	public void deveAutenticarUmUsuarioComSucesso() {
 		
@@ -145,4 +158,25 @@ public class UsuarioServiceTest {
 	            });
 		
 	}
+	
+	@Test
+	public void deveRecarregarUsuarioEmCacheQuandoOutroNoAlterarOUsuario() {
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(5l);
+		Mockito.when(repository.findById(5l)).thenReturn(Optional.of(usuario));
+		
+		BarramentoInvalidacaoEmMemoria outroNo = new BarramentoInvalidacaoEmMemoria();
+		barramento.conectar(outroNo);
+		
+		service.obterPorID(5l);
+		service.obterPorID(5l);
+		Mockito.verify(repository, Mockito.times(1)).findById(5l);
+		
+		outroNo.publicar(RegiaoCache.USUARIO, 5l);
+		
+		Assertions.assertThat(service.obterPorID(5l)).contains(usuario);
+		Mockito.verify(repository, Mockito.times(2)).findById(5l);
+		
+	}
 }
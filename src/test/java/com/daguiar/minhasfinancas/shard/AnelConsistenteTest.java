@@ -0,0 +1,50 @@
+package com.daguiar.minhasfinancas.shard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AnelConsistenteTest {
+	
+	private static final int CHAVES = 30000;
+	
+	@Test
+	public void deveDistribuirChavesSequenciaisDeFormaEquilibrada() {
+		
+		AnelConsistente anel = new AnelConsistente(List.of("shard_a", "shard_b", "shard_c"), 128);
+		
+		Map<String, Integer> chavesPorShard = new HashMap<>();
+		for(long chave = 1; chave <= CHAVES; chave++) {
+			chavesPorShard.merge(anel.obterShard(chave), 1, Integer::sum);
+		}
+		
+		Assertions.assertThat(chavesPorShard).hasSize(3);
+		Assertions.assertThat(chavesPorShard.values()).allSatisfy(quantidade -> 
+			Assertions.assertThat(quantidade).isBetween(CHAVES / 4, CHAVES * 5 / 12));
+		
+	}
+	
+	@Test
+	public void deveMoverApenasChavesParaONovoShardAoAdicionarUmShard() {
+		
+		AnelConsistente anterior = new AnelConsistente(List.of("shard_a", "shard_b", "shard_c"), 128);
+		AnelConsistente atual = new AnelConsistente(List.of("shard_a", "shard_b", "shard_c", "shard_d"), 128);
+		
+		int movidas = 0;
+		for(long chave = 1; chave <= CHAVES; chave++) {
+			String shardAnterior = anterior.obterShard(chave);
+			String shardAtual = atual.obterShard(chave);
+			if(!shardAnterior.equals(shardAtual)) {
+				Assertions.assertThat(shardAtual).isEqualTo("shard_d");
+				movidas++;
+			}
+		}
+		
+		Assertions.assertThat(movidas).isBetween(CHAVES / 6, CHAVES / 3);
+		
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.daguiar.minhasfinancas.shard;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.daguiar.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.daguiar.minhasfinancas.api.dto.LancamentoDTO;
+import com.daguiar.minhasfinancas.api.dto.UsuarioDTO;
+import com.daguiar.minhasfinancas.model.entity.Lancamento;
+import com.daguiar.minhasfinancas.model.entity.Livro;
+import com.daguiar.minhasfinancas.model.entity.Usuario;
+import com.daguiar.minhasfinancas.model.enums.PapelMembro;
+import com.daguiar.minhasfinancas.model.id.GeradorIds;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepository;
+import com.daguiar.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.daguiar.minhasfinancas.model.repository.UsuarioRepository;
+import com.daguiar.minhasfinancas.service.LivroService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+		"minhasfinancas.shards.habilitado=true",
+		"minhasfinancas.shards.nomes=shard_a,shard_b",
+		"minhasfinancas.shards.shard_a.url=jdbc:h2:mem:web_shard_a;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"minhasfinancas.shards.shard_a.username=sa",
+		"minhasfinancas.shards.shard_a.password=sa",
+		"minhasfinancas.shards.shard_b.url=jdbc:h2:mem:web_shard_b;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"minhasfinancas.shards.shard_b.username=sa",
+		"minhasfinancas.shards.shard_b.password=sa",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+public class ConsultaEntreShardsTest {
+	
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	RoteadorShards roteador;
+	
+	@Autowired
+	GeradorIds geradorIds;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	LivroService livroService;
+	
+	@TestConfiguration
+	static class EsquemaShards {
+		
+		// o Hibernate cria as tabelas só no shard padrão; os outros recebem o mesmo esquema antes dos runners da aplicação
+		@Bean
+		@Order(Ordered.HIGHEST_PRECEDENCE)
+		public ApplicationRunner copiarEsquema(DataSourceRoteado dataSource, RoteadorShards roteador) {
+			return args -> {
+				List<String> comandos = new JdbcTemplate(dataSource.obterDataSource(roteador.getShards().get(0)))
+						.queryForList("SCRIPT NODATA", String.class);
+				for(String shard : roteador.getShards().subList(1, roteador.getShards().size())) {
+					JdbcTemplate destino = new JdbcTemplate(dataSource.obterDataSource(shard));
+					comandos.stream()
+						.filter(comando -> comando.startsWith("ALTER")
+								|| (comando.startsWith("CREATE") && !comando.startsWith("CREATE USER") && !comando.startsWith("CREATE SCHEMA")))
+						.forEach(destino::execute);
+				}
+			};
+		}
+		
+	}
+	
+	@Test
+	public void deveAutenticarUmUsuarioGravadoForaDoShardPadrao() throws Exception {
+		
+		Usuario usuario = criarUsuario("shard_b", "autenticacao@email.com");
+		
+		UsuarioDTO dto = new UsuarioDTO();
+		dto.setEmail("autenticacao@email.com");
+		dto.setSenha("senha");
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.post("/api/usuarios/autenticar")
+													.accept(JSON)
+													.contentType(JSON)
+													.content(new ObjectMapper().writeValueAsString(dto));
+		
+		mvc
+			.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()));
+		
+	}
+	
+	@Test
+	public void naoDeveCadastrarUmEmailJaUsadoEmOutroShard() throws Exception {
+		
+		criarUsuario("shard_b", "cadastro@email.com");
+		
+		UsuarioDTO dto = new UsuarioDTO();
+		dto.setNome("outro");
+		dto.setEmail("cadastro@email.com");
+		dto.setSenha("senha");
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.post("/api/usuarios")
+													.accept(JSON)
+													.contentType(JSON)
+													.content(new ObjectMapper().writeValueAsString(dto));
+		
+		mvc
+			.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isBadRequest())
+			.andExpect(MockMvcResultMatchers.content().string("Já existe um usuário cadastrado com este e-mail."));
+		
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosDoLivroEmTodosOsShards() throws Exception {
+		
+		Usuario dono = criarUsuario("shard_a", "dono@email.com");
+		Usuario membro = criarUsuario("shard_b", "membro@email.com");
+		
+		Livro livro = new Livro();
+		livro.setNome("Casa");
+		livro.setUsuario(dono);
+		Livro salvo = roteador.executarComoUsuario(dono.getId(), () -> livroService.salvar(livro));
+		livroService.adicionarMembro(salvo, membro.getId(), PapelMembro.EDITOR);
+		
+		criarLancamento(dono, salvo.getId());
+		criarLancamento(membro, salvo.getId());
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get("/api/lancamentos")
+													.header(InterceptorShardUsuario.CABECALHO_USUARIO, dono.getId())
+													.param("usuario", dono.getId().toString())
+													.param("livro", salvo.getId().toString())
+													.accept(JSON);
+		
+		mvc
+			.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+		
+	}
+	
+	@Test
+	public void deveGravarOLancamentoNoShardDoUsuarioInformadoNoCorpo() throws Exception {
+		
+		Usuario usuario = criarUsuario("shard_b", "corpo@email.com");
+		
+		LancamentoDTO dto = new LancamentoDTO();
+		dto.setDescricao("Aluguel");
+		dto.setAno(2021);
+		dto.setMes(5);
+		dto.setValor(BigDecimal.valueOf(1500));
+		dto.setTipo("DESPESA");
+		dto.setUsuario(usuario.getId());
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.post("/api/lancamentos")
+													.accept(JSON)
+													.contentType(JSON)
+													.content(new ObjectMapper().writeValueAsString(dto));
+		
+		mvc
+			.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isCreated());
+		
+		Assertions.assertThat(roteador.executarNoShard("shard_b", () -> lancamentoRepository.obterColunasPorUsuario(usuario.getId())))
+			.hasSize(1);
+		Assertions.assertThat(roteador.executarNoShard("shard_a", () -> lancamentoRepository.obterColunasPorUsuario(usuario.getId())))
+			.isEmpty();
+		
+	}
+	
+	@Test
+	public void deveAlterarUmLancamentoDeOutroShardSemOCabecalho() throws Exception {
+		
+		Usuario usuario = criarUsuario("shard_b", "alteracao@email.com");
+		Lancamento lancamento = criarLancamento(usuario, null);
+		
+		mvc
+			.perform(MockMvcRequestBuilders.get("/api/lancamentos/" + lancamento.getId()).accept(JSON))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("usuario").value(usuario.getId()));
+		
+		AtualizaStatusDTO dto = new AtualizaStatusDTO();
+		dto.setStatus("EFETIVADO");
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.put("/api/lancamentos/" + lancamento.getId() + "/atualiza-status")
+													.accept(JSON)
+													.contentType(JSON)
+													.content(new ObjectMapper().writeValueAsString(dto));
+		
+		mvc
+			.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("status").value("EFETIVADO"));
+		
+	}
+	
+	@Test
+	public void deveRecusarUmaRequisicaoSemUsuarioQuandoORecursoNaoEscolheOShard() throws Exception {
+		
+		mvc
+			.perform(MockMvcRequestBuilders.delete("/api/categorias/1"))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		
+	}
+	
+	private Usuario criarUsuario(String shard, String email) {
+		
+		long candidato = geradorIds.proximo();
+		while(!roteador.shardDoUsuario(candidato).equals(shard)) {
+			candidato = geradorIds.proximo();
+		}
+		Long id = candidato;
+		
+		Usuario usuario = new Usuario();
+		usuario.setId(id);
+		usuario.setNome("usuario");
+		usuario.setEmail(email);
+		usuario.setSenha("senha");
+		return roteador.executarComoUsuario(id, () -> usuarioRepository.save(usuario));
+		
+	}
+	
+	private Lancamento criarLancamento(Usuario usuario, Long idLivro) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setIdLivro(idLivro);
+		return roteador.executarComoUsuario(usuario.getId(), () -> lancamentoRepository.save(lancamento));
+		
+	}
+
+}
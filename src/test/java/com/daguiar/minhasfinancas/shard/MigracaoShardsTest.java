@@ -0,0 +1,168 @@
+package com.daguiar.minhasfinancas.shard;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class MigracaoShardsTest {
+	
+	private static final String[] SHARDS = { "shard_a", "shard_b", "shard_c" };
+	
+	private RoteadorShards roteador;
+	
+	private DataSourceRoteado dataSource;
+	
+	private MigracaoShards migracao;
+	
+	@BeforeEach
+	public void setUp() {
+		
+		roteador = new RoteadorShards(SHARDS, 64);
+		
+		Map<Object, Object> dataSources = new LinkedHashMap<>();
+		for(String shard : SHARDS) {
+			DataSource dataSourceShard = new DriverManagerDataSource(
+					"jdbc:h2:mem:" + shard + ";DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas", "sa", "sa");
+			criarTabelas(new JdbcTemplate(dataSourceShard));
+			dataSources.put(shard, dataSourceShard);
+		}
+		
+		dataSource = new DataSourceRoteado();
+		dataSource.setTargetDataSources(dataSources);
+		dataSource.setDefaultTargetDataSource(dataSources.get(SHARDS[0]));
+		dataSource.setLenientFallback(false);
+		dataSource.afterPropertiesSet();
+		
+		migracao = new MigracaoShards(dataSource, roteador);
+		
+	}
+	
+	@Test
+	public void deveGravarCadaUsuarioNoShardIndicadoPeloAnel() {
+		
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		for(long id = 1; id <= 60; id++) {
+			long idUsuario = id;
+			roteador.executarComoUsuario(idUsuario, () -> inserirUsuario(jdbc, idUsuario));
+		}
+		
+		for(String shard : SHARDS) {
+			for(Long idUsuario : jdbc(shard).queryForList("select id from financas.usuario", Long.class)) {
+				Assertions.assertThat(roteador.shardDoUsuario(idUsuario)).isEqualTo(shard);
+			}
+		}
+		Assertions.assertThat(contar("shard_a", "usuario") + contar("shard_b", "usuario") + contar("shard_c", "usuario"))
+			.isEqualTo(60);
+		
+	}
+	
+	@Test
+	public void deveMoverTodosOsDadosDoUsuarioParaOShardDeDestino() {
+		
+		JdbcTemplate origem = jdbc("shard_a");
+		inserirUsuario(origem, 7l);
+		origem.update("insert into financas.categoria (id, nome, id_usuario) values (10, 'Mercado', 7)");
+		origem.update("insert into financas.lancamento (id, descricao, valor, id_categoria, id_usuario) "
+					+ "values (20, 'Supermercado', 150.25, 10, 7)");
+		origem.update("insert into financas.total_categoria (id_usuario, ano, mes, id_categoria, despesas_centavos) "
+					+ "values (7, 2021, 5, 10, 15025)");
+		inserirUsuario(origem, 8l);
+		
+		migracao.migrar(7l, "shard_a", "shard_b");
+		
+		Assertions.assertThat(contar("shard_b", "usuario")).isEqualTo(1);
+		Assertions.assertThat(contar("shard_b", "categoria")).isEqualTo(1);
+		Assertions.assertThat(contar("shard_b", "lancamento")).isEqualTo(1);
+		Assertions.assertThat(contar("shard_b", "total_categoria")).isEqualTo(1);
+		Assertions.assertThat(jdbc("shard_b").queryForObject("select valor from financas.lancamento where id = 20", 
+				BigDecimal.class)).isEqualByComparingTo("150.25");
+		
+		Assertions.assertThat(contar("shard_a", "usuario")).isEqualTo(1);
+		Assertions.assertThat(contar("shard_a", "lancamento")).isZero();
+		Assertions.assertThat(contar("shard_a", "total_categoria")).isZero();
+		
+	}
+	
+	@Test
+	public void deveRebalancearOsUsuariosGravadosForaDoSeuShard() {
+		
+		int foraDoShard = 0;
+		for(long idUsuario = 1; idUsuario <= 40; idUsuario++) {
+			inserirUsuario(jdbc("shard_a"), idUsuario);
+			if(!roteador.shardDoUsuario(idUsuario).equals("shard_a")) {
+				foraDoShard++;
+			}
+		}
+		
+		int migrados = migracao.rebalancear();
+		
+		Assertions.assertThat(migrados).isEqualTo(foraDoShard);
+		for(String shard : SHARDS) {
+			for(Long idUsuario : jdbc(shard).queryForList("select id from financas.usuario", Long.class)) {
+				Assertions.assertThat(roteador.shardDoUsuario(idUsuario)).isEqualTo(shard);
+			}
+		}
+		Assertions.assertThat(migracao.rebalancear()).isZero();
+		
+	}
+	
+	private JdbcTemplate jdbc(String shard) {
+		return new JdbcTemplate(dataSource.obterDataSource(shard));
+	}
+	
+	private int contar(String shard, String tabela) {
+		return jdbc(shard).queryForObject("select count(*) from financas." + tabela, Integer.class);
+	}
+	
+	private int inserirUsuario(JdbcTemplate jdbc, Long id) {
+		return jdbc.update("insert into financas.usuario (id, nome, email, senha) values (?, ?, ?, ?)",
+				id, "usuario" + id, "usuario" + id + "@email.com", "senha");
+	}
+	
+	private void criarTabelas(JdbcTemplate jdbc) {
+		jdbc.execute("drop table if exists financas.historico_lancamento, financas.evento_lancamento_outbox, "
+				   + "financas.resumo_arquivado, financas.lancamento_arquivado, financas.saldo_conta, financas.total_mensal, "
+				   + "financas.total_orcamento, financas.total_categoria, financas.lancamento, financas.membro_livro, financas.livro, "
+				   + "financas.conta, financas.recorrencia, financas.orcamento, financas.categoria, financas.usuario");
+		jdbc.execute("create table financas.usuario (id bigint primary key, nome varchar(150), email varchar(100), senha varchar(20))");
+		jdbc.execute("create table financas.categoria (id bigint primary key, nome varchar(100), "
+				   + "id_usuario bigint references financas.usuario (id))");
+		jdbc.execute("create table financas.orcamento (id bigint primary key, tipo varchar(20), valor_limite decimal(19, 2), "
+				   + "id_categoria bigint references financas.categoria (id), id_usuario bigint references financas.usuario (id))");
+		jdbc.execute("create table financas.recorrencia (id bigint primary key, descricao varchar(100), "
+				   + "id_usuario bigint references financas.usuario (id))");
+		jdbc.execute("create table financas.conta (id bigint primary key, nome varchar(100), "
+				   + "id_usuario bigint references financas.usuario (id))");
+		jdbc.execute("create table financas.livro (id bigint primary key, nome varchar(100), "
+				   + "id_usuario bigint references financas.usuario (id))");
+		jdbc.execute("create table financas.membro_livro (id bigint auto_increment primary key, "
+				   + "id_usuario bigint references financas.usuario (id), id_livro bigint, papel varchar(10))");
+		jdbc.execute("create table financas.lancamento (id bigint primary key, descricao varchar(100), valor decimal(19, 2), "
+				   + "id_categoria bigint references financas.categoria (id), id_conta bigint references financas.conta (id), "
+				   + "id_usuario bigint references financas.usuario (id))");
+		jdbc.execute("create table financas.lancamento_arquivado (id bigint primary key, descricao varchar(100), "
+				   + "valor decimal(19, 2), id_usuario bigint references financas.usuario (id))");
+		jdbc.execute("create table financas.resumo_arquivado (id bigint auto_increment primary key, "
+				   + "id_usuario bigint references financas.usuario (id), ano int, mes int, valor_centavos bigint)");
+		jdbc.execute("create table financas.total_categoria (id bigint auto_increment primary key, id_usuario bigint, "
+				   + "ano int, mes int, id_categoria bigint, despesas_centavos bigint)");
+		jdbc.execute("create table financas.total_orcamento (id bigint auto_increment primary key, id_usuario bigint, "
+				   + "id_orcamento bigint references financas.orcamento (id), ano int, mes int, gasto_centavos bigint, "
+				   + "faixa_alertada int)");
+		jdbc.execute("create table financas.total_mensal (id bigint auto_increment primary key, id_usuario bigint, "
+				   + "ano int, mes int, status varchar(20), saldo_centavos bigint)");
+		jdbc.execute("create table financas.saldo_conta (id bigint auto_increment primary key, id_usuario bigint, "
+				   + "id_conta bigint references financas.conta (id), moeda varchar(3), saldo_centavos bigint)");
+		jdbc.execute("create table financas.evento_lancamento_outbox (id bigint primary key, id_usuario bigint)");
+		jdbc.execute("create table financas.historico_lancamento (id bigint primary key, id_usuario bigint)");
+	}
+
+}